@@ -0,0 +1,148 @@
+package core.benchmark;
+
+import core.chat.controller.response.ChatHistoryResponse;
+import core.chat.controller.response.ChatRoomResponse;
+import core.chat.entity.ChatHistory;
+import core.chat.repository.ChatHistoryRepository;
+import core.chat.repository.ChatHistoryRepositoryImpl;
+import core.chat.repository.ChatRoomRepository;
+import core.chat.repository.ChatRoomRepositoryImpl;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.hibernate.jpa.HibernatePersistenceProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 한 페이지(기본 100건) 조회 시 엔티티를 읽어 응답으로 변환하는 경로와 응답으로 바로 projection 하는 경로 비교
+ * 할당량은 -prof gc 의 gc.alloc.rate.norm 으로 확인
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChatReadPathBenchmark {
+
+    private static final Long ROOM_ID = 1L;
+    private static final String USER_ID = "user";
+    private static final int ROW_COUNT = 1_000;
+
+    @Param({"100"})
+    private int pageSize;
+
+    private AnnotationConfigApplicationContext context;
+    private ChatHistoryRepository chatHistoryRepository;
+    private ChatRoomRepository chatRoomRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(ReadPathConfig.class);
+        chatHistoryRepository = context.getBean(ChatHistoryRepository.class);
+        chatRoomRepository = context.getBean(ChatRoomRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 12, 0));
+        List<Object[]> histories = new ArrayList<>(ROW_COUNT);
+        List<Object[]> rooms = new ArrayList<>(ROW_COUNT);
+        for (int i = 1; i <= ROW_COUNT; i++) {
+            histories.add(new Object[]{(long) i, ROOM_ID, "채팅 내용 " + i, i % 2 == 0 ? "ASSISTANT" : "USER", createdAt});
+            rooms.add(new Object[]{(long) i, USER_ID, "채팅방 " + i, createdAt});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO chat_history (id, room_id, content, type, created_at) VALUES (?, ?, ?, ?, ?)", histories);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO chat_room (id, user_id, name, created_at) VALUES (?, ?, ?, ?)", rooms);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ChatHistoryResponse> chatHistoryEntityThenMap() {
+        return readOnlyTransaction.execute(status -> chatHistoryRepository.findAllByRoomIdLatest(ROOM_ID, pageSize)
+                .stream()
+                .map(ChatHistoryResponse::of)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ChatHistoryResponse> chatHistoryProjection() {
+        return readOnlyTransaction.execute(status -> chatHistoryRepository.findResponsesByRoomIdLatest(ROOM_ID, pageSize));
+    }
+
+    @Benchmark
+    public List<ChatRoomResponse> chatRoomEntityThenMap() {
+        return readOnlyTransaction.execute(status -> chatRoomRepository.findAllByUserIdLatest(USER_ID, pageSize)
+                .stream()
+                .map(ChatRoomResponse::of)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ChatRoomResponse> chatRoomProjection() {
+        return readOnlyTransaction.execute(status -> chatRoomRepository.findResponsesByUserIdLatest(USER_ID, pageSize));
+    }
+
+    @Configuration
+    @EnableJpaRepositories(basePackages = "core.chat.repository")
+    @Import({ChatHistoryRepositoryImpl.class, ChatRoomRepositoryImpl.class})
+    static class ReadPathConfig {
+
+        @Bean
+        DataSource dataSource() {
+            return new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .generateUniqueName(true)
+                    .build();
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(ChatHistory.class.getPackageName());
+            factory.setPersistenceProviderClass(HibernatePersistenceProvider.class);
+            factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create"));
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package core.benchmark;
+
+import core.global.config.properties.RateLimitProperties;
+import core.global.ratelimit.ClientRateLimiter;
+import core.global.ratelimit.RateLimitDecision;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * 8개 스레드가 동시에 요청할 때 사용자별 요청 수 제한을 확인하는 비용.
+ * clients 가 1이면 모든 스레드가 같은 bucket을 CAS로 갱신하고(최대 경합), 클수록 cache 조회 비용과 할당이 커진다.
+ * 사용자 id를 고르는 비용은 pickClient 로 따로 측정해 빼고 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(8)
+public class ClientRateLimiterBenchmark {
+
+    @Param({"1", "10000", "1000000"})
+    private int clients;
+
+    private ClientRateLimiter clientRateLimiter;
+    private String[] clientIds;
+
+    @Setup
+    public void setUp() {
+        // 측정 중에 거절되지 않도록 한도를 충분히 크게 잡음
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRequestsPerMinute(60_000_000_000L);
+        properties.setRequestBurst(1_000_000_000L);
+        properties.setMaximumClients(clients * 2L);
+        clientRateLimiter = new ClientRateLimiter(properties);
+
+        clientIds = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            clientIds[i] = "client-" + i;
+            clientRateLimiter.tryAcquire(clientIds[i], true);
+        }
+    }
+
+    @Benchmark
+    public String pickClient() {
+        return clientIds[ThreadLocalRandom.current().nextInt(clients)];
+    }
+
+    @Benchmark
+    public RateLimitDecision tryAcquire() {
+        return clientRateLimiter.tryAcquire(clientIds[ThreadLocalRandom.current().nextInt(clients)], true);
+    }
+}
@@ -0,0 +1,48 @@
+package core.benchmark;
+
+import static core.mcpclient.service.LLMService.TITLE_SEPARATOR;
+
+import core.mcpclient.service.NewChatStreamSplitter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 새 채팅 스트리밍 응답 하나(제목 chunk + 구분자 + 본문 chunk)를 제목/본문으로 나누는 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NewChatStreamSplitterBenchmark {
+
+    private static final int ANSWER_CHUNK_COUNT = 200;
+
+    private List<String> chunks;
+
+    @Setup
+    public void setUp() {
+        chunks = new ArrayList<>(ANSWER_CHUNK_COUNT + 3);
+        chunks.add("설비 ");
+        chunks.add("점검 일정");
+        chunks.add(" 문의" + TITLE_SEPARATOR + "3번 라인의");
+        for (int i = 0; i < ANSWER_CHUNK_COUNT; i++) {
+            chunks.add(" 다음 점검은 " + i + "일 뒤입니다.");
+        }
+    }
+
+    @Benchmark
+    public void split(Blackhole blackhole) {
+        NewChatStreamSplitter splitter = new NewChatStreamSplitter();
+        for (String chunk : chunks) {
+            blackhole.consume(splitter.split(chunk));
+        }
+    }
+}
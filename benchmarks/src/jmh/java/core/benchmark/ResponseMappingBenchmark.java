@@ -0,0 +1,61 @@
+package core.benchmark;
+
+import core.chat.controller.response.ChatHistoryResponse;
+import core.chat.controller.response.ChatRoomResponse;
+import core.chat.entity.ChatHistory;
+import core.chat.entity.ChatRoom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 엔티티 목록을 응답 DTO 목록으로 바꾸는 비용 (한 페이지 분량 기준)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseMappingBenchmark {
+
+    @Param({"20", "100"})
+    private int size;
+
+    private List<ChatHistory> chatHistories;
+    private List<ChatRoom> chatRooms;
+
+    @Setup
+    public void setUp() {
+        chatHistories = new ArrayList<>(size);
+        chatRooms = new ArrayList<>(size);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < size; i++) {
+            chatHistories.add(i % 2 == 0
+                    ? ChatHistory.createUserChatHistory((long) i, 1L, "사용자 질문 " + i)
+                    : ChatHistory.createLLMChatHistory((long) i, 1L, "LLM 답변 " + i));
+            chatRooms.add(ChatRoom.builder()
+                    .id((long) i)
+                    .userId("user")
+                    .name("채팅방 " + i)
+                    .createdAt(createdAt)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<ChatHistoryResponse> chatHistoryResponse() {
+        return chatHistories.stream().map(ChatHistoryResponse::of).toList();
+    }
+
+    @Benchmark
+    public List<ChatRoomResponse> chatRoomResponse() {
+        return chatRooms.stream().map(ChatRoomResponse::of).toList();
+    }
+}
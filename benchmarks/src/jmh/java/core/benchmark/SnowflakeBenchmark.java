@@ -0,0 +1,92 @@
+package core.benchmark;
+
+import core.common.snowflake.Snowflake;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * 플랫폼/가상 스레드 수에 따른 Snowflake.nextId 처리량.
+ * 한 번의 호출마다 threads 개의 작업이 ID_BATCH 개씩 id를 발급하며, 초당 발급한 id 수는 보조 지표 ids 로 기록된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SnowflakeBenchmark {
+
+    private static final int ID_BATCH = 10_000;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private ThreadType threadType;
+
+    @Param({"1", "8", "64"})
+    private int threads;
+
+    private final Snowflake snowflake = Snowflake.getInstance();
+    private ExecutorService executorService;
+
+    public enum ThreadType {
+        PLATFORM, VIRTUAL
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class IdCounter {
+        public long ids;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ids = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executorService = threadType == ThreadType.PLATFORM
+                ? Executors.newFixedThreadPool(threads)
+                : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Benchmark
+    public long nextId(IdCounter counter) throws ExecutionException, InterruptedException {
+        List<Future<Long>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            futures.add(executorService.submit(this::generateBatch));
+        }
+
+        long last = 0;
+        for (Future<Long> future : futures) {
+            last ^= future.get();
+        }
+        counter.ids += (long) threads * ID_BATCH;
+        return last;
+    }
+
+    private long generateBatch() {
+        long last = 0;
+        for (int i = 0; i < ID_BATCH; i++) {
+            last = snowflake.nextId();
+        }
+        return last;
+    }
+}
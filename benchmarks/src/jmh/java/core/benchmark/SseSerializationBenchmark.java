@@ -0,0 +1,45 @@
+package core.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import core.chat.service.dto.ChatAnswerStreamResponse;
+import core.chat.service.dto.ChatMetaDataStreamResponse;
+import core.chat.service.dto.ChatRoomNameStreamResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * SSE 로 내려가는 record 를 JSON 으로 직렬화하는 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SseSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ChatMetaDataStreamResponse metaData =
+            new ChatMetaDataStreamResponse(123456789012345678L, 123456789012345679L, 123456789012345680L);
+    private final ChatRoomNameStreamResponse roomName = new ChatRoomNameStreamResponse("설비 점검 일정 문의");
+    private final ChatAnswerStreamResponse answer = new ChatAnswerStreamResponse(" 다음 점검은 3일 뒤입니다.");
+
+    @Benchmark
+    public String metaData() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(metaData);
+    }
+
+    @Benchmark
+    public String roomName() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(roomName);
+    }
+
+    @Benchmark
+    public String answer() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(answer);
+    }
+}
@@ -0,0 +1,53 @@
+package core.mcpclient.repository;
+
+import core.mcpclient.repository.CustomChatMemoryRepository.MessageRowMapper;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.ai.chat.messages.Message;
+
+/**
+ * chat_history 한 행을 Spring AI Message 로 바꾸는 비용. DB 접근 비용을 빼기 위해 ResultSet 은 메모리 값을 돌려준다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageRowMapperBenchmark {
+
+    private final MessageRowMapper messageRowMapper = new MessageRowMapper();
+    private final ResultSet userRow = row("3번 라인 설비 점검은 언제인가요?", "USER");
+    private final ResultSet assistantRow = row("3번 라인의 다음 점검은 3일 뒤입니다.", "ASSISTANT");
+
+    @Benchmark
+    public Message userMessage() throws SQLException {
+        return messageRowMapper.mapRow(userRow, 0);
+    }
+
+    @Benchmark
+    public Message assistantMessage() throws SQLException {
+        return messageRowMapper.mapRow(assistantRow, 1);
+    }
+
+    private static ResultSet row(String content, String type) {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getString")) {
+                        return switch ((String) args[0]) {
+                            case "content" -> content;
+                            case "type" -> type;
+                            default -> throw new SQLException("Unknown column: " + args[0]);
+                        };
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,83 @@
+package core.chat.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import core.chat.controller.response.ChatRoomResponse;
+import core.global.config.properties.ChatRoomCacheProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자별 최신 채팅방 목록 첫 페이지를 날짜 문자열까지 만들어 둔 응답 그대로 보관한다.
+ * 첫 페이지는 사용자가 방을 생성/삭제할 때만 바뀌므로, commit 후 해당 사용자의 페이지를 제거해 일관성을 유지한다.
+ */
+@Component
+public class ChatRoomListCache implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "chat.room.list.cache";
+
+    private final int pageSize;
+    private final Cache<String, List<ChatRoomResponse>> pages;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public ChatRoomListCache(ChatRoomCacheProperties properties) {
+        this.pageSize = properties.getListPageSize();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(properties.getListMaximumSize())
+                .expireAfterWrite(properties.getListTtl())
+                .build();
+    }
+
+    /**
+     * 최신 방 limit개를 반환한다. 보관 중인 페이지가 없으면 loader로 listPageSize개를 읽어 보관한 뒤 앞에서부터 잘라 준다.
+     * 같은 사용자의 loader는 한 번만 호출되고, 읽는 도중 commit 된 생성/삭제의 {@link #evict}는 읽기가 끝난 뒤 적용된다.
+     */
+    public List<ChatRoomResponse> getLatest(
+            String userId,
+            int limit,
+            BiFunction<String, Integer, List<ChatRoomResponse>> loader
+    ) {
+        if (limit > pageSize) {
+            missCount.increment();
+            return loader.apply(userId, limit);
+        }
+        List<ChatRoomResponse> cached = pages.getIfPresent(userId);
+        if (cached != null) {
+            hitCount.increment();
+            return head(cached, limit);
+        }
+        missCount.increment();
+        return head(pages.get(userId, id -> List.copyOf(loader.apply(id, pageSize))), limit);
+    }
+
+    public void evict(String userId) {
+        pages.invalidate(userId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", hitCount, LongAdder::sum)
+                .tag("result", "hit")
+                .description("최신 채팅방 목록 조회를 캐시에서 응답한 횟수")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", missCount, LongAdder::sum)
+                .tag("result", "miss")
+                .description("최신 채팅방 목록 조회를 DB에서 읽은 횟수")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".users", pages, Cache::estimatedSize)
+                .description("첫 페이지를 보관 중인 사용자 수")
+                .register(registry);
+    }
+
+    private static List<ChatRoomResponse> head(List<ChatRoomResponse> rooms, int limit) {
+        return rooms.size() <= limit ? rooms : rooms.subList(0, limit);
+    }
+}
@@ -0,0 +1,61 @@
+package core.chat.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import core.global.config.properties.ChatRoomCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방 id별 소유자를 보관해 매 대화마다 실행되는 접근 권한 확인에서 DB 조회를 없앤다.
+ * 존재하지 않는 방도 짧게 보관(negative cache)해 잘못된 roomId로 반복 호출해도 DB에 닿지 않게 한다.
+ * 방 삭제는 이 인스턴스의 cache에만 바로 반영되므로, 다른 인스턴스는 ownerTtl이 지날 때까지 삭제된 방의 소유자를 보관할 수 있다.
+ */
+@Component
+public class ChatRoomOwnerCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "chat.room.owner";
+
+    private final Cache<Long, Optional<String>> owners;
+
+    public ChatRoomOwnerCache(ChatRoomCacheProperties properties) {
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(properties.getOwnerMaximumSize())
+                .expireAfter(Expiry.writing((Long roomId, Optional<String> ownerId) ->
+                        ownerId.isPresent() ? properties.getOwnerTtl() : properties.getMissingRoomTtl()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 방 소유자를 반환한다. 보관하지 않은 방은 loader로 읽어 보관하며, 같은 방을 동시에 읽더라도 loader는 한 번만 호출된다.
+     */
+    public Optional<String> getOwnerId(Long roomId, Function<Long, Optional<String>> loader) {
+        return owners.get(roomId, loader);
+    }
+
+    /**
+     * commit 된 방의 소유자를 보관한다. 이전에 존재하지 않는 방으로 보관됐더라도 덮어쓴다.
+     */
+    public void putOwner(Long roomId, String ownerId) {
+        owners.put(roomId, Optional.of(ownerId));
+    }
+
+    /**
+     * 삭제된 방을 존재하지 않는 방으로 보관한다.
+     * 제거하지 않고 덮어쓰기 때문에 삭제 전에 시작된 조회가 소유자를 다시 보관하지 못한다.
+     */
+    public void markDeleted(Long roomId) {
+        owners.put(roomId, Optional.empty());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, owners, CACHE_NAME);
+    }
+}
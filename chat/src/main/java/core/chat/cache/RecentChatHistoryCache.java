@@ -0,0 +1,152 @@
+package core.chat.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import core.chat.controller.response.ChatHistoryResponse;
+import core.chat.entity.ChatHistory;
+import core.global.config.properties.ChatHistoryCacheProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방별 최근 채팅 이력을 ring buffer로 보관해 첫 페이지 조회를 DB 없이 응답한다.
+ * buffer는 DB 조회 결과로 채워지고, 이후 저장되는 이력은 이미 buffer가 있는 방에만 추가된다.
+ * 전체 추정 메모리와 DB에서 채운 뒤 경과 시간을 기준으로 제거된다. 조회나 추가로는 제거 시점이 늦춰지지 않는다.
+ * 인스턴스 로컬 캐시이므로 다른 인스턴스에서 저장한 이력은 늦어도 ttl이 지나면 반영된다.
+ */
+@Component
+public class RecentChatHistoryCache implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "chat.history.cache";
+    private static final int WRITE_STAMP_STRIPES = 1024;
+
+    private final int windowSize;
+    private final Cache<Long, RecentChatWindow> windows;
+
+    // 방 id를 stripe로 나눈 쓰기 횟수. DB 조회 전후로 값이 바뀌었다면 조회 결과가 최신이 아닐 수 있으므로 buffer를 채우지 않음
+    private final AtomicLongArray writeStamps = new AtomicLongArray(WRITE_STAMP_STRIPES);
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    @Autowired
+    public RecentChatHistoryCache(ChatHistoryCacheProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    RecentChatHistoryCache(ChatHistoryCacheProperties properties, Ticker ticker) {
+        this.windowSize = properties.getWindowSize();
+        Duration ttl = properties.getTtl();
+        this.windows = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((Long roomId, RecentChatWindow window) -> window.estimatedBytes())
+                // append()도 값을 다시 쓰므로 expireAfterWrite 대신 처음 채운 시점을 기준으로 만료시킴
+                .expireAfter(Expiry.creating((Long roomId, RecentChatWindow window) -> ttl))
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * 최신순으로 limit개의 이력을 반환한다. buffer가 없거나 buffer만으로 응답할 수 없으면 비어 있다.
+     */
+    public Optional<List<ChatHistoryResponse>> getLatest(Long roomId, int limit) {
+        RecentChatWindow window = limit <= windowSize ? windows.getIfPresent(roomId) : null;
+        List<ChatHistoryResponse> latest = window == null ? null : window.latest(limit);
+        if (latest == null) {
+            missCount.increment();
+            return Optional.empty();
+        }
+        hitCount.increment();
+        return Optional.of(latest);
+    }
+
+    /**
+     * DB 조회 직전에 호출해 {@link #fill}에 넘길 값을 얻는다.
+     */
+    public long writeStamp(Long roomId) {
+        return writeStamps.get(stripeOf(roomId));
+    }
+
+    /**
+     * DB에서 최신순으로 limit개를 조회한 결과로 buffer를 채운다. stamp를 얻은 뒤 같은 방에 쓰기가 있었다면 채우지 않는다.
+     */
+    public void fill(Long roomId, List<ChatHistoryResponse> latest, int limit, long stamp) {
+        if (limit > windowSize) {
+            return;
+        }
+        windows.asMap().compute(roomId, (id, existing) -> {
+            if (writeStamps.get(stripeOf(id)) != stamp) {
+                return existing;
+            }
+            if (existing != null && (existing.isComplete() || existing.size() >= latest.size())) {
+                return existing;
+            }
+            // limit보다 적게 조회됐다면 방의 모든 이력을 담고 있음
+            RecentChatWindow window = new RecentChatWindow(windowSize, latest.size() < limit);
+            for (int i = latest.size() - 1; i >= 0; i--) {
+                window.add(latest.get(i));
+            }
+            return window;
+        });
+    }
+
+    /**
+     * commit 된 이력을 buffer가 있는 방에 추가한다.
+     */
+    public void append(List<ChatHistory> chatHistories) {
+        for (ChatHistory chatHistory : chatHistories) {
+            Long roomId = chatHistory.getRoomId();
+            writeStamps.incrementAndGet(stripeOf(roomId));
+            windows.asMap().computeIfPresent(roomId, (id, window) -> {
+                window.add(ChatHistoryResponse.of(chatHistory));
+                return window; // 다시 반환해야 변경된 크기로 weight가 갱신됨
+            });
+        }
+    }
+
+    public void evict(Long roomId) {
+        writeStamps.incrementAndGet(stripeOf(roomId));
+        windows.invalidate(roomId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", hitCount, LongAdder::sum)
+                .tag("result", "hit")
+                .description("최신 채팅 이력 조회를 캐시에서 응답한 횟수")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", missCount, LongAdder::sum)
+                .tag("result", "miss")
+                .description("최신 채팅 이력 조회를 DB에서 읽은 횟수")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".rooms", windows, Cache::estimatedSize)
+                .description("최근 채팅 이력을 보관 중인 방 수")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".memory", this, RecentChatHistoryCache::estimatedBytes)
+                .description("보관 중인 최근 채팅 이력의 추정 heap 크기")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    long estimatedBytes() {
+        windows.cleanUp(); // 대기 중인 weight 변경을 반영
+        return windows.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private static int stripeOf(Long roomId) {
+        return Math.floorMod(Long.hashCode(roomId), WRITE_STAMP_STRIPES);
+    }
+}
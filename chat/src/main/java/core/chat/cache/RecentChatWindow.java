@@ -0,0 +1,122 @@
+package core.chat.cache;
+
+import core.chat.controller.response.ChatHistoryResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한 방의 최근 채팅 이력을 id 오름차순으로 담는 고정 크기 ring buffer.
+ * 가득 찬 상태에서 새 이력이 들어오면 가장 오래된 이력을 덮어쓴다.
+ */
+final class RecentChatWindow {
+
+    // 응답 객체, Long, String 헤더와 buffer 참조를 합친 대략적인 크기
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    private static final int WINDOW_OVERHEAD_BYTES = 64;
+
+    private final ChatHistoryResponse[] buffer;
+    private int head; // 가장 오래된 이력의 위치
+    private int size;
+
+    // 방의 모든 이력을 담고 있는지 여부. true면 size보다 큰 limit의 조회에도 응답할 수 있음
+    private boolean complete;
+    private long contentBytes;
+
+    RecentChatWindow(int capacity, boolean complete) {
+        this.buffer = new ChatHistoryResponse[capacity];
+        this.complete = complete;
+    }
+
+    /**
+     * 최신순으로 limit개를 반환한다. 담고 있는 이력만으로 응답할 수 없으면 null을 반환한다.
+     */
+    synchronized List<ChatHistoryResponse> latest(int limit) {
+        if (size < limit && !complete) {
+            return null;
+        }
+        int count = Math.min(limit, size);
+        List<ChatHistoryResponse> latest = new ArrayList<>(count);
+        for (int i = size - 1; i >= size - count; i--) {
+            latest.add(get(i));
+        }
+        return latest;
+    }
+
+    /**
+     * 이력을 id 순서에 맞게 추가한다. 이미 담고 있는 id는 무시한다.
+     */
+    synchronized void add(ChatHistoryResponse response) {
+        long chatId = response.getChatId();
+        if (size == 0 || chatId > get(size - 1).getChatId()) {
+            append(response);
+            return;
+        }
+        // 다른 인스턴스에서 발급된 id 등으로 순서가 뒤섞인 경우. 드물기 때문에 선형 탐색으로 처리함
+        int position = size;
+        while (position > 0 && get(position - 1).getChatId() > chatId) {
+            position--;
+        }
+        if (position > 0 && get(position - 1).getChatId() == chatId) {
+            return;
+        }
+        if (position == 0 && size == buffer.length) { // 담고 있는 가장 오래된 이력보다 오래된 이력
+            complete = false;
+            return;
+        }
+
+        if (size == buffer.length) { // 가장 오래된 이력을 버려 자리를 만듦
+            contentBytes -= weightOf(get(0));
+            head = (head + 1) % buffer.length;
+            size--;
+            position--;
+            complete = false;
+        }
+        for (int i = size; i > position; i--) {
+            set(i, get(i - 1));
+        }
+        set(position, response);
+        size++;
+        contentBytes += weightOf(response);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * 담고 있는 이력이 차지하는 대략적인 heap 크기(byte)
+     */
+    synchronized int estimatedBytes() {
+        return (int) Math.min(Integer.MAX_VALUE, WINDOW_OVERHEAD_BYTES + 8L * buffer.length + contentBytes);
+    }
+
+    private void append(ChatHistoryResponse response) {
+        if (size == buffer.length) {
+            contentBytes -= weightOf(buffer[head]);
+            buffer[head] = response;
+            head = (head + 1) % buffer.length;
+            complete = false;
+        } else {
+            set(size, response);
+            size++;
+        }
+        contentBytes += weightOf(response);
+    }
+
+    private ChatHistoryResponse get(int index) {
+        return buffer[(head + index) % buffer.length];
+    }
+
+    private void set(int index, ChatHistoryResponse response) {
+        buffer[(head + index) % buffer.length] = response;
+    }
+
+    private static long weightOf(ChatHistoryResponse response) {
+        // 한글이 섞인 문자열은 UTF-16으로 저장되므로 글자당 2byte로 계산
+        return ENTRY_OVERHEAD_BYTES + 2L * response.getContent().length();
+    }
+}
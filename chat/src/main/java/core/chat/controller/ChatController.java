@@ -5,11 +5,14 @@ import core.chat.controller.request.ChatRoomListRequest;
 import core.chat.controller.response.ChatHistoriesResponse;
 import core.chat.controller.response.ChatRoomListResponse;
 import core.global.auth.UserId;
+import core.global.ratelimit.LlmEndpoint;
 import core.chat.controller.request.ChatRequest;
 import core.chat.controller.request.CreateChatRoomRequest;
 import core.chat.controller.response.ChatResponse;
 import core.chat.controller.response.CreateChatRoomResponse;
 import core.chat.service.ChatFacade;
+import core.mcpclient.health.LlmHealth;
+import core.mcpclient.health.LlmHealthStatus;
 import core.mcpclient.service.LLMHealthCheckService;
 import core.mcpclient.service.McpToolService;
 import jakarta.validation.Valid;
@@ -28,6 +31,7 @@ public class ChatController {
     private final McpToolService mcpToolService;
     private final ChatFacade chatFacade;
 
+    @LlmEndpoint
     @PostMapping("/v2/chat")
     public ResponseEntity<ChatResponse> chat(
             @UserId String userId,
@@ -35,6 +39,7 @@ public class ChatController {
         return ResponseEntity.ok(chatFacade.chat(userId, request));
     }
 
+    @LlmEndpoint
     @PostMapping("/v2/chat/room/create")
     public ResponseEntity<CreateChatRoomResponse> createChatRoom(
             @UserId String userId,
@@ -43,6 +48,7 @@ public class ChatController {
         return ResponseEntity.ok(chatFacade.startNewChat(userId, request));
     }
 
+    @LlmEndpoint
     @PostMapping("/v1/chat/stream")
     public SseEmitter chatStream(
             @UserId String userId,
@@ -70,6 +76,7 @@ public class ChatController {
         return emitter;
     }
 
+    @LlmEndpoint
     @PostMapping("/v1/chat/room/create/stream")
     public SseEmitter createChatRoomStream(
             @UserId String userId,
@@ -129,9 +136,12 @@ public class ChatController {
     }
 
     @GetMapping("/v1/mcp/health")
-    public ResponseEntity<String> llmHealthCheck() {
-        if(llmHealthCheckService.isLLMConnected()) return ResponseEntity.ok().build();
-        else return ResponseEntity.internalServerError().build();
+    public ResponseEntity<LlmHealth> llmHealthCheck() {
+        LlmHealth health = llmHealthCheckService.health();
+        if (health.status() == LlmHealthStatus.UNHEALTHY) {
+            return ResponseEntity.internalServerError().body(health);
+        }
+        return ResponseEntity.ok(health);
     }
 
     @GetMapping("/health")
@@ -14,10 +14,10 @@ public class ChatHistoryResponse {
     private final Boolean isChatbot;
 
     public static ChatHistoryResponse of(ChatHistory chatHistory) {
-        return new ChatHistoryResponse(
-                chatHistory.getId(),
-                chatHistory.getContent(),
-                chatHistory.getType() == MessageType.ASSISTANT
-        );
+        return of(chatHistory.getId(), chatHistory.getContent(), chatHistory.getType());
+    }
+
+    public static ChatHistoryResponse of(Long chatId, String content, MessageType type) {
+        return new ChatHistoryResponse(chatId, content, type == MessageType.ASSISTANT);
     }
 }
@@ -1,6 +1,7 @@
 package core.chat.controller.response;
 
 import core.chat.entity.ChatRoom;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -9,12 +10,17 @@ import lombok.Getter;
 @Getter
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class ChatRoomResponse {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy'년' M'월' d'일'");
+
     private Long roomId;
     private String roomName;
     private String date;
 
     public static ChatRoomResponse of(ChatRoom chatRoom) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy'년' M'월' d'일'");
-        return new ChatRoomResponse(chatRoom.getId(), chatRoom.getName(), chatRoom.getCreatedAt().format(formatter));
+        return of(chatRoom.getId(), chatRoom.getName(), chatRoom.getCreatedAt());
+    }
+
+    public static ChatRoomResponse of(Long roomId, String roomName, LocalDateTime createdAt) {
+        return new ChatRoomResponse(roomId, roomName, createdAt.format(DATE_FORMATTER));
     }
 }
@@ -11,6 +11,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 
+@Table(
+    name = "chat_history",
+    indexes = @Index(
+        name = "CHAT_HISTORY_ROOM_ID_ID_IDX",
+        columnList = "room_id, id"
+    )
+)
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -38,8 +45,12 @@ public class ChatHistory {
     private LocalDateTime createdAt;
 
     public static ChatHistory createUserChatHistory(Long roomId, String content) {
+        return createUserChatHistory(Snowflake.getInstance().nextId(), roomId, content);
+    }
+
+    public static ChatHistory createUserChatHistory(Long id, Long roomId, String content) {
         return ChatHistory.builder()
-                .id(Snowflake.getInstance().nextId())
+                .id(id)
                 .roomId(roomId)
                 .type(MessageType.USER)
                 .content(content)
@@ -47,8 +58,12 @@ public class ChatHistory {
     }
 
     public static ChatHistory createLLMChatHistory(Long roomId, String content) {
+        return createLLMChatHistory(Snowflake.getInstance().nextId(), roomId, content);
+    }
+
+    public static ChatHistory createLLMChatHistory(Long id, Long roomId, String content) {
         return ChatHistory.builder()
-                .id(Snowflake.getInstance().nextId())
+                .id(id)
                 .roomId(roomId)
                 .type(MessageType.ASSISTANT)
                 .content(content)
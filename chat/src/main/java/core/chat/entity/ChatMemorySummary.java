@@ -0,0 +1,32 @@
+package core.chat.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// mcp-client의 ChatMemorySummaryRepository가 JDBC로 읽고 쓰는 대화별 요약
+@Table(name = "chat_memory_summary")
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChatMemorySummary {
+    @Id
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @NotNull
+    @Column(columnDefinition = "TEXT")
+    private String summary;
+
+    // 요약에 포함된 마지막 채팅 id
+    @NotNull
+    @Column(name = "last_chat_id")
+    private Long lastChatId;
+
+    @NotNull
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,72 @@
+package core.chat.journal;
+
+import core.chat.entity.ChatHistory;
+import core.chat.entity.ChatRoom;
+import core.chat.service.dto.ChatTurn;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * journal에 기록하는 대화의 binary 형식.
+ * [flags:1][room id:8, user id, name]? [user chat id:8][room id:8][user content][llm chat id:8][llm content]
+ * 문자열은 [UTF-8 byte 길이:4][UTF-8 bytes]로 기록한다.
+ */
+final class ChatTurnCodec {
+
+    private static final byte HAS_CHAT_ROOM = 1;
+
+    private ChatTurnCodec() {
+    }
+
+    static byte[] encode(ChatTurn chatTurn) {
+        ChatRoom chatRoom = chatTurn.chatRoom();
+        byte[] userId = chatRoom == null ? null : chatRoom.getUserId().getBytes(StandardCharsets.UTF_8);
+        byte[] roomName = chatRoom == null ? null : chatRoom.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] userContent = chatTurn.userChat().getContent().getBytes(StandardCharsets.UTF_8);
+        byte[] llmContent = chatTurn.llmChat().getContent().getBytes(StandardCharsets.UTF_8);
+
+        int size = 1 + Long.BYTES * 3 + Integer.BYTES * 2 + userContent.length + llmContent.length;
+        if (chatRoom != null) {
+            size += Long.BYTES + Integer.BYTES * 2 + userId.length + roomName.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(chatRoom == null ? 0 : HAS_CHAT_ROOM);
+        if (chatRoom != null) {
+            buffer.putLong(chatRoom.getId());
+            putBytes(buffer, userId);
+            putBytes(buffer, roomName);
+        }
+        buffer.putLong(chatTurn.userChat().getId());
+        buffer.putLong(chatTurn.userChat().getRoomId());
+        putBytes(buffer, userContent);
+        buffer.putLong(chatTurn.llmChat().getId());
+        putBytes(buffer, llmContent);
+        return buffer.array();
+    }
+
+    static ChatTurn decode(ByteBuffer buffer) {
+        ChatRoom chatRoom = null;
+        if (buffer.get() == HAS_CHAT_ROOM) {
+            long chatRoomId = buffer.getLong();
+            chatRoom = ChatRoom.createChatRoom(chatRoomId, getString(buffer), getString(buffer));
+        }
+        long userChatId = buffer.getLong();
+        long roomId = buffer.getLong();
+        ChatHistory userChat = ChatHistory.createUserChatHistory(userChatId, roomId, getString(buffer));
+        long llmChatId = buffer.getLong();
+        ChatHistory llmChat = ChatHistory.createLLMChatHistory(llmChatId, roomId, getString(buffer));
+        return new ChatTurn(chatRoom, userChat, llmChat);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
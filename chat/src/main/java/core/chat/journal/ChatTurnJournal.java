@@ -0,0 +1,33 @@
+package core.chat.journal;
+
+import core.chat.service.dto.ChatTurn;
+import java.util.List;
+
+/**
+ * 아직 DB에 commit 되지 않은 대화를 로컬에 남겨, 프로세스가 죽어도 재시작 시 복구할 수 있게 한다.
+ */
+public interface ChatTurnJournal extends AutoCloseable {
+
+    /**
+     * 대화를 journal에 기록한다. 기록하지 못하더라도 예외를 던지지 않는다.
+     */
+    void append(ChatTurn chatTurn);
+
+    /**
+     * DB에 commit 된 대화를 알린다. commit 된 대화는 다시 읽지 않으며, 기록된 대화가 모두 commit 되면 journal을 비운다.
+     */
+    void acknowledge(List<ChatTurn> chatTurns);
+
+    /**
+     * 복구할 수 없는 대화를 journal 밖(quarantine)으로 옮겨 다시 복구하지 않게 한다.
+     */
+    void quarantine(ChatTurn chatTurn);
+
+    /**
+     * journal에 남아 있는 commit 되지 않은 대화를 모두 읽는다. 시작 시 복구에 사용한다.
+     */
+    List<ChatTurn> readAll();
+
+    @Override
+    void close();
+}
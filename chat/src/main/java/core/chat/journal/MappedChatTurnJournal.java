@@ -0,0 +1,248 @@
+package core.chat.journal;
+
+import core.chat.service.dto.ChatTurn;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * memory-mapped 파일 두 개(segment)를 번갈아 쓰는 append-only journal.
+ * 레코드 형식은 [payload 길이:4][CRC32C:4][payload] 이며, 길이가 0이거나 checksum이 맞지 않는 곳에서 읽기를 멈춘다.
+ * commit 된 레코드는 길이를 음수로 바꾸어(tombstone) 표시하고, 다시 열었을 때 읽지 않는다.
+ * 읽을 수 없는 레코드는 quarantine 파일로 옮기고 건너뛴다.
+ * 쓰기는 page cache까지만 반영되므로 프로세스가 죽는 경우는 복구되지만, OS가 죽는 경우는 보장하지 않는다.
+ */
+@Slf4j
+public class MappedChatTurnJournal implements ChatTurnJournal {
+
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES * 2;
+    private static final int SEGMENT_COUNT = 2;
+    private static final String QUARANTINE_FILE_NAME = "chat-turn-journal.quarantine";
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final Path quarantineFile;
+    // 아직 commit 되지 않은 대화가 기록된 위치 (key: 사용자 채팅 id)
+    private final Map<Long, RecordLocation> pendingRecords = new HashMap<>();
+    private Segment active;
+
+    public MappedChatTurnJournal(Path directory, int segmentBytes) {
+        this.quarantineFile = directory.resolve(QUARANTINE_FILE_NAME);
+        try {
+            Files.createDirectories(directory);
+            for (int i = 0; i < SEGMENT_COUNT; i++) {
+                segments[i] = new Segment(directory.resolve("chat-turn-journal-" + i + ".dat"), segmentBytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("chat journal을 열 수 없습니다: " + directory, e);
+        }
+        // 이전 프로세스가 commit 하지 못한 레코드를 pending으로 등록해, 복구 전에 segment가 비워지지 않게 함
+        for (Segment segment : segments) {
+            segment.forEachLiveRecord((offset, chatTurn) -> register(chatTurn, segment, offset));
+        }
+        active = segments[0].position <= segments[1].position ? segments[0] : segments[1];
+    }
+
+    @Override
+    public synchronized void append(ChatTurn chatTurn) {
+        byte[] payload = ChatTurnCodec.encode(chatTurn);
+        int recordBytes = RECORD_HEADER_BYTES + payload.length;
+
+        if (!active.hasRoomFor(recordBytes)) {
+            // 다른 segment의 대화가 모두 commit 되었으면 비우고 그쪽에 이어서 기록함
+            Segment standby = standby();
+            if (standby.pending > 0 || !standby.hasRoomAfterReset(recordBytes)) {
+                log.warn("chat journal에 공간이 없어 기록하지 못했습니다. (roomId = {}, userChatId = {})",
+                        chatTurn.userChat().getRoomId(), chatTurn.userChat().getId());
+                return;
+            }
+            standby.reset();
+            active = standby;
+        }
+
+        int offset = active.write(payload);
+        register(chatTurn, active, offset);
+    }
+
+    @Override
+    public synchronized void acknowledge(List<ChatTurn> chatTurns) {
+        for (ChatTurn chatTurn : chatTurns) {
+            RecordLocation location = pendingRecords.remove(chatTurn.userChat().getId());
+            if (location == null) {
+                continue;
+            }
+            Segment segment = location.segment();
+            segment.pending--;
+            if (segment.pending == 0) { // segment에 기록된 대화가 모두 commit 되었으므로 비움
+                segment.reset();
+            } else { // 다시 열었을 때 commit 된 대화를 복구하지 않도록 표시함
+                segment.tombstone(location.offset());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void quarantine(ChatTurn chatTurn) {
+        RecordLocation location = pendingRecords.get(chatTurn.userChat().getId());
+        if (location != null) {
+            writeQuarantine(location.segment().payloadAt(location.offset()));
+        }
+        acknowledge(List.of(chatTurn));
+    }
+
+    @Override
+    public synchronized List<ChatTurn> readAll() {
+        List<ChatTurn> chatTurns = new ArrayList<>();
+        for (Segment segment : segments) {
+            segment.forEachLiveRecord((offset, chatTurn) -> chatTurns.add(chatTurn));
+        }
+        return chatTurns;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+    }
+
+    private void register(ChatTurn chatTurn, Segment segment, int offset) {
+        if (pendingRecords.putIfAbsent(chatTurn.userChat().getId(), new RecordLocation(segment, offset)) == null) {
+            segment.pending++;
+        }
+    }
+
+    private Segment standby() {
+        return active == segments[0] ? segments[1] : segments[0];
+    }
+
+    private void writeQuarantine(byte[] payload) {
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + payload.length);
+        record.putInt(payload.length).put(payload);
+        try {
+            Files.write(quarantineFile, record.array(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.error("chat journal 레코드를 quarantine 파일에 기록하지 못했습니다: {}", quarantineFile, e);
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(payload);
+        return (int) crc32c.getValue();
+    }
+
+    private record RecordLocation(Segment segment, int offset) {
+    }
+
+    @FunctionalInterface
+    private interface RecordConsumer {
+        void accept(int offset, ChatTurn chatTurn);
+    }
+
+    private final class Segment {
+        private final MappedByteBuffer buffer;
+        private int position;
+        private int pending;
+
+        private Segment(Path path, int segmentBytes) throws IOException {
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            }
+            this.position = scanEnd();
+        }
+
+        // 다음 레코드를 위한 종료 표시(길이 0) 4 byte를 남겨 둠
+        private boolean hasRoomFor(int recordBytes) {
+            return position + recordBytes + Integer.BYTES <= buffer.capacity();
+        }
+
+        private boolean hasRoomAfterReset(int recordBytes) {
+            return recordBytes + Integer.BYTES <= buffer.capacity();
+        }
+
+        /**
+         * 종료 표시 → payload → checksum → 길이 순으로 기록해, 쓰는 도중 죽어도 완성되지 않은 레코드는 길이 0으로 남게 한다.
+         * 기록한 레코드의 시작 위치를 반환한다.
+         */
+        private int write(byte[] payload) {
+            int offset = position;
+            int end = offset + RECORD_HEADER_BYTES + payload.length;
+            buffer.putInt(end, 0);
+            buffer.put(offset + RECORD_HEADER_BYTES, payload);
+            buffer.putInt(offset + Integer.BYTES, checksum(payload));
+            buffer.putInt(offset, payload.length);
+            position = end;
+            return offset;
+        }
+
+        // 길이 4 byte만 바꾸므로 쓰는 도중 죽어도 레코드는 commit 전이나 후 중 하나로 남음
+        private void tombstone(int offset) {
+            buffer.putInt(offset, -Math.abs(buffer.getInt(offset)));
+        }
+
+        private void reset() {
+            buffer.putInt(0, 0);
+            position = 0;
+        }
+
+        private int scanEnd() {
+            int offset = 0;
+            byte[] payload;
+            while ((payload = payloadAt(offset)) != null) {
+                offset += RECORD_HEADER_BYTES + payload.length;
+            }
+            return offset;
+        }
+
+        /**
+         * commit 되지 않은 레코드를 순서대로 읽는다. 읽을 수 없는 레코드는 quarantine 파일로 옮기고 tombstone으로 표시한다.
+         */
+        private void forEachLiveRecord(RecordConsumer consumer) {
+            int offset = 0;
+            byte[] payload;
+            while ((payload = payloadAt(offset)) != null) {
+                if (buffer.getInt(offset) > 0) {
+                    try {
+                        consumer.accept(offset, ChatTurnCodec.decode(ByteBuffer.wrap(payload)));
+                    } catch (RuntimeException e) {
+                        log.error("chat journal 레코드를 읽을 수 없어 quarantine 파일로 옮깁니다. (offset = {})", offset, e);
+                        writeQuarantine(payload);
+                        tombstone(offset);
+                    }
+                }
+                offset += RECORD_HEADER_BYTES + payload.length;
+            }
+        }
+
+        /**
+         * offset에 있는 레코드의 payload를 반환한다. tombstone 레코드도 읽으며, 레코드가 없거나 손상되었으면 null을 반환한다.
+         */
+        private byte[] payloadAt(int offset) {
+            if (offset + RECORD_HEADER_BYTES > buffer.capacity()) {
+                return null;
+            }
+            int length = Math.abs(buffer.getInt(offset));
+            if (length == 0 || length > buffer.capacity() - offset - RECORD_HEADER_BYTES) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + RECORD_HEADER_BYTES, payload);
+            if (checksum(payload) != buffer.getInt(offset + Integer.BYTES)) {
+                return null;
+            }
+            return payload;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package core.chat.journal;
+
+import core.chat.service.dto.ChatTurn;
+import java.util.List;
+
+/**
+ * chat.journal.enabled=false 일 때 사용하는 journal. 아무것도 기록하지 않는다.
+ */
+public class NoOpChatTurnJournal implements ChatTurnJournal {
+
+    @Override
+    public void append(ChatTurn chatTurn) {
+    }
+
+    @Override
+    public void acknowledge(List<ChatTurn> chatTurns) {
+    }
+
+    @Override
+    public void quarantine(ChatTurn chatTurn) {
+    }
+
+    @Override
+    public List<ChatTurn> readAll() {
+        return List.of();
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -1,6 +1,7 @@
 package core.chat.repository;
 
 import core.chat.entity.ChatHistory;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -19,6 +20,19 @@ public interface ChatHistoryJpaRepository extends JpaRepository<ChatHistory, Lon
     @Query("SELECT c FROM ChatHistory c WHERE c.roomId = :roomId ORDER BY c.id DESC LIMIT :limit")
     List<ChatHistory> findAllByRoomIdLatest(@Param("roomId") Long roomId, @Param("limit") int limit);
 
+    // id에 생성 시각이 담겨 있으므로 시간 범위를 PK 범위로 조회함 (SnowflakeIdCodec 참고)
+    @Query("SELECT c FROM ChatHistory c WHERE c.roomId = :roomId AND c.id >= :fromId AND c.id < :toId "
+            + "ORDER BY c.id DESC LIMIT :limit")
+    List<ChatHistory> findAllByRoomIdInIdRange(
+            @Param("roomId") Long roomId,
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId,
+            @Param("limit") int limit
+    );
+
+    @Query("SELECT c.id FROM ChatHistory c WHERE c.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
     @Modifying
     @Query("DELETE FROM ChatHistory ch WHERE ch.roomId = :roomId")
     void deleteByRoomId(@Param("roomId") Long roomId);
@@ -1,6 +1,9 @@
 package core.chat.repository;
 
+import core.chat.controller.response.ChatHistoryResponse;
 import core.chat.entity.ChatHistory;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.stereotype.Repository;
 
@@ -8,9 +11,19 @@ import org.springframework.stereotype.Repository;
 public interface ChatHistoryRepository {
     void insertChatHistoryWithoutSelect(ChatHistory chatHistory);
 
+    void insertAllWithoutSelect(List<ChatHistory> chatHistories);
+
+    List<Long> findExistingIds(Collection<Long> ids);
+
     void deleteChatHistoryByRoomId(Long roomId);
 
     List<ChatHistory> findAllByRoomIdLatest(Long roomId, Integer limit);
 
     List<ChatHistory> findAllByRoomIdAfterChatId(Long roomId, Long lastChatId, Integer limit);
+
+    List<ChatHistoryResponse> findResponsesByRoomIdLatest(Long roomId, Integer limit);
+
+    List<ChatHistoryResponse> findResponsesByRoomIdAfterChatId(Long roomId, Long lastChatId, Integer limit);
+
+    List<ChatHistory> findAllByRoomIdCreatedBetween(Long roomId, Instant from, Instant to, Integer limit);
 }
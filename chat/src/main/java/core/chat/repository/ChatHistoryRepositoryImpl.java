@@ -1,9 +1,19 @@
 package core.chat.repository;
 
+import core.chat.controller.response.ChatHistoryResponse;
 import core.chat.entity.ChatHistory;
+import core.chat.entity.MessageType;
+import core.common.snowflake.SnowflakeIdCodec;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,12 +22,57 @@ public class ChatHistoryRepositoryImpl implements ChatHistoryRepository {
 
     private final ChatHistoryJpaRepository chatHistoryJpaRepository;
     private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String INSERT_CHAT_HISTORY_SQL =
+            "INSERT INTO chat_history (id, room_id, content, type, created_at) VALUES ";
+    private static final String SELECT_RESPONSES_LATEST_SQL =
+            "SELECT id, content, type FROM chat_history WHERE room_id = ? ORDER BY id DESC LIMIT ?";
+    private static final String SELECT_RESPONSES_AFTER_SQL =
+            "SELECT id, content, type FROM chat_history WHERE room_id = ? AND id < ? ORDER BY id DESC LIMIT ?";
+
+    // 엔티티를 영속성 컨텍스트에 올리지 않고 응답에 필요한 컬럼만 바로 응답 객체로 변환함
+    private static final RowMapper<ChatHistoryResponse> CHAT_HISTORY_RESPONSE_ROW_MAPPER = (rs, rowNum) ->
+            ChatHistoryResponse.of(rs.getLong("id"), rs.getString("content"), MessageType.valueOf(rs.getString("type")));
 
     @Override
     public void insertChatHistoryWithoutSelect(ChatHistory chatHistory){
         em.persist(chatHistory);
     }
 
+    /**
+     * 여러 채팅 이력을 multi-row INSERT 한 번으로 저장한다.
+     * native query라 @CreationTimestamp가 적용되지 않으므로 created_at을 직접 채운다.
+     */
+    @Override
+    public void insertAllWithoutSelect(List<ChatHistory> chatHistories) {
+        if (chatHistories.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_CHAT_HISTORY_SQL);
+        for (int i = 0; i < chatHistories.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?)");
+        }
+
+        Query query = em.createNativeQuery(sql.toString());
+        LocalDateTime now = LocalDateTime.now();
+        int position = 1;
+        for (ChatHistory chatHistory : chatHistories) {
+            query.setParameter(position++, chatHistory.getId());
+            query.setParameter(position++, chatHistory.getRoomId());
+            query.setParameter(position++, chatHistory.getContent());
+            query.setParameter(position++, chatHistory.getType().name());
+            query.setParameter(position++, now);
+        }
+        query.executeUpdate();
+    }
+
+    @Override
+    public List<Long> findExistingIds(Collection<Long> ids) {
+        return chatHistoryJpaRepository.findIdsByIdIn(ids);
+    }
+
     @Override
     public void deleteChatHistoryByRoomId(Long roomId) {
         chatHistoryJpaRepository.deleteByRoomId(roomId);
@@ -32,4 +87,37 @@ public class ChatHistoryRepositoryImpl implements ChatHistoryRepository {
     public List<ChatHistory> findAllByRoomIdAfterChatId(Long roomId, Long lastChatId, Integer limit) {
         return chatHistoryJpaRepository.findAllByRoomIdAfterChatId(roomId, lastChatId, limit);
     }
+
+    @Override
+    public List<ChatHistoryResponse> findResponsesByRoomIdLatest(Long roomId, Integer limit) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_RESPONSES_LATEST_SQL);
+            ps.setFetchSize(limit);
+            ps.setLong(1, roomId);
+            ps.setInt(2, limit);
+            return ps;
+        }, CHAT_HISTORY_RESPONSE_ROW_MAPPER);
+    }
+
+    @Override
+    public List<ChatHistoryResponse> findResponsesByRoomIdAfterChatId(Long roomId, Long lastChatId, Integer limit) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_RESPONSES_AFTER_SQL);
+            ps.setFetchSize(limit);
+            ps.setLong(1, roomId);
+            ps.setLong(2, lastChatId);
+            ps.setInt(3, limit);
+            return ps;
+        }, CHAT_HISTORY_RESPONSE_ROW_MAPPER);
+    }
+
+    @Override
+    public List<ChatHistory> findAllByRoomIdCreatedBetween(Long roomId, Instant from, Instant to, Integer limit) {
+        return chatHistoryJpaRepository.findAllByRoomIdInIdRange(
+                roomId,
+                SnowflakeIdCodec.lowerBound(from),
+                SnowflakeIdCodec.lowerBound(to),
+                limit
+        );
+    }
 }
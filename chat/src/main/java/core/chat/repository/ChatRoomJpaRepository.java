@@ -2,6 +2,7 @@ package core.chat.repository;
 
 import core.chat.entity.ChatRoom;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -19,9 +20,22 @@ public interface ChatRoomJpaRepository extends JpaRepository<ChatRoom, Long> {
     @Query("SELECT c FROM ChatRoom c WHERE c.userId = :userId ORDER BY c.id DESC LIMIT :limit")
     List<ChatRoom> findAllByUserIdLatest(@Param("userId") String userId, @Param("limit") int limit);
 
+    // id에 생성 시각이 담겨 있으므로 시간 범위를 PK 범위로 조회함 (SnowflakeIdCodec 참고)
+    @Query("SELECT c FROM ChatRoom c WHERE c.userId = :userId AND c.id >= :fromId AND c.id < :toId "
+            + "ORDER BY c.id DESC LIMIT :limit")
+    List<ChatRoom> findAllByUserIdInIdRange(
+            @Param("userId") String userId,
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId,
+            @Param("limit") int limit
+    );
+
     @Modifying(clearAutomatically = true)
     @Query("DELETE FROM ChatRoom c WHERE c.id = :id")
     void deleteById(@Param("id") Long id);
 
     boolean existsByIdAndUserId(Long id, String userId);
+
+    @Query("SELECT c.userId FROM ChatRoom c WHERE c.id = :id")
+    Optional<String> findUserIdById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package core.chat.repository;
 
+import core.chat.controller.response.ChatRoomResponse;
 import core.chat.entity.ChatRoom;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.stereotype.Repository;
@@ -12,9 +14,14 @@ public interface ChatRoomRepository {
 
     List<ChatRoom> findAllByUserIdAfterRoomId(String userId, Long roomId, int size);
     List<ChatRoom> findAllByUserIdLatest(String userId, int size);
+    List<ChatRoom> findAllByUserIdCreatedBetween(String userId, Instant from, Instant to, int size);
+
+    List<ChatRoomResponse> findResponsesByUserIdAfterRoomId(String userId, Long roomId, int size);
+    List<ChatRoomResponse> findResponsesByUserIdLatest(String userId, int size);
 
     void insertWithoutSelect(ChatRoom chatRoom);
     void deleteById(Long roomId);
 
     boolean existsByRoomIdAndUserId(Long roomId, String userId);
+    Optional<String> findOwnerIdByRoomId(Long roomId);
 }
@@ -1,10 +1,16 @@
 package core.chat.repository;
 
+import core.chat.controller.response.ChatRoomResponse;
 import core.chat.entity.ChatRoom;
+import core.common.snowflake.SnowflakeIdCodec;
 import jakarta.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,6 +19,17 @@ public class ChatRoomRepositoryImpl implements ChatRoomRepository {
 
     private final ChatRoomJpaRepository chatRoomJpaRepository;
     private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String SELECT_RESPONSES_LATEST_SQL =
+            "SELECT id, name, created_at FROM chat_room WHERE user_id = ? ORDER BY id DESC LIMIT ?";
+    private static final String SELECT_RESPONSES_AFTER_SQL =
+            "SELECT id, name, created_at FROM chat_room WHERE user_id = ? AND id < ? ORDER BY id DESC LIMIT ?";
+
+    // 엔티티를 영속성 컨텍스트에 올리지 않고 응답에 필요한 컬럼만 바로 응답 객체로 변환함
+    private static final RowMapper<ChatRoomResponse> CHAT_ROOM_RESPONSE_ROW_MAPPER = (rs, rowNum) ->
+            ChatRoomResponse.of(rs.getLong("id"), rs.getString("name"),
+                    rs.getTimestamp("created_at").toLocalDateTime());
 
     @Override
     public void insertWithoutSelect(ChatRoom chatRoom) {
@@ -34,6 +51,39 @@ public class ChatRoomRepositoryImpl implements ChatRoomRepository {
         return chatRoomJpaRepository.findAllByUserIdLatest(userId, limit);
     }
 
+    @Override
+    public List<ChatRoomResponse> findResponsesByUserIdAfterRoomId(String userId, Long roomId, int limit) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_RESPONSES_AFTER_SQL);
+            ps.setFetchSize(limit);
+            ps.setString(1, userId);
+            ps.setLong(2, roomId);
+            ps.setInt(3, limit);
+            return ps;
+        }, CHAT_ROOM_RESPONSE_ROW_MAPPER);
+    }
+
+    @Override
+    public List<ChatRoomResponse> findResponsesByUserIdLatest(String userId, int limit) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_RESPONSES_LATEST_SQL);
+            ps.setFetchSize(limit);
+            ps.setString(1, userId);
+            ps.setInt(2, limit);
+            return ps;
+        }, CHAT_ROOM_RESPONSE_ROW_MAPPER);
+    }
+
+    @Override
+    public List<ChatRoom> findAllByUserIdCreatedBetween(String userId, Instant from, Instant to, int limit) {
+        return chatRoomJpaRepository.findAllByUserIdInIdRange(
+                userId,
+                SnowflakeIdCodec.lowerBound(from),
+                SnowflakeIdCodec.lowerBound(to),
+                limit
+        );
+    }
+
     @Override
     public void deleteById(Long roomId) {
         chatRoomJpaRepository.deleteById(roomId);
@@ -43,4 +93,9 @@ public class ChatRoomRepositoryImpl implements ChatRoomRepository {
     public boolean existsByRoomIdAndUserId(Long roomId, String userId) {
         return chatRoomJpaRepository.existsByIdAndUserId(roomId, userId);
     }
+
+    @Override
+    public Optional<String> findOwnerIdByRoomId(Long roomId) {
+        return chatRoomJpaRepository.findUserIdById(roomId);
+    }
 }
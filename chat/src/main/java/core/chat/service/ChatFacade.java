@@ -4,13 +4,16 @@ import core.chat.controller.request.*;
 import core.chat.controller.response.*;
 import core.chat.entity.ChatHistory;
 import core.chat.entity.ChatRoom;
-import core.chat.entity.MessageType;
 import core.chat.service.dto.ChatAnswerStreamResponse;
 import core.chat.service.dto.ChatMetaDataStreamResponse;
 import core.chat.service.dto.ChatRoomNameStreamResponse;
+import core.chat.service.dto.ChatTurn;
 import core.common.snowflake.Snowflake;
+import core.global.ratelimit.ClientRateLimiter;
+import core.mcpclient.admission.LlmAdmissionController;
 import core.mcpclient.service.dto.NewChatRoomInfo;
 import core.mcpclient.service.LLMService;
+import java.util.function.LongConsumer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +28,10 @@ public class ChatFacade {
     private final LLMService llmService;
     private final ChatRoomService chatRoomService;
     private final ChatHistoryService chatHistoryService;
+    private final ChatTurnService chatTurnService;
+    private final ChatWriteBehindQueue chatWriteBehindQueue;
+    private final LlmAdmissionController llmAdmissionController;
+    private final ClientRateLimiter clientRateLimiter;
 
     public ChatResponse chat(String userId, ChatRequest chatRequest) {
         Long roomId = chatRequest.getRoomId();
@@ -32,10 +39,12 @@ public class ChatFacade {
             throw new IllegalArgumentException("Invalid room ID: " + roomId + " for user: " + userId);
         }
         String question = chatRequest.getQuestion();
-        String answer = llmService.chat(roomId, question);
+        String answer = llmAdmissionController.call(userId,
+                () -> llmService.chat(roomId, question, tokenUsageOf(userId)));
 
-        ChatHistory userChat = ChatHistory.createUserChatHistory(roomId, question);
-        ChatHistory llmChat = ChatHistory.createLLMChatHistory(roomId, answer);
+        long[] chatIds = Snowflake.getInstance().nextIds(2);
+        ChatHistory userChat = ChatHistory.createUserChatHistory(chatIds[0], roomId, question);
+        ChatHistory llmChat = ChatHistory.createLLMChatHistory(chatIds[1], roomId, answer);
         chatHistoryService.saveChatHistory(userChat, llmChat);
 
         return ChatResponse.builder()
@@ -49,6 +58,7 @@ public class ChatFacade {
     public Flux<Object> chatStream(String userId, ChatRequest chatRequest) {
         Long roomId = chatRequest.getRoomId();
         String question = chatRequest.getQuestion();
+        llmAdmissionController.rejectIfFull(userId);
 
         return Mono.fromCallable(() -> chatRoomService.canUserAccessRoom(roomId, userId))
                 .subscribeOn(Schedulers.boundedElastic())
@@ -58,49 +68,40 @@ public class ChatFacade {
                                 "Invalid room ID: " + roomId + " for user: " + userId));
                     }
 
-                    Long userChatId = Snowflake.getInstance().nextId();
-                    Long llmChatId = Snowflake.getInstance().nextId();
+                    long[] chatIds = Snowflake.getInstance().nextIds(2);
+                    Long userChatId = chatIds[0];
+                    Long llmChatId = chatIds[1];
                     StringBuilder answerBuilder = new StringBuilder();
 
                     Mono<Object> metaPacket = Mono.just(
                             new ChatMetaDataStreamResponse(roomId, userChatId, llmChatId)
                     );
 
-                    Flux<Object> contentStream = llmService.chatStream(roomId, question)
+                    Flux<Object> contentStream = llmService.chatStream(roomId, question, tokenUsageOf(userId))
                             .doOnNext(answerBuilder::append)
                             .map(ChatAnswerStreamResponse::new);
-                    return Flux.concat(metaPacket, contentStream)
+                    return llmAdmissionController.stream(userId, () -> Flux.concat(metaPacket, contentStream))
                             .doOnComplete(() -> {
-                                ChatHistory userChat = ChatHistory.builder()
-                                        .id(userChatId)
-                                        .roomId(roomId)
-                                        .content(question)
-                                        .type(MessageType.USER)
-                                        .build();
-                                ChatHistory llmChat = ChatHistory.builder()
-                                        .id(llmChatId)
-                                        .roomId(roomId)
-                                        .content(answerBuilder.toString())
-                                        .type(MessageType.ASSISTANT)
-                                        .build();
-                                Mono.fromRunnable(() -> this.chatHistoryService.saveChatHistory(userChat, llmChat))
-                                        .subscribeOn(Schedulers.boundedElastic())
-                                        .subscribe();
+                                ChatHistory userChat = ChatHistory.createUserChatHistory(userChatId, roomId, question);
+                                ChatHistory llmChat = ChatHistory.createLLMChatHistory(
+                                        llmChatId, roomId, answerBuilder.toString());
+                                chatWriteBehindQueue.enqueue(ChatTurn.ofExistingRoom(userChat, llmChat));
                             });
                 });
     }
 
     public CreateChatRoomResponse startNewChat(String userId, CreateChatRoomRequest request) {
-        Long roomId = Snowflake.getInstance().nextId();
+        long[] ids = Snowflake.getInstance().nextIds(3);
+        Long roomId = ids[0];
         String question = request.getQuestion();
 
-        NewChatRoomInfo newChatRoomInfo = llmService.startNewChat(roomId, question);
+        NewChatRoomInfo newChatRoomInfo = llmAdmissionController.call(userId,
+                () -> llmService.startNewChat(roomId, question, tokenUsageOf(userId)));
 
         ChatRoom chatRoom = ChatRoom.createChatRoom(roomId, userId, newChatRoomInfo.roomName());
-        ChatHistory userChat = ChatHistory.createUserChatHistory(roomId, question);
-        ChatHistory llmChat = ChatHistory.createLLMChatHistory(roomId, newChatRoomInfo.answer());
-        chatRoomService.saveChatRoom(chatRoom);
-        chatHistoryService.saveChatHistory(userChat, llmChat);
+        ChatHistory userChat = ChatHistory.createUserChatHistory(ids[1], roomId, question);
+        ChatHistory llmChat = ChatHistory.createLLMChatHistory(ids[2], roomId, newChatRoomInfo.answer());
+        chatTurnService.saveNewChatTurn(chatRoom, userChat, llmChat);
 
         return CreateChatRoomResponse.builder()
                 .roomId(roomId)
@@ -112,9 +113,11 @@ public class ChatFacade {
     }
 
     public Flux<Object> startNewChatStream(String userId, CreateChatRoomRequest request) {
-        Long roomId = Snowflake.getInstance().nextId();
-        Long userChatId = Snowflake.getInstance().nextId();
-        Long llmChatId = Snowflake.getInstance().nextId();
+        llmAdmissionController.rejectIfFull(userId);
+        long[] ids = Snowflake.getInstance().nextIds(3);
+        Long roomId = ids[0];
+        Long userChatId = ids[1];
+        Long llmChatId = ids[2];
 
         StringBuilder titleBuilder = new StringBuilder();
         StringBuilder answerBuilder = new StringBuilder();
@@ -123,7 +126,7 @@ public class ChatFacade {
                 new ChatMetaDataStreamResponse(roomId, userChatId, llmChatId)
         );
 
-        Flux<Object> contentStream = llmService.startNewChatStream(roomId, request.getQuestion())
+        Flux<Object> contentStream = llmService.startNewChatStream(roomId, request.getQuestion(), tokenUsageOf(userId))
                 .doOnNext(chunk -> {
                     if (chunk.roomName() != null) {
                         titleBuilder.append(chunk.roomName());
@@ -142,26 +145,12 @@ public class ChatFacade {
                     return Flux.concat(nameFlux, answerFlux);
                 });
 
-        return Flux.concat(metaPacket, contentStream)
+        return llmAdmissionController.stream(userId, () -> Flux.concat(metaPacket, contentStream))
                 .doOnComplete(() -> {
                     ChatRoom chatRoom = ChatRoom.createChatRoom(roomId, userId, titleBuilder.toString());
-                    ChatHistory userChat = ChatHistory.builder()
-                            .id(userChatId)
-                            .roomId(roomId)
-                            .content(request.getQuestion())
-                            .type(MessageType.USER)
-                            .build();
-                    ChatHistory llmChat = ChatHistory.builder()
-                            .id(llmChatId)
-                            .roomId(roomId)
-                            .content(answerBuilder.toString())
-                            .type(MessageType.ASSISTANT)
-                            .build();
-                    Mono.fromRunnable(() -> {
-                                chatRoomService.saveChatRoom(chatRoom);
-                                chatHistoryService.saveChatHistory(userChat, llmChat);
-                            }).subscribeOn(Schedulers.boundedElastic())
-                            .subscribe();
+                    ChatHistory userChat = ChatHistory.createUserChatHistory(userChatId, roomId, request.getQuestion());
+                    ChatHistory llmChat = ChatHistory.createLLMChatHistory(llmChatId, roomId, answerBuilder.toString());
+                    chatWriteBehindQueue.enqueue(ChatTurn.ofNewRoom(chatRoom, userChat, llmChat));
                 });
     }
 
@@ -204,6 +193,11 @@ public class ChatFacade {
         }
     }
 
+    // LLM 호출이 끝나거나 스트리밍이 취소되면 쓴 token을 사용자의 예산에서 차감
+    private LongConsumer tokenUsageOf(String userId) {
+        return tokens -> clientRateLimiter.recordTokens(userId, tokens);
+    }
+
     private boolean checkUserCanDeleteRoom(String userId, Long roomId) {
         return chatRoomService.findChatRoomByRoomId(roomId).map(
                 chatRoomDto -> chatRoomDto.getUserId().equals(userId)
@@ -1,9 +1,16 @@
 package core.chat.service;
 
+import core.chat.cache.RecentChatHistoryCache;
 import core.chat.controller.response.ChatHistoryResponse;
 import core.chat.entity.ChatHistory;
+import core.chat.entity.MessageType;
 import core.chat.repository.ChatHistoryRepository;
+import core.mcpclient.memory.ChatMemoryInvalidator;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,31 +20,61 @@ import org.springframework.transaction.annotation.Transactional;
 public class ChatHistoryService {
 
     private final ChatHistoryRepository chatHistoryRepository;
+    private final RecentChatHistoryCache recentChatHistoryCache;
+    private final ChatMemoryInvalidator chatMemoryInvalidator;
 
     @Transactional
     public void saveChatHistory(ChatHistory userChat, ChatHistory llmChat){
-        chatHistoryRepository.insertChatHistoryWithoutSelect(userChat);
-        chatHistoryRepository.insertChatHistoryWithoutSelect(llmChat);
+        List<ChatHistory> chatHistories = List.of(userChat, llmChat);
+        chatHistoryRepository.insertAllWithoutSelect(chatHistories);
+        AfterCommit.run(() -> cacheSavedHistories(chatHistories));
+    }
+
+    @Transactional
+    public void saveChatHistories(List<ChatHistory> chatHistories) {
+        chatHistoryRepository.insertAllWithoutSelect(chatHistories);
+        AfterCommit.run(() -> cacheSavedHistories(chatHistories));
     }
 
     @Transactional(readOnly = true)
+    public Set<Long> findExistingChatIds(Collection<Long> chatIds) {
+        return new HashSet<>(chatHistoryRepository.findExistingIds(chatIds));
+    }
+
+    // 캐시에서 응답할 때 DB 커넥션을 잡지 않도록 트랜잭션 없이 조회함
     public List<ChatHistoryResponse> getChatHistoriesLatest(Long roomId, Integer limit) {
-        return chatHistoryRepository.findAllByRoomIdLatest(roomId, limit)
-                .stream()
-                .map(ChatHistoryResponse::of)
-                .toList();
+        Optional<List<ChatHistoryResponse>> cached = recentChatHistoryCache.getLatest(roomId, limit);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long writeStamp = recentChatHistoryCache.writeStamp(roomId);
+        List<ChatHistoryResponse> latest = chatHistoryRepository.findResponsesByRoomIdLatest(roomId, limit);
+        recentChatHistoryCache.fill(roomId, latest, limit, writeStamp);
+        return latest;
     }
 
     @Transactional(readOnly = true)
     public List<ChatHistoryResponse> getChatHistoriesAfter(Long roomId, Long lastChatId, Integer limit) {
-        return chatHistoryRepository.findAllByRoomIdAfterChatId(roomId, lastChatId, limit)
-                .stream()
-                .map(ChatHistoryResponse::of)
-                .toList();
+        return chatHistoryRepository.findResponsesByRoomIdAfterChatId(roomId, lastChatId, limit);
     }
 
     @Transactional
     public void deleteChatHistoryByRoomId(Long roomId) {
         chatHistoryRepository.deleteChatHistoryByRoomId(roomId);
+        chatMemoryInvalidator.conversationDeleted(roomId);
+        AfterCommit.run(() -> recentChatHistoryCache.evict(roomId));
+    }
+
+    private void cacheSavedHistories(List<ChatHistory> chatHistories) {
+        recentChatHistoryCache.append(chatHistories);
+        for (ChatHistory chatHistory : chatHistories) {
+            if (chatHistory.getType() == MessageType.ASSISTANT) {
+                chatMemoryInvalidator.assistantMessageSaved(
+                        chatHistory.getRoomId(), chatHistory.getId(), chatHistory.getContent());
+            } else {
+                chatMemoryInvalidator.userMessageSaved(
+                        chatHistory.getRoomId(), chatHistory.getId(), chatHistory.getContent());
+            }
+        }
     }
 }
@@ -1,5 +1,7 @@
 package core.chat.service;
 
+import core.chat.cache.ChatRoomListCache;
+import core.chat.cache.ChatRoomOwnerCache;
 import core.chat.controller.response.ChatRoomResponse;
 import core.chat.entity.ChatRoom;
 import core.chat.repository.ChatRoomRepository;
@@ -15,10 +17,16 @@ import org.springframework.transaction.annotation.Transactional;
 public class ChatRoomService {
 
     private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomOwnerCache chatRoomOwnerCache;
+    private final ChatRoomListCache chatRoomListCache;
 
     @Transactional
     public void saveChatRoom(ChatRoom chatRoom) {
         chatRoomRepository.insertWithoutSelect(chatRoom);
+        AfterCommit.run(() -> {
+            chatRoomOwnerCache.putOwner(chatRoom.getId(), chatRoom.getUserId());
+            chatRoomListCache.evict(chatRoom.getUserId());
+        });
     }
 
     @Transactional(readOnly = true)
@@ -26,27 +34,31 @@ public class ChatRoomService {
         return chatRoomRepository.findByRoomId(roomId).map(ChatRoomDto::of);
     }
 
-    @Transactional(readOnly = true)
+    // 캐시에서 응답할 때 DB 커넥션을 잡지 않도록 트랜잭션 없이 조회함
     public List<ChatRoomResponse> findChatRoomsLatest(String userId, int limit) {
-        return chatRoomRepository.findAllByUserIdLatest(userId, limit).stream()
-                .map(ChatRoomResponse::of)
-                .toList();
+        return chatRoomListCache.getLatest(userId, limit, chatRoomRepository::findResponsesByUserIdLatest);
     }
 
     @Transactional(readOnly = true)
     public List<ChatRoomResponse> findChatRoomsAfter(String userId, Long lastRoomId, int limit) {
-        return chatRoomRepository.findAllByUserIdAfterRoomId(userId, lastRoomId, limit).stream()
-                .map(ChatRoomResponse::of)
-                .toList();
+        return chatRoomRepository.findResponsesByUserIdAfterRoomId(userId, lastRoomId, limit);
     }
 
     @Transactional
     public void deleteRoom(Long roomId) {
+        // 삭제 후에는 소유자를 알 수 없으므로 첫 페이지를 제거할 사용자를 먼저 찾아 둠
+        Optional<String> ownerId = chatRoomOwnerCache.getOwnerId(roomId, chatRoomRepository::findOwnerIdByRoomId);
         chatRoomRepository.deleteById(roomId);
+        AfterCommit.run(() -> {
+            chatRoomOwnerCache.markDeleted(roomId);
+            ownerId.ifPresent(chatRoomListCache::evict);
+        });
     }
 
-    @Transactional(readOnly = true)
+    // 캐시에서 응답할 때 DB 커넥션을 잡지 않도록 트랜잭션 없이 조회함
     public boolean canUserAccessRoom(Long roomId, String userId) {
-        return chatRoomRepository.existsByRoomIdAndUserId(roomId, userId);
+        return chatRoomOwnerCache.getOwnerId(roomId, chatRoomRepository::findOwnerIdByRoomId)
+                .map(userId::equals)
+                .orElse(false);
     }
 }
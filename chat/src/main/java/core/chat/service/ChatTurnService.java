@@ -0,0 +1,75 @@
+package core.chat.service;
+
+import core.chat.entity.ChatHistory;
+import core.chat.entity.ChatRoom;
+import core.chat.service.dto.ChatTurn;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 대화(방 + 사용자/LLM 메시지)를 한 트랜잭션으로 저장한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatTurnService {
+
+    private final ChatRoomService chatRoomService;
+    private final ChatHistoryService chatHistoryService;
+
+    @Transactional
+    public void saveNewChatTurn(ChatRoom chatRoom, ChatHistory userChat, ChatHistory llmChat) {
+        chatRoomService.saveChatRoom(chatRoom);
+        chatHistoryService.saveChatHistory(userChat, llmChat);
+    }
+
+    /**
+     * 여러 대화를 한 트랜잭션으로 저장한다. 채팅 이력은 multi-row INSERT 한 번으로 저장된다.
+     */
+    @Transactional
+    public void saveChatTurns(List<ChatTurn> chatTurns) {
+        List<ChatHistory> chatHistories = new ArrayList<>(chatTurns.size() * 2);
+        for (ChatTurn chatTurn : chatTurns) {
+            if (chatTurn.chatRoom() != null) {
+                chatRoomService.saveChatRoom(chatTurn.chatRoom());
+            }
+            chatHistories.add(chatTurn.userChat());
+            chatHistories.add(chatTurn.llmChat());
+        }
+        chatHistoryService.saveChatHistories(chatHistories);
+    }
+
+    /**
+     * journal에서 복구한 대화 중 아직 저장되지 않은 방과 채팅 이력만 저장하고, 새로 저장한 채팅 이력 수를 반환한다.
+     */
+    @Transactional
+    public int restoreChatTurns(List<ChatTurn> chatTurns) {
+        List<Long> chatIds = new ArrayList<>(chatTurns.size() * 2);
+        for (ChatTurn chatTurn : chatTurns) {
+            chatIds.add(chatTurn.userChat().getId());
+            chatIds.add(chatTurn.llmChat().getId());
+        }
+        Set<Long> existingChatIds = chatHistoryService.findExistingChatIds(chatIds);
+        Set<Long> restoredRoomIds = new HashSet<>();
+
+        List<ChatHistory> missingChatHistories = new ArrayList<>();
+        for (ChatTurn chatTurn : chatTurns) {
+            ChatRoom chatRoom = chatTurn.chatRoom();
+            if (chatRoom != null && restoredRoomIds.add(chatRoom.getId())
+                    && chatRoomService.findChatRoomByRoomId(chatRoom.getId()).isEmpty()) {
+                chatRoomService.saveChatRoom(chatRoom);
+            }
+            for (ChatHistory chatHistory : List.of(chatTurn.userChat(), chatTurn.llmChat())) {
+                if (!existingChatIds.contains(chatHistory.getId())) {
+                    missingChatHistories.add(chatHistory);
+                }
+            }
+        }
+        chatHistoryService.saveChatHistories(missingChatHistories);
+        return missingChatHistories.size();
+    }
+}
@@ -0,0 +1,341 @@
+package core.chat.service;
+
+import core.chat.journal.ChatTurnJournal;
+import core.chat.service.dto.ChatTurn;
+import core.global.config.properties.ChatWriteBehindProperties;
+import core.global.config.properties.ChatWriteBehindProperties.BackpressurePolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * 스트리밍이 끝난 대화를 bounded queue에 모았다가 전용 스레드에서 여러 대화를 한 트랜잭션으로 저장(group commit)한다.
+ * enqueue는 스트림을 완료시킨 스레드에서 호출되므로 막히지 않는다. queue가 가득 차면 backpressurePolicy에 따라
+ * 전용 overflow 스레드에서 저장하거나 버린다. overflow 스레드의 대기열도 가득 차면 journal에 남겨 재시작 시 복구한다.
+ * queue에 넣기 전에 journal에 기록하고, 시작 시 journal에 남은 대화를 복구한다. 복구하지 못한 대화는 flusher가 다시 시도한다.
+ */
+@Slf4j
+@Component
+public class ChatWriteBehindQueue implements SmartLifecycle {
+
+    private static final String METRIC_PREFIX = "chat.write.behind";
+    // 종료 시 overflow 스레드가 남은 대화를 저장하기를 기다리는 최대 시간. 저장하지 못한 대화는 journal에 남음
+    private static final long OVERFLOW_SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ChatTurnService chatTurnService;
+    private final ChatTurnJournal chatTurnJournal;
+    private final ChatWriteBehindProperties properties;
+    private final BlockingQueue<ChatTurn> queue;
+    private final ExecutorService overflowExecutor;
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+    private final Counter directFlushCounter;
+    private final Counter droppedCounter;
+    private final Counter overflowRejectedCounter;
+    private final Counter quarantinedCounter;
+
+    private volatile boolean running = false;
+    private Thread flusher;
+    // 아직 복구하지 못한 journal의 대화. start() 이후에는 flusher 스레드만 접근함
+    private List<ChatTurn> unrestored = List.of();
+    private long nextRestoreAt;
+
+    @Autowired
+    public ChatWriteBehindQueue(
+            ChatTurnService chatTurnService,
+            ChatTurnJournal chatTurnJournal,
+            ChatWriteBehindProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this(chatTurnService, chatTurnJournal, properties, meterRegistry, new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getOverflowCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "chat-write-behind-overflow");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        ));
+    }
+
+    ChatWriteBehindQueue(
+            ChatTurnService chatTurnService,
+            ChatTurnJournal chatTurnJournal,
+            ChatWriteBehindProperties properties,
+            MeterRegistry meterRegistry,
+            ExecutorService overflowExecutor
+    ) {
+        this.chatTurnService = chatTurnService;
+        this.chatTurnJournal = chatTurnJournal;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.overflowExecutor = overflowExecutor;
+
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", queue, BlockingQueue::size)
+                .description("저장 대기 중인 대화 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder(METRIC_PREFIX + ".flush")
+                .description("한 batch를 저장하는 데 걸린 시간 (재시도 포함)")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder(METRIC_PREFIX + ".batch.size")
+                .description("한 트랜잭션으로 저장한 대화 수")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder(METRIC_PREFIX + ".retries")
+                .description("batch 저장 재시도 횟수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder(METRIC_PREFIX + ".failed")
+                .description("재시도 후에도 저장하지 못한 대화 수")
+                .register(meterRegistry);
+        this.directFlushCounter = Counter.builder(METRIC_PREFIX + ".direct.flush")
+                .description("queue에 넣지 못해 overflow 스레드에서 저장한 대화 수")
+                .register(meterRegistry);
+        this.overflowRejectedCounter = Counter.builder(METRIC_PREFIX + ".overflow.rejected")
+                .description("overflow 스레드의 대기열도 가득 차 journal에만 남긴 대화 수")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder(METRIC_PREFIX + ".dropped")
+                .description("queue가 가득 차 저장하지 않고 버린 대화 수")
+                .register(meterRegistry);
+        this.quarantinedCounter = Counter.builder(METRIC_PREFIX + ".quarantined")
+                .description("journal에서 복구하지 못해 quarantine으로 옮긴 대화 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 대화를 저장 queue에 넣는다. 스트림을 완료시킨 스레드(Reactor/Bedrock)에서 호출되므로 기다리거나 DB에 접근하지 않는다.
+     */
+    public void enqueue(ChatTurn chatTurn) {
+        // queue에 넣기 전에 journal에 먼저 기록해 프로세스가 죽어도 재시작 시 복구되게 함
+        chatTurnJournal.append(chatTurn);
+        if (running && queue.offer(chatTurn)) {
+            return;
+        }
+
+        if (running && properties.getBackpressurePolicy() == BackpressurePolicy.DROP) {
+            droppedCounter.increment();
+            chatTurnJournal.acknowledge(List.of(chatTurn)); // 버린 대화는 재시작 시 복구하지 않음
+            log.warn("채팅 저장 queue가 가득 차 대화를 저장하지 않았습니다. (capacity = {}, roomId = {}, userChatId = {})",
+                    properties.getCapacity(), chatTurn.userChat().getRoomId(), chatTurn.userChat().getId());
+            return;
+        }
+        // 종료 중이거나 DIRECT_FLUSH 정책이면 호출한 스레드 대신 overflow 스레드에서 저장
+        try {
+            overflowExecutor.execute(() -> flush(List.of(chatTurn)));
+            directFlushCounter.increment();
+        } catch (RejectedExecutionException e) {
+            // journal에서 지우지 않았으므로 재시작 시 복구됨
+            overflowRejectedCounter.increment();
+            log.warn("채팅 저장 overflow 대기열이 가득 차 대화를 journal에만 남겼습니다. (roomId = {}, userChatId = {})",
+                    chatTurn.userChat().getRoomId(), chatTurn.userChat().getId());
+        }
+    }
+
+    @Override
+    public void start() {
+        // journal을 읽지 못해도 시작은 막지 않음. 복구는 DB 장애로 오래 걸릴 수 있으므로 flusher 스레드에서 함
+        try {
+            unrestored = chatTurnJournal.readAll();
+        } catch (Exception e) {
+            log.error("chat journal을 읽지 못했습니다.", e);
+        }
+        running = true;
+        flusher = new Thread(this::runFlushLoop, "chat-write-behind");
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false; // flusher는 flushInterval 안에 현재 batch를 마치고 종료됨
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 종료 전에 남은 대화를 모두 저장
+        List<ChatTurn> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += properties.getBatchSize()) {
+            flush(remaining.subList(from, Math.min(from + properties.getBatchSize(), remaining.size())));
+        }
+        shutdownOverflowExecutor();
+    }
+
+    private void shutdownOverflowExecutor() {
+        overflowExecutor.shutdown();
+        try {
+            if (!overflowExecutor.awaitTermination(OVERFLOW_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                overflowExecutor.shutdownNow(); // 저장하지 못한 대화는 journal에 남아 재시작 시 복구됨
+            }
+        } catch (InterruptedException e) {
+            overflowExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 이전 프로세스가 저장하지 못하고 journal에 남긴 대화를 저장한다. batch 저장에 실패하면 대화 단위로 저장하고,
+     * 저장하지 못한 대화는 quarantine으로 옮긴다. DB에 연결할 수 없으면 남은 대화를 두었다가 restoreRetryInterval 뒤에 다시 시도한다.
+     */
+    void restoreFromJournal() {
+        if (unrestored.isEmpty()) {
+            return;
+        }
+        int restored = 0;
+        for (int from = 0; from < unrestored.size(); from += properties.getBatchSize()) {
+            List<ChatTurn> batch = unrestored.subList(from, Math.min(from + properties.getBatchSize(), unrestored.size()));
+            try {
+                restored += restoreBatch(batch);
+            } catch (RuntimeException e) { // DB에 연결할 수 없을 때만 던져짐
+                log.warn("DB에 연결할 수 없어 chat journal 복구를 {} 뒤에 다시 시도합니다. (남은 대화 = {})",
+                        properties.getRestoreRetryInterval(), unrestored.size() - from, e);
+                unrestored = new ArrayList<>(unrestored.subList(from, unrestored.size()));
+                nextRestoreAt = System.nanoTime() + properties.getRestoreRetryInterval().toNanos();
+                return;
+            }
+        }
+        log.info("chat journal에서 대화 {}개를 확인하고 채팅 이력 {}개를 복구했습니다.", unrestored.size(), restored);
+        unrestored = List.of();
+    }
+
+    private int restoreBatch(List<ChatTurn> batch) {
+        try {
+            return restore(batch);
+        } catch (RuntimeException e) {
+            if (isDatabaseUnavailable(e)) {
+                throw e;
+            }
+            log.warn("chat journal batch 복구 실패 (size = {})", batch.size(), e);
+        }
+        // 문제가 있는 대화만 걸러내기 위해 대화 단위로 복구함
+        int restored = 0;
+        for (ChatTurn chatTurn : batch) {
+            try {
+                restored += restore(List.of(chatTurn));
+            } catch (RuntimeException e) {
+                if (isDatabaseUnavailable(e)) {
+                    throw e;
+                }
+                quarantinedCounter.increment();
+                chatTurnJournal.quarantine(chatTurn);
+                log.error("복구할 수 없는 대화를 quarantine으로 옮겼습니다. (roomId = {}, userChatId = {})",
+                        chatTurn.userChat().getRoomId(), chatTurn.userChat().getId(), e);
+            }
+        }
+        return restored;
+    }
+
+    private int restore(List<ChatTurn> chatTurns) {
+        int restored = chatTurnService.restoreChatTurns(chatTurns);
+        chatTurnJournal.acknowledge(chatTurns);
+        return restored;
+    }
+
+    private static boolean isDatabaseUnavailable(Throwable e) {
+        return e instanceof CannotCreateTransactionException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessException;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버가 진행 중인 요청을 모두 마친 뒤에 멈추도록 웹 서버보다 낮은 phase를 사용
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void runFlushLoop() {
+        restoreFromJournal();
+        List<ChatTurn> batch = new ArrayList<>(properties.getBatchSize());
+        while (running) {
+            if (!unrestored.isEmpty() && System.nanoTime() - nextRestoreAt >= 0) {
+                restoreFromJournal();
+            }
+            try {
+                ChatTurn first = queue.poll(properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * batch를 한 트랜잭션으로 저장한다. 재시도까지 실패하면 문제가 있는 대화만 걸러내기 위해 대화 단위로 저장한다.
+     */
+    void flush(List<ChatTurn> batch) {
+        long start = System.nanoTime();
+        batchSizeSummary.record(batch.size());
+        try {
+            for (int attempt = 0; attempt <= properties.getMaxRetries(); attempt++) {
+                if (attempt > 0) {
+                    retryCounter.increment();
+                    sleep(properties.getRetryBackoff().toMillis() * attempt);
+                }
+                try {
+                    chatTurnService.saveChatTurns(batch);
+                    chatTurnJournal.acknowledge(batch);
+                    return;
+                } catch (Exception e) {
+                    log.warn("채팅 batch 저장 실패 (size = {}, attempt = {})", batch.size(), attempt + 1, e);
+                }
+            }
+            flushEach(batch);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flushEach(List<ChatTurn> batch) {
+        for (ChatTurn chatTurn : batch) {
+            try {
+                chatTurnService.saveChatTurns(List.of(chatTurn));
+                chatTurnJournal.acknowledge(List.of(chatTurn));
+            } catch (Exception e) {
+                // journal에 남겨 두어 다음 시작 시 다시 저장을 시도함
+                failedCounter.increment();
+                log.error("채팅 저장 실패 (roomId = {}, userChatId = {}, llmChatId = {})",
+                        chatTurn.userChat().getRoomId(), chatTurn.userChat().getId(), chatTurn.llmChat().getId(), e);
+            }
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
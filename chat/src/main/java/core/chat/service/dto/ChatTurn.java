@@ -0,0 +1,18 @@
+package core.chat.service.dto;
+
+import core.chat.entity.ChatHistory;
+import core.chat.entity.ChatRoom;
+
+/**
+ * 한 번의 질문/답변으로 저장해야 하는 행들. 기존 방의 대화면 chatRoom은 null
+ */
+public record ChatTurn(ChatRoom chatRoom, ChatHistory userChat, ChatHistory llmChat) {
+
+    public static ChatTurn ofExistingRoom(ChatHistory userChat, ChatHistory llmChat) {
+        return new ChatTurn(null, userChat, llmChat);
+    }
+
+    public static ChatTurn ofNewRoom(ChatRoom chatRoom, ChatHistory userChat, ChatHistory llmChat) {
+        return new ChatTurn(chatRoom, userChat, llmChat);
+    }
+}
@@ -9,7 +9,7 @@ import org.springframework.web.method.support.ModelAndViewContainer;
 @Component
 public class UserIdArgumentResolver implements HandlerMethodArgumentResolver {
 
-    private static final String CLIENT_ID_HEADER = "X-Client-Id";
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
 
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
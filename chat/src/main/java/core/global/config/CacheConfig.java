@@ -0,0 +1,11 @@
+package core.global.config;
+
+import core.global.config.properties.ChatHistoryCacheProperties;
+import core.global.config.properties.ChatRoomCacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({ChatHistoryCacheProperties.class, ChatRoomCacheProperties.class})
+public class CacheConfig {
+}
@@ -0,0 +1,39 @@
+package core.global.config;
+
+import core.common.snowflake.Snowflake;
+import core.global.config.properties.SnowflakeLeaseProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(SnowflakeLeaseProperties.class)
+public class SnowflakeConfig {
+
+    @Bean
+    public MeterBinder snowflakeMetrics() {
+        Snowflake snowflake = Snowflake.getInstance();
+        return registry -> {
+            FunctionCounter.builder("snowflake.cas.retries", snowflake, Snowflake::getCasRetryCount)
+                    .description("ID 발급 시 CAS 경합으로 재시도한 횟수")
+                    .register(registry);
+            FunctionCounter.builder("snowflake.sequence.exhausted.waits", snowflake,
+                            Snowflake::getSequenceExhaustedWaitCount)
+                    .description("millisecond 내 sequence 소진으로 다음 millisecond를 기다린 횟수")
+                    .register(registry);
+            FunctionCounter.builder("snowflake.clock.large.regressions", snowflake,
+                            Snowflake::getLargeClockRegressionCount)
+                    .description("monotonic clock 모드에서 벽시계가 임계값 이상 뒤로 간 횟수")
+                    .register(registry);
+            Gauge.builder("snowflake.clock.lag", snowflake, Snowflake::getClockLagMillis)
+                    .description("monotonic clock 모드에서 벽시계가 id의 시각보다 뒤처진 시간")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        };
+    }
+}
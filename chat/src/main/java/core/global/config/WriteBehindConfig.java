@@ -0,0 +1,26 @@
+package core.global.config;
+
+import core.chat.journal.ChatTurnJournal;
+import core.chat.journal.MappedChatTurnJournal;
+import core.chat.journal.NoOpChatTurnJournal;
+import core.global.config.properties.ChatJournalProperties;
+import core.global.config.properties.ChatWriteBehindProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({ChatWriteBehindProperties.class, ChatJournalProperties.class})
+public class WriteBehindConfig {
+
+    @Bean
+    public ChatTurnJournal chatTurnJournal(ChatJournalProperties chatJournalProperties) {
+        if (!chatJournalProperties.isEnabled()) {
+            return new NoOpChatTurnJournal();
+        }
+        return new MappedChatTurnJournal(
+                chatJournalProperties.getDirectory(),
+                Math.toIntExact(chatJournalProperties.getSegmentSize().toBytes())
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package core.global.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(ChatHistoryCacheProperties.CONFIG_PREFIX)
+public class ChatHistoryCacheProperties {
+
+    public static final String CONFIG_PREFIX = "chat.history-cache";
+
+    // 방별로 보관하는 최근 채팅 이력 수. 이보다 큰 size의 조회는 항상 DB에서 읽음
+    private int windowSize = 50;
+
+    // 모든 방의 buffer를 합친 추정 메모리 상한. 넘으면 오래 쓰이지 않은 방부터 제거함
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    // DB에서 채운 뒤 이 시간이 지나면 계속 조회되더라도 제거함. 다른 인스턴스에서 저장한 이력이 반영되는 최대 지연 시간
+    private Duration ttl = Duration.ofMinutes(1);
+}
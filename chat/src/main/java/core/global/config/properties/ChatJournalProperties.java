@@ -0,0 +1,21 @@
+package core.global.config.properties;
+
+import java.nio.file.Path;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(ChatJournalProperties.CONFIG_PREFIX)
+public class ChatJournalProperties {
+
+    public static final String CONFIG_PREFIX = "chat.journal";
+
+    private boolean enabled = true;
+
+    // segment 파일 두 개가 생성되는 디렉터리
+    private Path directory = Path.of("journal");
+
+    // segment 파일 하나의 크기. 두 segment 모두 commit 되지 않은 대화로 차면 journal 없이 저장함
+    private DataSize segmentSize = DataSize.ofMegabytes(32);
+}
@@ -0,0 +1,30 @@
+package core.global.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(ChatRoomCacheProperties.CONFIG_PREFIX)
+public class ChatRoomCacheProperties {
+
+    public static final String CONFIG_PREFIX = "chat.room-cache";
+
+    // 방 소유자를 보관하는 최대 방 수
+    private long ownerMaximumSize = 100_000;
+
+    // 방 소유자는 생성 후 바뀌지 않지만, 다른 인스턴스에서 삭제된 방은 이 시간이 지나야 접근이 막히므로 짧게 보관함
+    private Duration ownerTtl = Duration.ofSeconds(30);
+
+    // 존재하지 않는 방을 보관하는 시간. 다른 인스턴스에서 생성된 방도 이 시간이 지나면 접근할 수 있음
+    private Duration missingRoomTtl = Duration.ofSeconds(5);
+
+    // 사용자별 첫 페이지로 보관하는 최대 방 수. 이보다 큰 size의 조회는 항상 DB에서 읽음
+    private int listPageSize = 20;
+
+    // 첫 페이지를 보관하는 최대 사용자 수
+    private long listMaximumSize = 10_000;
+
+    // 다른 인스턴스에서 생성/삭제된 방은 이 시간이 지나야 첫 페이지에 반영됨
+    private Duration listTtl = Duration.ofMinutes(1);
+}
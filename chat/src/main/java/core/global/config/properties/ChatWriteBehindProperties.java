@@ -0,0 +1,42 @@
+package core.global.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(ChatWriteBehindProperties.CONFIG_PREFIX)
+public class ChatWriteBehindProperties {
+
+    public static final String CONFIG_PREFIX = "chat.write-behind";
+
+    // 저장 대기 중인 대화를 담는 queue의 최대 크기
+    private int capacity = 10_000;
+
+    // 한 트랜잭션으로 묶어 저장하는 최대 대화 수
+    private int batchSize = 200;
+
+    // 대화가 하나라도 있으면 이 시간 안에 flush 함
+    private Duration flushInterval = Duration.ofMillis(50);
+
+    // queue가 가득 찼을 때의 처리 방법. 호출한 스레드는 기다리지 않음
+    private BackpressurePolicy backpressurePolicy = BackpressurePolicy.DIRECT_FLUSH;
+
+    // DIRECT_FLUSH 정책에서 overflow 스레드가 저장을 기다리는 대화의 최대 수. 넘치면 journal에만 남기고 재시작 시 복구함
+    private int overflowCapacity = 1_000;
+
+    // 한 batch의 저장이 실패했을 때 재시도 횟수. 모두 실패하면 대화 단위로 나누어 저장함
+    private int maxRetries = 3;
+
+    private Duration retryBackoff = Duration.ofMillis(200);
+
+    // 시작 시 journal에서 복구하지 못한 대화(DB 장애 등)를 다시 복구하는 간격
+    private Duration restoreRetryInterval = Duration.ofSeconds(30);
+
+    public enum BackpressurePolicy {
+        // 전용 overflow 스레드에서 한 건씩 저장
+        DIRECT_FLUSH,
+        // 저장하지 않고 버림 (응답은 이미 클라이언트에 전달됨)
+        DROP
+    }
+}
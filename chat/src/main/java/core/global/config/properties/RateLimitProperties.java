@@ -0,0 +1,30 @@
+package core.global.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(RateLimitProperties.CONFIG_PREFIX)
+public class RateLimitProperties {
+
+    public static final String CONFIG_PREFIX = "chat.rate-limit";
+
+    private boolean enabled = true;
+
+    // 사용자(X-Client-Id)별 분당 요청 수와 한 번에 몰아서 보낼 수 있는 요청 수
+    private long requestsPerMinute = 60;
+
+    private long requestBurst = 20;
+
+    // 사용자별 분당 LLM 입출력 token 수와 한 번에 쓸 수 있는 token 수
+    private long tokensPerMinute = 20_000;
+
+    private long tokenBurst = 40_000;
+
+    // 요청 수를 추적하는 최대 사용자 수
+    private long maximumClients = 500_000;
+
+    // 이 시간 동안 요청이 없는 사용자는 추적을 멈춤. 두 bucket이 다시 가득 차는 시간보다 길어야 제한이 풀리지 않음
+    private Duration idleTimeout = Duration.ofMinutes(10);
+}
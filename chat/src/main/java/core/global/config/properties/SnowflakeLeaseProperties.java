@@ -0,0 +1,21 @@
+package core.global.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(SnowflakeLeaseProperties.CONFIG_PREFIX)
+public class SnowflakeLeaseProperties {
+
+    public static final String CONFIG_PREFIX = "snowflake.lease";
+
+    // heartbeat가 이 시간 동안 갱신되지 않으면 다른 인스턴스가 node id를 가져갈 수 있음
+    private Duration ttl = Duration.ofSeconds(30);
+
+    // @Scheduled에서는 snowflake.lease.heartbeat-interval 값을 직접 읽음
+    private Duration heartbeatInterval = Duration.ofSeconds(10);
+
+    // 인스턴스 간 시계 차이를 고려해 DB의 만료 시각보다 이만큼 먼저 id 발급을 멈춤
+    private Duration clockSkewTolerance = Duration.ofSeconds(2);
+}
@@ -0,0 +1,33 @@
+package core.global.exception;
+
+import core.global.ratelimit.RateLimitExceededException;
+import core.mcpclient.admission.LlmOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    // LLM 요청이 몰린 상태이므로 client가 Retry-After 뒤에 다시 요청하도록 함
+    @ExceptionHandler(LlmOverloadedException.class)
+    public ResponseEntity<String> handleLlmOverloaded(LlmOverloadedException e) {
+        log.warn("LLM 요청 거절: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(e.getMessage());
+    }
+
+    // RateLimit-* header는 RateLimitInterceptor에서 이미 설정함
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<String> handleRateLimitExceeded(RateLimitExceededException e) {
+        log.warn("요청 한도 초과: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getDecision().retryAfterSeconds()))
+                .body(e.getMessage());
+    }
+}
@@ -0,0 +1,112 @@
+package core.global.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import core.global.config.properties.RateLimitProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자(X-Client-Id)별로 요청 수와 LLM 입출력 token 수를 token bucket으로 제한한다.
+ * bucket은 Caffeine cache에 보관해 여러 스레드가 잠금 경합 없이 읽고, idleTimeout 동안 요청이 없는 사용자는 제거한다.
+ * LLM 호출의 token 수는 답변을 받은 뒤에야 알 수 있으므로 먼저 예산이 남았는지만 확인하고, 호출이 끝난 뒤 {@link #recordTokens}로 차감한다.
+ */
+@Component
+public class ClientRateLimiter implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "chat.rate.limit";
+
+    private final boolean enabled;
+    private final RateLimitRule requestRule;
+    private final RateLimitRule tokenRule;
+    private final Cache<String, ClientBuckets> clients;
+    private final Ticker ticker;
+
+    private final LongAdder allowedCount = new LongAdder();
+    private final LongAdder requestLimitedCount = new LongAdder();
+    private final LongAdder tokenLimitedCount = new LongAdder();
+
+    @Autowired
+    public ClientRateLimiter(RateLimitProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    ClientRateLimiter(RateLimitProperties properties, Ticker ticker) {
+        this.enabled = properties.isEnabled();
+        this.requestRule = new RateLimitRule(properties.getRequestsPerMinute(), properties.getRequestBurst());
+        this.tokenRule = new RateLimitRule(properties.getTokensPerMinute(), properties.getTokenBurst());
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumClients())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .ticker(ticker)
+                .build();
+        this.ticker = ticker;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 요청 하나를 꺼낸다. llmRequest이면 token 예산이 남아 있는지도 확인하며, 예산이 없으면 요청을 꺼내지 않고 거절한다.
+     */
+    public RateLimitDecision tryAcquire(String clientId, boolean llmRequest) {
+        if (!enabled) {
+            return RateLimitDecision.UNLIMITED;
+        }
+        long now = ticker.read();
+        ClientBuckets buckets = clients.get(clientId, id -> new ClientBuckets());
+        if (llmRequest) {
+            RateLimitDecision tokenDecision = tokenRule.check(buckets.tokensFullAt, 1, now);
+            if (!tokenDecision.allowed()) {
+                tokenLimitedCount.increment();
+                return tokenDecision;
+            }
+        }
+        RateLimitDecision decision = requestRule.tryAcquire(buckets.requestsFullAt, 1, now);
+        (decision.allowed() ? allowedCount : requestLimitedCount).increment();
+        return decision;
+    }
+
+    /**
+     * LLM 호출에 쓴 입출력 token을 사용자의 예산에서 차감한다.
+     * memory, system prompt, tool 호출을 포함한 값이며, 스트리밍이 취소된 경우에도 그때까지 쓴 만큼 차감한다.
+     */
+    public void recordTokens(String clientId, long tokens) {
+        if (!enabled || tokens <= 0) {
+            return;
+        }
+        ClientBuckets buckets = clients.get(clientId, id -> new ClientBuckets());
+        tokenRule.consume(buckets.tokensFullAt, tokens, ticker.read());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        requestCounter(registry, "allowed", allowedCount, "요청 수 제한을 통과한 요청 수");
+        requestCounter(registry, "request_limited", requestLimitedCount, "요청 수 제한을 넘어 거절한 요청 수");
+        requestCounter(registry, "token_limited", tokenLimitedCount, "LLM token 예산을 넘어 거절한 요청 수");
+        Gauge.builder(METRIC_PREFIX + ".clients", clients, Cache::estimatedSize)
+                .description("요청 수를 추적 중인 사용자 수")
+                .register(registry);
+    }
+
+    private void requestCounter(MeterRegistry registry, String result, LongAdder count, String description) {
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", count, LongAdder::sum)
+                .tag("result", result)
+                .description(description)
+                .register(registry);
+    }
+
+    private static final class ClientBuckets {
+
+        private final AtomicLong requestsFullAt = new AtomicLong(RateLimitRule.FULL);
+        private final AtomicLong tokensFullAt = new AtomicLong(RateLimitRule.FULL);
+    }
+}
@@ -0,0 +1,14 @@
+package core.global.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * LLM을 호출하는 API. 요청 수 제한과 함께 사용자의 LLM token 예산이 남아 있는지 확인한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LlmEndpoint {
+}
@@ -0,0 +1,26 @@
+package core.global.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @param limit           한 번에 쓸 수 있는 최대 양
+ * @param remaining       지금 바로 쓸 수 있는 양
+ * @param resetNanos      bucket이 다시 가득 찰 때까지 남은 시간
+ * @param retryAfterNanos 거절된 경우 다시 요청할 수 있을 때까지 남은 시간
+ */
+public record RateLimitDecision(boolean allowed, long limit, long remaining, long resetNanos, long retryAfterNanos) {
+
+    static final RateLimitDecision UNLIMITED = new RateLimitDecision(true, Long.MAX_VALUE, Long.MAX_VALUE, 0, 0);
+
+    public long resetSeconds() {
+        return toSeconds(resetNanos);
+    }
+
+    public long retryAfterSeconds() {
+        return Math.max(1, toSeconds(retryAfterNanos));
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.ceilDiv(nanos, TimeUnit.SECONDS.toNanos(1));
+    }
+}
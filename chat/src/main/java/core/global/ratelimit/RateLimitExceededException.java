@@ -0,0 +1,17 @@
+package core.global.ratelimit;
+
+import lombok.Getter;
+
+/**
+ * 사용자가 요청 수 제한이나 LLM token 예산을 넘었을 때 발생한다.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final RateLimitDecision decision;
+
+    public RateLimitExceededException(String message, RateLimitDecision decision) {
+        super(message);
+        this.decision = decision;
+    }
+}
@@ -0,0 +1,47 @@
+package core.global.ratelimit;
+
+import core.global.auth.UserIdArgumentResolver;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * controller를 호출하기 전에 사용자별 요청 수와 LLM token 예산을 확인하고, 남은 양을 RateLimit-* header로 알려준다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final ClientRateLimiter clientRateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // SSE 응답이 끝날 때의 async dispatch는 같은 요청이므로 다시 세지 않음
+        if (!clientRateLimiter.isEnabled() || request.getDispatcherType() != DispatcherType.REQUEST
+                || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        String clientId = request.getHeader(UserIdArgumentResolver.CLIENT_ID_HEADER);
+        if (clientId == null || clientId.isBlank()) {
+            // header가 없는 요청은 UserIdArgumentResolver에서 거절함
+            return true;
+        }
+        RateLimitDecision decision = clientRateLimiter.tryAcquire(clientId,
+                handlerMethod.hasMethodAnnotation(LlmEndpoint.class));
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(decision.resetSeconds()));
+        if (!decision.allowed()) {
+            throw new RateLimitExceededException("요청 한도를 넘었습니다. clientId: " + clientId, decision);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,71 @@
+package core.global.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * token bucket을 GCRA(generic cell rate algorithm)로 계산한다.
+ * bucket마다 남은 양 대신 "bucket이 다시 가득 차는 시각" 하나만 AtomicLong에 두므로, 잠그지 않고 CAS 한 번으로 갱신할 수 있다.
+ * 규칙(속도, 용량)은 모든 사용자가 공유하고 사용자별로는 시각 하나만 보관한다.
+ */
+final class RateLimitRule {
+
+    // 한 번도 쓰지 않은 bucket. 항상 now보다 이전이므로 가득 찬 bucket으로 계산됨
+    static final long FULL = Long.MIN_VALUE;
+
+    private final long capacity;
+    private final long nanosPerPermit;
+    private final long burstNanos;
+
+    RateLimitRule(long permitsPerMinute, long capacity) {
+        this.capacity = capacity;
+        this.nanosPerPermit = Math.max(1, TimeUnit.MINUTES.toNanos(1) / permitsPerMinute);
+        this.burstNanos = Math.multiplyExact(capacity, nanosPerPermit);
+    }
+
+    /**
+     * permits만큼 남아 있으면 꺼내고, 모자라면 bucket을 그대로 두고 거절한다.
+     */
+    RateLimitDecision tryAcquire(AtomicLong fullAt, long permits, long now) {
+        long cost = permits * nanosPerPermit;
+        while (true) {
+            long current = fullAt.get();
+            long base = Math.max(current, now);
+            long next = base + cost;
+            if (next - now > burstNanos) {
+                return rejected(base - now, next - now - burstNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return new RateLimitDecision(true, capacity, (burstNanos - (next - now)) / nanosPerPermit, next - now, 0);
+            }
+        }
+    }
+
+    /**
+     * 꺼내지 않고 permits만큼 남아 있는지만 확인한다.
+     */
+    RateLimitDecision check(AtomicLong fullAt, long permits, long now) {
+        long base = Math.max(fullAt.get(), now);
+        long next = base + permits * nanosPerPermit;
+        if (next - now > burstNanos) {
+            return rejected(base - now, next - now - burstNanos);
+        }
+        return new RateLimitDecision(true, capacity, (burstNanos - (base - now)) / nanosPerPermit, base - now, 0);
+    }
+
+    /**
+     * 남은 양과 관계없이 permits만큼 꺼낸다. 모자라면 빚이 되어 갚을 때까지 {@link #tryAcquire}, {@link #check}가 거절된다.
+     */
+    void consume(AtomicLong fullAt, long permits, long now) {
+        long cost = permits * nanosPerPermit;
+        long current;
+        do {
+            current = fullAt.get();
+        } while (!fullAt.compareAndSet(current, Math.max(current, now) + cost));
+    }
+
+    private RateLimitDecision rejected(long untilFull, long retryAfter) {
+        long remaining = Math.max(0, (burstNanos - untilFull) / nanosPerPermit);
+        return new RateLimitDecision(false, capacity, remaining, untilFull, retryAfter);
+    }
+}
@@ -0,0 +1,34 @@
+package core.global.snowflake;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Table(name = "snowflake_node_lease")
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SnowflakeNodeLease {
+
+    @Id
+    @Column(name = "node_id")
+    private Long nodeId;
+
+    @NotNull
+    @Column(name = "owner_id")
+    private String ownerId;
+
+    @NotNull
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @NotNull
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
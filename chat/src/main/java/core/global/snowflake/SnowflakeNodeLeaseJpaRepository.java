@@ -0,0 +1,49 @@
+package core.global.snowflake;
+
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface SnowflakeNodeLeaseJpaRepository extends JpaRepository<SnowflakeNodeLease, Long> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO snowflake_node_lease (node_id, owner_id, expires_at, heartbeat_at) "
+            + "VALUES (:nodeId, :ownerId, :expiresAt, :now)", nativeQuery = true)
+    int insertLease(
+            @Param("nodeId") Long nodeId,
+            @Param("ownerId") String ownerId,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("now") LocalDateTime now
+    );
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE SnowflakeNodeLease l SET l.ownerId = :ownerId, l.expiresAt = :expiresAt, l.heartbeatAt = :now "
+            + "WHERE l.nodeId = :nodeId AND (l.expiresAt < :now OR l.ownerId = :ownerId)")
+    int claimIfExpired(
+            @Param("nodeId") Long nodeId,
+            @Param("ownerId") String ownerId,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("now") LocalDateTime now
+    );
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE SnowflakeNodeLease l SET l.expiresAt = :expiresAt, l.heartbeatAt = :now "
+            + "WHERE l.nodeId = :nodeId AND l.ownerId = :ownerId")
+    int renew(
+            @Param("nodeId") Long nodeId,
+            @Param("ownerId") String ownerId,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("now") LocalDateTime now
+    );
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SnowflakeNodeLease l WHERE l.nodeId = :nodeId AND l.ownerId = :ownerId")
+    int release(@Param("nodeId") Long nodeId, @Param("ownerId") String ownerId);
+}
@@ -0,0 +1,154 @@
+package core.global.snowflake;
+
+import core.common.snowflake.NodeIdLease;
+import core.common.snowflake.Snowflake;
+import core.global.config.properties.SnowflakeLeaseProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * snowflake_node_lease 테이블로 인스턴스마다 겹치지 않는 node id를 할당받는다.
+ * heartbeat로 lease를 연장하며, lease를 잃으면 Snowflake가 id를 발급하지 않도록 회수한다.
+ */
+@Slf4j
+@Component
+public class SnowflakeNodeLeaseRegistry {
+
+    private final SnowflakeNodeLeaseJpaRepository snowflakeNodeLeaseJpaRepository;
+    private final SnowflakeLeaseProperties snowflakeLeaseProperties;
+    private final Clock clock;
+
+    @Getter
+    private final String ownerId = resolveHostName() + "-" + UUID.randomUUID();
+
+    @Getter
+    private volatile NodeIdLease currentLease;
+
+    @Autowired
+    public SnowflakeNodeLeaseRegistry(
+            SnowflakeNodeLeaseJpaRepository snowflakeNodeLeaseJpaRepository,
+            SnowflakeLeaseProperties snowflakeLeaseProperties
+    ) {
+        this(snowflakeNodeLeaseJpaRepository, snowflakeLeaseProperties, Clock.systemUTC());
+    }
+
+    SnowflakeNodeLeaseRegistry(
+            SnowflakeNodeLeaseJpaRepository snowflakeNodeLeaseJpaRepository,
+            SnowflakeLeaseProperties snowflakeLeaseProperties,
+            Clock clock
+    ) {
+        this.snowflakeNodeLeaseJpaRepository = snowflakeNodeLeaseJpaRepository;
+        this.snowflakeLeaseProperties = snowflakeLeaseProperties;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void init() {
+        Snowflake.getInstance().applyLease(acquire());
+    }
+
+    /**
+     * 비어 있거나 만료된 node id를 임의의 위치부터 찾아 lease를 획득한다.
+     */
+    public NodeIdLease acquire() {
+        long slotCount = Snowflake.getMaxNodeId() + 1;
+        long offset = ThreadLocalRandom.current().nextLong(slotCount);
+
+        for (long i = 0; i < slotCount; i++) {
+            long nodeId = (offset + i) % slotCount;
+            LocalDateTime now = LocalDateTime.now(clock);
+            LocalDateTime expiresAt = now.plus(snowflakeLeaseProperties.getTtl());
+
+            if (tryClaim(nodeId, expiresAt, now)) {
+                NodeIdLease lease = new NodeIdLease(nodeId, toLocalExpiresAtMillis(expiresAt));
+                currentLease = lease;
+                log.info("Snowflake node id {} lease 획득 (owner = {})", nodeId, ownerId);
+                return lease;
+            }
+        }
+        throw new IllegalStateException("할당 가능한 Snowflake node id가 없습니다.");
+    }
+
+    @Scheduled(
+            initialDelayString = "${snowflake.lease.heartbeat-interval:PT10S}",
+            fixedDelayString = "${snowflake.lease.heartbeat-interval:PT10S}"
+    )
+    public void heartbeat() {
+        NodeIdLease lease = currentLease;
+        if (lease == null) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime expiresAt = now.plus(snowflakeLeaseProperties.getTtl());
+        try {
+            if (snowflakeNodeLeaseJpaRepository.renew(lease.getNodeId(), ownerId, expiresAt, now) == 1) {
+                lease.renew(toLocalExpiresAtMillis(expiresAt));
+                return;
+            }
+        } catch (Exception e) {
+            // DB에 연결하지 못해도 로컬 만료 시각이 지나면 Snowflake가 스스로 발급을 멈춤
+            log.error("Snowflake node id {} lease 갱신 실패", lease.getNodeId(), e);
+            return;
+        }
+
+        log.error("Snowflake node id {} lease를 잃었습니다. 새로운 node id를 할당받습니다.", lease.getNodeId());
+        lease.revoke();
+        currentLease = null;
+        try {
+            Snowflake.getInstance().applyLease(acquire());
+        } catch (Exception e) {
+            log.error("Snowflake node id lease 재할당 실패", e);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        NodeIdLease lease = currentLease;
+        if (lease == null) {
+            return;
+        }
+        lease.revoke();
+        currentLease = null;
+        snowflakeNodeLeaseJpaRepository.release(lease.getNodeId(), ownerId);
+    }
+
+    private boolean tryClaim(long nodeId, LocalDateTime expiresAt, LocalDateTime now) {
+        if (snowflakeNodeLeaseJpaRepository.claimIfExpired(nodeId, ownerId, expiresAt, now) == 1) {
+            return true;
+        }
+        if (snowflakeNodeLeaseJpaRepository.existsById(nodeId)) {
+            return false;
+        }
+        try {
+            return snowflakeNodeLeaseJpaRepository.insertLease(nodeId, ownerId, expiresAt, now) == 1;
+        } catch (DataIntegrityViolationException e) { // 다른 인스턴스가 먼저 같은 node id를 등록함
+            return false;
+        }
+    }
+
+    private long toLocalExpiresAtMillis(LocalDateTime expiresAt) {
+        return expiresAt.atZone(clock.getZone()).toInstant().toEpochMilli()
+                - snowflakeLeaseProperties.getClockSkewTolerance().toMillis();
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+}
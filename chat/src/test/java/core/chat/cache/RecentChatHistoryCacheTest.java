@@ -0,0 +1,197 @@
+package core.chat.cache;
+
+import core.chat.controller.response.ChatHistoryResponse;
+import core.chat.entity.ChatHistory;
+import core.global.config.properties.ChatHistoryCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static core.chat.fixture.ChatFixture.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class RecentChatHistoryCacheTest {
+
+    private static final int WINDOW_SIZE = 3;
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private RecentChatHistoryCache recentChatHistoryCache;
+
+    @BeforeEach
+    void setUp() {
+        ChatHistoryCacheProperties properties = new ChatHistoryCacheProperties();
+        properties.setWindowSize(WINDOW_SIZE);
+        properties.setTtl(TTL);
+        recentChatHistoryCache = new RecentChatHistoryCache(properties, nanos::get);
+    }
+
+    @Test
+    @DisplayName("DB 조회 결과로 채운 뒤에는 최신순으로 limit개를 응답한다")
+    void fillAndGetLatest() {
+        // given
+        fill(TEST_ROOM_ID, 3, 30L, 20L, 10L);
+
+        // when
+        Optional<List<ChatHistoryResponse>> result = recentChatHistoryCache.getLatest(TEST_ROOM_ID, 2);
+
+        // then
+        assertThat(result).hasValueSatisfying(latest -> assertThat(latest)
+                .extracting(ChatHistoryResponse::getChatId)
+                .containsExactly(30L, 20L));
+    }
+
+    @Test
+    @DisplayName("limit보다 적게 조회된 방은 모든 이력을 담고 있으므로 더 큰 limit에도 응답한다")
+    void getLatest_CompleteRoom() {
+        // given
+        fill(TEST_ROOM_ID, 3, 20L, 10L);
+
+        // when
+        Optional<List<ChatHistoryResponse>> result = recentChatHistoryCache.getLatest(TEST_ROOM_ID, 3);
+
+        // then
+        assertThat(result).hasValueSatisfying(latest -> assertThat(latest)
+                .extracting(ChatHistoryResponse::getChatId)
+                .containsExactly(20L, 10L));
+    }
+
+    @Test
+    @DisplayName("담고 있는 이력보다 큰 limit은 응답하지 않는다")
+    void getLatest_NotEnoughHistories() {
+        // given
+        fill(TEST_ROOM_ID, 2, 20L, 10L);
+
+        // when & then
+        assertThat(recentChatHistoryCache.getLatest(TEST_ROOM_ID, 3)).isEmpty();
+        assertThat(recentChatHistoryCache.getLatest(TEST_ROOM_ID, WINDOW_SIZE + 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("저장된 이력은 buffer가 있는 방에만 추가되고 가득 차면 가장 오래된 이력을 버린다")
+    void append() {
+        // given
+        fill(TEST_ROOM_ID, 3, 20L, 10L);
+
+        // when
+        recentChatHistoryCache.append(List.of(
+                ChatHistory.createUserChatHistory(30L, TEST_ROOM_ID, QUESTION),
+                ChatHistory.createLLMChatHistory(40L, TEST_ROOM_ID, ANSWER),
+                ChatHistory.createLLMChatHistory(40L, TEST_ROOM_ID, ANSWER),
+                ChatHistory.createUserChatHistory(50L, OTHER_ROOM_ID, QUESTION)
+        ));
+
+        // then
+        assertThat(recentChatHistoryCache.getLatest(TEST_ROOM_ID, 3)).hasValueSatisfying(latest -> assertThat(latest)
+                .extracting(ChatHistoryResponse::getChatId, ChatHistoryResponse::getIsChatbot)
+                .containsExactly(
+                        tuple(40L, true),
+                        tuple(30L, false),
+                        tuple(20L, false)
+                ));
+        assertThat(recentChatHistoryCache.getLatest(OTHER_ROOM_ID, 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("순서가 뒤바뀌어 저장된 이력도 id 순서에 맞게 들어간다")
+    void append_OutOfOrder() {
+        // given
+        fill(TEST_ROOM_ID, 3, 30L, 10L);
+
+        // when
+        recentChatHistoryCache.append(List.of(ChatHistory.createLLMChatHistory(20L, TEST_ROOM_ID, ANSWER)));
+
+        // then
+        assertThat(recentChatHistoryCache.getLatest(TEST_ROOM_ID, 3)).hasValueSatisfying(latest -> assertThat(latest)
+                .extracting(ChatHistoryResponse::getChatId)
+                .containsExactly(30L, 20L, 10L));
+    }
+
+    @Test
+    @DisplayName("조회하는 동안 같은 방에 저장이 있었다면 조회 결과로 채우지 않는다")
+    void fill_SkipsWhenWrittenDuringRead() {
+        // given
+        long writeStamp = recentChatHistoryCache.writeStamp(TEST_ROOM_ID);
+        recentChatHistoryCache.append(List.of(ChatHistory.createUserChatHistory(30L, TEST_ROOM_ID, QUESTION)));
+
+        // when
+        recentChatHistoryCache.fill(TEST_ROOM_ID, responses(20L, 10L), 3, writeStamp);
+
+        // then
+        assertThat(recentChatHistoryCache.getLatest(TEST_ROOM_ID, 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("방을 제거하면 다음 조회는 DB에서 읽는다")
+    void evict() {
+        // given
+        fill(TEST_ROOM_ID, 3, 20L, 10L);
+
+        // when
+        recentChatHistoryCache.evict(TEST_ROOM_ID);
+
+        // then
+        assertThat(recentChatHistoryCache.getLatest(TEST_ROOM_ID, 1)).isEmpty();
+        assertThat(recentChatHistoryCache.estimatedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("계속 조회하고 추가해도 채운 뒤 ttl이 지나면 제거된다")
+    void expiresAfterFillEvenWhenAccessed() {
+        // given
+        fill(TEST_ROOM_ID, 3, 20L, 10L);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            nanos.addAndGet(TTL.dividedBy(5).toNanos() - 1);
+            assertThat(recentChatHistoryCache.getLatest(TEST_ROOM_ID, 1)).isPresent();
+            recentChatHistoryCache.append(List.of(ChatHistory.createUserChatHistory(30L + i, TEST_ROOM_ID, QUESTION)));
+        }
+        nanos.addAndGet(5);
+
+        // then
+        assertThat(recentChatHistoryCache.getLatest(TEST_ROOM_ID, 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("hit/miss 횟수와 보관 중인 이력의 추정 크기를 metric으로 노출한다")
+    void metrics() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        recentChatHistoryCache.bindTo(registry);
+        fill(TEST_ROOM_ID, 3, 20L, 10L);
+
+        // when
+        recentChatHistoryCache.getLatest(TEST_ROOM_ID, 1);
+        recentChatHistoryCache.getLatest(OTHER_ROOM_ID, 1);
+        recentChatHistoryCache.getLatest(OTHER_ROOM_ID, 1);
+
+        // then
+        assertThat(registry.get("chat.history.cache.requests").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("chat.history.cache.requests").tag("result", "miss").functionCounter().count())
+                .isEqualTo(2);
+        assertThat(registry.get("chat.history.cache.rooms").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("chat.history.cache.memory").gauge().value()).isPositive();
+    }
+
+    private void fill(Long roomId, int limit, Long... latestChatIds) {
+        recentChatHistoryCache.fill(roomId, responses(latestChatIds), limit, recentChatHistoryCache.writeStamp(roomId));
+    }
+
+    private List<ChatHistoryResponse> responses(Long... latestChatIds) {
+        return Arrays.stream(latestChatIds)
+                .map(chatId -> ChatHistoryResponse.of(
+                        ChatHistory.createUserChatHistory(chatId, TEST_ROOM_ID, "메시지 " + chatId)))
+                .toList();
+    }
+}
@@ -5,6 +5,11 @@ import core.chat.controller.request.*;
 import core.chat.controller.response.*;
 import core.chat.entity.ChatHistory;
 import core.chat.service.ChatFacade;
+import core.global.ratelimit.ClientRateLimiter;
+import core.global.ratelimit.RateLimitDecision;
+import core.mcpclient.admission.LlmOverloadedException;
+import core.mcpclient.health.LlmHealth;
+import core.mcpclient.health.LlmHealthStatus;
 import core.mcpclient.service.LLMHealthCheckService;
 import core.mcpclient.service.McpToolService;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +21,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.util.Collections;
 
 import static core.chat.fixture.ChatFixture.*;
@@ -23,8 +29,10 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -47,6 +55,9 @@ class ChatControllerTest {
     @MockitoBean
     private McpToolService mcpToolService;
 
+    @MockitoBean
+    private ClientRateLimiter clientRateLimiter;
+
     private static final String CLIENT_ID_HEADER = "X-Client-Id";
 
     @Test
@@ -77,6 +88,44 @@ class ChatControllerTest {
         verify(chatFacade).chat(anyString(), any(ChatRequest.class));
     }
 
+    @Test
+    @DisplayName("LLM 요청이 몰려 거절되면 Retry-After와 함께 ServiceUnavailable을 반환한다")
+    void chat_shouldReturnServiceUnavailableWhenOverloaded() throws Exception {
+        ChatRequest request = new ChatRequest(TEST_ROOM_ID, QUESTION);
+
+        given(chatFacade.chat(anyString(), any(ChatRequest.class)))
+                .willThrow(new LlmOverloadedException("LLM 요청 대기열이 가득 찼습니다.", Duration.ofSeconds(12)));
+
+        mockMvc.perform(post("/v2/chat")
+                .header(CLIENT_ID_HEADER, TEST_USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "12"));
+    }
+
+    @Test
+    @DisplayName("요청 한도를 넘으면 RateLimit header, Retry-After와 함께 TooManyRequests를 반환한다")
+    void chat_shouldReturnTooManyRequestsWhenRateLimited() throws Exception {
+        ChatRequest request = new ChatRequest(TEST_ROOM_ID, QUESTION);
+
+        given(clientRateLimiter.isEnabled()).willReturn(true);
+        given(clientRateLimiter.tryAcquire(eq(TEST_USER_ID), eq(true)))
+                .willReturn(new RateLimitDecision(false, 20, 0, 20_000_000_000L, 2_500_000_000L));
+
+        mockMvc.perform(post("/v2/chat")
+                .header(CLIENT_ID_HEADER, TEST_USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("RateLimit-Limit", "20"))
+                .andExpect(header().string("RateLimit-Remaining", "0"))
+                .andExpect(header().string("RateLimit-Reset", "20"))
+                .andExpect(header().string("Retry-After", "3"));
+
+        verify(chatFacade, never()).chat(anyString(), any(ChatRequest.class));
+    }
+
     @Test
     @DisplayName("채팅 요청에서 roomId가 null이면 BadRequest를 반환한다")
     void chat_shouldReturnBadRequestWhenRoomIdIsNull() throws Exception {
@@ -331,27 +380,46 @@ class ChatControllerTest {
 
     // ==================== Health Check Tests ====================
     @Test
-    @DisplayName("LLM 헬스 체크 - 연결되었을 때 Ok를 반환한다")
-    void llmHealthCheck_shouldReturnOkWhenConnected() throws Exception {
-        given(llmHealthCheckService.isLLMConnected()).willReturn(true);
+    @DisplayName("LLM 헬스 체크 - 정상일 때 Ok를 반환한다")
+    void llmHealthCheck_shouldReturnOkWhenHealthy() throws Exception {
+        given(llmHealthCheckService.health())
+                .willReturn(new LlmHealth(LlmHealthStatus.HEALTHY, 10, 0, 800, false));
 
         mockMvc.perform(get("/v1/mcp/health")
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("HEALTHY"))
+                .andExpect(jsonPath("$.calls").value(10));
+
+        verify(llmHealthCheckService).health();
+    }
+
+    @Test
+    @DisplayName("LLM 헬스 체크 - 느리거나 실패가 잦을 때 Ok와 함께 DEGRADED를 반환한다")
+    void llmHealthCheck_shouldReturnOkWhenDegraded() throws Exception {
+        given(llmHealthCheckService.health())
+                .willReturn(new LlmHealth(LlmHealthStatus.DEGRADED, 10, 0.2, 800, false));
 
-        verify(llmHealthCheckService).isLLMConnected();
+        mockMvc.perform(get("/v1/mcp/health")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DEGRADED"))
+                .andExpect(jsonPath("$.failureRate").value(0.2));
     }
 
     @Test
-    @DisplayName("LLM 헬스 체크 - 연결되지 않았을 때 InternalServerError를 반환한다")
-    void llmHealthCheck_shouldReturnInternalServerErrorWhenDisconnected() throws Exception {
-        given(llmHealthCheckService.isLLMConnected()).willReturn(false);
+    @DisplayName("LLM 헬스 체크 - 비정상일 때 InternalServerError를 반환한다")
+    void llmHealthCheck_shouldReturnInternalServerErrorWhenUnhealthy() throws Exception {
+        given(llmHealthCheckService.health())
+                .willReturn(new LlmHealth(LlmHealthStatus.UNHEALTHY, 0, 0, 0, true));
 
         mockMvc.perform(get("/v1/mcp/health")
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isInternalServerError());
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.status").value("UNHEALTHY"))
+                .andExpect(jsonPath("$.probed").value(true));
 
-        verify(llmHealthCheckService).isLLMConnected();
+        verify(llmHealthCheckService).health();
     }
 
     @Test
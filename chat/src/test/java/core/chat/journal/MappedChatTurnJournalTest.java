@@ -0,0 +1,179 @@
+package core.chat.journal;
+
+import core.chat.entity.ChatHistory;
+import core.chat.entity.ChatRoom;
+import core.chat.service.dto.ChatTurn;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static core.chat.fixture.ChatFixture.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class MappedChatTurnJournalTest {
+
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("기록한 대화는 journal을 다시 열어도 그대로 읽을 수 있다")
+    void appendAndReadAfterReopen() {
+        // given
+        ChatTurn newRoomTurn = ChatTurn.ofNewRoom(
+                ChatRoom.createChatRoom(10L, TEST_USER_ID, TEST_ROOM_NAME),
+                ChatHistory.createUserChatHistory(11L, 10L, QUESTION),
+                ChatHistory.createLLMChatHistory(12L, 10L, ANSWER)
+        );
+        ChatTurn existingRoomTurn = ChatTurn.ofExistingRoom(
+                ChatHistory.createUserChatHistory(21L, TEST_ROOM_ID, "두 번째 질문"),
+                ChatHistory.createLLMChatHistory(22L, TEST_ROOM_ID, "두 번째 답변")
+        );
+        try (MappedChatTurnJournal journal = new MappedChatTurnJournal(directory, SEGMENT_BYTES)) {
+            journal.append(newRoomTurn);
+            journal.append(existingRoomTurn);
+        }
+
+        // when
+        List<ChatTurn> result;
+        try (MappedChatTurnJournal reopened = new MappedChatTurnJournal(directory, SEGMENT_BYTES)) {
+            result = reopened.readAll();
+        }
+
+        // then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).chatRoom())
+                .extracting(ChatRoom::getId, ChatRoom::getUserId, ChatRoom::getName)
+                .containsExactly(10L, TEST_USER_ID, TEST_ROOM_NAME);
+        assertThat(result.get(1).chatRoom()).isNull();
+        assertThat(result)
+                .flatExtracting(chatTurn -> List.of(chatTurn.userChat(), chatTurn.llmChat()))
+                .extracting("id", "roomId", "content", "type")
+                .containsExactly(
+                        tuple(11L, 10L, QUESTION, newRoomTurn.userChat().getType()),
+                        tuple(12L, 10L, ANSWER, newRoomTurn.llmChat().getType()),
+                        tuple(21L, TEST_ROOM_ID, "두 번째 질문", newRoomTurn.userChat().getType()),
+                        tuple(22L, TEST_ROOM_ID, "두 번째 답변", newRoomTurn.llmChat().getType())
+                );
+    }
+
+    @Test
+    @DisplayName("commit 된 대화는 journal을 다시 열어도 읽지 않고, 모두 commit 되면 journal이 비워진다")
+    void acknowledgeSkipsCommittedRecords() {
+        // given
+        ChatTurn first = createChatTurn(1L);
+        ChatTurn second = createChatTurn(2L);
+        try (MappedChatTurnJournal journal = new MappedChatTurnJournal(directory, SEGMENT_BYTES)) {
+            journal.append(first);
+            journal.append(second);
+
+            // when
+            journal.acknowledge(List.of(first));
+        }
+
+        // then
+        try (MappedChatTurnJournal reopened = new MappedChatTurnJournal(directory, SEGMENT_BYTES)) {
+            assertThat(reopened.readAll()).extracting(chatTurn -> chatTurn.userChat().getId())
+                    .containsExactly(second.userChat().getId());
+
+            reopened.acknowledge(List.of(second));
+            assertThat(reopened.readAll()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("quarantine 한 대화는 quarantine 파일로 옮기고 다시 읽지 않는다")
+    void quarantineMovesRecord() throws IOException {
+        // given
+        ChatTurn first = createChatTurn(1L);
+        ChatTurn second = createChatTurn(2L);
+        try (MappedChatTurnJournal journal = new MappedChatTurnJournal(directory, SEGMENT_BYTES)) {
+            journal.append(first);
+            journal.append(second);
+
+            // when
+            journal.quarantine(first);
+
+            // then
+            assertThat(journal.readAll()).extracting(chatTurn -> chatTurn.userChat().getId())
+                    .containsExactly(second.userChat().getId());
+        }
+        assertThat(Files.size(directory.resolve("chat-turn-journal.quarantine")))
+                .isEqualTo(Integer.BYTES + ChatTurnCodec.encode(first).length);
+    }
+
+    @Test
+    @DisplayName("checksum이 맞지 않는 레코드부터는 읽지 않는다")
+    void corruptedRecordIsIgnored() throws IOException {
+        // given
+        try (MappedChatTurnJournal journal = new MappedChatTurnJournal(directory, SEGMENT_BYTES)) {
+            journal.append(createChatTurn(1L));
+            journal.append(createChatTurn(2L));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("chat-turn-journal-0.dat").toFile(), "rw")) {
+            long lastByteOfSecondRecord = findSecondRecordEnd(file) - 1;
+            file.seek(lastByteOfSecondRecord);
+            file.write(file.read() ^ 0xFF);
+        }
+
+        // when
+        List<ChatTurn> result;
+        try (MappedChatTurnJournal reopened = new MappedChatTurnJournal(directory, SEGMENT_BYTES)) {
+            result = reopened.readAll();
+        }
+
+        // then
+        assertThat(result).extracting(chatTurn -> chatTurn.userChat().getId()).containsExactly(10L);
+    }
+
+    @Test
+    @DisplayName("segment가 가득 차면 다른 segment로 넘어가고, 두 segment 모두 commit 전이면 더 기록하지 않는다")
+    void rotateSegment() {
+        try (MappedChatTurnJournal journal = new MappedChatTurnJournal(directory, SEGMENT_BYTES)) {
+            // given
+            List<ChatTurn> chatTurns = new ArrayList<>();
+            for (long seed = 1; seed <= 200; seed++) {
+                ChatTurn chatTurn = createChatTurn(seed);
+                chatTurns.add(chatTurn);
+                journal.append(chatTurn);
+            }
+            int segmentCapacity = SEGMENT_BYTES / (Integer.BYTES * 2 + ChatTurnCodec.encode(chatTurns.get(0)).length);
+            assertThat(journal.readAll()).hasSizeGreaterThan(segmentCapacity).hasSizeLessThan(chatTurns.size());
+
+            // when
+            journal.acknowledge(chatTurns);
+            ChatTurn next = createChatTurn(1000L);
+            journal.append(next);
+
+            // then
+            assertThat(journal.readAll())
+                    .extracting(chatTurn -> chatTurn.userChat().getId())
+                    .containsExactly(next.userChat().getId());
+        }
+    }
+
+    private ChatTurn createChatTurn(long seed) {
+        return ChatTurn.ofExistingRoom(
+                ChatHistory.createUserChatHistory(seed * 10, TEST_ROOM_ID, QUESTION + seed),
+                ChatHistory.createLLMChatHistory(seed * 10 + 1, TEST_ROOM_ID, ANSWER + seed)
+        );
+    }
+
+    private long findSecondRecordEnd(RandomAccessFile file) throws IOException {
+        file.seek(0);
+        int firstLength = file.readInt();
+        long secondOffset = Integer.BYTES * 2L + firstLength;
+        file.seek(secondOffset);
+        int secondLength = file.readInt();
+        return secondOffset + Integer.BYTES * 2L + secondLength;
+    }
+}
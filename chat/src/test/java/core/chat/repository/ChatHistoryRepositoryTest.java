@@ -1,7 +1,9 @@
 package core.chat.repository;
 
+import core.chat.controller.response.ChatHistoryResponse;
 import core.chat.entity.ChatHistory;
 import core.chat.entity.MessageType;
+import core.common.snowflake.SnowflakeIdCodec;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,10 +14,12 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Instant;
 import java.util.List;
 
 import static core.chat.fixture.ChatFixture.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -285,6 +289,77 @@ class ChatHistoryRepositoryTest {
                 .containsOnly(OTHER_ROOM_ID);
     }
 
+    @Test
+    @DisplayName("생성 시각 구간 [from, to)에 속한 이력만 ID 내림차순으로 조회할 수 있다")
+    void findAllByRoomIdCreatedBetween() {
+        // given
+        Instant base = Instant.parse("2025-01-01T00:00:00Z");
+        ChatHistory before = ChatHistory.createUserChatHistory(
+                SnowflakeIdCodec.lowerBound(base) - 1, TEST_ROOM_ID, "이전 메시지");
+        ChatHistory first = ChatHistory.createUserChatHistory(
+                SnowflakeIdCodec.lowerBound(base), TEST_ROOM_ID, "첫 메시지");
+        ChatHistory second = ChatHistory.createLLMChatHistory(
+                SnowflakeIdCodec.lowerBound(base.plusSeconds(30)), TEST_ROOM_ID, "두 번째 메시지");
+        ChatHistory otherRoom = ChatHistory.createUserChatHistory(
+                SnowflakeIdCodec.lowerBound(base.plusSeconds(10)), OTHER_ROOM_ID, "다른 방 메시지");
+        ChatHistory after = ChatHistory.createUserChatHistory(
+                SnowflakeIdCodec.lowerBound(base.plusSeconds(60)), TEST_ROOM_ID, "이후 메시지");
+        chatHistoryJpaRepository.saveAll(List.of(before, first, second, otherRoom, after));
+        entityManager.flush();
+
+        // when
+        List<ChatHistory> result = chatHistoryRepository.findAllByRoomIdCreatedBetween(
+                TEST_ROOM_ID, base, base.plusSeconds(60), 10);
+
+        // then
+        assertThat(result)
+                .extracting(ChatHistory::getId)
+                .containsExactly(second.getId(), first.getId());
+    }
+
+    @Test
+    @DisplayName("최신 채팅 이력을 응답 객체로 바로 조회할 수 있다")
+    void findResponsesByRoomIdLatest() {
+        // given
+        List<ChatHistory> histories = createChatHistories(TEST_ROOM_ID, 5);
+        chatHistoryJpaRepository.saveAll(histories);
+        chatHistoryJpaRepository.saveAll(createChatHistories(OTHER_ROOM_ID, 2));
+        entityManager.flush();
+
+        // when
+        List<ChatHistoryResponse> result = chatHistoryRepository.findResponsesByRoomIdLatest(TEST_ROOM_ID, 3);
+
+        // then
+        assertThat(result)
+                .extracting(ChatHistoryResponse::getChatId, ChatHistoryResponse::getContent, ChatHistoryResponse::getIsChatbot)
+                .containsExactly(
+                        tuple(histories.get(4).getId(), "사용자 메시지 4", false),
+                        tuple(histories.get(3).getId(), "LLM 응답 3", true),
+                        tuple(histories.get(2).getId(), "사용자 메시지 2", false)
+                );
+    }
+
+    @Test
+    @DisplayName("특정 채팅 이후의 이력을 응답 객체로 바로 조회할 수 있다")
+    void findResponsesByRoomIdAfterChatId() {
+        // given
+        List<ChatHistory> histories = createChatHistories(TEST_ROOM_ID, 5);
+        chatHistoryJpaRepository.saveAll(histories);
+        entityManager.flush();
+
+        // when
+        List<ChatHistoryResponse> result = chatHistoryRepository.findResponsesByRoomIdAfterChatId(
+                TEST_ROOM_ID,
+                histories.get(2).getId(),
+                10
+        );
+
+        // then
+        assertThat(result)
+                .extracting(ChatHistoryResponse::getChatId)
+                .containsExactly(histories.get(1).getId(), histories.get(0).getId());
+    }
+
     private List<ChatHistory> createChatHistories(Long roomId, int count) {
         List<ChatHistory> histories = new java.util.ArrayList<>();
         for (int i = 0; i < count; i++) {
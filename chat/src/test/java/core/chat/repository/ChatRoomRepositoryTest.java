@@ -1,6 +1,8 @@
 package core.chat.repository;
 
+import core.chat.controller.response.ChatRoomResponse;
 import core.chat.entity.ChatRoom;
+import core.common.snowflake.SnowflakeIdCodec;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,11 +13,13 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 import static core.chat.fixture.ChatFixture.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -308,6 +312,22 @@ class ChatRoomRepositoryTest {
         assertThat(exists).isFalse();
     }
 
+    @Test
+    @DisplayName("방 소유자의 id를 조회할 수 있다")
+    void findOwnerIdByRoomId() {
+        // given
+        chatRoomJpaRepository.save(ChatRoom.createChatRoom(TEST_ROOM_ID, TEST_USER_ID, "소유자 테스트"));
+        entityManager.flush();
+
+        // when
+        Optional<String> ownerId = chatRoomRepository.findOwnerIdByRoomId(TEST_ROOM_ID);
+        Optional<String> missing = chatRoomRepository.findOwnerIdByRoomId(999L);
+
+        // then
+        assertThat(ownerId).contains(TEST_USER_ID);
+        assertThat(missing).isEmpty();
+    }
+
     @Test
     @DisplayName("사용자의 여러 방을 저장하고 최신순으로 조회할 수 있다")
     void multipleRoomsHandling() {
@@ -357,6 +377,79 @@ class ChatRoomRepositoryTest {
                 .containsOnly(OTHER_USER_ID);
     }
 
+    @Test
+    @DisplayName("생성 시각 구간 [from, to)에 만든 사용자의 방만 조회할 수 있다")
+    void findAllByUserIdCreatedBetween() {
+        // given
+        Instant base = Instant.parse("2025-01-01T00:00:00Z");
+        ChatRoom before = ChatRoom.createChatRoom(
+                SnowflakeIdCodec.lowerBound(base) - 1, TEST_USER_ID, "이전 방");
+        ChatRoom first = ChatRoom.createChatRoom(SnowflakeIdCodec.lowerBound(base), TEST_USER_ID, "첫 방");
+        ChatRoom second = ChatRoom.createChatRoom(
+                SnowflakeIdCodec.lowerBound(base.plusSeconds(30)), TEST_USER_ID, "두 번째 방");
+        ChatRoom otherUser = ChatRoom.createChatRoom(
+                SnowflakeIdCodec.lowerBound(base.plusSeconds(10)), OTHER_USER_ID, "다른 사용자 방");
+        ChatRoom after = ChatRoom.createChatRoom(
+                SnowflakeIdCodec.lowerBound(base.plusSeconds(60)), TEST_USER_ID, "이후 방");
+        chatRoomJpaRepository.saveAll(List.of(before, first, second, otherUser, after));
+        entityManager.flush();
+
+        // when
+        List<ChatRoom> result = chatRoomRepository.findAllByUserIdCreatedBetween(
+                TEST_USER_ID, base, base.plusSeconds(60), 10);
+
+        // then
+        assertThat(result)
+                .extracting(ChatRoom::getId)
+                .containsExactly(second.getId(), first.getId());
+    }
+
+    @Test
+    @DisplayName("사용자의 최신 채팅 방을 응답 객체로 바로 조회할 수 있다")
+    void findResponsesByUserIdLatest() {
+        // given
+        List<ChatRoom> rooms = createChatRooms(TEST_USER_ID, 3);
+        chatRoomJpaRepository.saveAll(rooms);
+        chatRoomJpaRepository.saveAll(createChatRooms(OTHER_USER_ID, 2));
+        entityManager.flush();
+
+        // when
+        List<ChatRoomResponse> result = chatRoomRepository.findResponsesByUserIdLatest(TEST_USER_ID, 10);
+
+        // then
+        assertThat(result)
+                .extracting(ChatRoomResponse::getRoomId, ChatRoomResponse::getRoomName)
+                .containsExactly(
+                        tuple(rooms.get(2).getId(), "방 2"),
+                        tuple(rooms.get(1).getId(), "방 1"),
+                        tuple(rooms.get(0).getId(), "방 0")
+                );
+        assertThat(result)
+                .extracting(ChatRoomResponse::getDate)
+                .allMatch(date -> date != null && date.endsWith("일"));
+    }
+
+    @Test
+    @DisplayName("특정 방 이후의 채팅 방을 응답 객체로 바로 조회할 수 있다")
+    void findResponsesByUserIdAfterRoomId() {
+        // given
+        List<ChatRoom> rooms = createChatRooms(TEST_USER_ID, 5);
+        chatRoomJpaRepository.saveAll(rooms);
+        entityManager.flush();
+
+        // when
+        List<ChatRoomResponse> result = chatRoomRepository.findResponsesByUserIdAfterRoomId(
+                TEST_USER_ID,
+                rooms.get(2).getId(),
+                10
+        );
+
+        // then
+        assertThat(result)
+                .extracting(ChatRoomResponse::getRoomId)
+                .containsExactly(rooms.get(1).getId(), rooms.get(0).getId());
+    }
+
     private List<ChatRoom> createChatRooms(String userId, int count) {
         List<ChatRoom> rooms = new java.util.ArrayList<>();
         for (int i = 0; i < count; i++) {
@@ -5,6 +5,10 @@ import core.chat.controller.response.*;
 import core.chat.entity.ChatHistory;
 import core.chat.entity.ChatRoom;
 import core.chat.service.dto.ChatRoomDto;
+import core.global.ratelimit.ClientRateLimiter;
+import core.mcpclient.admission.LlmAdmissionController;
+import core.mcpclient.admission.LlmOverloadedException;
+import core.mcpclient.config.properties.AdmissionProperties;
 import core.mcpclient.service.LLMService;
 import core.mcpclient.service.dto.NewChatRoomInfo;
 import org.junit.jupiter.api.DisplayName;
@@ -12,11 +16,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongConsumer;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import static core.chat.fixture.ChatFixture.*;
@@ -25,10 +32,14 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class ChatFacadeTest {
@@ -42,6 +53,15 @@ class ChatFacadeTest {
     @Mock
     private ChatHistoryService chatHistoryService;
 
+    @Mock
+    private ChatTurnService chatTurnService;
+
+    @Mock
+    private ClientRateLimiter clientRateLimiter;
+
+    @Spy
+    private LlmAdmissionController llmAdmissionController = new LlmAdmissionController(new AdmissionProperties());
+
     @InjectMocks
     private ChatFacade chatFacade;
 
@@ -50,7 +70,7 @@ class ChatFacadeTest {
     void chat() {
         // given
         given(chatRoomService.canUserAccessRoom(TEST_ROOM_ID, TEST_USER_ID)).willReturn(true);
-        given(llmService.chat(TEST_ROOM_ID, QUESTION)).willReturn(ANSWER);
+        given(llmService.chat(eq(TEST_ROOM_ID), eq(QUESTION), any())).willReturn(ANSWER);
 
         // when
         ChatResponse result = chatFacade.chat(TEST_USER_ID, CHAT_REQUEST);
@@ -62,7 +82,7 @@ class ChatFacadeTest {
                 .containsExactly(TEST_ROOM_ID, ANSWER);
 
         verify(chatRoomService).canUserAccessRoom(TEST_ROOM_ID, TEST_USER_ID);
-        verify(llmService).chat(TEST_ROOM_ID, QUESTION);
+        verify(llmService).chat(eq(TEST_ROOM_ID), eq(QUESTION), any());
         verify(chatHistoryService).saveChatHistory(any(ChatHistory.class), any(ChatHistory.class));
     }
 
@@ -79,14 +99,61 @@ class ChatFacadeTest {
                 .hasMessageContaining("Invalid room ID");
 
         verify(chatRoomService).canUserAccessRoom(TEST_ROOM_ID, TEST_USER_ID);
-        verify(llmService, never()).chat(anyLong(), anyString());
+        verify(llmService, never()).chat(anyLong(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("채팅 후 LLM이 알려준 입출력 token을 사용자 예산에서 차감한다")
+    void chat_RecordsTokenUsage() {
+        // given
+        given(chatRoomService.canUserAccessRoom(TEST_ROOM_ID, TEST_USER_ID)).willReturn(true);
+        given(llmService.chat(eq(TEST_ROOM_ID), eq(QUESTION), any())).willAnswer(invocation -> {
+            invocation.<LongConsumer>getArgument(2).accept(1200L);
+            return ANSWER;
+        });
+
+        // when
+        chatFacade.chat(TEST_USER_ID, CHAT_REQUEST);
+
+        // then
+        verify(clientRateLimiter).recordTokens(TEST_USER_ID, 1200L);
+    }
+
+    @Test
+    @DisplayName("LLM 요청이 몰려 거절되면 LLM을 호출하지 않고 채팅도 저장하지 않는다")
+    void chat_Overloaded() {
+        // given
+        given(chatRoomService.canUserAccessRoom(TEST_ROOM_ID, TEST_USER_ID)).willReturn(true);
+        willThrow(new LlmOverloadedException("LLM 요청 대기열이 가득 찼습니다.", Duration.ofSeconds(5)))
+                .given(llmAdmissionController).call(eq(TEST_USER_ID), any());
+
+        // when & then
+        assertThatThrownBy(() -> chatFacade.chat(TEST_USER_ID, CHAT_REQUEST))
+                .isInstanceOf(LlmOverloadedException.class);
+
+        verify(llmService, never()).chat(anyLong(), anyString(), any());
+        verify(chatHistoryService, never()).saveChatHistory(any(ChatHistory.class), any(ChatHistory.class));
+    }
+
+    @Test
+    @DisplayName("LLM 요청 대기열이 가득 차면 스트림을 만들기 전에 거절한다")
+    void chatStream_Overloaded() {
+        // given
+        willThrow(new LlmOverloadedException("LLM 요청 대기열이 가득 찼습니다.", Duration.ofSeconds(5)))
+                .given(llmAdmissionController).rejectIfFull(TEST_USER_ID);
+
+        // when & then
+        assertThatThrownBy(() -> chatFacade.chatStream(TEST_USER_ID, CHAT_REQUEST))
+                .isInstanceOf(LlmOverloadedException.class);
+
+        verifyNoInteractions(chatRoomService, llmService);
     }
 
     @Test
     @DisplayName("새로운 채팅 방을 시작할 수 있다")
     void startNewChat() {
         // given
-        given(llmService.startNewChat(anyLong(), anyString()))
+        given(llmService.startNewChat(anyLong(), anyString(), any()))
                 .willReturn(new NewChatRoomInfo(TEST_ROOM_NAME, ANSWER));
 
         // when
@@ -98,23 +165,26 @@ class ChatFacadeTest {
                 .extracting(CreateChatRoomResponse::getRoomName, CreateChatRoomResponse::getAnswer)
                 .containsExactly(TEST_ROOM_NAME, ANSWER);
 
-        verify(llmService).startNewChat(anyLong(), anyString());
-        verify(chatRoomService).saveChatRoom(any(ChatRoom.class));
-        verify(chatHistoryService).saveChatHistory(any(ChatHistory.class), any(ChatHistory.class));
+        verify(llmService).startNewChat(anyLong(), anyString(), any());
+        verify(chatTurnService).saveNewChatTurn(any(ChatRoom.class), any(ChatHistory.class), any(ChatHistory.class));
     }
 
     @Test
     @DisplayName("새로운 채팅 방 시작 시 사용자 ID가 저장된다")
     void startNewChat_UserIdSaved() {
         // given
-        given(llmService.startNewChat(anyLong(), anyString()))
+        given(llmService.startNewChat(anyLong(), anyString(), any()))
                 .willReturn(new NewChatRoomInfo(TEST_ROOM_NAME, ANSWER));
 
         // when
         chatFacade.startNewChat(TEST_USER_ID, CREATE_CHAT_ROOM_REQUEST);
 
         // then
-        verify(chatRoomService).saveChatRoom(any(ChatRoom.class));
+        verify(chatTurnService).saveNewChatTurn(
+                argThat(chatRoom -> TEST_USER_ID.equals(chatRoom.getUserId())),
+                any(ChatHistory.class),
+                any(ChatHistory.class)
+        );
     }
 
     @Test
@@ -299,7 +369,7 @@ class ChatFacadeTest {
     void chat_SavesBothUserAndLLMMessages() {
         // given
         given(chatRoomService.canUserAccessRoom(TEST_ROOM_ID, TEST_USER_ID)).willReturn(true);
-        given(llmService.chat(TEST_ROOM_ID, QUESTION)).willReturn(ANSWER);
+        given(llmService.chat(eq(TEST_ROOM_ID), eq(QUESTION), any())).willReturn(ANSWER);
 
         // when
         chatFacade.chat(TEST_USER_ID, new ChatRequest(TEST_ROOM_ID, QUESTION));
@@ -313,14 +383,15 @@ class ChatFacadeTest {
     @DisplayName("새 방 시작 시 사용자와 LLM 메시지가 모두 저장된다")
     void startNewChat_SavesBothUserAndLLMMessages() {
         // given
-        given(llmService.startNewChat(anyLong(), anyString()))
+        given(llmService.startNewChat(anyLong(), anyString(), any()))
                 .willReturn(new NewChatRoomInfo(TEST_ROOM_NAME, ANSWER));
 
         // when
         chatFacade.startNewChat(TEST_USER_ID, new CreateChatRoomRequest(QUESTION));
 
         // then
-        verify(chatHistoryService, times(1)).saveChatHistory(any(ChatHistory.class), any(ChatHistory.class));
+        verify(chatTurnService, times(1))
+                .saveNewChatTurn(any(ChatRoom.class), any(ChatHistory.class), any(ChatHistory.class));
     }
 
     @Test
@@ -328,7 +399,7 @@ class ChatFacadeTest {
     void chat_ResponseContainsAnswerId() {
         // given
         given(chatRoomService.canUserAccessRoom(TEST_ROOM_ID, TEST_USER_ID)).willReturn(true);
-        given(llmService.chat(TEST_ROOM_ID, QUESTION)).willReturn(ANSWER);
+        given(llmService.chat(eq(TEST_ROOM_ID), eq(QUESTION), any())).willReturn(ANSWER);
 
         // when
         ChatResponse result = chatFacade.chat(TEST_USER_ID, new ChatRequest(TEST_ROOM_ID, QUESTION));
@@ -341,7 +412,7 @@ class ChatFacadeTest {
     @DisplayName("새 방 시작 응답은 방 ID를 포함한다")
     void startNewChat_ResponseContainsRoomId() {
         // given
-        given(llmService.startNewChat(anyLong(), anyString()))
+        given(llmService.startNewChat(anyLong(), anyString(), any()))
                 .willReturn(new NewChatRoomInfo(TEST_ROOM_NAME, ANSWER));
 
         // when
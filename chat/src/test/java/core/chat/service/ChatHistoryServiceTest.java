@@ -1,8 +1,10 @@
 package core.chat.service;
 
+import core.chat.cache.RecentChatHistoryCache;
 import core.chat.controller.response.ChatHistoryResponse;
 import core.chat.entity.ChatHistory;
 import core.chat.repository.ChatHistoryRepository;
+import core.mcpclient.memory.ChatMemoryInvalidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,12 +14,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Optional;
 
 import static core.chat.fixture.ChatFixture.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -27,6 +31,12 @@ class ChatHistoryServiceTest {
     @Mock
     private ChatHistoryRepository chatHistoryRepository;
 
+    @Mock
+    private RecentChatHistoryCache recentChatHistoryCache;
+
+    @Mock
+    private ChatMemoryInvalidator chatMemoryInvalidator;
+
     @InjectMocks
     private ChatHistoryService chatHistoryService;
 
@@ -46,17 +56,16 @@ class ChatHistoryServiceTest {
         chatHistoryService.saveChatHistory(userChatHistory, llmChatHistory);
 
         // then
-        verify(chatHistoryRepository, times(2)).insertChatHistoryWithoutSelect(any(ChatHistory.class));
-        verify(chatHistoryRepository).insertChatHistoryWithoutSelect(userChatHistory);
-        verify(chatHistoryRepository).insertChatHistoryWithoutSelect(llmChatHistory);
+        verify(chatHistoryRepository, times(1)).insertAllWithoutSelect(anyList());
+        verify(chatHistoryRepository).insertAllWithoutSelect(List.of(userChatHistory, llmChatHistory));
     }
 
     @Test
     @DisplayName("특정 방의 최신 채팅 이력을 조회할 수 있다")
     void getChatHistoriesLatest() {
         // given
-        given(chatHistoryRepository.findAllByRoomIdLatest(TEST_ROOM_ID, 10))
-                .willReturn(List.of(userChatHistory, llmChatHistory));
+        given(chatHistoryRepository.findResponsesByRoomIdLatest(TEST_ROOM_ID, 10))
+                .willReturn(List.of(ChatHistoryResponse.of(userChatHistory), ChatHistoryResponse.of(llmChatHistory)));
 
         // when
         List<ChatHistoryResponse> result = chatHistoryService.getChatHistoriesLatest(TEST_ROOM_ID, 10);
@@ -74,15 +83,15 @@ class ChatHistoryServiceTest {
                         tuple(llmChatHistory.getId(), ANSWER, true)
                 );
 
-        verify(chatHistoryRepository).findAllByRoomIdLatest(TEST_ROOM_ID, 10);
+        verify(chatHistoryRepository).findResponsesByRoomIdLatest(TEST_ROOM_ID, 10);
     }
 
     @Test
     @DisplayName("최신 채팅 이력 조회 시 사용자 메시지는 isChatbot이 false이다")
     void getChatHistoriesLatest_UserMessageIsChatbot() {
         // given
-        given(chatHistoryRepository.findAllByRoomIdLatest(TEST_ROOM_ID, 10))
-                .willReturn(List.of(userChatHistory));
+        given(chatHistoryRepository.findResponsesByRoomIdLatest(TEST_ROOM_ID, 10))
+                .willReturn(List.of(ChatHistoryResponse.of(userChatHistory)));
 
         // when
         List<ChatHistoryResponse> result = chatHistoryService.getChatHistoriesLatest(TEST_ROOM_ID, 10);
@@ -98,7 +107,7 @@ class ChatHistoryServiceTest {
     @DisplayName("최신 채팅 이력 조회 시 LLM 메시지는 isChatbot이 true이다")
     void getChatHistoriesLatest_LLMMessageIsChatbot() {
         // given
-        given(chatHistoryRepository.findAllByRoomIdLatest(TEST_ROOM_ID, 10)).willReturn(List.of(llmChatHistory));
+        given(chatHistoryRepository.findResponsesByRoomIdLatest(TEST_ROOM_ID, 10)).willReturn(List.of(ChatHistoryResponse.of(llmChatHistory)));
 
         // when
         List<ChatHistoryResponse> result = chatHistoryService.getChatHistoriesLatest(TEST_ROOM_ID, 10);
@@ -114,14 +123,14 @@ class ChatHistoryServiceTest {
     @DisplayName("limit 개수만큼 최신 채팅 이력을 조회할 수 있다")
     void getChatHistoriesLatest_WithLimit() {
         // given
-        given(chatHistoryRepository.findAllByRoomIdLatest(TEST_ROOM_ID, 1)).willReturn(List.of(userChatHistory));
+        given(chatHistoryRepository.findResponsesByRoomIdLatest(TEST_ROOM_ID, 1)).willReturn(List.of(ChatHistoryResponse.of(userChatHistory)));
 
         // when
         List<ChatHistoryResponse> result = chatHistoryService.getChatHistoriesLatest(TEST_ROOM_ID, 1);
 
         // then
         assertThat(result).hasSize(1);
-        verify(chatHistoryRepository).findAllByRoomIdLatest(TEST_ROOM_ID, 1);
+        verify(chatHistoryRepository).findResponsesByRoomIdLatest(TEST_ROOM_ID, 1);
     }
 
     @Test
@@ -129,22 +138,22 @@ class ChatHistoryServiceTest {
     void getChatHistoriesLatest_NonExistentRoom() {
         // given
         Long nonExistentRoomId = 999L;
-        given(chatHistoryRepository.findAllByRoomIdLatest(nonExistentRoomId, 10)).willReturn(List.of());
+        given(chatHistoryRepository.findResponsesByRoomIdLatest(nonExistentRoomId, 10)).willReturn(List.of());
 
         // when
         List<ChatHistoryResponse> result = chatHistoryService.getChatHistoriesLatest(nonExistentRoomId, 10);
 
         // then
         assertThat(result).isEmpty();
-        verify(chatHistoryRepository).findAllByRoomIdLatest(nonExistentRoomId, 10);
+        verify(chatHistoryRepository).findResponsesByRoomIdLatest(nonExistentRoomId, 10);
     }
 
     @Test
     @DisplayName("특정 채팅 이후의 이력을 조회할 수 있다")
     void getChatHistoriesAfter() {
         // given
-        given(chatHistoryRepository.findAllByRoomIdAfterChatId(TEST_ROOM_ID, userChatHistory.getId(), 10))
-                .willReturn(List.of(llmChatHistory));
+        given(chatHistoryRepository.findResponsesByRoomIdAfterChatId(TEST_ROOM_ID, userChatHistory.getId(), 10))
+                .willReturn(List.of(ChatHistoryResponse.of(llmChatHistory)));
 
         // when
         List<ChatHistoryResponse> result = chatHistoryService.getChatHistoriesAfter(
@@ -159,15 +168,15 @@ class ChatHistoryServiceTest {
                         tuple(llmChatHistory.getId(), ANSWER)
                 );
 
-        verify(chatHistoryRepository).findAllByRoomIdAfterChatId(TEST_ROOM_ID, userChatHistory.getId(), 10);
+        verify(chatHistoryRepository).findResponsesByRoomIdAfterChatId(TEST_ROOM_ID, userChatHistory.getId(), 10);
     }
 
     @Test
     @DisplayName("특정 채팅 이후의 이력은 올바른 형식으로 변환된다")
     void getChatHistoriesAfter_ResponseFormat() {
         // given
-        given(chatHistoryRepository.findAllByRoomIdAfterChatId(TEST_ROOM_ID, userChatHistory.getId(), 10))
-                .willReturn(List.of(llmChatHistory));
+        given(chatHistoryRepository.findResponsesByRoomIdAfterChatId(TEST_ROOM_ID, userChatHistory.getId(), 10))
+                .willReturn(List.of(ChatHistoryResponse.of(llmChatHistory)));
 
         // when
         List<ChatHistoryResponse> result = chatHistoryService.getChatHistoriesAfter(
@@ -187,8 +196,8 @@ class ChatHistoryServiceTest {
     @DisplayName("limit 개수만큼 특정 채팅 이후의 이력을 조회할 수 있다")
     void getChatHistoriesAfter_WithLimit() {
         // given
-        given(chatHistoryRepository.findAllByRoomIdAfterChatId(TEST_ROOM_ID, userChatHistory.getId(), 1))
-                .willReturn(List.of(llmChatHistory));
+        given(chatHistoryRepository.findResponsesByRoomIdAfterChatId(TEST_ROOM_ID, userChatHistory.getId(), 1))
+                .willReturn(List.of(ChatHistoryResponse.of(llmChatHistory)));
 
         // when
         List<ChatHistoryResponse> result =
@@ -196,7 +205,7 @@ class ChatHistoryServiceTest {
 
         // then
         assertThat(result).hasSize(1);
-        verify(chatHistoryRepository).findAllByRoomIdAfterChatId(TEST_ROOM_ID, userChatHistory.getId(), 1);
+        verify(chatHistoryRepository).findResponsesByRoomIdAfterChatId(TEST_ROOM_ID, userChatHistory.getId(), 1);
     }
 
     @Test
@@ -204,7 +213,7 @@ class ChatHistoryServiceTest {
     void getChatHistoriesAfter_EmptyResult() {
         // given
         Long lastChatId = 999L;
-        given(chatHistoryRepository.findAllByRoomIdAfterChatId(TEST_ROOM_ID, lastChatId, 10))
+        given(chatHistoryRepository.findResponsesByRoomIdAfterChatId(TEST_ROOM_ID, lastChatId, 10))
                 .willReturn(List.of());
 
         // when
@@ -213,15 +222,15 @@ class ChatHistoryServiceTest {
 
         // then
         assertThat(result).isEmpty();
-        verify(chatHistoryRepository).findAllByRoomIdAfterChatId(TEST_ROOM_ID, lastChatId, 10);
+        verify(chatHistoryRepository).findResponsesByRoomIdAfterChatId(TEST_ROOM_ID, lastChatId, 10);
     }
 
     @Test
     @DisplayName("페이지네이션으로 채팅 이력을 조회할 수 있다")
     void getChatHistoriesAfter_WithPagination() {
         // given
-        given(chatHistoryRepository.findAllByRoomIdAfterChatId(TEST_ROOM_ID, userChatHistory.getId(), 5))
-                .willReturn(List.of(llmChatHistory));
+        given(chatHistoryRepository.findResponsesByRoomIdAfterChatId(TEST_ROOM_ID, userChatHistory.getId(), 5))
+                .willReturn(List.of(ChatHistoryResponse.of(llmChatHistory)));
 
         // when
         List<ChatHistoryResponse> result =
@@ -229,7 +238,7 @@ class ChatHistoryServiceTest {
 
         // then
         assertThat(result).hasSize(1);
-        verify(chatHistoryRepository).findAllByRoomIdAfterChatId(TEST_ROOM_ID, userChatHistory.getId(), 5);
+        verify(chatHistoryRepository).findResponsesByRoomIdAfterChatId(TEST_ROOM_ID, userChatHistory.getId(), 5);
     }
 
     @Test
@@ -246,7 +255,7 @@ class ChatHistoryServiceTest {
     @DisplayName("빈 채팅 이력 리스트를 조회할 수 있다")
     void getChatHistoriesLatest_EmptyList() {
         // given
-        given(chatHistoryRepository.findAllByRoomIdLatest(TEST_ROOM_ID, 10))
+        given(chatHistoryRepository.findResponsesByRoomIdLatest(TEST_ROOM_ID, 10))
                 .willReturn(List.of());
 
         // when
@@ -255,4 +264,77 @@ class ChatHistoryServiceTest {
         // then
         assertThat(result).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("최근 채팅 이력 캐시에서 응답할 수 있으면 DB를 조회하지 않는다")
+    void getChatHistoriesLatest_CacheHit() {
+        // given
+        List<ChatHistoryResponse> cached = List.of(ChatHistoryResponse.of(llmChatHistory));
+        given(recentChatHistoryCache.getLatest(TEST_ROOM_ID, 1)).willReturn(Optional.of(cached));
+
+        // when
+        List<ChatHistoryResponse> result = chatHistoryService.getChatHistoriesLatest(TEST_ROOM_ID, 1);
+
+        // then
+        assertThat(result).isSameAs(cached);
+        verify(chatHistoryRepository, never()).findResponsesByRoomIdLatest(TEST_ROOM_ID, 1);
+    }
+
+    @Test
+    @DisplayName("캐시에 없으면 DB 조회 결과로 최근 채팅 이력 캐시를 채운다")
+    void getChatHistoriesLatest_CacheMissFillsCache() {
+        // given
+        List<ChatHistoryResponse> latest = List.of(ChatHistoryResponse.of(llmChatHistory));
+        given(recentChatHistoryCache.getLatest(TEST_ROOM_ID, 10)).willReturn(Optional.empty());
+        given(recentChatHistoryCache.writeStamp(TEST_ROOM_ID)).willReturn(7L);
+        given(chatHistoryRepository.findResponsesByRoomIdLatest(TEST_ROOM_ID, 10)).willReturn(latest);
+
+        // when
+        List<ChatHistoryResponse> result = chatHistoryService.getChatHistoriesLatest(TEST_ROOM_ID, 10);
+
+        // then
+        assertThat(result).isEqualTo(latest);
+        verify(recentChatHistoryCache).fill(TEST_ROOM_ID, latest, 10, 7L);
+    }
+
+    @Test
+    @DisplayName("저장한 채팅 이력은 최근 채팅 이력 캐시에 추가된다")
+    void saveChatHistory_AppendsToCache() {
+        // when
+        chatHistoryService.saveChatHistory(userChatHistory, llmChatHistory);
+
+        // then
+        verify(recentChatHistoryCache).append(List.of(userChatHistory, llmChatHistory));
+    }
+
+    @Test
+    @DisplayName("채팅 이력을 삭제하면 최근 채팅 이력 캐시에서도 제거된다")
+    void deleteChatHistoryByRoomId_EvictsCache() {
+        // when
+        chatHistoryService.deleteChatHistoryByRoomId(TEST_ROOM_ID);
+
+        // then
+        verify(recentChatHistoryCache).evict(TEST_ROOM_ID);
+    }
+
+    @Test
+    @DisplayName("저장한 채팅 이력은 LLM chat memory 캐시에도 추가된다")
+    void saveChatHistory_AppendsToChatMemory() {
+        // when
+        chatHistoryService.saveChatHistory(userChatHistory, llmChatHistory);
+
+        // then
+        verify(chatMemoryInvalidator).userMessageSaved(TEST_ROOM_ID, userChatHistory.getId(), QUESTION);
+        verify(chatMemoryInvalidator).assistantMessageSaved(TEST_ROOM_ID, llmChatHistory.getId(), ANSWER);
+    }
+
+    @Test
+    @DisplayName("채팅 이력을 삭제하면 LLM chat memory와 대화 요약도 삭제된다")
+    void deleteChatHistoryByRoomId_InvalidatesChatMemory() {
+        // when
+        chatHistoryService.deleteChatHistoryByRoomId(TEST_ROOM_ID);
+
+        // then
+        verify(chatMemoryInvalidator).conversationDeleted(TEST_ROOM_ID);
+    }
+}
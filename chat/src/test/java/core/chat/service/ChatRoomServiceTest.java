@@ -1,15 +1,19 @@
 package core.chat.service;
 
+import core.chat.cache.ChatRoomListCache;
+import core.chat.cache.ChatRoomOwnerCache;
 import core.chat.controller.response.ChatRoomResponse;
 import core.chat.entity.ChatRoom;
 import core.chat.repository.ChatRoomRepository;
 import core.chat.service.dto.ChatRoomDto;
+import core.global.config.properties.ChatRoomCacheProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -22,15 +26,24 @@ import static org.assertj.core.groups.Tuple.tuple;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class ChatRoomServiceTest {
 
+    private static final int LIST_PAGE_SIZE = new ChatRoomCacheProperties().getListPageSize();
+
     @Mock
     private ChatRoomRepository chatRoomRepository;
 
+    @Spy
+    private ChatRoomOwnerCache chatRoomOwnerCache = new ChatRoomOwnerCache(new ChatRoomCacheProperties());
+
+    @Spy
+    private ChatRoomListCache chatRoomListCache = new ChatRoomListCache(new ChatRoomCacheProperties());
+
     @InjectMocks
     private ChatRoomService chatRoomService;
 
@@ -105,8 +118,8 @@ class ChatRoomServiceTest {
     @DisplayName("사용자의 최신 채팅 방을 조회할 수 있다")
     void findChatRoomsLatest() {
         // given
-        given(chatRoomRepository.findAllByUserIdLatest(TEST_USER_ID, 10))
-                .willReturn(List.of(testChatRoom, otherChatRoom));
+        given(chatRoomRepository.findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE))
+                .willReturn(List.of(ChatRoomResponse.of(testChatRoom), ChatRoomResponse.of(otherChatRoom)));
 
         // when
         List<ChatRoomResponse> result = chatRoomService.findChatRoomsLatest(TEST_USER_ID, 10);
@@ -120,43 +133,46 @@ class ChatRoomServiceTest {
                         tuple(OTHER_ROOM_ID, OTHER_ROOM_NAME)
                 );
 
-        verify(chatRoomRepository).findAllByUserIdLatest(TEST_USER_ID, 10);
+        verify(chatRoomRepository).findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE);
     }
 
     @Test
     @DisplayName("사용자가 최신 채팅 방을 조회할 때 빈 리스트를 반환할 수 있다")
     void findChatRoomsLatest_EmptyResult() {
         // given
-        given(chatRoomRepository.findAllByUserIdLatest(TEST_USER_ID, 10)).willReturn(List.of());
+        given(chatRoomRepository.findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE)).willReturn(List.of());
 
         // when
         List<ChatRoomResponse> result = chatRoomService.findChatRoomsLatest(TEST_USER_ID, 10);
 
         // then
         assertThat(result).isEmpty();
-        verify(chatRoomRepository).findAllByUserIdLatest(TEST_USER_ID, 10);
+        verify(chatRoomRepository).findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE);
     }
 
     @Test
     @DisplayName("특정 limit으로 최신 채팅 방을 조회할 수 있다")
     void findChatRoomsLatest_WithLimit() {
         // given
-        given(chatRoomRepository.findAllByUserIdLatest(TEST_USER_ID, 1)).willReturn(List.of(testChatRoom));
+        given(chatRoomRepository.findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE))
+                .willReturn(List.of(ChatRoomResponse.of(testChatRoom), ChatRoomResponse.of(otherChatRoom)));
 
         // when
         List<ChatRoomResponse> result = chatRoomService.findChatRoomsLatest(TEST_USER_ID, 1);
 
         // then
-        assertThat(result).hasSize(1);
-        verify(chatRoomRepository).findAllByUserIdLatest(TEST_USER_ID, 1);
+        assertThat(result)
+                .extracting(ChatRoomResponse::getRoomId)
+                .containsExactly(TEST_ROOM_ID);
+        verify(chatRoomRepository).findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE);
     }
 
     @Test
     @DisplayName("특정 방 이후의 사용자 채팅 방을 조회할 수 있다")
     void findChatRoomsAfter() {
         // given
-        when(chatRoomRepository.findAllByUserIdAfterRoomId(TEST_USER_ID, TEST_ROOM_ID, 10))
-                .thenReturn(List.of(otherChatRoom));
+        when(chatRoomRepository.findResponsesByUserIdAfterRoomId(TEST_USER_ID, TEST_ROOM_ID, 10))
+                .thenReturn(List.of(ChatRoomResponse.of(otherChatRoom)));
 
         // when
         List<ChatRoomResponse> result = chatRoomService.findChatRoomsAfter(TEST_USER_ID, TEST_ROOM_ID, 10);
@@ -169,7 +185,7 @@ class ChatRoomServiceTest {
                         tuple(OTHER_ROOM_ID, OTHER_ROOM_NAME)
                 );
 
-        verify(chatRoomRepository).findAllByUserIdAfterRoomId(TEST_USER_ID, TEST_ROOM_ID, 10);
+        verify(chatRoomRepository).findResponsesByUserIdAfterRoomId(TEST_USER_ID, TEST_ROOM_ID, 10);
     }
 
     @Test
@@ -177,7 +193,7 @@ class ChatRoomServiceTest {
     void findChatRoomsAfter_EmptyResult() {
         // given
         Long nonExistentId = 999L;
-        given(chatRoomRepository.findAllByUserIdAfterRoomId(TEST_USER_ID, nonExistentId, 10))
+        given(chatRoomRepository.findResponsesByUserIdAfterRoomId(TEST_USER_ID, nonExistentId, 10))
                 .willReturn(List.of());
 
         // when
@@ -185,22 +201,22 @@ class ChatRoomServiceTest {
 
         // then
         assertThat(result).isEmpty();
-        verify(chatRoomRepository).findAllByUserIdAfterRoomId(TEST_USER_ID, nonExistentId, 10);
+        verify(chatRoomRepository).findResponsesByUserIdAfterRoomId(TEST_USER_ID, nonExistentId, 10);
     }
 
     @Test
     @DisplayName("페이지네이션으로 채팅 방을 조회할 수 있다")
     void findChatRoomsAfter_WithPagination() {
         // given
-        given(chatRoomRepository.findAllByUserIdAfterRoomId(TEST_USER_ID, TEST_ROOM_ID, 5))
-                .willReturn(List.of(otherChatRoom));
+        given(chatRoomRepository.findResponsesByUserIdAfterRoomId(TEST_USER_ID, TEST_ROOM_ID, 5))
+                .willReturn(List.of(ChatRoomResponse.of(otherChatRoom)));
 
         // when
         List<ChatRoomResponse> result = chatRoomService.findChatRoomsAfter(TEST_USER_ID, TEST_ROOM_ID, 5);
 
         // then
         assertThat(result).hasSize(1);
-        verify(chatRoomRepository).findAllByUserIdAfterRoomId(TEST_USER_ID, TEST_ROOM_ID, 5);
+        verify(chatRoomRepository).findResponsesByUserIdAfterRoomId(TEST_USER_ID, TEST_ROOM_ID, 5);
     }
 
     @Test
@@ -217,28 +233,28 @@ class ChatRoomServiceTest {
     @DisplayName("사용자가 특정 방에 접근 권한을 가지는지 확인할 수 있다")
     void canUserAccessRoom_WithAccess() {
         // given
-        given(chatRoomRepository.existsByRoomIdAndUserId(TEST_ROOM_ID, TEST_USER_ID)).willReturn(true);
+        given(chatRoomRepository.findOwnerIdByRoomId(TEST_ROOM_ID)).willReturn(Optional.of(TEST_USER_ID));
 
         // when
         boolean result = chatRoomService.canUserAccessRoom(TEST_ROOM_ID, TEST_USER_ID);
 
         // then
         assertTrue(result);
-        verify(chatRoomRepository).existsByRoomIdAndUserId(TEST_ROOM_ID, TEST_USER_ID);
+        verify(chatRoomRepository).findOwnerIdByRoomId(TEST_ROOM_ID);
     }
 
     @Test
     @DisplayName("사용자가 특정 방에 접근 권한이 없는지 확인할 수 있다")
     void canUserAccessRoom_WithoutAccess() {
         // given
-        given(chatRoomRepository.existsByRoomIdAndUserId(TEST_ROOM_ID, OTHER_USER_ID)).willReturn(false);
+        given(chatRoomRepository.findOwnerIdByRoomId(TEST_ROOM_ID)).willReturn(Optional.of(TEST_USER_ID));
 
         // when
         boolean result = chatRoomService.canUserAccessRoom(TEST_ROOM_ID, OTHER_USER_ID);
 
         // then
         assertFalse(result);
-        verify(chatRoomRepository).existsByRoomIdAndUserId(TEST_ROOM_ID, OTHER_USER_ID);
+        verify(chatRoomRepository).findOwnerIdByRoomId(TEST_ROOM_ID);
     }
 
     @Test
@@ -246,7 +262,7 @@ class ChatRoomServiceTest {
     void canUserAccessRoom_DifferentUser() {
         // given
         String unknownUserId = "unknown_user";
-        given(chatRoomRepository.existsByRoomIdAndUserId(TEST_ROOM_ID, unknownUserId)).willReturn(false);
+        given(chatRoomRepository.findOwnerIdByRoomId(TEST_ROOM_ID)).willReturn(Optional.of(TEST_USER_ID));
 
         // when
         boolean result = chatRoomService.canUserAccessRoom(TEST_ROOM_ID, unknownUserId);
@@ -260,7 +276,7 @@ class ChatRoomServiceTest {
     void canUserAccessRoom_NonExistentRoom() {
         // given
         Long nonExistentId = 999L;
-        given(chatRoomRepository.existsByRoomIdAndUserId(nonExistentId, TEST_USER_ID)).willReturn(false);
+        given(chatRoomRepository.findOwnerIdByRoomId(nonExistentId)).willReturn(Optional.empty());
 
         // when
         boolean result = chatRoomService.canUserAccessRoom(nonExistentId, TEST_USER_ID);
@@ -269,11 +285,144 @@ class ChatRoomServiceTest {
         assertFalse(result);
     }
 
+    @Test
+    @DisplayName("한 번 확인한 방의 소유자는 캐시에서 확인하므로 DB를 다시 조회하지 않는다")
+    void canUserAccessRoom_CachesOwner() {
+        // given
+        given(chatRoomRepository.findOwnerIdByRoomId(TEST_ROOM_ID)).willReturn(Optional.of(TEST_USER_ID));
+
+        // when
+        boolean owner = chatRoomService.canUserAccessRoom(TEST_ROOM_ID, TEST_USER_ID);
+        boolean other = chatRoomService.canUserAccessRoom(TEST_ROOM_ID, OTHER_USER_ID);
+
+        // then
+        assertTrue(owner);
+        assertFalse(other);
+        verify(chatRoomRepository, times(1)).findOwnerIdByRoomId(TEST_ROOM_ID);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 방도 캐시하므로 반복 확인해도 DB를 다시 조회하지 않는다")
+    void canUserAccessRoom_CachesMissingRoom() {
+        // given
+        Long nonExistentId = 999L;
+        given(chatRoomRepository.findOwnerIdByRoomId(nonExistentId)).willReturn(Optional.empty());
+
+        // when
+        chatRoomService.canUserAccessRoom(nonExistentId, TEST_USER_ID);
+        boolean result = chatRoomService.canUserAccessRoom(nonExistentId, TEST_USER_ID);
+
+        // then
+        assertFalse(result);
+        verify(chatRoomRepository, times(1)).findOwnerIdByRoomId(nonExistentId);
+    }
+
+    @Test
+    @DisplayName("저장한 방은 DB 조회 없이 소유자만 접근할 수 있다")
+    void saveChatRoom_CachesOwner() {
+        // given
+        Long nonExistentId = 3L;
+        given(chatRoomRepository.findOwnerIdByRoomId(nonExistentId)).willReturn(Optional.empty());
+        chatRoomService.canUserAccessRoom(nonExistentId, TEST_USER_ID);
+
+        // when
+        chatRoomService.saveChatRoom(ChatRoom.createChatRoom(nonExistentId, TEST_USER_ID, "새로운 방"));
+
+        // then
+        assertTrue(chatRoomService.canUserAccessRoom(nonExistentId, TEST_USER_ID));
+        assertFalse(chatRoomService.canUserAccessRoom(nonExistentId, OTHER_USER_ID));
+        verify(chatRoomRepository, times(1)).findOwnerIdByRoomId(nonExistentId);
+    }
+
+    @Test
+    @DisplayName("삭제한 방은 소유자도 접근할 수 없다")
+    void deleteRoom_MarksRoomMissing() {
+        // given
+        given(chatRoomRepository.findOwnerIdByRoomId(TEST_ROOM_ID)).willReturn(Optional.of(TEST_USER_ID));
+        chatRoomService.canUserAccessRoom(TEST_ROOM_ID, TEST_USER_ID);
+
+        // when
+        chatRoomService.deleteRoom(TEST_ROOM_ID);
+
+        // then
+        assertFalse(chatRoomService.canUserAccessRoom(TEST_ROOM_ID, TEST_USER_ID));
+        verify(chatRoomRepository, times(1)).findOwnerIdByRoomId(TEST_ROOM_ID);
+    }
+
+    @Test
+    @DisplayName("최신 채팅 방 첫 페이지는 캐시에서 응답하므로 DB를 다시 조회하지 않는다")
+    void findChatRoomsLatest_CachesFirstPage() {
+        // given
+        given(chatRoomRepository.findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE))
+                .willReturn(List.of(ChatRoomResponse.of(testChatRoom), ChatRoomResponse.of(otherChatRoom)));
+
+        // when
+        chatRoomService.findChatRoomsLatest(TEST_USER_ID, 10);
+        List<ChatRoomResponse> smallerPage = chatRoomService.findChatRoomsLatest(TEST_USER_ID, 1);
+
+        // then
+        assertThat(smallerPage)
+                .extracting(ChatRoomResponse::getRoomId)
+                .containsExactly(TEST_ROOM_ID);
+        verify(chatRoomRepository, times(1)).findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("작은 limit으로 먼저 조회해도 첫 페이지 전체를 보관하므로 더 큰 limit 조회는 DB를 다시 조회하지 않는다")
+    void findChatRoomsLatest_LoadsWholeFirstPage() {
+        // given
+        given(chatRoomRepository.findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE))
+                .willReturn(List.of(ChatRoomResponse.of(testChatRoom), ChatRoomResponse.of(otherChatRoom)));
+
+        // when
+        chatRoomService.findChatRoomsLatest(TEST_USER_ID, 1);
+        List<ChatRoomResponse> largerPage = chatRoomService.findChatRoomsLatest(TEST_USER_ID, 10);
+
+        // then
+        assertThat(largerPage)
+                .extracting(ChatRoomResponse::getRoomId)
+                .containsExactly(TEST_ROOM_ID, OTHER_ROOM_ID);
+        verify(chatRoomRepository, times(1)).findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("방을 저장하면 사용자의 첫 페이지 캐시를 제거한다")
+    void saveChatRoom_EvictsFirstPage() {
+        // given
+        given(chatRoomRepository.findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE))
+                .willReturn(List.of(ChatRoomResponse.of(testChatRoom)));
+        chatRoomService.findChatRoomsLatest(TEST_USER_ID, 10);
+
+        // when
+        chatRoomService.saveChatRoom(ChatRoom.createChatRoom(3L, TEST_USER_ID, "새로운 방"));
+        chatRoomService.findChatRoomsLatest(TEST_USER_ID, 10);
+
+        // then
+        verify(chatRoomRepository, times(2)).findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("방을 삭제하면 소유자의 첫 페이지 캐시를 제거한다")
+    void deleteRoom_EvictsOwnersFirstPage() {
+        // given
+        given(chatRoomRepository.findOwnerIdByRoomId(TEST_ROOM_ID)).willReturn(Optional.of(TEST_USER_ID));
+        given(chatRoomRepository.findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE))
+                .willReturn(List.of(ChatRoomResponse.of(testChatRoom)));
+        chatRoomService.findChatRoomsLatest(TEST_USER_ID, 10);
+
+        // when
+        chatRoomService.deleteRoom(TEST_ROOM_ID);
+        chatRoomService.findChatRoomsLatest(TEST_USER_ID, 10);
+
+        // then
+        verify(chatRoomRepository, times(2)).findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE);
+    }
+
     @Test
     @DisplayName("여러 채팅 방을 조회할 때 각각의 응답이 올바른 형식인지 확인한다")
     void findChatRoomsLatest_ResponseFormat() {
         // given
-        given(chatRoomRepository.findAllByUserIdLatest(TEST_USER_ID, 1)).willReturn(List.of(testChatRoom));
+        given(chatRoomRepository.findResponsesByUserIdLatest(TEST_USER_ID, LIST_PAGE_SIZE)).willReturn(List.of(ChatRoomResponse.of(testChatRoom)));
 
         // when
         List<ChatRoomResponse> result = chatRoomService.findChatRoomsLatest(TEST_USER_ID, 1);
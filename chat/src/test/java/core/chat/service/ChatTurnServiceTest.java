@@ -0,0 +1,167 @@
+package core.chat.service;
+
+import core.chat.cache.ChatRoomListCache;
+import core.chat.cache.ChatRoomOwnerCache;
+import core.chat.cache.RecentChatHistoryCache;
+import core.chat.entity.ChatHistory;
+import core.chat.entity.ChatRoom;
+import core.chat.repository.ChatHistoryJpaRepository;
+import core.chat.repository.ChatHistoryRepositoryImpl;
+import core.chat.repository.ChatRoomJpaRepository;
+import core.chat.repository.ChatRoomRepositoryImpl;
+import core.chat.service.dto.ChatTurn;
+import core.global.config.CacheConfig;
+import core.mcpclient.memory.ChatMemoryInvalidator;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static core.chat.fixture.ChatFixture.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "core.chat.service.ChatTurnServiceTest$StatementCounter")
+@ActiveProfiles("test")
+@Import({
+        ChatTurnService.class,
+        ChatRoomService.class,
+        ChatHistoryService.class,
+        ChatRoomRepositoryImpl.class,
+        ChatHistoryRepositoryImpl.class,
+        RecentChatHistoryCache.class,
+        ChatRoomOwnerCache.class,
+        ChatRoomListCache.class,
+        CacheConfig.class
+})
+class ChatTurnServiceTest {
+
+    @Autowired
+    private ChatTurnService chatTurnService;
+
+    @MockitoBean
+    private ChatMemoryInvalidator chatMemoryInvalidator;
+
+    @Autowired
+    private ChatHistoryService chatHistoryService;
+
+    @Autowired
+    private ChatRoomJpaRepository chatRoomJpaRepository;
+
+    @Autowired
+    private ChatHistoryJpaRepository chatHistoryJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        chatHistoryJpaRepository.deleteAll();
+        chatRoomJpaRepository.deleteAll();
+        entityManager.flush();
+        StatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("새 채팅방의 첫 대화는 방 INSERT 1번, 채팅 이력 INSERT 1번으로 저장된다")
+    void saveNewChatTurn() {
+        // given
+        ChatRoom chatRoom = ChatRoom.createChatRoom(TEST_ROOM_ID, TEST_USER_ID, TEST_ROOM_NAME);
+        ChatHistory userChat = ChatHistory.createUserChatHistory(TEST_ROOM_ID, QUESTION);
+        ChatHistory llmChat = ChatHistory.createLLMChatHistory(TEST_ROOM_ID, ANSWER);
+
+        // when
+        chatTurnService.saveNewChatTurn(chatRoom, userChat, llmChat);
+        entityManager.flush();
+
+        // then
+        assertThat(StatementCounter.count()).isEqualTo(2);
+
+        entityManager.clear();
+        assertThat(chatRoomJpaRepository.findById(TEST_ROOM_ID)).isPresent();
+        assertThat(chatHistoryJpaRepository.findAll())
+                .extracting(ChatHistory::getId, ChatHistory::getContent)
+                .containsExactlyInAnyOrder(
+                        tuple(userChat.getId(), QUESTION),
+                        tuple(llmChat.getId(), ANSWER)
+                );
+    }
+
+    @Test
+    @DisplayName("기존 방의 대화는 채팅 이력 INSERT 1번으로 저장되고 생성 시각이 채워진다")
+    void saveChatHistory() {
+        // given
+        ChatHistory userChat = ChatHistory.createUserChatHistory(TEST_ROOM_ID, QUESTION);
+        ChatHistory llmChat = ChatHistory.createLLMChatHistory(TEST_ROOM_ID, ANSWER);
+
+        // when
+        chatHistoryService.saveChatHistory(userChat, llmChat);
+        entityManager.flush();
+
+        // then
+        assertThat(StatementCounter.count()).isEqualTo(1);
+
+        entityManager.clear();
+        assertThat(chatHistoryJpaRepository.findAll())
+                .hasSize(2)
+                .allSatisfy(chatHistory -> assertThat(chatHistory.getCreatedAt()).isNotNull());
+    }
+
+    @Test
+    @DisplayName("journal에서 복구한 대화 중 저장되지 않은 방과 채팅 이력만 저장한다")
+    void restoreChatTurns() {
+        // given
+        ChatRoom chatRoom = ChatRoom.createChatRoom(TEST_ROOM_ID, TEST_USER_ID, TEST_ROOM_NAME);
+        ChatHistory savedUserChat = ChatHistory.createUserChatHistory(TEST_ROOM_ID, QUESTION);
+        ChatHistory savedLlmChat = ChatHistory.createLLMChatHistory(TEST_ROOM_ID, ANSWER);
+        chatTurnService.saveNewChatTurn(chatRoom, savedUserChat, savedLlmChat);
+
+        ChatHistory lostUserChat = ChatHistory.createUserChatHistory(TEST_ROOM_ID, "두 번째 질문");
+        ChatHistory lostLlmChat = ChatHistory.createLLMChatHistory(TEST_ROOM_ID, "두 번째 답변");
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        int restored = chatTurnService.restoreChatTurns(List.of(
+                ChatTurn.ofNewRoom(chatRoom, savedUserChat, savedLlmChat),
+                ChatTurn.ofExistingRoom(lostUserChat, lostLlmChat)
+        ));
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        assertThat(restored).isEqualTo(2);
+        assertThat(chatRoomJpaRepository.count()).isEqualTo(1);
+        assertThat(chatHistoryJpaRepository.findAll())
+                .extracting(ChatHistory::getId)
+                .containsExactlyInAnyOrder(
+                        savedUserChat.getId(), savedLlmChat.getId(), lostUserChat.getId(), lostLlmChat.getId());
+    }
+
+    public static class StatementCounter implements StatementInspector {
+        private static final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public String inspect(String sql) {
+            count.incrementAndGet();
+            return sql;
+        }
+
+        static void reset() {
+            count.set(0);
+        }
+
+        static int count() {
+            return count.get();
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package core.chat.service;
+
+import core.chat.entity.ChatHistory;
+import core.chat.journal.ChatTurnJournal;
+import core.chat.service.dto.ChatTurn;
+import core.global.config.properties.ChatWriteBehindProperties;
+import core.global.config.properties.ChatWriteBehindProperties.BackpressurePolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static core.chat.fixture.ChatFixture.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ChatWriteBehindQueueTest {
+
+    @Mock
+    private ChatTurnService chatTurnService;
+
+    @Mock
+    private ChatTurnJournal chatTurnJournal;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ChatWriteBehindProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ChatWriteBehindProperties();
+        properties.setRetryBackoff(Duration.ZERO);
+        properties.setFlushInterval(Duration.ofMillis(10));
+    }
+
+    @Test
+    @DisplayName("queue에 쌓인 대화를 모아서 저장하고, 종료 시 남은 대화를 모두 저장한다")
+    void groupCommitTest() {
+        // given
+        List<ChatTurn> saved = new CopyOnWriteArrayList<>();
+        willAnswer(invocation -> saved.addAll(invocation.getArgument(0)))
+                .given(chatTurnService).saveChatTurns(anyList());
+        ChatWriteBehindQueue chatWriteBehindQueue = new ChatWriteBehindQueue(chatTurnService, chatTurnJournal, properties, meterRegistry);
+        chatWriteBehindQueue.start();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            chatWriteBehindQueue.enqueue(createChatTurn());
+        }
+        chatWriteBehindQueue.stop();
+
+        // then
+        assertThat(saved).hasSize(100);
+        assertThat(meterRegistry.get("chat.write.behind.queue.depth").gauge().value()).isZero();
+        assertThat(meterRegistry.get("chat.write.behind.batch.size").summary().totalAmount()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("batch 저장에 실패하면 재시도한다")
+    void retryTest() {
+        // given
+        ChatWriteBehindQueue chatWriteBehindQueue = new ChatWriteBehindQueue(chatTurnService, chatTurnJournal, properties, meterRegistry);
+        List<ChatTurn> batch = List.of(createChatTurn(), createChatTurn());
+        willThrow(new RuntimeException("DB 오류"))
+                .willDoNothing()
+                .given(chatTurnService).saveChatTurns(batch);
+
+        // when
+        chatWriteBehindQueue.flush(batch);
+
+        // then
+        verify(chatTurnService, times(2)).saveChatTurns(batch);
+        verify(chatTurnJournal).acknowledge(batch);
+        assertThat(meterRegistry.get("chat.write.behind.retries").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("chat.write.behind.flush").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("재시도까지 실패하면 대화 단위로 나누어 저장하고, 저장하지 못한 대화 수를 기록한다")
+    void flushEachAfterRetriesTest() {
+        // given
+        ChatWriteBehindQueue chatWriteBehindQueue = new ChatWriteBehindQueue(chatTurnService, chatTurnJournal, properties, meterRegistry);
+        ChatTurn valid = createChatTurn();
+        ChatTurn invalid = createChatTurn();
+        List<ChatTurn> batch = List.of(valid, invalid);
+        // invalid 대화가 포함되면 저장에 실패함
+        willAnswer(invocation -> {
+            List<ChatTurn> chatTurns = invocation.getArgument(0);
+            if (chatTurns.contains(invalid)) {
+                throw new RuntimeException("중복 키");
+            }
+            return null;
+        }).given(chatTurnService).saveChatTurns(anyList());
+
+        // when
+        chatWriteBehindQueue.flush(batch);
+
+        // then
+        verify(chatTurnService, times(properties.getMaxRetries() + 1)).saveChatTurns(batch);
+        verify(chatTurnService).saveChatTurns(List.of(valid));
+        verify(chatTurnService).saveChatTurns(List.of(invalid));
+        // 저장하지 못한 대화는 journal에 남겨 다음 시작 시 복구함
+        verify(chatTurnJournal).acknowledge(List.of(valid));
+        verify(chatTurnJournal, never()).acknowledge(List.of(invalid));
+        assertThat(meterRegistry.get("chat.write.behind.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("실행 중이 아니면 호출한 스레드가 아닌 overflow 스레드에서 저장한다")
+    void directFlushWhenNotRunningTest() {
+        // given
+        Thread caller = Thread.currentThread();
+        List<Thread> savingThreads = new CopyOnWriteArrayList<>();
+        willAnswer(invocation -> savingThreads.add(Thread.currentThread()))
+                .given(chatTurnService).saveChatTurns(anyList());
+        ExecutorService overflowExecutor = Executors.newSingleThreadExecutor();
+        ChatWriteBehindQueue chatWriteBehindQueue = new ChatWriteBehindQueue(chatTurnService, chatTurnJournal, properties, meterRegistry, overflowExecutor);
+        ChatTurn chatTurn = createChatTurn();
+
+        // when
+        chatWriteBehindQueue.enqueue(chatTurn);
+
+        // then
+        verify(chatTurnJournal).append(chatTurn);
+        verify(chatTurnService, timeout(1000)).saveChatTurns(List.of(chatTurn));
+        verify(chatTurnJournal, timeout(1000)).acknowledge(List.of(chatTurn));
+        assertThat(savingThreads).doesNotContain(caller);
+        assertThat(meterRegistry.get("chat.write.behind.direct.flush").counter().count()).isEqualTo(1);
+        overflowExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("overflow 스레드가 받지 못한 대화는 예외를 던지지 않고 journal에 남긴다")
+    void overflowRejectedTest() {
+        // given
+        ExecutorService overflowExecutor = Executors.newSingleThreadExecutor();
+        overflowExecutor.shutdown(); // 이후 작업은 모두 거절됨
+        ChatWriteBehindQueue chatWriteBehindQueue = new ChatWriteBehindQueue(chatTurnService, chatTurnJournal, properties, meterRegistry, overflowExecutor);
+        ChatTurn chatTurn = createChatTurn();
+
+        // when
+        chatWriteBehindQueue.enqueue(chatTurn);
+
+        // then
+        verify(chatTurnJournal).append(chatTurn);
+        verify(chatTurnService, never()).saveChatTurns(anyList());
+        verify(chatTurnJournal, never()).acknowledge(anyList()); // 재시작 시 복구됨
+        assertThat(meterRegistry.get("chat.write.behind.overflow.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("chat.write.behind.direct.flush").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("DROP 정책에서 queue가 가득 차면 기다리거나 예외를 던지지 않고 대화를 버린다")
+    void dropWhenFullTest() throws InterruptedException {
+        // given
+        properties.setCapacity(1);
+        properties.setBackpressurePolicy(BackpressurePolicy.DROP);
+
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            flushing.countDown();
+            release.await();
+            return null;
+        }).given(chatTurnService).saveChatTurns(anyList());
+
+        ChatWriteBehindQueue chatWriteBehindQueue = new ChatWriteBehindQueue(chatTurnService, chatTurnJournal, properties, meterRegistry);
+        chatWriteBehindQueue.start();
+        chatWriteBehindQueue.enqueue(createChatTurn()); // flusher가 가져가서 저장 중에 멈춤
+        assertThat(flushing.await(1, TimeUnit.SECONDS)).isTrue();
+        chatWriteBehindQueue.enqueue(createChatTurn()); // queue를 가득 채움
+        ChatTurn dropped = createChatTurn();
+
+        // when
+        chatWriteBehindQueue.enqueue(dropped);
+
+        // then
+        verify(chatTurnJournal).acknowledge(List.of(dropped));
+        assertThat(meterRegistry.get("chat.write.behind.dropped").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        chatWriteBehindQueue.stop();
+    }
+
+    @Test
+    @DisplayName("시작 시 journal에 남은 대화를 복구하고 복구한 대화를 journal에서 지운다")
+    void restoreFromJournalTest() {
+        // given
+        List<ChatTurn> journaled = List.of(createChatTurn(), createChatTurn());
+        given(chatTurnJournal.readAll()).willReturn(journaled);
+        ChatWriteBehindQueue chatWriteBehindQueue = new ChatWriteBehindQueue(chatTurnService, chatTurnJournal, properties, meterRegistry);
+
+        // when
+        chatWriteBehindQueue.start();
+        chatWriteBehindQueue.stop();
+
+        // then
+        InOrder inOrder = inOrder(chatTurnService, chatTurnJournal);
+        inOrder.verify(chatTurnService).restoreChatTurns(journaled);
+        inOrder.verify(chatTurnJournal).acknowledge(journaled);
+    }
+
+    @Test
+    @DisplayName("복구할 수 없는 대화는 quarantine으로 옮기고 나머지 대화는 복구한다")
+    void quarantineUnrestorableTurnTest() {
+        // given
+        ChatTurn valid = createChatTurn();
+        ChatTurn invalid = createChatTurn();
+        given(chatTurnJournal.readAll()).willReturn(List.of(valid, invalid));
+        willAnswer(invocation -> {
+            List<ChatTurn> chatTurns = invocation.getArgument(0);
+            if (chatTurns.contains(invalid)) {
+                throw new DataIntegrityViolationException("중복 키");
+            }
+            return chatTurns.size() * 2;
+        }).given(chatTurnService).restoreChatTurns(anyList());
+        ChatWriteBehindQueue chatWriteBehindQueue = new ChatWriteBehindQueue(chatTurnService, chatTurnJournal, properties, meterRegistry);
+
+        // when
+        chatWriteBehindQueue.start();
+        chatWriteBehindQueue.stop();
+
+        // then
+        verify(chatTurnJournal).acknowledge(List.of(valid));
+        verify(chatTurnJournal).quarantine(invalid);
+        assertThat(meterRegistry.get("chat.write.behind.quarantined").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DB에 연결할 수 없어도 시작은 실패하지 않고, 남은 대화를 나중에 다시 복구한다")
+    void retryRestoreWhenDatabaseUnavailableTest() {
+        // given
+        properties.setRestoreRetryInterval(Duration.ZERO);
+        List<ChatTurn> journaled = List.of(createChatTurn(), createChatTurn());
+        given(chatTurnJournal.readAll()).willReturn(journaled);
+        given(chatTurnService.restoreChatTurns(journaled))
+                .willThrow(new CannotCreateTransactionException("DB 연결 실패"))
+                .willReturn(4);
+        ChatWriteBehindQueue chatWriteBehindQueue = new ChatWriteBehindQueue(chatTurnService, chatTurnJournal, properties, meterRegistry);
+
+        // when
+        chatWriteBehindQueue.start();
+
+        // then
+        verify(chatTurnService, timeout(1000).times(2)).restoreChatTurns(journaled);
+        chatWriteBehindQueue.stop();
+        verify(chatTurnJournal).acknowledge(journaled);
+        verify(chatTurnJournal, never()).quarantine(any());
+    }
+
+    private ChatTurn createChatTurn() {
+        return ChatTurn.ofExistingRoom(
+                ChatHistory.createUserChatHistory(TEST_ROOM_ID, QUESTION),
+                ChatHistory.createLLMChatHistory(TEST_ROOM_ID, ANSWER)
+        );
+    }
+}
@@ -0,0 +1,160 @@
+package core.global.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import core.global.config.properties.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ClientRateLimiterTest {
+
+    private static final String CLIENT_A = "client-a";
+    private static final String CLIENT_B = "client-b";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private RateLimitProperties properties;
+    private ClientRateLimiter clientRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setRequestsPerMinute(60);
+        properties.setRequestBurst(3);
+        properties.setTokensPerMinute(600);
+        properties.setTokenBurst(100);
+        clientRateLimiter = new ClientRateLimiter(properties, nanos::get);
+    }
+
+    @Test
+    @DisplayName("requestBurst까지 바로 허용하고, 이후에는 채워지는 속도만큼 허용한다")
+    void tryAcquire_RefillsAtRate() {
+        // when
+        List<RateLimitDecision> decisions = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            decisions.add(clientRateLimiter.tryAcquire(CLIENT_A, false));
+        }
+
+        // then
+        assertThat(decisions).extracting(RateLimitDecision::allowed).containsExactly(true, true, true, false);
+        assertThat(decisions).extracting(RateLimitDecision::remaining).containsExactly(2L, 1L, 0L, 0L);
+        assertThat(decisions.getLast().retryAfterSeconds()).isEqualTo(1);
+        assertThat(decisions.getLast().resetSeconds()).isEqualTo(3);
+
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(clientRateLimiter.tryAcquire(CLIENT_A, false).allowed()).isTrue();
+        assertThat(clientRateLimiter.tryAcquire(CLIENT_A, false).allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("사용자마다 따로 제한한다")
+    void tryAcquire_PerClient() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            clientRateLimiter.tryAcquire(CLIENT_A, false);
+        }
+
+        // when & then
+        assertThat(clientRateLimiter.tryAcquire(CLIENT_A, false).allowed()).isFalse();
+        assertThat(clientRateLimiter.tryAcquire(CLIENT_B, false).allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("LLM token 예산을 다 쓰면 갚을 때까지 LLM 요청만 거절하고 요청 수는 차감하지 않는다")
+    void tryAcquire_TokenBudgetExhausted() {
+        // given
+        clientRateLimiter.recordTokens(CLIENT_A, 150);
+
+        // when
+        RateLimitDecision llmDecision = clientRateLimiter.tryAcquire(CLIENT_A, true);
+
+        // then
+        assertThat(llmDecision.allowed()).isFalse();
+        assertThat(llmDecision.limit()).isEqualTo(100);
+        assertThat(llmDecision.retryAfterSeconds()).isEqualTo(6);
+        assertThat(clientRateLimiter.tryAcquire(CLIENT_A, false).remaining()).isEqualTo(2);
+
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(clientRateLimiter.tryAcquire(CLIENT_A, true).allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 요청해도 requestBurst보다 많이 허용하지 않는다")
+    void tryAcquire_Concurrent() throws Exception {
+        // given
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                int allowed = 0;
+                for (int j = 0; j < 100; j++) {
+                    if (clientRateLimiter.tryAcquire(CLIENT_A, false).allowed()) {
+                        allowed++;
+                    }
+                }
+                return allowed;
+            }));
+        }
+
+        // when
+        start.countDown();
+        int allowed = 0;
+        for (Future<Integer> future : futures) {
+            allowed += future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(allowed).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("비활성화하면 제한하지 않는다")
+    void tryAcquire_Disabled() {
+        // given
+        properties.setEnabled(false);
+        ClientRateLimiter disabled = new ClientRateLimiter(properties, nanos::get);
+        disabled.recordTokens(CLIENT_A, 1000);
+
+        // when & then
+        for (int i = 0; i < 10; i++) {
+            assertThat(disabled.tryAcquire(CLIENT_A, true).allowed()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("결과별 요청 수와 추적 중인 사용자 수를 metric으로 노출한다")
+    void metrics() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        clientRateLimiter.bindTo(registry);
+        clientRateLimiter.recordTokens(CLIENT_B, 150);
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            clientRateLimiter.tryAcquire(CLIENT_A, false);
+        }
+        clientRateLimiter.tryAcquire(CLIENT_B, true);
+
+        // then
+        assertThat(registry.get("chat.rate.limit.requests").tag("result", "allowed").functionCounter().count())
+                .isEqualTo(3);
+        assertThat(registry.get("chat.rate.limit.requests").tag("result", "request_limited").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("chat.rate.limit.requests").tag("result", "token_limited").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("chat.rate.limit.clients").gauge().value()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,143 @@
+package core.global.snowflake;
+
+import core.common.snowflake.NodeIdLease;
+import core.common.snowflake.Snowflake;
+import core.global.config.properties.SnowflakeLeaseProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class SnowflakeNodeLeaseRegistryTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Autowired
+    private SnowflakeNodeLeaseJpaRepository snowflakeNodeLeaseJpaRepository;
+
+    private final SnowflakeLeaseProperties properties = new SnowflakeLeaseProperties();
+
+    @BeforeEach
+    void setUp() {
+        snowflakeNodeLeaseJpaRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        snowflakeNodeLeaseJpaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("node id lease를 획득하면 DB에 소유자와 만료 시각이 기록된다")
+    void acquireTest() {
+        // given
+        SnowflakeNodeLeaseRegistry registry = registryAt(NOW);
+
+        // when
+        NodeIdLease lease = registry.acquire();
+
+        // then
+        SnowflakeNodeLease saved = snowflakeNodeLeaseJpaRepository.findById(lease.getNodeId()).orElseThrow();
+        assertThat(saved.getOwnerId()).isEqualTo(registry.getOwnerId());
+        assertThat(saved.getExpiresAt()).isEqualTo(LocalDateTime.ofInstant(NOW.plus(properties.getTtl()), ZoneOffset.UTC));
+        // 로컬 만료 시각은 clock skew 허용치만큼 앞당겨짐
+        assertThat(lease.getExpiresAtMillis())
+                .isEqualTo(NOW.plus(properties.getTtl()).minus(properties.getClockSkewTolerance()).toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("서로 다른 인스턴스는 서로 다른 node id를 할당받는다")
+    void acquireDistinctNodeIdTest() {
+        // given
+        SnowflakeNodeLeaseRegistry first = registryAt(NOW);
+        SnowflakeNodeLeaseRegistry second = registryAt(NOW);
+
+        // when
+        NodeIdLease firstLease = first.acquire();
+        NodeIdLease secondLease = second.acquire();
+
+        // then
+        assertThat(firstLease.getNodeId()).isNotEqualTo(secondLease.getNodeId());
+    }
+
+    @Test
+    @DisplayName("모든 node id가 사용 중이면 만료된 lease만 다시 할당받을 수 있다")
+    void reclaimExpiredLeaseTest() {
+        // given
+        SnowflakeNodeLeaseRegistry expired = registryAt(NOW);
+        NodeIdLease expiredLease = expired.acquire();
+        fillOtherSlots(expiredLease.getNodeId(), NOW.plus(Duration.ofHours(1)));
+
+        // when
+        SnowflakeNodeLeaseRegistry newcomer = registryAt(NOW.plus(properties.getTtl()).plusSeconds(1));
+        NodeIdLease reclaimed = newcomer.acquire();
+
+        // then
+        assertThat(reclaimed.getNodeId()).isEqualTo(expiredLease.getNodeId());
+        assertThat(snowflakeNodeLeaseJpaRepository.findById(reclaimed.getNodeId()).orElseThrow().getOwnerId())
+                .isEqualTo(newcomer.getOwnerId());
+    }
+
+    @Test
+    @DisplayName("할당 가능한 node id가 없으면 예외가 발생한다")
+    void acquireFailTest() {
+        // given
+        SnowflakeNodeLeaseRegistry owner = registryAt(NOW);
+        NodeIdLease lease = owner.acquire();
+        fillOtherSlots(lease.getNodeId(), NOW.plus(Duration.ofHours(1)));
+
+        // when & then
+        assertThatThrownBy(() -> registryAt(NOW).acquire())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("heartbeat 시 lease를 빼앗겼으면 기존 lease를 회수한다")
+    void heartbeatAfterLeaseLostTest() {
+        // given
+        SnowflakeNodeLeaseRegistry registry = registryAt(NOW);
+        NodeIdLease lease = registry.acquire();
+        snowflakeNodeLeaseJpaRepository.claimIfExpired(lease.getNodeId(), "other-owner",
+                LocalDateTime.ofInstant(NOW.plus(Duration.ofHours(1)), ZoneOffset.UTC),
+                LocalDateTime.ofInstant(NOW.plus(Duration.ofHours(1)), ZoneOffset.UTC));
+        long nodeIdBefore = Snowflake.getInstance().getNodeId();
+
+        // when
+        registry.heartbeat();
+
+        // then
+        assertThat(lease.isValidAt(NOW.toEpochMilli())).isFalse();
+        assertThat(registry.getCurrentLease().getNodeId()).isNotEqualTo(lease.getNodeId());
+
+        Snowflake.getInstance().applyLease(NodeIdLease.permanent(nodeIdBefore));
+    }
+
+    private SnowflakeNodeLeaseRegistry registryAt(Instant instant) {
+        return new SnowflakeNodeLeaseRegistry(snowflakeNodeLeaseJpaRepository, properties,
+                Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private void fillOtherSlots(long exceptNodeId, Instant expiresAt) {
+        LocalDateTime expires = LocalDateTime.ofInstant(expiresAt, ZoneOffset.UTC);
+        LocalDateTime now = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+        for (long nodeId = 0; nodeId <= Snowflake.getMaxNodeId(); nodeId++) {
+            if (nodeId != exceptNodeId) {
+                snowflakeNodeLeaseJpaRepository.insertLease(nodeId, "filler-" + nodeId, expires, now);
+            }
+        }
+    }
+}
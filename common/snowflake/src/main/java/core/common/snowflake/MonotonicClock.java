@@ -0,0 +1,91 @@
+package core.common.snowflake;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * System.nanoTime 기준으로 흐르는 논리 시계(millisecond).
+ * 벽시계는 resync 주기마다 한 번만 읽으며, 벽시계가 앞서 있으면 따라가고 뒤로 가면 논리 시계를 유지하므로 값이 줄어들지 않는다.
+ * 벽시계가 큰 폭으로 뒤로 간 경우는 횟수를 기록한다.
+ * id마다 System.currentTimeMillis를 호출하지 않는다.
+ */
+public class MonotonicClock implements LongSupplier {
+	private static final long DEFAULT_RESYNC_INTERVAL_MILLIS = 1000L;
+	private static final long DEFAULT_LARGE_REGRESSION_THRESHOLD_MILLIS = 1000L;
+
+	private final LongSupplier wallClockMillis;
+	private final LongSupplier nanoClock;
+	private final long resyncIntervalNanos;
+	private final long largeRegressionThresholdMillis;
+
+	private final AtomicReference<Anchor> anchor;
+
+	private final LongAdder largeRegressionCount = new LongAdder();
+
+	public MonotonicClock() {
+		this(System::currentTimeMillis, System::nanoTime,
+			DEFAULT_RESYNC_INTERVAL_MILLIS, DEFAULT_LARGE_REGRESSION_THRESHOLD_MILLIS);
+	}
+
+	MonotonicClock(LongSupplier wallClockMillis, LongSupplier nanoClock,
+		long resyncIntervalMillis, long largeRegressionThresholdMillis) {
+		this.wallClockMillis = wallClockMillis;
+		this.nanoClock = nanoClock;
+		this.resyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(resyncIntervalMillis);
+		this.largeRegressionThresholdMillis = largeRegressionThresholdMillis;
+		this.anchor = new AtomicReference<>(
+			new Anchor(TimeUnit.MILLISECONDS.toNanos(wallClockMillis.getAsLong()), nanoClock.getAsLong(), 0L));
+	}
+
+	@Override
+	public long getAsLong() {
+		long nanoTime = nanoClock.getAsLong();
+		Anchor current = anchor.get();
+		if (nanoTime - current.nanoTime >= resyncIntervalNanos) {
+			current = resync(current, nanoTime);
+		}
+		return TimeUnit.NANOSECONDS.toMillis(current.logicalNanosAt(nanoTime));
+	}
+
+	/**
+	 * 벽시계를 다시 읽어 기준점을 옮긴다. 새 기준점의 논리 시각은 이전 기준점으로 계산한 값보다 작지 않다.
+	 */
+	private Anchor resync(Anchor current, long nanoTime) {
+		long logicalNanos = current.logicalNanosAt(nanoTime);
+		long wallNanos = TimeUnit.MILLISECONDS.toNanos(wallClockMillis.getAsLong());
+
+		// 벽시계가 논리 시계보다 뒤처진 만큼은 논리 시계를 그대로 흘려보내며 벽시계가 따라오기를 기다림
+		long lagMillis = Math.max(0L, TimeUnit.NANOSECONDS.toMillis(logicalNanos - wallNanos));
+		Anchor next = new Anchor(Math.max(wallNanos, logicalNanos), nanoTime, lagMillis);
+		if (!anchor.compareAndSet(current, next)) {
+			return anchor.get(); // 다른 스레드가 먼저 갱신함
+		}
+
+		if (lagMillis - current.lagMillis >= largeRegressionThresholdMillis) {
+			largeRegressionCount.increment();
+		}
+		return next;
+	}
+
+	/**
+	 * 마지막 resync 시점에 벽시계가 논리 시계보다 뒤처져 있던 시간(millisecond)
+	 */
+	public long getLagMillis() {
+		return anchor.get().lagMillis;
+	}
+
+	/**
+	 * 벽시계가 임계값 이상 한 번에 뒤로 간 누적 횟수
+	 */
+	public long getLargeRegressionCount() {
+		return largeRegressionCount.sum();
+	}
+
+	private record Anchor(long logicalNanos, long nanoTime, long lagMillis) {
+		long logicalNanosAt(long now) {
+			return logicalNanos + (now - nanoTime);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package core.common.snowflake;
+
+/**
+ * Snowflake가 id를 발급할 때 사용하는 node id와 그 사용 기한.
+ * 기한이 지나거나 회수된 lease로는 id를 발급하지 않는다.
+ */
+public class NodeIdLease {
+	private final long nodeId;
+	private volatile long expiresAtMillis;
+
+	public NodeIdLease(long nodeId, long expiresAtMillis) {
+		if (nodeId < 0 || nodeId > Snowflake.getMaxNodeId()) {
+			throw new IllegalArgumentException("nodeId must be between 0 and " + Snowflake.getMaxNodeId() + ": " + nodeId);
+		}
+		this.nodeId = nodeId;
+		this.expiresAtMillis = expiresAtMillis;
+	}
+
+	/**
+	 * 만료되지 않는 lease. 외부 registry 없이 단독으로 실행될 때 사용한다.
+	 */
+	public static NodeIdLease permanent(long nodeId) {
+		return new NodeIdLease(nodeId, Long.MAX_VALUE);
+	}
+
+	public long getNodeId() {
+		return nodeId;
+	}
+
+	public long getExpiresAtMillis() {
+		return expiresAtMillis;
+	}
+
+	public void renew(long expiresAtMillis) {
+		this.expiresAtMillis = expiresAtMillis;
+	}
+
+	public void revoke() {
+		this.expiresAtMillis = Long.MIN_VALUE;
+	}
+
+	public boolean isValidAt(long currentTimeMillis) {
+		return currentTimeMillis < expiresAtMillis;
+	}
+}
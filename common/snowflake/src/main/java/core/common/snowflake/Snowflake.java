@@ -1,22 +1,49 @@
 package core.common.snowflake;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 import java.util.random.RandomGenerator;
 
 public class Snowflake {
-	private static final int NODE_ID_BITS = 10;
-	private static final int SEQUENCE_BITS = 12;
+	static final int NODE_ID_BITS = 10;
+	static final int SEQUENCE_BITS = 12;
 
 	private static final long maxNodeId = (1L << NODE_ID_BITS) - 1;
 	private static final long maxSequence = (1L << SEQUENCE_BITS) - 1;
 
-	private final long nodeId = RandomGenerator.getDefault().nextLong(maxNodeId + 1);// node id는 인스턴스 별 할당받는 것이 좋음
+	// node id는 인스턴스 별 할당받는 것이 좋음. registry에서 lease를 받기 전까지는 임의의 값을 사용
+	private volatile NodeIdLease lease = NodeIdLease.permanent(RandomGenerator.getDefault().nextLong(maxNodeId + 1));
 	// UTC = 2024-01-01T00:00:00Z
-	private static final long startTimeMillis = 1704067200000L;
+	static final long startTimeMillis = 1704067200000L;
 
-	private long lastTimeMillis = startTimeMillis;
-	private long sequence = 0L;
+	// 상위 비트: 마지막 timestamp(startTimeMillis 기준 offset), 하위 SEQUENCE_BITS: sequence
+	// 두 값을 하나의 word로 묶어 CAS 한 번으로 갱신하므로 lock 없이 순서와 유일성을 보장함
+	private final AtomicLong state = new AtomicLong(0L);
 
-	private Snowflake() { }
+	private final LongAdder casRetryCount = new LongAdder();
+	private final LongAdder sequenceExhaustedWaitCount = new LongAdder();
+
+	private final LongSupplier clock;
+
+	// -Dcore.snowflake.clock=monotonic 이면 벽시계가 뒤로 가도 예외 없이 발급을 이어가는 MonotonicClock을 사용
+	static final String CLOCK_MODE_PROPERTY = "core.snowflake.clock";
+	static final String MONOTONIC_CLOCK_MODE = "monotonic";
+
+	private Snowflake() {
+		this(resolveClock(System.getProperty(CLOCK_MODE_PROPERTY)));
+	}
+
+	Snowflake(LongSupplier clock) {
+		this.clock = clock;
+	}
+
+	static LongSupplier resolveClock(String clockMode) {
+		if (MONOTONIC_CLOCK_MODE.equalsIgnoreCase(clockMode)) {
+			return new MonotonicClock();
+		}
+		return System::currentTimeMillis;
+	}
 
 	private static final Snowflake snowflake = new Snowflake();
 
@@ -24,33 +51,119 @@ public class Snowflake {
 		return snowflake;
 	}
 
-	public synchronized long nextId() {
-		long currentTimeMillis = System.currentTimeMillis();
+	public long nextId() {
+		NodeIdLease currentLease = lease;
+		return toId(reserve(1, currentLease), currentLease.getNodeId());
+	}
+
+	/**
+	 * 같은 millisecond 안에서 연속된 count개의 id를 한 번의 CAS로 예약한다.
+	 * 반환되는 id는 오름차순이며 서로 1씩 차이가 난다.
+	 */
+	public long[] nextIds(int count) {
+		if (count < 1 || count > maxSequence + 1) {
+			throw new IllegalArgumentException("count must be between 1 and " + (maxSequence + 1) + ": " + count);
+		}
 
-		if (currentTimeMillis < lastTimeMillis) {
-			throw new IllegalStateException("Invalid Time");
+		NodeIdLease currentLease = lease;
+		long firstId = toId(reserve(count, currentLease) - (count - 1), currentLease.getNodeId());
+		long[] ids = new long[count];
+		for (int i = 0; i < count; i++) {
+			ids[i] = firstId + i;
 		}
+		return ids;
+	}
+
+	/**
+	 * count개의 sequence를 예약하고 마지막으로 예약한 sequence가 담긴 state를 반환한다.
+	 */
+	private long reserve(int count, NodeIdLease currentLease) {
+		while (true) {
+			long current = state.get(); // timestamp를 읽기 전에 state를 먼저 읽어야 다른 스레드가 앞선 시간을 기록해도 역전되지 않음
+			long lastTimestamp = current >>> SEQUENCE_BITS;
+			long timestamp = clock.getAsLong() - startTimeMillis;
+
+			if (timestamp < lastTimestamp) {
+				throw new IllegalStateException("Invalid Time");
+			}
+			if (!currentLease.isValidAt(timestamp + startTimeMillis)) { // lease를 잃으면 다른 인스턴스와 id가 겹칠 수 있으므로 발급하지 않음
+				throw new IllegalStateException("Node ID lease is not valid: " + currentLease.getNodeId());
+			}
 
-		if (currentTimeMillis == lastTimeMillis) { // 같은 millisecond 내에서 여러 번 호출된 경우
-			sequence = (sequence + 1) & maxSequence; // sequence 값을 증가시켜 ID를 구분함
-			if (sequence == 0) { // sequence가 0이면 최대치를 사용한 것이므로 기다림
-				currentTimeMillis = waitNextMillis(currentTimeMillis);
+			long next;
+			if (timestamp == lastTimestamp) { // 같은 millisecond 내에서 여러 번 호출된 경우
+				if ((current & maxSequence) + count > maxSequence) { // 남은 sequence가 부족하므로 다음 millisecond까지 기다림
+					sequenceExhaustedWaitCount.increment();
+					waitNextMillis(lastTimestamp);
+					continue;
+				}
+				next = current + count; // sequence 값을 증가시켜 ID를 구분함
+			} else {
+				next = (timestamp << SEQUENCE_BITS) + (count - 1); // 새로운 millisecond는 sequence 0부터 시작
 			}
-		} else {
-			sequence = 0;
+
+			if (state.compareAndSet(current, next)) {
+				return next;
+			}
+			casRetryCount.increment();
 		}
+	}
+
+	/**
+	 * 외부 registry에서 할당받은 node id lease로 교체한다.
+	 * 교체 직후 같은 millisecond에 발급된 id는 이전 node id의 id보다 작을 수 있으므로 트래픽을 받기 전에 호출해야 한다.
+	 */
+	public void applyLease(NodeIdLease lease) {
+		this.lease = lease;
+	}
+
+	public long getNodeId() {
+		return lease.getNodeId();
+	}
+
+	public static long getMaxNodeId() {
+		return maxNodeId;
+	}
+
+	/**
+	 * CAS 경합으로 id 발급을 재시도한 누적 횟수
+	 */
+	public long getCasRetryCount() {
+		return casRetryCount.sum();
+	}
+
+	/**
+	 * 한 millisecond의 sequence를 모두 소진해 다음 millisecond를 기다린 누적 횟수
+	 */
+	public long getSequenceExhaustedWaitCount() {
+		return sequenceExhaustedWaitCount.sum();
+	}
+
+	/**
+	 * MonotonicClock 사용 시 벽시계가 임계값 이상 뒤로 간 누적 횟수. 벽시계 모드에서는 항상 0
+	 */
+	public long getLargeClockRegressionCount() {
+		return clock instanceof MonotonicClock monotonicClock ? monotonicClock.getLargeRegressionCount() : 0L;
+	}
 
-		lastTimeMillis = currentTimeMillis;
+	/**
+	 * MonotonicClock 사용 시 벽시계가 id의 시각보다 뒤처져 있는 시간(millisecond). 벽시계 모드에서는 항상 0
+	 */
+	public long getClockLagMillis() {
+		return clock instanceof MonotonicClock monotonicClock ? monotonicClock.getLagMillis() : 0L;
+	}
 
-		return ((currentTimeMillis - startTimeMillis) << (NODE_ID_BITS + SEQUENCE_BITS))
+	private long toId(long packedState, long nodeId) {
+		long timestamp = packedState >>> SEQUENCE_BITS;
+		long sequence = packedState & maxSequence;
+		return (timestamp << (NODE_ID_BITS + SEQUENCE_BITS))
 			| (nodeId << SEQUENCE_BITS)
 			| sequence;
 	}
 
-	private long waitNextMillis(long currentTimestamp) {
-		while (currentTimestamp <= lastTimeMillis) {
-			currentTimestamp = System.currentTimeMillis();
+	private void waitNextMillis(long lastTimestamp) {
+		while (clock.getAsLong() - startTimeMillis <= lastTimestamp) {
+			Thread.onSpinWait();
 		}
-		return currentTimestamp;
 	}
 }
@@ -0,0 +1,40 @@
+package core.common.snowflake;
+
+import java.time.Instant;
+
+/**
+ * Snowflake id에 담긴 생성 시각을 해석한다.
+ * id는 생성 시각 순으로 정렬되므로 시간 범위 조건을 PK 범위 조건으로 바꿔 created_at 인덱스 없이 조회할 수 있다.
+ */
+public final class SnowflakeIdCodec {
+	private static final int TIMESTAMP_SHIFT = Snowflake.NODE_ID_BITS + Snowflake.SEQUENCE_BITS;
+	private static final long maxTimestamp = Long.MAX_VALUE >>> TIMESTAMP_SHIFT;
+
+	private SnowflakeIdCodec() {
+	}
+
+	/**
+	 * id가 발급된 시각(millisecond 단위)
+	 */
+	public static Instant toInstant(long id) {
+		if (id < 0) {
+			throw new IllegalArgumentException("id must not be negative: " + id);
+		}
+		return Instant.ofEpochMilli((id >>> TIMESTAMP_SHIFT) + Snowflake.startTimeMillis);
+	}
+
+	/**
+	 * instant 이후(포함)에 발급된 id 중 가장 작은 값.
+	 * [from, to) 구간은 {@code lowerBound(from) <= id < lowerBound(to)} 로 조회한다.
+	 */
+	public static long lowerBound(Instant instant) {
+		long timestamp = instant.toEpochMilli() - Snowflake.startTimeMillis;
+		if (timestamp <= 0) {
+			return 0L;
+		}
+		if (timestamp > maxTimestamp) {
+			return Long.MAX_VALUE;
+		}
+		return timestamp << TIMESTAMP_SHIFT;
+	}
+}
@@ -0,0 +1,102 @@
+package core.common.snowflake;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MonotonicClockTest {
+	private static final long BASE_TIME_MILLIS = 1735689600000L;
+	private static final long MILLIS = 1_000_000L;
+
+	private final AtomicLong wallClock = new AtomicLong(BASE_TIME_MILLIS);
+	private final AtomicLong nanoClock = new AtomicLong(0L);
+	private final AtomicLong wallClockReadCount = new AtomicLong();
+
+	private final MonotonicClock monotonicClock = new MonotonicClock(
+		() -> {
+			wallClockReadCount.incrementAndGet();
+			return wallClock.get();
+		},
+		nanoClock::get, 1000L, 1000L);
+
+	@Test
+	@DisplayName("resync 주기 전에는 벽시계를 읽지 않고 nanoTime 만큼 흘러간다")
+	void readsWallClockOnlyOnResyncTest() {
+		// given
+		long readCountAfterInit = wallClockReadCount.get();
+
+		// when
+		nanoClock.addAndGet(500 * MILLIS);
+		long time = monotonicClock.getAsLong();
+
+		// then
+		assertThat(time).isEqualTo(BASE_TIME_MILLIS + 500);
+		assertThat(wallClockReadCount.get()).isEqualTo(readCountAfterInit);
+	}
+
+	@Test
+	@DisplayName("벽시계가 뒤로 가도 시각이 줄어들지 않고, 큰 폭으로 뒤로 간 경우 횟수를 기록한다")
+	void regressionTest() {
+		// given
+		nanoClock.addAndGet(1000 * MILLIS);
+		wallClock.set(BASE_TIME_MILLIS - 4000); // 5초 뒤로 감
+
+		// when
+		long afterRegression = monotonicClock.getAsLong();
+		nanoClock.addAndGet(1000 * MILLIS);
+		wallClock.addAndGet(1000);
+		long next = monotonicClock.getAsLong();
+
+		// then
+		assertThat(afterRegression).isEqualTo(BASE_TIME_MILLIS + 1000);
+		assertThat(next).isEqualTo(BASE_TIME_MILLIS + 2000);
+		assertThat(monotonicClock.getLargeRegressionCount()).isEqualTo(1);
+		assertThat(monotonicClock.getLagMillis()).isEqualTo(5000);
+	}
+
+	@Test
+	@DisplayName("작은 폭의 역행은 횟수로 기록하지 않고, 벽시계가 앞서면 따라간다")
+	void smallRegressionAndForwardJumpTest() {
+		// given
+		nanoClock.addAndGet(1000 * MILLIS);
+		wallClock.set(BASE_TIME_MILLIS + 900); // 100ms 뒤처짐
+
+		// when
+		long afterSmallRegression = monotonicClock.getAsLong();
+		nanoClock.addAndGet(1000 * MILLIS);
+		wallClock.set(BASE_TIME_MILLIS + 10_000); // 벽시계가 앞으로 크게 이동
+		long afterForwardJump = monotonicClock.getAsLong();
+
+		// then
+		assertThat(afterSmallRegression).isEqualTo(BASE_TIME_MILLIS + 1000);
+		assertThat(afterForwardJump).isEqualTo(BASE_TIME_MILLIS + 10_000);
+		assertThat(monotonicClock.getLargeRegressionCount()).isZero();
+		assertThat(monotonicClock.getLagMillis()).isZero();
+	}
+
+	@Test
+	@DisplayName("monotonic 모드의 Snowflake는 벽시계가 뒤로 가도 예외 없이 오름차순 id를 발급한다")
+	void snowflakeWithMonotonicClockTest() {
+		// given
+		Snowflake monotonicSnowflake = new Snowflake(monotonicClock);
+		long before = monotonicSnowflake.nextId();
+
+		// when
+		nanoClock.addAndGet(1000 * MILLIS);
+		wallClock.set(BASE_TIME_MILLIS - 60_000);
+		long after = monotonicSnowflake.nextId();
+
+		// then
+		assertThat(after).isGreaterThan(before);
+	}
+
+	@Test
+	@DisplayName("clock 모드 설정값에 따라 시계를 선택한다")
+	void resolveClockTest() {
+		assertThat(Snowflake.resolveClock("monotonic")).isInstanceOf(MonotonicClock.class);
+		assertThat(Snowflake.resolveClock(null)).isNotInstanceOf(MonotonicClock.class);
+	}
+}
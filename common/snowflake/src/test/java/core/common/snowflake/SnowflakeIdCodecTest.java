@@ -0,0 +1,49 @@
+package core.common.snowflake;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SnowflakeIdCodecTest {
+
+	@Test
+	@DisplayName("id에서 발급 시각을 복원할 수 있다")
+	void toInstantTest() {
+		// given
+		long now = 1735689600123L;
+		Snowflake fixedClockSnowflake = new Snowflake(() -> now);
+
+		// when
+		long id = fixedClockSnowflake.nextId();
+
+		// then
+		assertThat(SnowflakeIdCodec.toInstant(id)).isEqualTo(Instant.ofEpochMilli(now));
+	}
+
+	@Test
+	@DisplayName("같은 millisecond에 발급된 모든 id는 그 millisecond와 다음 millisecond의 lowerBound 사이에 있다")
+	void boundTest() {
+		// given
+		Instant instant = Instant.ofEpochMilli(1735689600123L);
+		Snowflake fixedClockSnowflake = new Snowflake(instant::toEpochMilli);
+
+		// when
+		long[] ids = fixedClockSnowflake.nextIds(4096);
+
+		// then
+		assertThat(ids[0]).isGreaterThanOrEqualTo(SnowflakeIdCodec.lowerBound(instant));
+		assertThat(ids[ids.length - 1]).isLessThan(SnowflakeIdCodec.lowerBound(instant.plusMillis(1)));
+		assertThat(SnowflakeIdCodec.toInstant(SnowflakeIdCodec.lowerBound(instant))).isEqualTo(instant);
+		assertThat(SnowflakeIdCodec.toInstant(SnowflakeIdCodec.lowerBound(instant.plusMillis(1)) - 1)).isEqualTo(instant);
+	}
+
+	@Test
+	@DisplayName("기준 시각 이전은 0, 표현 범위를 넘는 시각은 Long.MAX_VALUE로 고정된다")
+	void boundOutOfRangeTest() {
+		assertThat(SnowflakeIdCodec.lowerBound(Instant.EPOCH)).isZero();
+		assertThat(SnowflakeIdCodec.lowerBound(Instant.parse("2200-01-01T00:00:00Z"))).isEqualTo(Long.MAX_VALUE);
+	}
+}
@@ -9,6 +9,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
@@ -46,6 +47,94 @@ class SnowflakeTest {
 		executorService.shutdown();
 	}
 
+	@Test
+	@DisplayName("한 millisecond의 sequence를 모두 소진하면 다음 millisecond를 기다리고 대기 횟수를 기록한다")
+	void sequenceExhaustedWaitTest() {
+		// given
+		long baseTimeMillis = 1735689600000L;
+		AtomicLong clockCallCount = new AtomicLong();
+		// 4096개의 id를 같은 millisecond에 발급한 뒤 시간이 흐르도록 설정
+		Snowflake fixedClockSnowflake = new Snowflake(
+			() -> clockCallCount.incrementAndGet() <= 4097 ? baseTimeMillis : baseTimeMillis + 1
+		);
+
+		// when
+		List<Long> idList = generateIdList(fixedClockSnowflake, 4097);
+
+		// then
+		for (int i = 1; i < idList.size(); i++) {
+			assertThat(idList.get(i)).isGreaterThan(idList.get(i - 1));
+		}
+		assertThat(fixedClockSnowflake.getSequenceExhaustedWaitCount()).isEqualTo(1);
+		assertThat(fixedClockSnowflake.getCasRetryCount()).isZero();
+	}
+
+	@Test
+	@DisplayName("nextIds는 연속된 id 블록을 예약하고 이후 발급되는 id와 겹치지 않는다")
+	void nextIdsTest() {
+		// when
+		long[] ids = snowflake.nextIds(3);
+		long nextId = snowflake.nextId();
+
+		// then
+		assertThat(ids).hasSize(3);
+		assertThat(ids[1]).isEqualTo(ids[0] + 1);
+		assertThat(ids[2]).isEqualTo(ids[1] + 1);
+		assertThat(nextId).isGreaterThan(ids[2]);
+	}
+
+	@Test
+	@DisplayName("남은 sequence보다 큰 블록을 요청하면 다음 millisecond에서 블록을 예약한다")
+	void nextIdsWaitsNextMillisTest() {
+		// given
+		long baseTimeMillis = 1735689600000L;
+		AtomicLong clockCallCount = new AtomicLong();
+		Snowflake fixedClockSnowflake = new Snowflake(
+			() -> clockCallCount.incrementAndGet() <= 2 ? baseTimeMillis : baseTimeMillis + 1
+		);
+		long[] firstBlock = fixedClockSnowflake.nextIds(4000);
+
+		// when
+		long[] secondBlock = fixedClockSnowflake.nextIds(100);
+
+		// then
+		assertThat(secondBlock[0]).isGreaterThan(firstBlock[firstBlock.length - 1]);
+		assertThat(secondBlock[99] - secondBlock[0]).isEqualTo(99);
+		assertThat(fixedClockSnowflake.getSequenceExhaustedWaitCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("nextIds는 1개 미만이나 한 millisecond의 sequence 범위를 넘는 요청을 거부한다")
+	void nextIdsInvalidCountTest() {
+		assertThatThrownBy(() -> snowflake.nextIds(0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> snowflake.nextIds(4097)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@DisplayName("lease가 만료되거나 회수되면 id를 발급하지 않는다")
+	void leaseTest() {
+		// given
+		long baseTimeMillis = 1735689600000L;
+		AtomicLong currentTimeMillis = new AtomicLong(baseTimeMillis);
+		Snowflake leasedSnowflake = new Snowflake(currentTimeMillis::get);
+		NodeIdLease lease = new NodeIdLease(7, baseTimeMillis + 1000);
+		leasedSnowflake.applyLease(lease);
+
+		// when
+		long id = leasedSnowflake.nextId();
+		currentTimeMillis.set(baseTimeMillis + 1000);
+
+		// then
+		assertThat((id >>> 12) & Snowflake.getMaxNodeId()).isEqualTo(7);
+		assertThatThrownBy(leasedSnowflake::nextId).isInstanceOf(IllegalStateException.class);
+
+		lease.renew(baseTimeMillis + 2000);
+		assertThat(leasedSnowflake.nextId()).isGreaterThan(id);
+
+		lease.revoke();
+		assertThatThrownBy(leasedSnowflake::nextId).isInstanceOf(IllegalStateException.class);
+	}
+
 	List<Long> generateIdList(Snowflake snowflake, int count) {
 		List<Long> idList = new ArrayList<>();
 		while (count-- > 0) {
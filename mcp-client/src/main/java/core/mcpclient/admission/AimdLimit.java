@@ -0,0 +1,51 @@
+package core.mcpclient.admission;
+
+import core.mcpclient.config.properties.AdmissionProperties;
+
+/**
+ * 동시 요청 수의 상한을 AIMD(additive increase, multiplicative decrease)로 조절한다.
+ * 상한 가까이 사용하며 성공하면 왕복 한 번에 1씩 늘리고, throttling이나 느린 응답을 받으면 backoffRatio를 곱해 줄인다.
+ * 한 번 줄인 뒤에는 줄이기 전에 시작한 요청의 실패로 다시 줄이지 않는다.
+ */
+final class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long slowCallNanos;
+
+    private double limit;
+    private long lastDecreasedAt = Long.MIN_VALUE;
+
+    AimdLimit(AdmissionProperties properties) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.slowCallNanos = properties.getSlowCallThreshold().toNanos();
+        this.limit = Math.clamp(properties.getInitialLimit(), minLimit, maxLimit);
+    }
+
+    int current() {
+        return (int) limit;
+    }
+
+    /**
+     * @param startedAt 요청을 시작한 시각(nanos)
+     * @param now       요청이 끝난 시각(nanos)
+     * @param overloaded throttling 등 과부하로 실패했는지 여부
+     * @param inflight  요청이 끝나기 직전의 동시 요청 수
+     */
+    void onSample(long startedAt, long now, boolean overloaded, int inflight) {
+        if (overloaded || now - startedAt > slowCallNanos) {
+            if (startedAt >= lastDecreasedAt) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreasedAt = now;
+            }
+            return;
+        }
+        // 상한의 절반도 쓰지 않는 동안에는 늘려도 검증되지 않으므로 늘리지 않음
+        if (inflight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package core.mcpclient.admission;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import core.mcpclient.config.properties.AdmissionProperties;
+import core.mcpclient.resilience.LlmUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+/**
+ * 동시에 진행하는 LLM 요청 수를 {@link AimdLimit}로 제한한다.
+ * 상한을 넘는 요청은 사용자(X-Client-Id)별 대기열에 넣고, 자리가 나면 사용자를 번갈아 가며 꺼내 한 사용자가 대기열을 독차지하지 못하게 한다.
+ * 대기열이 가득 찼거나 maxQueueTime 안에 차례가 오지 않으면 {@link LlmOverloadedException}으로 바로 거절한다.
+ */
+@Slf4j
+@Component
+public class LlmAdmissionController implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "mcp.llm.admission";
+    private static final Duration MIN_RETRY_AFTER = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY_AFTER = Duration.ofSeconds(60);
+    // 평균 응답 시간을 추정할 때 새 표본에 주는 가중치
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final boolean enabled;
+    private final int maxQueueSize;
+    private final int maxQueueSizePerClient;
+    private final Duration maxQueueTime;
+    private final AimdLimit limit;
+    private final Ticker ticker;
+
+    // 아래 필드는 모두 this로 동기화함
+    private final Map<String, ArrayDeque<Waiter>> queues = new HashMap<>();
+    private final ArrayDeque<String> clientRotation = new ArrayDeque<>();
+    private int queueSize = 0;
+    private int inflight = 0;
+    private double averageLatencyNanos = Duration.ofSeconds(10).toNanos();
+
+    private final LongAdder admittedCount = new LongAdder();
+    private final LongAdder queuedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private volatile Timer queueTimer;
+
+    @Autowired
+    public LlmAdmissionController(AdmissionProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    LlmAdmissionController(AdmissionProperties properties, Ticker ticker) {
+        this.enabled = properties.isEnabled();
+        this.maxQueueSize = properties.getMaxQueueSize();
+        this.maxQueueSizePerClient = properties.getMaxQueueSizePerClient();
+        this.maxQueueTime = properties.getMaxQueueTime();
+        this.limit = new AimdLimit(properties);
+        this.ticker = ticker;
+    }
+
+    /**
+     * 차례가 올 때까지 기다린 뒤 supplier를 실행한다.
+     */
+    public <T> T call(String clientId, Supplier<T> supplier) {
+        if (!enabled) {
+            return supplier.get();
+        }
+        Permit permit = await(acquire(clientId));
+        try {
+            T result = supplier.get();
+            permit.release(false);
+            return result;
+        } catch (RuntimeException e) {
+            permit.release(isOverload(e));
+            throw e;
+        }
+    }
+
+    /**
+     * 구독하면 차례를 기다렸다가 supplier의 스트림을 구독하고, 스트림이 끝나거나 취소되면 자리를 돌려준다.
+     * 거절되면 아무것도 보내지 않고 {@link LlmOverloadedException}으로 끝난다.
+     */
+    public <T> Flux<T> stream(String clientId, Supplier<Flux<T>> supplier) {
+        if (!enabled) {
+            return Flux.defer(supplier);
+        }
+        return Mono.fromFuture(() -> acquire(clientId))
+                .onErrorMap(TimeoutException.class, e -> overloaded("LLM 요청 대기 시간이 지났습니다."))
+                .doOnDiscard(Permit.class, Permit::cancel)
+                .flatMapMany(permit -> Flux.defer(supplier)
+                        .doOnComplete(() -> permit.release(false))
+                        .doOnError(e -> permit.release(isOverload(e)))
+                        .doOnCancel(permit::cancel));
+    }
+
+    /**
+     * 대기열이 가득 찼으면 바로 {@link LlmOverloadedException}을 던진다.
+     * SSE 응답은 스트림을 구독하기 전에 응답 header를 보내므로, 503으로 응답하려면 스트림을 만들기 전에 호출해야 한다.
+     */
+    public void rejectIfFull(String clientId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (!isQueueFull(clientId)) {
+                return;
+            }
+            rejectedCount.increment();
+        }
+        throw overloaded("LLM 요청 대기열이 가득 찼습니다.");
+    }
+
+    CompletableFuture<Permit> acquire(String clientId) {
+        Waiter waiter;
+        synchronized (this) {
+            if (queueSize == 0 && inflight < limit.current()) {
+                inflight++;
+                admittedCount.increment();
+                return CompletableFuture.completedFuture(new Permit(ticker.read()));
+            }
+            if (isQueueFull(clientId)) {
+                rejectedCount.increment();
+                return CompletableFuture.failedFuture(overloaded("LLM 요청 대기열이 가득 찼습니다."));
+            }
+            ArrayDeque<Waiter> queue = queues.get(clientId);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(clientId, queue);
+                clientRotation.addLast(clientId);
+            }
+            waiter = new Waiter(clientId, ticker.read());
+            queue.addLast(waiter);
+            queueSize++;
+            queuedCount.increment();
+        }
+        // 시간이 지났거나 취소된 요청은 대기열에서 뺌
+        waiter.future.orTimeout(maxQueueTime.toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((permit, error) -> {
+                    if (error != null) {
+                        remove(waiter, error);
+                    }
+                });
+        return waiter.future;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        queueTimer = Timer.builder(METRIC_PREFIX + ".queue.time")
+                .description("LLM 요청이 대기열에서 차례를 기다린 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".limit", this, controller -> controller.currentLimit())
+                .description("동시에 진행할 수 있는 LLM 요청 수의 현재 상한")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".inflight", this, controller -> controller.inflight())
+                .description("진행 중인 LLM 요청 수")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".queue.size", this, controller -> controller.queueSize())
+                .description("대기열에서 기다리는 LLM 요청 수")
+                .register(registry);
+        requestCounter(registry, "admitted", admittedCount, "기다리지 않고 바로 시작한 요청 수");
+        requestCounter(registry, "queued", queuedCount, "대기열에 넣은 요청 수");
+        requestCounter(registry, "rejected", rejectedCount, "대기열이 가득 차 거절한 요청 수");
+        requestCounter(registry, "timeout", timeoutCount, "대기 시간이 지나 거절한 요청 수");
+    }
+
+    synchronized int currentLimit() {
+        return limit.current();
+    }
+
+    synchronized int inflight() {
+        return inflight;
+    }
+
+    synchronized int queueSize() {
+        return queueSize;
+    }
+
+    /**
+     * 대기열의 요청이 모두 끝날 때까지 걸릴 시간을 평균 응답 시간으로 추정한다.
+     */
+    synchronized Duration retryAfter() {
+        double rounds = Math.ceil((queueSize + 1.0) / Math.max(1, limit.current()));
+        Duration estimated = Duration.ofNanos((long) (averageLatencyNanos * rounds));
+        if (estimated.compareTo(MIN_RETRY_AFTER) < 0) {
+            return MIN_RETRY_AFTER;
+        }
+        return estimated.compareTo(MAX_RETRY_AFTER) > 0 ? MAX_RETRY_AFTER : estimated;
+    }
+
+    // this를 잠근 상태에서 호출해야 함
+    private boolean isQueueFull(String clientId) {
+        if (queueSize == 0 && inflight < limit.current()) {
+            return false;
+        }
+        ArrayDeque<Waiter> queue = queues.get(clientId);
+        return queueSize >= maxQueueSize || (queue != null && queue.size() >= maxQueueSizePerClient);
+    }
+
+    private Permit await(CompletableFuture<Permit> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof LlmOverloadedException overloaded) {
+                throw overloaded;
+            }
+            if (e.getCause() instanceof TimeoutException) {
+                throw overloaded("LLM 요청 대기 시간이 지났습니다.");
+            }
+            throw e;
+        }
+    }
+
+    private void remove(Waiter waiter, Throwable error) {
+        synchronized (this) {
+            ArrayDeque<Waiter> queue = queues.get(waiter.clientId);
+            if (queue == null || !queue.remove(waiter)) {
+                return;
+            }
+            queueSize--;
+            if (queue.isEmpty()) {
+                queues.remove(waiter.clientId);
+                clientRotation.remove(waiter.clientId);
+            }
+        }
+        if (error instanceof TimeoutException) {
+            timeoutCount.increment();
+        }
+    }
+
+    private void release(Permit permit, boolean sample, boolean overloaded) {
+        List<Grant> grants = new ArrayList<>();
+        synchronized (this) {
+            long now = ticker.read();
+            if (sample) {
+                limit.onSample(permit.startedAt, now, overloaded, inflight);
+                if (!overloaded) {
+                    long latency = now - permit.startedAt;
+                    averageLatencyNanos += LATENCY_SMOOTHING * (latency - averageLatencyNanos);
+                }
+            }
+            inflight--;
+            // 사용자를 번갈아 가며 자리가 남는 만큼 꺼냄
+            while (queueSize > 0 && inflight < limit.current()) {
+                String clientId = clientRotation.pollFirst();
+                ArrayDeque<Waiter> queue = queues.get(clientId);
+                Waiter waiter = queue.pollFirst();
+                queueSize--;
+                if (queue.isEmpty()) {
+                    queues.remove(clientId);
+                } else {
+                    clientRotation.addLast(clientId);
+                }
+                inflight++;
+                grants.add(new Grant(waiter, new Permit(now)));
+            }
+        }
+        // 대기하던 요청이 이어서 실행될 수 있으므로 잠금을 푼 뒤 깨움
+        for (Grant grant : grants) {
+            Timer timer = queueTimer;
+            if (timer != null) {
+                timer.record(grant.permit.startedAt - grant.waiter.enqueuedAt, TimeUnit.NANOSECONDS);
+            }
+            if (!grant.waiter.future.complete(grant.permit)) {
+                grant.permit.cancel();
+            }
+        }
+    }
+
+    private LlmOverloadedException overloaded(String message) {
+        return new LlmOverloadedException(message, retryAfter());
+    }
+
+    private void requestCounter(MeterRegistry registry, String result, LongAdder count, String description) {
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", count, LongAdder::sum)
+                .tag("result", result)
+                .description(description)
+                .register(registry);
+    }
+
+    // 모든 endpoint가 실패했거나 Bedrock이 throttling, 503으로 응답한 경우를 과부하로 봄
+    static boolean isOverload(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof LlmUnavailableException) {
+                return true;
+            }
+            if (cause instanceof SdkServiceException e && (e.isThrottlingException() || e.statusCode() == 503)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    final class Permit {
+
+        private final long startedAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        void release(boolean overloaded) {
+            if (released.compareAndSet(false, true)) {
+                LlmAdmissionController.this.release(this, true, overloaded);
+            }
+        }
+
+        // 결과 없이 끝난 요청. limit 조절에 쓰지 않고 자리만 돌려줌
+        void cancel() {
+            if (released.compareAndSet(false, true)) {
+                LlmAdmissionController.this.release(this, false, false);
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final String clientId;
+        private final long enqueuedAt;
+        private final CompletableFuture<Permit> future = new CompletableFuture<>();
+
+        private Waiter(String clientId, long enqueuedAt) {
+            this.clientId = clientId;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private record Grant(Waiter waiter, Permit permit) {
+    }
+}
@@ -0,0 +1,19 @@
+package core.mcpclient.admission;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * LLM 요청이 몰려 대기열에 넣을 수 없거나 대기 시간이 지났을 때 발생한다.
+ */
+@Getter
+public class LlmOverloadedException extends RuntimeException {
+
+    // 다시 요청해 볼 만한 시간
+    private final Duration retryAfter;
+
+    public LlmOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
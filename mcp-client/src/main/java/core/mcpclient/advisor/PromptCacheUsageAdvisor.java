@@ -0,0 +1,102 @@
+package core.mcpclient.advisor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Flux;
+import software.amazon.awssdk.services.bedrockruntime.model.TokenUsage;
+
+/**
+ * Bedrock 응답의 token 사용량 중 prompt cache에서 읽은 token과 cache에 새로 쓴 token을 호출마다 기록한다.
+ * read가 계속 0이면 cache point 앞의 내용(system prompt, tool 정의)이 요청마다 바뀌고 있거나 최소 token 수보다 짧다는 뜻이다.
+ */
+@Slf4j
+public class PromptCacheUsageAdvisor implements CallAdvisor, StreamAdvisor, MeterBinder {
+
+    private static final String METRIC_NAME = "mcp.llm.prompt.cache.tokens";
+    static final String CACHE_READ_KEY = "cacheReadInputTokens";
+    static final String CACHE_WRITE_KEY = "cacheWriteInputTokens";
+
+    private volatile DistributionSummary readTokens;
+    private volatile DistributionSummary writeTokens;
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest chatClientRequest, CallAdvisorChain callAdvisorChain) {
+        ChatClientResponse response = callAdvisorChain.nextCall(chatClientRequest);
+        record(response.chatResponse());
+        return response;
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest chatClientRequest,
+                                                 StreamAdvisorChain streamAdvisorChain) {
+        // 스트리밍에서는 사용량이 마지막 metadata chunk에만 담겨 오므로 사용량이 있는 chunk만 기록함
+        return streamAdvisorChain.nextStream(chatClientRequest)
+                .doOnNext(response -> record(response.chatResponse()));
+    }
+
+    @Override
+    public String getName() {
+        return PromptCacheUsageAdvisor.class.getSimpleName();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        readTokens = DistributionSummary.builder(METRIC_NAME)
+                .tag("type", "read")
+                .description("호출마다 prompt cache에서 읽은 입력 token 수")
+                .baseUnit("tokens")
+                .register(registry);
+        writeTokens = DistributionSummary.builder(METRIC_NAME)
+                .tag("type", "write")
+                .description("호출마다 prompt cache에 새로 쓴 입력 token 수")
+                .baseUnit("tokens")
+                .register(registry);
+    }
+
+    private void record(ChatResponse chatResponse) {
+        if (chatResponse == null) {
+            return;
+        }
+        ChatResponseMetadata metadata = chatResponse.getMetadata();
+        Integer read = null;
+        Integer write = null;
+        if (metadata.getUsage().getNativeUsage() instanceof TokenUsage usage) {
+            read = usage.cacheReadInputTokens();
+            write = usage.cacheWriteInputTokens();
+        }
+        if (read == null && metadata.get(CACHE_READ_KEY) instanceof Number number) {
+            read = number.intValue();
+        }
+        if (write == null && metadata.get(CACHE_WRITE_KEY) instanceof Number number) {
+            write = number.intValue();
+        }
+        if (read == null && write == null) {
+            return;
+        }
+        int readCount = read == null ? 0 : read;
+        int writeCount = write == null ? 0 : write;
+        log.debug("prompt cache 사용량 - read: {}, write: {}", readCount, writeCount);
+        DistributionSummary readSummary = readTokens;
+        DistributionSummary writeSummary = writeTokens;
+        if (readSummary != null) {
+            readSummary.record(readCount);
+            writeSummary.record(writeCount);
+        }
+    }
+}
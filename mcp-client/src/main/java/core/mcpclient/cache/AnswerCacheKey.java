@@ -0,0 +1,27 @@
+package core.mcpclient.cache;
+
+import core.mcpclient.routing.ModelTier;
+import core.mcpclient.service.constant.PromptContent;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 같은 답변을 돌려줘도 되는 요청인지 판단하는 key.
+ * 정규화한 질문, system prompt 종류, 대화 기록의 hash, 질문을 보낸 모델 tier가 모두 같아야 같은 요청으로 본다.
+ */
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class AnswerCacheKey {
+
+    private final String normalizedQuestion;
+    private final PromptContent systemPrompt;
+    private final long memoryHash;
+    private final ModelTier modelTier;
+
+    // 보관한 답변으로 응답했을 때 절약한 token을 계산하기 위한 값으로, 요청 구분에는 쓰지 않음
+    @EqualsAndHashCode.Exclude
+    private final int promptTokens;
+}
@@ -0,0 +1,7 @@
+package core.mcpclient.cache;
+
+/**
+ * @param tokens 이 답변으로 응답하면 절약하는 추정 입출력 token 수
+ */
+record CachedAnswer(String answer, boolean usedTools, int tokens) {
+}
@@ -0,0 +1,23 @@
+package core.mcpclient.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+/**
+ * Spring AI {@link EmbeddingModel}로 질문을 embedding한다. 질문마다 모델을 호출하므로 조회 지연 시간이 늘어난다.
+ */
+@RequiredArgsConstructor
+public class EmbeddingModelQuestionEmbedder implements QuestionEmbedder {
+
+    private final EmbeddingModel embeddingModel;
+
+    @Override
+    public int dimensions() {
+        return embeddingModel.dimensions();
+    }
+
+    @Override
+    public float[] embed(String normalizedQuestion) {
+        return QuestionEmbedder.normalize(embeddingModel.embed(normalizedQuestion));
+    }
+}
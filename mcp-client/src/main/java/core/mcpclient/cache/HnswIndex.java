@@ -0,0 +1,247 @@
+package core.mcpclient.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * 길이가 1로 정규화된 벡터를 내적(cosine 유사도)으로 찾는 HNSW(Hierarchical Navigable Small World) 그래프.
+ * 벡터는 heap 밖(direct buffer)에 두고, 그래프의 이웃 목록만 heap에 둔다.
+ * 노드는 capacity개까지 추가할 수 있으며 삭제 대신 {@link #clear()} 후 다시 추가한다.
+ * 동기화하지 않으므로 호출하는 쪽에서 읽기/쓰기를 잠가야 한다.
+ */
+final class HnswIndex {
+
+    private final int dimensions;
+    private final int capacity;
+    private final int maxConnections;
+    private final int maxConnectionsOnBottom;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+
+    private final FloatBuffer vectors;
+    // neighbors[node][level][0]은 이웃 수, 이후는 이웃 노드 번호
+    private final int[][][] neighbors;
+
+    private int size = 0;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    HnswIndex(int dimensions, int capacity, int maxConnections, int efConstruction, long seed) {
+        this.dimensions = dimensions;
+        this.capacity = capacity;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsOnBottom = maxConnections * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(maxConnections);
+        this.random = new SplittableRandom(seed);
+        this.vectors = ByteBuffer.allocateDirect(Math.multiplyExact(Math.multiplyExact(dimensions, capacity), Float.BYTES))
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        this.neighbors = new int[capacity][][];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    long offHeapBytes() {
+        return (long) dimensions * capacity * Float.BYTES;
+    }
+
+    void clear() {
+        for (int node = 0; node < size; node++) {
+            neighbors[node] = null;
+        }
+        size = 0;
+        entryPoint = -1;
+        maxLevel = -1;
+    }
+
+    /**
+     * @return 추가된 노드 번호
+     */
+    int add(float[] vector) {
+        if (isFull()) {
+            throw new IllegalStateException("HNSW index가 가득 찼습니다.");
+        }
+        int node = size++;
+        vectors.put(node * dimensions, vector, 0, dimensions);
+
+        int level = randomLevel();
+        neighbors[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            neighbors[node][l] = new int[maxConnectionsAt(l) + 1];
+        }
+        if (entryPoint == -1) {
+            entryPoint = node;
+            maxLevel = level;
+            return node;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(vector, current, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> candidates = searchLayer(vector, current, efConstruction, l);
+            int connections = Math.min(maxConnections, candidates.size());
+            for (int i = 0; i < connections; i++) {
+                int neighbor = candidates.get(i).node();
+                addNeighbor(node, neighbor, l);
+                addNeighbor(neighbor, node, l);
+            }
+            current = candidates.getFirst().node();
+        }
+        if (level > maxLevel) {
+            entryPoint = node;
+            maxLevel = level;
+        }
+        return node;
+    }
+
+    /**
+     * 유사도가 높은 순으로 최대 k개의 노드를 반환한다. accept를 통과하지 못한 노드는 탐색 경로로만 쓰고 결과에서 제외한다.
+     */
+    List<Candidate> search(float[] query, int k, int ef, IntPredicate accept) {
+        if (entryPoint == -1) {
+            return List.of();
+        }
+        int current = entryPoint;
+        for (int l = maxLevel; l > 0; l--) {
+            current = greedyClosest(query, current, l);
+        }
+        List<Candidate> found = searchLayer(query, current, Math.max(ef, k), 0);
+        List<Candidate> results = new ArrayList<>(k);
+        for (Candidate candidate : found) {
+            if (accept.test(candidate.node())) {
+                results.add(candidate);
+                if (results.size() == k) {
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
+    float[] vector(int node) {
+        float[] vector = new float[dimensions];
+        vectors.get(node * dimensions, vector, 0, dimensions);
+        return vector;
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float currentSimilarity = similarity(query, current);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] links = neighbors[current][level];
+            for (int i = 1; i <= links[0]; i++) {
+                float similarity = similarity(query, links[i]);
+                if (similarity > currentSimilarity) {
+                    current = links[i];
+                    currentSimilarity = similarity;
+                    changed = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @return 유사도가 높은 순으로 정렬된 최대 ef개의 노드
+     */
+    private List<Candidate> searchLayer(float[] query, int start, int ef, int level) {
+        BitSet visited = new BitSet(size);
+        visited.set(start);
+        Candidate first = new Candidate(start, similarity(query, start));
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparingDouble(Candidate::similarity).reversed());
+        PriorityQueue<Candidate> results = new PriorityQueue<>(Comparator.comparingDouble(Candidate::similarity));
+        candidates.add(first);
+        results.add(first);
+
+        while (!candidates.isEmpty()) {
+            Candidate closest = candidates.poll();
+            if (results.size() >= ef && closest.similarity() < results.peek().similarity()) {
+                break;
+            }
+            int[] links = neighbors[closest.node()][level];
+            for (int i = 1; i <= links[0]; i++) {
+                int neighbor = links[i];
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                float similarity = similarity(query, neighbor);
+                if (results.size() < ef || similarity > results.peek().similarity()) {
+                    Candidate candidate = new Candidate(neighbor, similarity);
+                    candidates.add(candidate);
+                    results.add(candidate);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingDouble(Candidate::similarity).reversed());
+        return sorted;
+    }
+
+    private void addNeighbor(int node, int neighbor, int level) {
+        int[] links = neighbors[node][level];
+        int max = maxConnectionsAt(level);
+        if (links[0] < max) {
+            links[++links[0]] = neighbor;
+            return;
+        }
+        // 가득 찼다면 가장 유사도가 낮은 이웃보다 가까울 때만 교체
+        float[] base = vector(node);
+        int weakest = -1;
+        float weakestSimilarity = similarity(base, neighbor);
+        for (int i = 1; i <= links[0]; i++) {
+            float similarity = similarity(base, links[i]);
+            if (similarity < weakestSimilarity) {
+                weakest = i;
+                weakestSimilarity = similarity;
+            }
+        }
+        if (weakest != -1) {
+            links[weakest] = neighbor;
+        }
+    }
+
+    private float similarity(float[] query, int node) {
+        int offset = node * dimensions;
+        float dot = 0;
+        for (int i = 0; i < dimensions; i++) {
+            dot += query[i] * vectors.get(offset + i);
+        }
+        return dot;
+    }
+
+    private int maxConnectionsAt(int level) {
+        return level == 0 ? maxConnectionsOnBottom : maxConnections;
+    }
+
+    private int randomLevel() {
+        return (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+    }
+
+    record Candidate(int node, float similarity) {
+    }
+}
@@ -0,0 +1,188 @@
+package core.mcpclient.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import core.mcpclient.config.properties.AnswerCacheProperties;
+import core.mcpclient.memory.TokenEstimator;
+import core.mcpclient.routing.ModelTier;
+import core.mcpclient.service.constant.PromptContent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+
+/**
+ * 같은 대화 맥락에서 같은 질문을 다시 받으면 LLM을 호출하지 않고 이전 답변을 돌려준다.
+ * tool로 조회한 데이터가 들어간 답변은 금방 바뀌므로 toolAnswerTtl 동안만 보관한다.
+ * 대화 기록이 없는 질문은 정확히 같지 않아도 {@link SemanticAnswerCache}에서 비슷한 질문의 답변을 찾는다.
+ */
+@Component
+public class LlmAnswerCache implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "mcp.answer.cache";
+
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+    private static final Pattern TRAILING_PUNCTUATIONS = Pattern.compile("[\\s?!.~]+$");
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration toolAnswerTtl;
+    private final int replayChunkSize;
+    private final Cache<AnswerCacheKey, CachedAnswer> answers;
+    private final SemanticAnswerCache semanticAnswerCache;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder savedTokens = new LongAdder();
+
+    @Autowired
+    public LlmAnswerCache(AnswerCacheProperties properties, SemanticAnswerCache semanticAnswerCache) {
+        this(properties, semanticAnswerCache, Ticker.systemTicker());
+    }
+
+    LlmAnswerCache(AnswerCacheProperties properties, SemanticAnswerCache semanticAnswerCache, Ticker ticker) {
+        this.enabled = properties.isEnabled();
+        this.ttl = properties.getTtl();
+        this.toolAnswerTtl = properties.getToolAnswerTtl();
+        this.replayChunkSize = properties.getReplayChunkSize();
+        this.answers = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(Expiry.writing((AnswerCacheKey key, CachedAnswer answer) ->
+                        answer.usedTools() ? toolAnswerTtl : ttl))
+                .ticker(ticker)
+                .build();
+        this.semanticAnswerCache = semanticAnswerCache;
+    }
+
+    /**
+     * @param modelTier 질문을 보낼 모델의 tier. tier마다 모델이 다르므로 다른 tier의 답변은 돌려주지 않는다.
+     * @param memory    이번 질문을 추가하기 전의 대화 기록
+     */
+    public AnswerCacheKey keyOf(String question, ModelTier modelTier, PromptContent systemPrompt, List<Message> memory) {
+        int promptTokens = TokenEstimator.estimate(question) + TokenEstimator.estimate(systemPrompt.getContent());
+        for (Message message : memory) {
+            promptTokens += TokenEstimator.estimate(message);
+        }
+        return new AnswerCacheKey(normalize(question), systemPrompt, hashOf(memory), modelTier, promptTokens);
+    }
+
+    public Optional<String> get(AnswerCacheKey key) {
+        if (!enabled) {
+            missCount.increment();
+            return Optional.empty();
+        }
+        CachedAnswer cached = answers.getIfPresent(key);
+        if (cached == null && isContextFree(key)) {
+            cached = semanticAnswerCache.get(key.getNormalizedQuestion(), scopeOf(key)).orElse(null);
+        }
+        if (cached == null) {
+            missCount.increment();
+            return Optional.empty();
+        }
+        hitCount.increment();
+        savedTokens.add(cached.tokens());
+        return Optional.of(cached.answer());
+    }
+
+    /**
+     * LLM 답변을 보관한다. 비어 있는 답변과 보관하지 않도록 설정된 tool 사용 답변은 무시한다.
+     * 비슷한 질문에 돌려줄 답변으로는 tool을 사용하지 않은 답변만 보관한다.
+     */
+    public void put(AnswerCacheKey key, String answer, boolean usedTools) {
+        if (!enabled || !StringUtils.hasText(answer) || (usedTools && toolAnswerTtl.isZero())) {
+            return;
+        }
+        int tokens = key.getPromptTokens() + TokenEstimator.estimate(answer);
+        CachedAnswer cached = new CachedAnswer(answer, usedTools, tokens);
+        answers.put(key, cached);
+        if (!usedTools && isContextFree(key)) {
+            semanticAnswerCache.put(key.getNormalizedQuestion(), scopeOf(key), cached);
+        }
+    }
+
+    /**
+     * 보관한 답변을 SSE 응답이 기존과 같은 방식으로 처리할 수 있도록 chunk로 나누어 스트리밍한다.
+     */
+    public Flux<String> replay(String answer) {
+        List<String> chunks = new ArrayList<>(answer.length() / replayChunkSize + 1);
+        int start = 0;
+        while (start < answer.length()) {
+            int end = Math.min(answer.length(), start + replayChunkSize);
+            // surrogate pair가 chunk 사이에서 잘리지 않도록 함
+            if (end < answer.length() && Character.isHighSurrogate(answer.charAt(end - 1))) {
+                end++;
+            }
+            chunks.add(answer.substring(start, end));
+            start = end;
+        }
+        return Flux.fromIterable(chunks);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", hitCount, LongAdder::sum)
+                .tag("result", "hit")
+                .description("LLM 호출 없이 보관한 답변으로 응답한 횟수")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", missCount, LongAdder::sum)
+                .tag("result", "miss")
+                .description("보관한 답변이 없어 LLM을 호출한 횟수")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".saved.tokens", savedTokens, LongAdder::sum)
+                .description("보관한 답변으로 응답해 절약한 추정 입출력 token 수")
+                .baseUnit("tokens")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".entries", answers, Cache::estimatedSize)
+                .description("보관 중인 답변 수")
+                .register(registry);
+    }
+
+    static String normalize(String question) {
+        String normalized = Normalizer.normalize(question, Normalizer.Form.NFKC).strip().toLowerCase(Locale.ROOT);
+        normalized = WHITESPACES.matcher(normalized).replaceAll(" ");
+        return TRAILING_PUNCTUATIONS.matcher(normalized).replaceAll("");
+    }
+
+    static long hashOf(List<Message> memory) {
+        long hash = FNV_OFFSET_BASIS;
+        for (Message message : memory) {
+            hash = (hash ^ message.getMessageType().ordinal()) * FNV_PRIME;
+            String text = message.getText();
+            if (text != null) {
+                for (int i = 0; i < text.length(); i++) {
+                    hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+                }
+            }
+            // 메시지 경계를 구분해 ["ab", "c"]와 ["a", "bc"]가 같은 값이 되지 않도록 함
+            hash = (hash ^ 0xffff_ffffL) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // 이전 대화에 따라 뜻이 달라지는 질문은 비슷한 질문의 답변을 돌려주지 않음
+    private static boolean isContextFree(AnswerCacheKey key) {
+        return key.getMemoryHash() == FNV_OFFSET_BASIS;
+    }
+
+    private static long scopeOf(AnswerCacheKey key) {
+        return ((long) key.getModelTier().ordinal() << 32) | key.getSystemPrompt().ordinal();
+    }
+}
@@ -0,0 +1,30 @@
+package core.mcpclient.cache;
+
+/**
+ * 의미가 비슷한 질문을 찾기 위해 질문을 길이가 1인 벡터로 바꾼다.
+ */
+public interface QuestionEmbedder {
+
+    int dimensions();
+
+    /**
+     * @param normalizedQuestion {@link LlmAnswerCache#normalize(String)}로 정규화한 질문
+     * @return 길이가 1로 정규화된 {@link #dimensions()} 차원 벡터
+     */
+    float[] embed(String normalizedQuestion);
+
+    static float[] normalize(float[] vector) {
+        double sum = 0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        if (sum == 0) {
+            return vector;
+        }
+        float norm = (float) Math.sqrt(sum);
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] /= norm;
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,232 @@
+package core.mcpclient.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import core.mcpclient.config.properties.SemanticCacheProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 표현만 다른 질문("오늘 전력 사용량", "금일 전력 사용량 알려줘")에 이전 답변을 돌려준다.
+ * 질문을 embedding해 in-process HNSW 색인에서 가장 비슷한 질문을 찾고, 유사도가 similarityThreshold 이상일 때만 사용한다.
+ * embedding은 "3번 설비"와 "4번 설비"를 거의 같게 보므로, 질문에 나온 숫자와 영문 식별자가 모두 같은 질문만 찾는다.
+ * 색인이 가득 차면 만료된 질문과 오래된 질문을 버리고 색인을 다시 만든다.
+ */
+@Slf4j
+@Component
+public class SemanticAnswerCache implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "mcp.semantic.cache";
+    private static final long INDEX_SEED = 42;
+
+    // 이보다 비슷한 질문이 이미 있으면 새 노드를 추가하지 않고 답변만 바꿈
+    private static final float DUPLICATE_SIMILARITY = 0.999f;
+    // 색인을 다시 만들 때 오래된 질문을 버려 이 비율만큼만 남김
+    private static final double COMPACTION_RATIO = 0.75;
+    // 설비 번호, 날짜, 수치, 코드("3", "2024", "12.5", "eq-001")처럼 답변을 바꾸는 숫자와 영문 식별자
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z0-9]+(?:[._-][a-z0-9]+)*");
+
+    private final boolean enabled;
+    private final double similarityThreshold;
+    private final int efSearch;
+    private final long ttlNanos;
+    private final QuestionEmbedder embedder;
+    private final Ticker ticker;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final HnswIndex index;
+    private final long[] scopes;
+    private final long[] writtenAt;
+    private final String[] identifiers;
+    private final CachedAnswer[] answers;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private volatile Timer lookupTimer;
+
+    @Autowired
+    public SemanticAnswerCache(SemanticCacheProperties properties, ObjectProvider<QuestionEmbedder> embedder) {
+        this(properties, properties.isEnabled() ? embedder.getObject() : null, Ticker.systemTicker());
+    }
+
+    SemanticAnswerCache(SemanticCacheProperties properties, QuestionEmbedder embedder, Ticker ticker) {
+        this.enabled = properties.isEnabled();
+        this.similarityThreshold = properties.getSimilarityThreshold();
+        this.efSearch = properties.getEfSearch();
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.embedder = embedder;
+        this.ticker = ticker;
+        int capacity = enabled ? properties.getMaximumSize() : 0;
+        this.index = enabled
+                ? new HnswIndex(embedder.dimensions(), capacity, properties.getMaxConnections(),
+                properties.getEfConstruction(), INDEX_SEED)
+                : null;
+        this.scopes = new long[capacity];
+        this.writtenAt = new long[capacity];
+        this.identifiers = new String[capacity];
+        this.answers = new CachedAnswer[capacity];
+    }
+
+    /**
+     * @param scope 같은 답변을 돌려줘도 되는 범위. system prompt 종류, 모델이 다르면 다른 값이어야 한다.
+     */
+    Optional<CachedAnswer> get(String normalizedQuestion, long scope) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        long start = ticker.read();
+        float[] vector = embedder.embed(normalizedQuestion);
+        String questionIdentifiers = identifiersOf(normalizedQuestion);
+        CachedAnswer found = null;
+        lock.readLock().lock();
+        try {
+            List<HnswIndex.Candidate> nearest = index.search(vector, 1, efSearch,
+                    node -> isLive(node, scope, start) && identifiers[node].equals(questionIdentifiers));
+            if (!nearest.isEmpty() && nearest.getFirst().similarity() >= similarityThreshold) {
+                found = answers[nearest.getFirst().node()];
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Timer timer = lookupTimer;
+        if (timer != null) {
+            timer.record(ticker.read() - start, TimeUnit.NANOSECONDS);
+        }
+        (found == null ? missCount : hitCount).increment();
+        return Optional.ofNullable(found);
+    }
+
+    void put(String normalizedQuestion, long scope, CachedAnswer answer) {
+        if (!enabled) {
+            return;
+        }
+        float[] vector = embedder.embed(normalizedQuestion);
+        String questionIdentifiers = identifiersOf(normalizedQuestion);
+        lock.writeLock().lock();
+        try {
+            long now = ticker.read();
+            List<HnswIndex.Candidate> nearest = index.search(vector, 1, efSearch,
+                    node -> isLive(node, scope, now) && identifiers[node].equals(questionIdentifiers));
+            if (!nearest.isEmpty() && nearest.getFirst().similarity() >= DUPLICATE_SIMILARITY) {
+                int node = nearest.getFirst().node();
+                writtenAt[node] = now;
+                answers[node] = answer;
+                return;
+            }
+            if (index.isFull()) {
+                compact(now);
+            }
+            int node = index.add(vector);
+            scopes[node] = scope;
+            writtenAt[node] = now;
+            identifiers[node] = questionIdentifiers;
+            answers[node] = answer;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        lookupTimer = Timer.builder(METRIC_PREFIX + ".lookup")
+                .description("질문 embedding을 포함해 비슷한 질문을 찾는 데 걸린 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", hitCount, LongAdder::sum)
+                .tag("result", "hit")
+                .description("비슷한 질문의 답변으로 응답한 횟수")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", missCount, LongAdder::sum)
+                .tag("result", "miss")
+                .description("비슷한 질문을 찾지 못한 횟수")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", evictionCount, LongAdder::sum)
+                .description("만료되었거나 오래되어 색인에서 버린 질문 수")
+                .register(registry);
+        if (enabled) {
+            Gauge.builder(METRIC_PREFIX + ".entries", index, HnswIndex::size)
+                    .description("색인에 들어 있는 질문 수")
+                    .register(registry);
+            Gauge.builder(METRIC_PREFIX + ".off.heap", index, HnswIndex::offHeapBytes)
+                    .description("질문 벡터를 보관하는 direct buffer 크기")
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * 질문에 나온 숫자와 영문 식별자를 나온 순서대로 이어 붙인다. "3월 5일"과 "5월 3일"은 다른 값이 된다.
+     */
+    static String identifiersOf(String normalizedQuestion) {
+        StringBuilder builder = new StringBuilder();
+        Matcher matcher = IDENTIFIER.matcher(normalizedQuestion);
+        while (matcher.find()) {
+            builder.append(matcher.group()).append(' ');
+        }
+        return builder.toString();
+    }
+
+    private boolean isLive(int node, long scope, long now) {
+        return scopes[node] == scope && now - writtenAt[node] < ttlNanos;
+    }
+
+    /**
+     * 만료되지 않은 질문 중 최근 것만 남기고 색인을 다시 만든다. 쓰기 잠금을 잡은 상태에서 호출해야 한다.
+     */
+    private void compact(long now) {
+        int size = index.size();
+        int keep = (int) (size * COMPACTION_RATIO);
+        int[] survivors = IntStream.range(0, size)
+                .filter(node -> now - writtenAt[node] < ttlNanos)
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer node) -> writtenAt[node]).reversed())
+                .limit(keep)
+                .sorted(Comparator.comparingLong(node -> writtenAt[node]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        float[][] vectors = new float[survivors.length][];
+        long[] survivorScopes = new long[survivors.length];
+        long[] survivorWrittenAt = new long[survivors.length];
+        String[] survivorIdentifiers = new String[survivors.length];
+        CachedAnswer[] survivorAnswers = new CachedAnswer[survivors.length];
+        for (int i = 0; i < survivors.length; i++) {
+            int node = survivors[i];
+            vectors[i] = index.vector(node);
+            survivorScopes[i] = scopes[node];
+            survivorWrittenAt[i] = writtenAt[node];
+            survivorIdentifiers[i] = identifiers[node];
+            survivorAnswers[i] = answers[node];
+        }
+
+        index.clear();
+        Arrays.fill(identifiers, null);
+        Arrays.fill(answers, null);
+        for (int i = 0; i < survivors.length; i++) {
+            int node = index.add(vectors[i]);
+            scopes[node] = survivorScopes[i];
+            writtenAt[node] = survivorWrittenAt[i];
+            identifiers[node] = survivorIdentifiers[i];
+            answers[node] = survivorAnswers[i];
+        }
+        evictionCount.add(size - survivors.length);
+        log.debug("semantic cache 색인을 다시 만들었습니다. before={}, after={}", size, survivors.length);
+    }
+}
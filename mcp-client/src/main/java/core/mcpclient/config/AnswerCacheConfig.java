@@ -0,0 +1,23 @@
+package core.mcpclient.config;
+
+import core.mcpclient.cache.EmbeddingModelQuestionEmbedder;
+import core.mcpclient.cache.QuestionEmbedder;
+import core.mcpclient.config.properties.AnswerCacheProperties;
+import core.mcpclient.config.properties.SemanticCacheProperties;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({AnswerCacheProperties.class, SemanticCacheProperties.class})
+public class AnswerCacheConfig {
+
+    // semantic cache를 켰는데 EmbeddingModel bean이 없으면 시작하지 않음
+    @Bean
+    @ConditionalOnProperty(prefix = SemanticCacheProperties.CONFIG_PREFIX, name = "enabled", havingValue = "true")
+    public QuestionEmbedder questionEmbedder(EmbeddingModel embeddingModel) {
+        return new EmbeddingModelQuestionEmbedder(embeddingModel);
+    }
+}
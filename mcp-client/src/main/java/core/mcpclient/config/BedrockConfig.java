@@ -1,18 +1,35 @@
 package core.mcpclient.config;
 
+import core.mcpclient.advisor.PromptCacheUsageAdvisor;
 import core.mcpclient.config.properties.BedrockProperties;
+import core.mcpclient.config.properties.LlmResilienceProperties;
+import core.mcpclient.resilience.ResilientChatModel;
+import core.mcpclient.routing.ModelRouter;
+import core.mcpclient.routing.ModelTier;
+import core.mcpclient.routing.QuestionClassifier;
+import core.mcpclient.tool.ToolUsage;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.bedrock.converse.BedrockProxyChatModel;
 import org.springframework.ai.bedrock.converse.BedrockChatOptions;
+import org.springframework.ai.bedrock.converse.api.BedrockCacheOptions;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.model.bedrock.autoconfigure.BedrockAwsConnectionProperties;
 import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
@@ -23,7 +40,7 @@ import java.time.Duration;
 @Slf4j
 @Configuration
 @RequiredArgsConstructor
-@EnableConfigurationProperties(BedrockProperties.class)
+@EnableConfigurationProperties({BedrockProperties.class, LlmResilienceProperties.class})
 @Profile("prod")
 public class BedrockConfig {
 
@@ -33,42 +50,12 @@ public class BedrockConfig {
 
     @Bean
     public BedrockRuntimeClient bedrockRuntimeClient() {
-        log.info("🤔 Creating BedrockRuntimeClient");
-        log.info("📝 Region: {}", awsConnectionProperties.getRegion());
-
-        Duration timeout = awsConnectionProperties.getTimeout();
-        log.info("📝 Timeout: {}", timeout);
-
-        BedrockRuntimeClient client = BedrockRuntimeClient.builder()
-                .region(Region.of(awsConnectionProperties.getRegion()))
-                .credentialsProvider(DefaultCredentialsProvider.builder().build())
-                .overrideConfiguration(config -> config
-                        .apiCallTimeout(timeout)
-                        .apiCallAttemptTimeout(timeout))
-                .build();
-
-        log.info("✅ BedrockRuntimeClient created\n");
-        return client;
+        return createRuntimeClient(awsConnectionProperties.getRegion());
     }
 
     @Bean
     public BedrockRuntimeAsyncClient bedrockRuntimeAsyncClient() {
-        log.info("🤔 Creating BedrockRuntimeAsyncClient");
-        log.info("📝 Region: {}", awsConnectionProperties.getRegion());
-
-        Duration timeout = awsConnectionProperties.getTimeout();
-        log.info("📝 Timeout: {}", timeout);
-
-        BedrockRuntimeAsyncClient client = BedrockRuntimeAsyncClient.builder()
-                .region(Region.of(awsConnectionProperties.getRegion()))
-                .credentialsProvider(DefaultCredentialsProvider.builder().build())
-                .overrideConfiguration(config -> config
-                        .apiCallTimeout(timeout)
-                        .apiCallAttemptTimeout(timeout))
-                .build();
-
-        log.info("✅ BedrockRuntimeAsyncClient created\n");
-        return client;
+        return createRuntimeAsyncClient(awsConnectionProperties.getRegion());
     }
 
     @Bean
@@ -77,24 +64,23 @@ public class BedrockConfig {
         log.info("📝 Model ID: {}", bedrockProperties.getModelId());
         log.info("📝 Temperature: {}", bedrockProperties.getTemperature());
         log.info("📝 Max Tokens: {}", bedrockProperties.getMaxTokens());
+        log.info("📝 Cache Strategy: {}", bedrockProperties.getCacheStrategy());
 
-        BedrockChatOptions chatOptions = BedrockChatOptions.builder()
-                .model(bedrockProperties.getModelId())
-                .temperature(bedrockProperties.getTemperature())
-                .maxTokens(bedrockProperties.getMaxTokens())
-                .build();
+        BedrockChatOptions chatOptions = chatOptions(bedrockProperties.getModelId(), bedrockProperties.getMaxTokens());
 
         log.info("✅ BedrockChatOptions created\n");
         return chatOptions;
     }
 
     @Bean
-    public BedrockProxyChatModel bedrockProxyChatModel(BedrockRuntimeClient client, BedrockChatOptions chatOptions) {
+    public BedrockProxyChatModel bedrockProxyChatModel(BedrockRuntimeClient client, BedrockRuntimeAsyncClient asyncClient,
+                                                       BedrockChatOptions chatOptions) {
         log.info("🤔 Creating BedrockProxyChatModel");
 
         BedrockProxyChatModel model = BedrockProxyChatModel.builder()
                 .defaultOptions(chatOptions)
                 .bedrockRuntimeClient(client)
+                .bedrockRuntimeAsyncClient(asyncClient)
                 .region(Region.of(awsConnectionProperties.getRegion()))
                 .build();
 
@@ -106,14 +92,154 @@ public class BedrockConfig {
     }
 
     @Bean
-    public ChatClient bedrockChatClient(BedrockProxyChatModel chatModel) {
+    @Primary
+    public ResilientChatModel resilientChatModel(BedrockProxyChatModel bedrockProxyChatModel,
+                                                 LlmResilienceProperties resilienceProperties) {
+        return tierChatModel(ModelTier.COMPLEX, bedrockProxyChatModel, resilienceProperties);
+    }
+
+    /**
+     * 간단한 질문에 사용할 모델. 기본 region과 fallback region 모두 simpleModelId로 요청하도록 endpoint를 따로 만든다.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = BedrockProperties.CONFIG_PREFIX, name = "simple-model-id")
+    public ResilientChatModel simpleResilientChatModel(BedrockRuntimeClient client, BedrockRuntimeAsyncClient asyncClient,
+                                                       LlmResilienceProperties resilienceProperties) {
+        BedrockProxyChatModel simpleModel = BedrockProxyChatModel.builder()
+                .defaultOptions(chatOptions(bedrockProperties.getSimpleModelId(), bedrockProperties.getSimpleMaxTokens()))
+                .bedrockRuntimeClient(client)
+                .bedrockRuntimeAsyncClient(asyncClient)
+                .region(Region.of(awsConnectionProperties.getRegion()))
+                .build();
+        return tierChatModel(ModelTier.SIMPLE, simpleModel, resilienceProperties);
+    }
+
+    @Bean
+    public PromptCacheUsageAdvisor promptCacheUsageAdvisor() {
+        return new PromptCacheUsageAdvisor();
+    }
+
+    @Bean
+    public ChatClient bedrockChatClient(ResilientChatModel chatModel, PromptCacheUsageAdvisor promptCacheUsageAdvisor) {
         log.info("🤔 Creating ChatClient ===");
-        log.info("📝 Model ID from options: {}", chatModel.getDefaultOptions().getModel());
+        log.info("📝 Model ID: {}", bedrockProperties.getModelId());
 
-        ChatClient client = ChatClient.builder(chatModel).defaultToolCallbacks(toolCallbackProvider).build();
+        ChatClient client = chatClient(chatModel, promptCacheUsageAdvisor);
         log.info("사용할 수 있는 Tool: ");
         log.info(Arrays.toString(toolCallbackProvider.getToolCallbacks()));
         log.info("✅ ChatClient created\n");
         return client;
     }
+
+    @Bean
+    public ModelRouter modelRouter(ChatClient bedrockChatClient,
+                                   @Nullable @Qualifier("simpleResilientChatModel") ResilientChatModel simpleChatModel,
+                                   PromptCacheUsageAdvisor promptCacheUsageAdvisor,
+                                   QuestionClassifier questionClassifier) {
+        log.info("🤔 Creating ModelRouter");
+
+        Map<ModelTier, ChatClient> chatClients = new EnumMap<>(ModelTier.class);
+        chatClients.put(ModelTier.COMPLEX, bedrockChatClient);
+        if (simpleChatModel != null) {
+            // 모델은 endpoint마다 정해 두므로 ChatClient 기본 옵션으로 모델을 덮어쓰지 않음
+            chatClients.put(ModelTier.SIMPLE, chatClient(simpleChatModel, promptCacheUsageAdvisor));
+        }
+
+        log.info("✅ ModelRouter created - tiers: {}\n", chatClients.keySet());
+        return new ModelRouter(questionClassifier, chatClients);
+    }
+
+    private ResilientChatModel tierChatModel(ModelTier tier, BedrockProxyChatModel primaryModel,
+                                             LlmResilienceProperties resilienceProperties) {
+        log.info("🤔 Creating ResilientChatModel - tier: {}", tier);
+
+        List<ResilientChatModel.Endpoint> endpoints = new ArrayList<>();
+        endpoints.add(new ResilientChatModel.Endpoint(awsConnectionProperties.getRegion(), primaryModel));
+        for (BedrockProperties.Fallback fallback : bedrockProperties.getFallbacks()) {
+            String modelId = fallbackModelId(tier, fallback);
+            Integer maxTokens = tier == ModelTier.SIMPLE
+                    ? bedrockProperties.getSimpleMaxTokens()
+                    : bedrockProperties.getMaxTokens();
+            log.info("📝 Fallback - Region: {}, Model ID: {}, Max Tokens: {}", fallback.getRegion(), modelId, maxTokens);
+            BedrockProxyChatModel fallbackModel = BedrockProxyChatModel.builder()
+                    .defaultOptions(chatOptions(modelId, maxTokens))
+                    .bedrockRuntimeClient(createRuntimeClient(fallback.getRegion()))
+                    .bedrockRuntimeAsyncClient(createRuntimeAsyncClient(fallback.getRegion()))
+                    .region(Region.of(fallback.getRegion()))
+                    .build();
+            endpoints.add(new ResilientChatModel.Endpoint(fallback.getRegion(), fallbackModel));
+        }
+        log.info("📝 Hedging: {}", resilienceProperties.getHedging().isEnabled());
+
+        log.info("✅ ResilientChatModel created - tier: {}, endpoints: {}\n", tier,
+                endpoints.stream().map(ResilientChatModel.Endpoint::name).toList());
+        return new ResilientChatModel(tier, endpoints, resilienceProperties);
+    }
+
+    private String fallbackModelId(ModelTier tier, BedrockProperties.Fallback fallback) {
+        if (tier == ModelTier.SIMPLE) {
+            return StringUtils.hasText(fallback.getSimpleModelId())
+                    ? fallback.getSimpleModelId()
+                    : bedrockProperties.getSimpleModelId();
+        }
+        return StringUtils.hasText(fallback.getModelId())
+                ? fallback.getModelId()
+                : bedrockProperties.getModelId();
+    }
+
+    private ChatClient chatClient(ResilientChatModel chatModel, PromptCacheUsageAdvisor promptCacheUsageAdvisor) {
+        return ChatClient.builder(chatModel)
+                .defaultToolCallbacks(ToolUsage.recording(toolCallbackProvider))
+                .defaultAdvisors(promptCacheUsageAdvisor)
+                .build();
+    }
+
+    BedrockRuntimeClient createRuntimeClient(String region) {
+        log.info("🤔 Creating BedrockRuntimeClient");
+        log.info("📝 Region: {}", region);
+
+        Duration timeout = awsConnectionProperties.getTimeout();
+        log.info("📝 Timeout: {}", timeout);
+
+        BedrockRuntimeClient client = BedrockRuntimeClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(DefaultCredentialsProvider.builder().build())
+                .overrideConfiguration(config -> config
+                        .apiCallTimeout(timeout)
+                        .apiCallAttemptTimeout(timeout))
+                .build();
+
+        log.info("✅ BedrockRuntimeClient created\n");
+        return client;
+    }
+
+    BedrockRuntimeAsyncClient createRuntimeAsyncClient(String region) {
+        log.info("🤔 Creating BedrockRuntimeAsyncClient");
+        log.info("📝 Region: {}", region);
+
+        Duration timeout = awsConnectionProperties.getTimeout();
+        log.info("📝 Timeout: {}", timeout);
+
+        BedrockRuntimeAsyncClient client = BedrockRuntimeAsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(DefaultCredentialsProvider.builder().build())
+                .overrideConfiguration(config -> config
+                        .apiCallTimeout(timeout)
+                        .apiCallAttemptTimeout(timeout))
+                .build();
+
+        log.info("✅ BedrockRuntimeAsyncClient created\n");
+        return client;
+    }
+
+    private BedrockChatOptions chatOptions(String modelId, Integer maxTokens) {
+        return BedrockChatOptions.builder()
+                .model(modelId)
+                .temperature(bedrockProperties.getTemperature())
+                .maxTokens(maxTokens)
+                .cacheOptions(BedrockCacheOptions.builder()
+                        .strategy(bedrockProperties.getCacheStrategy())
+                        .build())
+                .build();
+    }
 }
\ No newline at end of file
@@ -1,21 +1,23 @@
 package core.mcpclient.config;
 
-import org.springframework.ai.chat.memory.ChatMemory;
-import org.springframework.ai.chat.memory.ChatMemoryRepository;
-import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import core.mcpclient.config.properties.ChatMemoryProperties;
+import core.mcpclient.memory.ChatMemoryEntryRepository;
+import core.mcpclient.memory.ChatMemorySummarizer;
+import core.mcpclient.memory.TokenBudgetChatMemory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties(ChatMemoryProperties.class)
 public class ChatMemoryConfig {
 
-    public static final int MAX_MESSAGES = 10;
-
     @Bean
-    public ChatMemory chatMemory(ChatMemoryRepository customChatMemoryRepository) {
-        return MessageWindowChatMemory.builder()
-                .maxMessages(MAX_MESSAGES)
-                .chatMemoryRepository(customChatMemoryRepository)
-                .build();
+    public TokenBudgetChatMemory chatMemory(
+            ChatMemoryEntryRepository customChatMemoryRepository,
+            ChatMemorySummarizer chatMemorySummarizer,
+            ChatMemoryProperties chatMemoryProperties
+    ) {
+        return new TokenBudgetChatMemory(customChatMemoryRepository, chatMemorySummarizer, chatMemoryProperties);
     }
 }
@@ -0,0 +1,12 @@
+package core.mcpclient.config;
+
+import core.mcpclient.config.properties.LlmHealthProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(LlmHealthProperties.class)
+public class LlmHealthConfig {
+}
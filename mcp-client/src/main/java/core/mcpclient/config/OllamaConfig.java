@@ -1,6 +1,11 @@
 package core.mcpclient.config;
 
+import core.mcpclient.routing.ModelRouter;
+import core.mcpclient.routing.ModelTier;
+import core.mcpclient.routing.QuestionClassifier;
+import core.mcpclient.tool.ToolUsage;
 import java.util.Arrays;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
@@ -23,7 +28,13 @@ public class OllamaConfig {
         log.info("사용할 수 있는 Tool: ");
         log.info(Arrays.toString(toolCallbackProvider.getToolCallbacks()));
         return ChatClient.builder(chatModel)
-                .defaultToolCallbacks(toolCallbackProvider)
+                .defaultToolCallbacks(ToolUsage.recording(toolCallbackProvider))
                 .build();
     }
+
+    // local에서는 모델 하나만 띄우므로 모든 질문을 같은 모델로 보냄
+    @Bean
+    public ModelRouter modelRouter(ChatClient ollamaChatClient, QuestionClassifier questionClassifier) {
+        return new ModelRouter(questionClassifier, Map.of(ModelTier.COMPLEX, ollamaChatClient));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package core.mcpclient.config;
+
+import core.mcpclient.config.properties.RoutingProperties;
+import core.mcpclient.routing.QuestionClassifier;
+import core.mcpclient.routing.QuestionScorer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RoutingProperties.class)
+public class RoutingConfig {
+
+    @Bean
+    public QuestionClassifier questionClassifier(RoutingProperties properties, ObjectProvider<QuestionScorer> scorer) {
+        return new QuestionClassifier(properties, scorer.getIfAvailable());
+    }
+}
@@ -0,0 +1,35 @@
+package core.mcpclient.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(AdmissionProperties.CONFIG_PREFIX)
+public class AdmissionProperties {
+
+    public static final String CONFIG_PREFIX = "mcp.llm.admission";
+
+    private boolean enabled = true;
+
+    // 동시에 진행할 수 있는 LLM 요청 수의 시작값. 응답에 따라 minLimit~maxLimit 사이에서 조절됨
+    private int initialLimit = 10;
+
+    private int minLimit = 2;
+
+    private int maxLimit = 100;
+
+    // throttling이나 느린 응답을 받으면 limit에 곱하는 값
+    private double backoffRatio = 0.7;
+
+    // 이보다 오래 걸린 요청은 throttling과 같이 과부하 신호로 봄
+    private Duration slowCallThreshold = Duration.ofSeconds(30);
+
+    // 대기열 전체 크기와 사용자(X-Client-Id) 한 명이 차지할 수 있는 크기
+    private int maxQueueSize = 100;
+
+    private int maxQueueSizePerClient = 10;
+
+    // 대기열에서 이 시간 안에 차례가 오지 않으면 거절함
+    private Duration maxQueueTime = Duration.ofSeconds(30);
+}
@@ -0,0 +1,24 @@
+package core.mcpclient.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(AnswerCacheProperties.CONFIG_PREFIX)
+public class AnswerCacheProperties {
+
+    public static final String CONFIG_PREFIX = "mcp.answer-cache";
+
+    private boolean enabled = true;
+
+    private long maximumSize = 10_000;
+
+    private Duration ttl = Duration.ofHours(1);
+
+    // tool로 조회한 데이터는 금방 바뀌므로 짧게 보관함. 0이면 tool을 사용한 답변은 보관하지 않음
+    private Duration toolAnswerTtl = Duration.ofMinutes(1);
+
+    // 보관한 답변을 스트리밍 응답처럼 나누어 보낼 때 chunk 하나의 글자 수
+    private int replayChunkSize = 20;
+}
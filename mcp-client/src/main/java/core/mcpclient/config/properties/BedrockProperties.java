@@ -1,6 +1,9 @@
 package core.mcpclient.config.properties;
 
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Data;
+import org.springframework.ai.bedrock.converse.api.BedrockCacheStrategy;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @Data
@@ -14,4 +17,27 @@ public class BedrockProperties {
     private Double temperature;
 
     private Integer maxTokens;
-}
\ No newline at end of file
+
+    // 인사, 단순 조회처럼 간단한 질문에 사용할 작은 모델. 지정하지 않으면 모든 질문에 modelId를 사용함
+    private String simpleModelId;
+
+    private Integer simpleMaxTokens = 1_000;
+
+    // 요청마다 같은 system prompt와 tool 정의 뒤에 cache point를 두어 Bedrock이 다시 읽지 않도록 함.
+    // cache point 앞의 내용이 모델별 최소 token 수(Claude 기준 1,024~2,048)보다 짧으면 cache되지 않음
+    private BedrockCacheStrategy cacheStrategy = BedrockCacheStrategy.SYSTEM_AND_TOOLS;
+
+    // 기본 region이 실패하거나 느릴 때 순서대로 사용할 region. modelId, simpleModelId를 비워두면 기본값을 사용함
+    private List<Fallback> fallbacks = new ArrayList<>();
+
+    @Data
+    public static class Fallback {
+
+        private String region;
+
+        private String modelId;
+
+        // 간단한 질문이 이 region으로 넘어왔을 때 사용할 모델
+        private String simpleModelId;
+    }
+}
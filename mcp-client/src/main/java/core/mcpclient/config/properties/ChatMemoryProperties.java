@@ -0,0 +1,37 @@
+package core.mcpclient.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(ChatMemoryProperties.CONFIG_PREFIX)
+public class ChatMemoryProperties {
+
+    public static final String CONFIG_PREFIX = "mcp.memory";
+
+    // 프롬프트에 넣을 대화 기록의 추정 token 예산. 모델마다 다르므로 profile별 설정에서 mcp.bedrock.max-tokens와 함께 지정함
+    private int maxTokens = 4_000;
+
+    // SIMPLE tier 모델로 보내는 질문의 대화 기록 token 예산. 작은 모델의 context와 mcp.bedrock.simple-max-tokens에 맞춰 지정함
+    private int simpleMaxTokens = 1_500;
+
+    // token 예산 안에서 고를 후보로 DB에서 읽어 두는 최근 메시지 수
+    private int maxMessages = 30;
+
+    // token 예산 밖으로 밀려났지만 아직 요약하지 않은 메시지가 이 수 이상 쌓이면 요약을 갱신함
+    private int summaryMinNewMessages = 6;
+
+    // 요약을 한 번 갱신할 때 이전 요약에 합치는 최대 메시지 수
+    private int summaryBatchSize = 100;
+
+    // 요약 갱신 대기열 크기. 가득 차면 요청을 버리고 다음 대화에서 다시 요청함
+    private int summaryQueueCapacity = 100;
+
+    // 모든 대화의 memory window를 합친 추정 메모리 상한. 넘으면 최근에 쓰이지 않은 대화부터 제거함
+    private DataSize cacheMaximumSize = DataSize.ofMegabytes(64);
+
+    // memory window를 DB에서 채운 뒤 이 시간이 지나면 계속 쓰이더라도 제거함. 다른 인스턴스에서 저장한 메시지가 반영되는 최대 지연 시간
+    private Duration cacheTtl = Duration.ofMinutes(1);
+}
@@ -0,0 +1,36 @@
+package core.mcpclient.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(LlmHealthProperties.CONFIG_PREFIX)
+public class LlmHealthProperties {
+
+    public static final String CONFIG_PREFIX = "mcp.llm.health";
+
+    // 최근 이 시간 동안의 실제 LLM 요청으로 상태를 판단함
+    private Duration window = Duration.ofMinutes(1);
+
+    // window 안의 요청이 이보다 적으면 실제 요청 대신 probe 결과로 판단함
+    private int minimumCalls = 5;
+
+    private double degradedFailureRate = 0.1;
+
+    private double unhealthyFailureRate = 0.5;
+
+    // 첫 응답까지의 평균 시간이 이보다 길면 degraded로 봄
+    private Duration degradedLatency = Duration.ofSeconds(10);
+
+    private boolean probeEnabled = true;
+
+    // @Scheduled에서는 mcp.llm.health.probe-interval 값을 직접 읽음
+    private Duration probeInterval = Duration.ofSeconds(30);
+
+    // probe 응답을 기다리는 최대 시간. 넘으면 실패로 기록함
+    private Duration probeTimeout = Duration.ofSeconds(10);
+
+    // probe 결과를 상태 판단에 사용하는 시간
+    private Duration probeTtl = Duration.ofMinutes(2);
+}
@@ -0,0 +1,40 @@
+package core.mcpclient.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(LlmResilienceProperties.CONFIG_PREFIX)
+public class LlmResilienceProperties {
+
+    public static final String CONFIG_PREFIX = "mcp.llm.resilience";
+
+    // endpoint가 연속으로 이 횟수만큼 실패하면 openDuration 동안 요청을 보내지 않음
+    private int failureThreshold = 5;
+
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    private Hedging hedging = new Hedging();
+
+    @Data
+    public static class Hedging {
+
+        // 첫 token이 늦으면 다음 endpoint로 같은 요청을 한 번 더 보냄. 요청 비용이 늘어나므로 기본값은 꺼져 있음
+        private boolean enabled = false;
+
+        // 최근 첫 token 지연 시간의 이 백분위수만큼 기다린 뒤 요청을 한 번 더 보냄
+        private double percentile = 0.95;
+
+        // 지연 시간 표본이 minSamples보다 적을 때 사용하는 대기 시간
+        private Duration initialDelay = Duration.ofSeconds(2);
+
+        private Duration minDelay = Duration.ofMillis(300);
+
+        private Duration maxDelay = Duration.ofSeconds(5);
+
+        private int sampleSize = 200;
+
+        private int minSamples = 20;
+    }
+}
@@ -0,0 +1,20 @@
+package core.mcpclient.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(RoutingProperties.CONFIG_PREFIX)
+public class RoutingProperties {
+
+    public static final String CONFIG_PREFIX = "mcp.routing";
+
+    // false면 모든 질문을 COMPLEX tier로 보냄
+    private boolean enabled = true;
+
+    // 이보다 긴 질문은 COMPLEX tier로 보냄
+    private int simpleMaxLength = 40;
+
+    // QuestionScorer의 점수가 이 값 이상이면 COMPLEX tier로 보냄
+    private double complexScoreThreshold = 0.5;
+}
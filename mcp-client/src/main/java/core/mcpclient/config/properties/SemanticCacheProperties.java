@@ -0,0 +1,30 @@
+package core.mcpclient.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(SemanticCacheProperties.CONFIG_PREFIX)
+public class SemanticCacheProperties {
+
+    public static final String CONFIG_PREFIX = "mcp.semantic-cache";
+
+    // 켜려면 Spring AI EmbeddingModel bean이 있어야 함
+    private boolean enabled = false;
+
+    // 이 값 이상으로 비슷한(cosine 유사도) 질문에만 보관한 답변을 돌려줌
+    private double similarityThreshold = 0.92;
+
+    private int maximumSize = 10_000;
+
+    private Duration ttl = Duration.ofHours(1);
+
+    // HNSW 그래프에서 노드 하나가 가지는 이웃 수
+    private int maxConnections = 16;
+
+    // HNSW 그래프를 만들 때와 찾을 때 살펴보는 후보 수
+    private int efConstruction = 100;
+
+    private int efSearch = 64;
+}
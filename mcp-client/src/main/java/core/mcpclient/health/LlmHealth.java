@@ -0,0 +1,11 @@
+package core.mcpclient.health;
+
+/**
+ * @param calls                window 안의 실제 LLM 요청 수
+ * @param failureRate          window 안의 실제 LLM 요청 중 실패한 비율
+ * @param averageLatencyMillis 성공한 요청이 첫 응답을 받기까지 걸린 평균 시간
+ * @param probed               실제 요청이 적어 probe 결과로 판단했는지 여부
+ */
+public record LlmHealth(LlmHealthStatus status, long calls, double failureRate, long averageLatencyMillis,
+                        boolean probed) {
+}
@@ -0,0 +1,190 @@
+package core.mcpclient.health;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import core.mcpclient.config.properties.LlmHealthProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 실제 LLM 요청의 성공률과 첫 응답까지의 시간을 최근 window 동안 모아 LLM 상태를 판단한다.
+ * window는 BUCKETS개의 구간으로 나누어 오래된 구간부터 버린다.
+ * 요청이 적어 판단할 수 없을 때는 {@link #recordProbe}로 받은 probe 결과를 probeTtl 동안 사용한다.
+ */
+@Component
+public class LlmHealthMonitor implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "mcp.llm.health";
+    private static final int BUCKETS = 12;
+
+    private final int minimumCalls;
+    private final double degradedFailureRate;
+    private final double unhealthyFailureRate;
+    private final long degradedLatencyNanos;
+    private final long probeTtlNanos;
+    private final long bucketNanos;
+    private final Ticker ticker;
+
+    // 아래 배열은 모두 this로 동기화함
+    private final long[] epochs = new long[BUCKETS];
+    private final long[] successes = new long[BUCKETS];
+    private final long[] failures = new long[BUCKETS];
+    private final long[] latencySums = new long[BUCKETS];
+
+    private volatile Probe lastProbe;
+
+    private final LongAdder probeSuccessCount = new LongAdder();
+    private final LongAdder probeFailureCount = new LongAdder();
+
+    @Autowired
+    public LlmHealthMonitor(LlmHealthProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    LlmHealthMonitor(LlmHealthProperties properties, Ticker ticker) {
+        this.minimumCalls = properties.getMinimumCalls();
+        this.degradedFailureRate = properties.getDegradedFailureRate();
+        this.unhealthyFailureRate = properties.getUnhealthyFailureRate();
+        this.degradedLatencyNanos = properties.getDegradedLatency().toNanos();
+        this.probeTtlNanos = properties.getProbeTtl().toNanos();
+        this.bucketNanos = Math.max(1, properties.getWindow().toNanos() / BUCKETS);
+        this.ticker = ticker;
+        Arrays.fill(epochs, Long.MIN_VALUE);
+    }
+
+    /**
+     * 실제 LLM 요청 하나의 결과를 기록하기 시작한다.
+     */
+    public Sample start() {
+        return new Sample(ticker.read());
+    }
+
+    /**
+     * @param latencyNanos probe 요청이 응답을 받기까지 걸린 시간
+     */
+    public void recordProbe(boolean success, long latencyNanos) {
+        lastProbe = new Probe(success, latencyNanos, ticker.read());
+        (success ? probeSuccessCount : probeFailureCount).increment();
+    }
+
+    /**
+     * window 안의 실제 요청이 minimumCalls보다 적어 probe가 필요한지 여부.
+     */
+    public boolean needsProbe() {
+        return health().calls() < minimumCalls;
+    }
+
+    public LlmHealth health() {
+        long now = ticker.read();
+        long epoch = Math.floorDiv(now, bucketNanos);
+        long successCount = 0;
+        long failureCount = 0;
+        long latencySum = 0;
+        synchronized (this) {
+            for (int i = 0; i < BUCKETS; i++) {
+                if (epochs[i] > epoch - BUCKETS) {
+                    successCount += successes[i];
+                    failureCount += failures[i];
+                    latencySum += latencySums[i];
+                }
+            }
+        }
+
+        long calls = successCount + failureCount;
+        if (calls >= minimumCalls) {
+            double failureRate = (double) failureCount / calls;
+            long averageLatency = successCount == 0 ? 0 : latencySum / successCount;
+            return new LlmHealth(statusOf(failureRate, averageLatency), calls, failureRate,
+                    TimeUnit.NANOSECONDS.toMillis(averageLatency), false);
+        }
+
+        Probe probe = lastProbe;
+        if (probe == null || now - probe.checkedAt() > probeTtlNanos) {
+            return new LlmHealth(LlmHealthStatus.UNKNOWN, calls, 0, 0, false);
+        }
+        return new LlmHealth(statusOf(probe.success() ? 0 : 1, probe.latencyNanos()), calls, 0,
+                TimeUnit.NANOSECONDS.toMillis(probe.latencyNanos()), true);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + ".status", this, monitor -> monitor.health().status().ordinal())
+                .description("LLM 상태 (0: healthy, 1: degraded, 2: unhealthy, 3: unknown)")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".probes", probeSuccessCount, LongAdder::sum)
+                .tag("result", "success")
+                .description("실제 요청이 적어 보낸 probe 중 성공한 수")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".probes", probeFailureCount, LongAdder::sum)
+                .tag("result", "failure")
+                .description("실제 요청이 적어 보낸 probe 중 실패한 수")
+                .register(registry);
+    }
+
+    private LlmHealthStatus statusOf(double failureRate, long averageLatencyNanos) {
+        if (failureRate >= unhealthyFailureRate) {
+            return LlmHealthStatus.UNHEALTHY;
+        }
+        if (failureRate >= degradedFailureRate || averageLatencyNanos >= degradedLatencyNanos) {
+            return LlmHealthStatus.DEGRADED;
+        }
+        return LlmHealthStatus.HEALTHY;
+    }
+
+    private synchronized void record(boolean success, long latencyNanos, long now) {
+        long epoch = Math.floorDiv(now, bucketNanos);
+        int index = Math.floorMod(epoch, BUCKETS);
+        if (epochs[index] != epoch) {
+            epochs[index] = epoch;
+            successes[index] = 0;
+            failures[index] = 0;
+            latencySums[index] = 0;
+        }
+        if (success) {
+            successes[index]++;
+            latencySums[index] += latencyNanos;
+        } else {
+            failures[index]++;
+        }
+    }
+
+    /**
+     * 요청 하나의 결과. 스트리밍 요청은 첫 chunk를 받은 시각까지를 응답 시간으로 본다.
+     */
+    public final class Sample {
+
+        private static final long NOT_RESPONDED = Long.MIN_VALUE;
+
+        private final long startedAt;
+        private volatile long respondedAt = NOT_RESPONDED;
+
+        private Sample(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        public void onResponse() {
+            if (respondedAt == NOT_RESPONDED) {
+                respondedAt = ticker.read();
+            }
+        }
+
+        public void success() {
+            long now = ticker.read();
+            long end = respondedAt == NOT_RESPONDED ? now : respondedAt;
+            record(true, end - startedAt, now);
+        }
+
+        public void failure() {
+            record(false, 0, ticker.read());
+        }
+    }
+
+    private record Probe(boolean success, long latencyNanos, long checkedAt) {
+    }
+}
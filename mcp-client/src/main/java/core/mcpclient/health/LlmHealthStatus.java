@@ -0,0 +1,10 @@
+package core.mcpclient.health;
+
+public enum LlmHealthStatus {
+    HEALTHY,
+    // 응답은 하지만 실패가 잦거나 느림
+    DEGRADED,
+    UNHEALTHY,
+    // 최근 요청도, 유효한 probe 결과도 없음
+    UNKNOWN
+}
@@ -0,0 +1,9 @@
+package core.mcpclient.memory;
+
+import org.springframework.ai.chat.messages.Message;
+
+/**
+ * memory window에 담기는 메시지. 같은 채팅 이력이 중복으로 들어가지 않도록 채팅 id를 함께 보관한다.
+ */
+public record ChatMemoryEntry(long chatId, Message message) {
+}
@@ -0,0 +1,20 @@
+package core.mcpclient.memory;
+
+import java.util.List;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+
+/**
+ * 메시지와 함께 채팅 id를 조회해, 요약에 이미 포함된 메시지를 구분할 수 있게 한다.
+ */
+public interface ChatMemoryEntryRepository extends ChatMemoryRepository {
+
+    /**
+     * 대화의 최근 메시지를 오래된 순으로 반환한다. 반환된 목록은 호출한 쪽에서 수정해도 된다.
+     */
+    List<ChatMemoryEntry> findEntriesByConversationId(String conversationId);
+
+    /**
+     * afterChatId보다 크고 beforeChatId보다 작은 메시지를 오래된 순으로 limit개까지 반환한다.
+     */
+    List<ChatMemoryEntry> findEntriesBetween(Long roomId, long afterChatId, long beforeChatId, int limit);
+}
@@ -0,0 +1,56 @@
+package core.mcpclient.memory;
+
+import core.mcpclient.repository.ChatMemorySummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 채팅 이력이 저장되거나 삭제되었을 때 memory window, 요약 캐시, 요약 row를 함께 맞춘다.
+ * chat 모듈은 memory 캐시와 요약 저장소를 직접 다루지 않고 이 클래스만 호출한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatMemoryInvalidator {
+
+    private final ChatMemoryWindowCache chatMemoryWindowCache;
+    private final ChatMemorySummaryRepository chatMemorySummaryRepository;
+    private final ChatMemorySummarizer chatMemorySummarizer;
+
+    /**
+     * commit 된 사용자 메시지를 반영한다. commit 후에 호출해야 한다.
+     */
+    public void userMessageSaved(Long roomId, Long chatId, String content) {
+        chatMemoryWindowCache.appendUserMessage(roomId, chatId, content);
+    }
+
+    /**
+     * commit 된 LLM 메시지를 반영한다. commit 후에 호출해야 한다.
+     */
+    public void assistantMessageSaved(Long roomId, Long chatId, String content) {
+        chatMemoryWindowCache.appendAssistantMessage(roomId, chatId, content);
+    }
+
+    /**
+     * 대화의 요약을 삭제한다. 호출한 쪽의 트랜잭션에 참여하고, 캐시는 commit 된 뒤에 비운다.
+     */
+    public void conversationDeleted(Long roomId) {
+        chatMemorySummaryRepository.deleteByRoomId(roomId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(roomId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(roomId);
+            }
+        });
+    }
+
+    private void evict(Long roomId) {
+        chatMemoryWindowCache.evict(roomId);
+        chatMemorySummarizer.evict(roomId);
+    }
+}
@@ -0,0 +1,226 @@
+package core.mcpclient.memory;
+
+import static core.mcpclient.service.constant.PromptContent.SYSTEM_PROMPT_SUMMARIZE_CHAT;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import core.mcpclient.admission.LlmAdmissionController;
+import core.mcpclient.config.properties.ChatMemoryProperties;
+import core.mcpclient.health.LlmHealthMonitor;
+import core.mcpclient.repository.ChatMemorySummaryRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * token 예산 밖으로 밀려난 오래된 메시지를 대화별 요약(rolling summary)에 합쳐 저장한다.
+ * 요약 갱신은 전용 스레드에서 실행되므로 대화 요청은 LLM 요약 호출을 기다리지 않는다.
+ * 같은 대화의 갱신은 한 번에 하나만 실행되고, 대기열이 가득 차면 요청을 버린 뒤 다음 대화에서 다시 요청한다.
+ * 요약 호출도 사용자 요청과 같은 LLM 동시 요청 상한을 지키며, tool 정의 없이 요청해 tool을 호출하지 않는다.
+ */
+@Slf4j
+@Component
+public class ChatMemorySummarizer implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "mcp.memory.summary";
+
+    // 다른 인스턴스가 갱신한 요약도 이 시간이 지나면 반영됨
+    private static final Duration SUMMARY_CACHE_TTL = Duration.ofMinutes(10);
+    private static final long SUMMARY_CACHE_MAXIMUM_SIZE = 10_000;
+    // LLM 동시 요청 대기열에서 요약 요청을 한 사용자처럼 취급함
+    static final String ADMISSION_CLIENT_ID = "chat-memory-summarizer";
+
+    private final ChatClient chatClient;
+    private final LlmAdmissionController llmAdmissionController;
+    private final LlmHealthMonitor llmHealthMonitor;
+    private final ChatMemoryEntryRepository chatMemoryEntryRepository;
+    private final ChatMemorySummaryRepository chatMemorySummaryRepository;
+    private final ChatMemoryProperties properties;
+
+    private final Cache<Long, Optional<ChatMemorySummary>> summaries;
+    private final Set<Long> refreshingRooms = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    @Autowired
+    public ChatMemorySummarizer(
+            ChatModel chatModel,
+            LlmAdmissionController llmAdmissionController,
+            LlmHealthMonitor llmHealthMonitor,
+            ChatMemoryEntryRepository chatMemoryEntryRepository,
+            ChatMemorySummaryRepository chatMemorySummaryRepository,
+            ChatMemoryProperties properties
+    ) {
+        this(ChatClient.builder(chatModel).build(), llmAdmissionController, llmHealthMonitor,
+                chatMemoryEntryRepository, chatMemorySummaryRepository, properties);
+    }
+
+    ChatMemorySummarizer(
+            ChatClient chatClient,
+            LlmAdmissionController llmAdmissionController,
+            LlmHealthMonitor llmHealthMonitor,
+            ChatMemoryEntryRepository chatMemoryEntryRepository,
+            ChatMemorySummaryRepository chatMemorySummaryRepository,
+            ChatMemoryProperties properties
+    ) {
+        this.chatClient = chatClient;
+        this.llmAdmissionController = llmAdmissionController;
+        this.llmHealthMonitor = llmHealthMonitor;
+        this.chatMemoryEntryRepository = chatMemoryEntryRepository;
+        this.chatMemorySummaryRepository = chatMemorySummaryRepository;
+        this.properties = properties;
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(SUMMARY_CACHE_MAXIMUM_SIZE)
+                .expireAfterWrite(SUMMARY_CACHE_TTL)
+                .build();
+        this.executor = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getSummaryQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "chat-memory-summarizer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+    }
+
+    public Optional<ChatMemorySummary> getSummary(Long roomId) {
+        return summaries.get(roomId, chatMemorySummaryRepository::findByRoomId);
+    }
+
+    /**
+     * foldBeforeChatId 이전의 요약하지 않은 메시지를 요약에 합치도록 요청하고 바로 반환한다.
+     */
+    public void requestRefresh(Long roomId, long foldBeforeChatId) {
+        if (!refreshingRooms.add(roomId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh(roomId, foldBeforeChatId);
+                    successCount.increment();
+                } catch (Exception e) {
+                    failureCount.increment();
+                    log.warn("방 {}의 대화 요약 갱신 실패", roomId, e);
+                } finally {
+                    refreshingRooms.remove(roomId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshingRooms.remove(roomId);
+            rejectedCount.increment();
+        }
+    }
+
+    public void evict(Long roomId) {
+        summaries.invalidate(roomId);
+    }
+
+    /**
+     * 이전 요약 이후의 메시지가 충분히 쌓였으면 LLM으로 요약을 갱신해 저장한다.
+     *
+     * @return 요약을 갱신했으면 true
+     */
+    boolean refresh(Long roomId, long foldBeforeChatId) {
+        Optional<ChatMemorySummary> previous = chatMemorySummaryRepository.findByRoomId(roomId);
+        long afterChatId = previous.map(ChatMemorySummary::lastChatId).orElse(0L);
+        List<ChatMemoryEntry> entries = chatMemoryEntryRepository.findEntriesBetween(
+                roomId, afterChatId, foldBeforeChatId, properties.getSummaryBatchSize());
+        if (entries.size() < properties.getSummaryMinNewMessages()) {
+            summaries.put(roomId, previous);
+            return false;
+        }
+
+        String input = toSummaryInput(previous, entries);
+        String summary = llmAdmissionController.call(ADMISSION_CLIENT_ID, () -> summarize(input));
+        if (!StringUtils.hasText(summary)) {
+            throw new IllegalStateException("LLM 요약 응답이 존재하지 않습니다.");
+        }
+
+        ChatMemorySummary updated = new ChatMemorySummary(roomId, summary.strip(), entries.getLast().chatId());
+        if (chatMemorySummaryRepository.save(updated)) {
+            summaries.put(roomId, Optional.of(updated));
+        } else {
+            summaries.invalidate(roomId);
+        }
+        return true;
+    }
+
+    private String summarize(String input) {
+        LlmHealthMonitor.Sample sample = llmHealthMonitor.start();
+        try {
+            String summary = chatClient.prompt()
+                    .system(SYSTEM_PROMPT_SUMMARIZE_CHAT.getContent())
+                    .user(input)
+                    .call()
+                    .content();
+            sample.success();
+            return summary;
+        } catch (RuntimeException e) {
+            sample.failure();
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".refreshes", successCount, LongAdder::sum)
+                .tag("result", "success")
+                .description("대화 요약 갱신 요청을 처리한 횟수")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".refreshes", failureCount, LongAdder::sum)
+                .tag("result", "failure")
+                .description("대화 요약 갱신에 실패한 횟수")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".refreshes", rejectedCount, LongAdder::sum)
+                .tag("result", "rejected")
+                .description("대기열이 가득 차 버린 대화 요약 갱신 요청 수")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", executor, e -> e.getQueue().size())
+                .description("대기 중인 대화 요약 갱신 요청 수")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static String toSummaryInput(Optional<ChatMemorySummary> previous, List<ChatMemoryEntry> entries) {
+        StringBuilder input = new StringBuilder("[기존 요약]\n")
+                .append(previous.map(ChatMemorySummary::summary).orElse("없음"))
+                .append("\n\n[새 대화]\n");
+        for (ChatMemoryEntry entry : entries) {
+            MessageType type = entry.message().getMessageType();
+            if (type == MessageType.USER) {
+                input.append("사용자: ").append(entry.message().getText()).append('\n');
+            } else if (type == MessageType.ASSISTANT) {
+                input.append("AI: ").append(entry.message().getText()).append('\n');
+            }
+        }
+        return input.toString();
+    }
+}
@@ -0,0 +1,7 @@
+package core.mcpclient.memory;
+
+/**
+ * @param lastChatId 요약에 포함된 마지막 메시지의 채팅 id
+ */
+public record ChatMemorySummary(Long roomId, String summary, long lastChatId) {
+}
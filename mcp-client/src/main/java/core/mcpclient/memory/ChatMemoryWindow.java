@@ -0,0 +1,61 @@
+package core.mcpclient.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한 대화의 최근 메시지를 채팅 id 오름차순으로 capacity개까지 담는다.
+ */
+final class ChatMemoryWindow {
+
+    // Message, metadata map, entry 객체 헤더를 합친 대략적인 크기
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+    private static final int WINDOW_OVERHEAD_BYTES = 64;
+
+    private final int capacity;
+    private final List<ChatMemoryEntry> entries;
+    private long contentBytes;
+
+    ChatMemoryWindow(int capacity) {
+        this.capacity = capacity;
+        this.entries = new ArrayList<>(capacity);
+    }
+
+    /**
+     * 호출한 쪽에서 목록을 수정할 수 있도록 매번 새 목록을 반환한다.
+     */
+    synchronized List<ChatMemoryEntry> entries() {
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * 채팅 id 순서에 맞게 추가한다. 이미 담고 있는 id와 가득 찬 상태에서 가장 오래된 메시지보다 오래된 메시지는 무시한다.
+     */
+    synchronized void add(ChatMemoryEntry entry) {
+        int position = entries.size();
+        while (position > 0 && entries.get(position - 1).chatId() > entry.chatId()) {
+            position--;
+        }
+        if (position > 0 && entries.get(position - 1).chatId() == entry.chatId()) {
+            return;
+        }
+        if (position == 0 && entries.size() == capacity) {
+            return;
+        }
+        entries.add(position, entry);
+        contentBytes += weightOf(entry);
+        if (entries.size() > capacity) {
+            contentBytes -= weightOf(entries.remove(0));
+        }
+    }
+
+    synchronized int estimatedBytes() {
+        return (int) Math.min(Integer.MAX_VALUE, WINDOW_OVERHEAD_BYTES + contentBytes);
+    }
+
+    private static long weightOf(ChatMemoryEntry entry) {
+        String text = entry.message().getText();
+        // 한글이 섞인 문자열은 UTF-16으로 저장되므로 글자당 2byte로 계산
+        return ENTRY_OVERHEAD_BYTES + (text == null ? 0 : 2L * text.length());
+    }
+}
@@ -0,0 +1,150 @@
+package core.mcpclient.memory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import core.mcpclient.config.properties.ChatMemoryProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM 호출 전에 읽는 대화별 memory window를 보관해, 방금 저장한 메시지를 다시 DB에서 읽지 않게 한다.
+ * window는 DB 조회 결과로 채워지고, 이후 저장되는 메시지는 이미 window가 있는 대화에만 추가된다.
+ * 전체 추정 메모리가 상한을 넘으면 최근에 쓰이지 않은 대화부터 제거되고, DB에서 채운 뒤 cacheTtl이 지나면 제거된다.
+ * 다른 인스턴스에서 저장한 메시지는 늦어도 cacheTtl이 지나면 반영된다.
+ */
+@Component
+public class ChatMemoryWindowCache implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "mcp.memory.cache";
+    private static final int WRITE_STAMP_STRIPES = 1024;
+
+    private final int windowSize;
+    private final Cache<Long, ChatMemoryWindow> windows;
+
+    // 방 id를 stripe로 나눈 쓰기 횟수. DB 조회 전후로 값이 바뀌었다면 조회 결과가 최신이 아닐 수 있으므로 window를 채우지 않음
+    private final AtomicLongArray writeStamps = new AtomicLongArray(WRITE_STAMP_STRIPES);
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    @Autowired
+    public ChatMemoryWindowCache(ChatMemoryProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    ChatMemoryWindowCache(ChatMemoryProperties properties, Ticker ticker) {
+        this.windowSize = properties.getMaxMessages();
+        Duration ttl = properties.getCacheTtl();
+        this.windows = Caffeine.newBuilder()
+                .maximumWeight(properties.getCacheMaximumSize().toBytes())
+                .weigher((Long roomId, ChatMemoryWindow window) -> window.estimatedBytes())
+                // 메시지 추가도 값을 다시 쓰므로 expireAfterWrite 대신 처음 채운 시점을 기준으로 만료시킴
+                .expireAfter(Expiry.creating((Long roomId, ChatMemoryWindow window) -> ttl))
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * 대화의 메시지를 오래된 순으로 반환한다. 반환된 목록은 호출한 쪽에서 수정해도 된다.
+     */
+    public Optional<List<ChatMemoryEntry>> get(Long roomId) {
+        ChatMemoryWindow window = windows.getIfPresent(roomId);
+        if (window == null) {
+            missCount.increment();
+            return Optional.empty();
+        }
+        hitCount.increment();
+        return Optional.of(window.entries());
+    }
+
+    /**
+     * DB 조회 직전에 호출해 {@link #fill}에 넘길 값을 얻는다.
+     */
+    public long writeStamp(Long roomId) {
+        return writeStamps.get(stripeOf(roomId));
+    }
+
+    /**
+     * DB에서 조회한 메시지로 window를 채운다. stamp를 얻은 뒤 같은 방에 쓰기가 있었다면 채우지 않는다.
+     */
+    public void fill(Long roomId, List<ChatMemoryEntry> entries, long stamp) {
+        windows.asMap().compute(roomId, (id, existing) -> {
+            if (existing != null || writeStamps.get(stripeOf(id)) != stamp) {
+                return existing;
+            }
+            ChatMemoryWindow window = new ChatMemoryWindow(windowSize);
+            entries.forEach(window::add);
+            return window;
+        });
+    }
+
+    /**
+     * commit 된 사용자 메시지를 window가 있는 대화에 추가한다.
+     */
+    public void appendUserMessage(Long roomId, Long chatId, String content) {
+        append(roomId, new ChatMemoryEntry(chatId, new UserMessage(content)));
+    }
+
+    /**
+     * commit 된 LLM 메시지를 window가 있는 대화에 추가한다.
+     */
+    public void appendAssistantMessage(Long roomId, Long chatId, String content) {
+        append(roomId, new ChatMemoryEntry(chatId, new AssistantMessage(content)));
+    }
+
+    public void evict(Long roomId) {
+        writeStamps.incrementAndGet(stripeOf(roomId));
+        windows.invalidate(roomId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", hitCount, LongAdder::sum)
+                .tag("result", "hit")
+                .description("chat memory를 캐시에서 읽은 횟수")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", missCount, LongAdder::sum)
+                .tag("result", "miss")
+                .description("chat memory를 DB에서 읽은 횟수")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".conversations", windows, Cache::estimatedSize)
+                .description("memory window를 보관 중인 대화 수")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".memory", this, ChatMemoryWindowCache::estimatedBytes)
+                .description("보관 중인 memory window의 추정 heap 크기")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    long estimatedBytes() {
+        windows.cleanUp(); // 대기 중인 weight 변경을 반영
+        return windows.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private void append(Long roomId, ChatMemoryEntry entry) {
+        writeStamps.incrementAndGet(stripeOf(roomId));
+        windows.asMap().computeIfPresent(roomId, (id, window) -> {
+            window.add(entry);
+            return window; // 다시 반환해야 변경된 크기로 weight가 갱신됨
+        });
+    }
+
+    private static int stripeOf(Long roomId) {
+        return Math.floorMod(Long.hashCode(roomId), WRITE_STAMP_STRIPES);
+    }
+}
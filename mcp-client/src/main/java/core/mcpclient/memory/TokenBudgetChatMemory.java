@@ -0,0 +1,149 @@
+package core.mcpclient.memory;
+
+import core.mcpclient.config.properties.ChatMemoryProperties;
+import core.mcpclient.routing.ModelTier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.util.Assert;
+
+/**
+ * 메시지 개수 대신 추정 token 예산으로 대화 기록을 고른다.
+ * 가장 최근 대화(마지막 사용자 메시지와 그 답변)는 예산을 넘더라도 항상 포함하고,
+ * 그보다 오래된 메시지는 예산 안에 들어가는 만큼 최신순으로 이어 붙인다.
+ * 예산 밖으로 밀려난 메시지는 대화 요약에 합쳐지고, 요약은 맨 앞에 system 메시지로 들어간다.
+ * 예산은 질문을 보낼 모델의 tier마다 다르며, 요약은 tier와 상관없이 COMPLEX 예산을 기준으로 갱신한다.
+ */
+public class TokenBudgetChatMemory implements ChatMemory {
+
+    static final String SUMMARY_MESSAGE_PREFIX = "[이전 대화 요약]\n";
+
+    private final ChatMemoryEntryRepository chatMemoryEntryRepository;
+    private final ChatMemorySummarizer chatMemorySummarizer;
+    private final int maxTokens;
+    private final int simpleMaxTokens;
+    private final int maxMessages;
+    private final int summaryMinNewMessages;
+
+    public TokenBudgetChatMemory(
+            ChatMemoryEntryRepository chatMemoryEntryRepository,
+            ChatMemorySummarizer chatMemorySummarizer,
+            ChatMemoryProperties properties
+    ) {
+        Assert.notNull(chatMemoryEntryRepository, "chatMemoryEntryRepository cannot be null");
+        Assert.notNull(chatMemorySummarizer, "chatMemorySummarizer cannot be null");
+        Assert.isTrue(properties.getMaxTokens() > 0, "maxTokens must be greater than 0");
+        Assert.isTrue(properties.getSimpleMaxTokens() > 0, "simpleMaxTokens must be greater than 0");
+        this.chatMemoryEntryRepository = chatMemoryEntryRepository;
+        this.chatMemorySummarizer = chatMemorySummarizer;
+        this.maxTokens = properties.getMaxTokens();
+        this.simpleMaxTokens = properties.getSimpleMaxTokens();
+        this.maxMessages = properties.getMaxMessages();
+        this.summaryMinNewMessages = properties.getSummaryMinNewMessages();
+    }
+
+    @Override
+    public void add(String conversationId, List<Message> messages) {
+        Assert.hasText(conversationId, "conversationId cannot be empty");
+        List<Message> memoryMessages = new ArrayList<>(chatMemoryEntryRepository.findByConversationId(conversationId));
+        memoryMessages.addAll(messages);
+        chatMemoryEntryRepository.saveAll(conversationId, memoryMessages);
+    }
+
+    /**
+     * COMPLEX tier의 예산으로 고른 대화 기록을 오래된 순으로 반환한다. 반환된 목록은 호출한 쪽에서 수정해도 된다.
+     */
+    @Override
+    public List<Message> get(String conversationId) {
+        return get(conversationId, ModelTier.COMPLEX);
+    }
+
+    /**
+     * 질문을 보낼 모델 tier의 예산으로 고른 대화 기록을 오래된 순으로 반환한다. 반환된 목록은 호출한 쪽에서 수정해도 된다.
+     */
+    public List<Message> get(String conversationId, ModelTier tier) {
+        Assert.hasText(conversationId, "conversationId cannot be empty");
+        List<ChatMemoryEntry> history = chatMemoryEntryRepository.findEntriesByConversationId(conversationId);
+        if (history.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Long roomId = Long.valueOf(conversationId);
+        Optional<ChatMemorySummary> summary = chatMemorySummarizer.getSummary(roomId);
+        Optional<Message> summaryMessage = summary.map(s -> new SystemMessage(SUMMARY_MESSAGE_PREFIX + s.summary()));
+
+        // 요약에 이미 포함된 메시지는 다시 넣지 않음
+        int newestTurnStart = newestTurnStart(history);
+        long summarizedChatId = summary.map(ChatMemorySummary::lastChatId).orElse(0L);
+        int from = 0;
+        while (from < newestTurnStart && history.get(from).chatId() <= summarizedChatId) {
+            from++;
+        }
+
+        int usedTokens = summaryMessage.map(TokenEstimator::estimate).orElse(0);
+        for (int i = newestTurnStart; i < history.size(); i++) {
+            usedTokens += TokenEstimator.estimate(history.get(i).message());
+        }
+
+        int start = windowStart(history, from, newestTurnStart, usedTokens, budgetOf(tier));
+
+        // 작은 예산에서 밀려난 메시지까지 요약하면 COMPLEX tier의 질문에서도 빠지므로 COMPLEX 예산을 기준으로 요약함
+        int summaryStart = tier == ModelTier.COMPLEX
+                ? start
+                : windowStart(history, from, newestTurnStart, usedTokens, maxTokens);
+        // 조회한 메시지보다 오래된 메시지가 요약되지 않은 채 남아 있을 수 있으면 개수와 상관없이 확인을 요청함
+        boolean olderMessagesUnsummarized = from == 0 && history.size() >= maxMessages;
+        if (summaryStart - from >= summaryMinNewMessages || olderMessagesUnsummarized) {
+            chatMemorySummarizer.requestRefresh(roomId, history.get(summaryStart).chatId());
+        }
+
+        List<Message> messages = new ArrayList<>(history.size() - start + 2);
+        summaryMessage.ifPresent(messages::add);
+        for (int i = start; i < history.size(); i++) {
+            messages.add(history.get(i).message());
+        }
+        return messages;
+    }
+
+    @Override
+    public void clear(String conversationId) {
+        Assert.hasText(conversationId, "conversationId cannot be empty");
+        chatMemoryEntryRepository.deleteByConversationId(conversationId);
+    }
+
+    private int budgetOf(ModelTier tier) {
+        return tier == ModelTier.SIMPLE ? simpleMaxTokens : maxTokens;
+    }
+
+    // 가장 최근 대화 앞에 예산 안에 들어가는 만큼 오래된 메시지를 붙였을 때 첫 메시지의 위치
+    private static int windowStart(
+            List<ChatMemoryEntry> history, int from, int newestTurnStart, int usedTokens, int budget
+    ) {
+        int start = newestTurnStart;
+        while (start > from) {
+            int tokens = TokenEstimator.estimate(history.get(start - 1).message());
+            if (usedTokens + tokens > budget) {
+                break;
+            }
+            usedTokens += tokens;
+            start--;
+        }
+        // 예산 경계에서 답변만 남은 경우 질문 없는 답변으로 대화가 시작되지 않도록 버림
+        while (start < newestTurnStart && history.get(start).message().getMessageType() != MessageType.USER) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int newestTurnStart(List<ChatMemoryEntry> history) {
+        for (int i = history.size() - 1; i >= 0; i--) {
+            if (history.get(i).message().getMessageType() == MessageType.USER) {
+                return i;
+            }
+        }
+        return history.size() - 1;
+    }
+}
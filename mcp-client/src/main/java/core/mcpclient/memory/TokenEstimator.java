@@ -0,0 +1,50 @@
+package core.mcpclient.memory;
+
+import org.springframework.ai.chat.messages.Message;
+
+/**
+ * 모델 tokenizer를 호출하지 않고 문자 종류별 비율로 token 수를 추정한다.
+ * 한글은 영문보다 글자당 token이 훨씬 많으므로 글자 수 기준으로 계산하고, 예산을 넘지 않도록 실제보다 조금 크게 잡는다.
+ */
+public final class TokenEstimator {
+
+    // role 구분자 등 메시지마다 붙는 token
+    static final int MESSAGE_OVERHEAD_TOKENS = 4;
+
+    // 영문, 숫자는 대략 4글자가 1 token
+    private static final int ASCII_CHARS_PER_TOKEN = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(Message message) {
+        return MESSAGE_OVERHEAD_TOKENS + estimate(message.getText());
+    }
+
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int tokens = 0;
+        int asciiRun = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (codePoint < 0x80 && Character.isLetterOrDigit(codePoint)) {
+                asciiRun++;
+                continue;
+            }
+            tokens += ceilDiv(asciiRun);
+            asciiRun = 0;
+            if (!Character.isWhitespace(codePoint)) {
+                // 한글, 한자, 기호, 이모지는 글자마다 1 token으로 계산
+                tokens++;
+            }
+        }
+        return tokens + ceilDiv(asciiRun);
+    }
+
+    private static int ceilDiv(int asciiRun) {
+        return (asciiRun + ASCII_CHARS_PER_TOKEN - 1) / ASCII_CHARS_PER_TOKEN;
+    }
+}
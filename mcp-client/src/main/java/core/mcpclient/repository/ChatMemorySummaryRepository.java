@@ -0,0 +1,64 @@
+package core.mcpclient.repository;
+
+import core.mcpclient.memory.ChatMemorySummary;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class ChatMemorySummaryRepository {
+
+    private static final String SELECT_SUMMARY_SQL =
+            "SELECT room_id, summary, last_chat_id FROM chat_memory_summary WHERE room_id = ?";
+    // 더 최신 메시지까지 요약한 결과가 이미 저장되어 있다면 덮어쓰지 않음
+    private static final String UPDATE_SUMMARY_SQL =
+            "UPDATE chat_memory_summary SET summary = ?, last_chat_id = ?, updated_at = ? "
+                    + "WHERE room_id = ? AND last_chat_id < ?";
+    // 요약하는 동안 방이 삭제되었다면 요약을 다시 만들지 않음
+    private static final String INSERT_SUMMARY_SQL =
+            "INSERT INTO chat_memory_summary (room_id, summary, last_chat_id, updated_at) "
+                    + "SELECT id, ?, ?, ? FROM chat_room WHERE id = ?";
+    private static final String DELETE_SUMMARY_SQL =
+            "DELETE FROM chat_memory_summary WHERE room_id = ?";
+
+    private static final RowMapper<ChatMemorySummary> SUMMARY_ROW_MAPPER = (rs, rowNum) ->
+            new ChatMemorySummary(rs.getLong("room_id"), rs.getString("summary"), rs.getLong("last_chat_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<ChatMemorySummary> findByRoomId(Long roomId) {
+        List<ChatMemorySummary> summaries = jdbcTemplate.query(SELECT_SUMMARY_SQL, SUMMARY_ROW_MAPPER, roomId);
+        return summaries.stream().findFirst();
+    }
+
+    /**
+     * 요약을 저장한다. DB 종류와 상관없이 동작하도록 UPDATE 후 대상이 없으면 INSERT 한다.
+     *
+     * @return 저장했으면 true, 다른 곳에서 더 최신 요약을 먼저 저장했거나 방이 삭제되었으면 false
+     */
+    public boolean save(ChatMemorySummary summary) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int updated = jdbcTemplate.update(UPDATE_SUMMARY_SQL,
+                summary.summary(), summary.lastChatId(), now, summary.roomId(), summary.lastChatId());
+        if (updated == 1) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update(INSERT_SUMMARY_SQL,
+                    summary.summary(), summary.lastChatId(), now, summary.roomId()) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public void deleteByRoomId(Long roomId) {
+        jdbcTemplate.update(DELETE_SUMMARY_SQL, roomId);
+    }
+}
@@ -1,13 +1,16 @@
 package core.mcpclient.repository;
 
-import static core.mcpclient.config.ChatMemoryConfig.MAX_MESSAGES;
-
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
+import core.mcpclient.config.properties.ChatMemoryProperties;
+import core.mcpclient.memory.ChatMemoryEntry;
+import core.mcpclient.memory.ChatMemoryEntryRepository;
+import core.mcpclient.memory.ChatMemoryWindowCache;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.UserMessage;
@@ -22,22 +25,52 @@ import org.springframework.jdbc.core.RowMapper;
 
 @Repository
 @RequiredArgsConstructor
-public class CustomChatMemoryRepository implements ChatMemoryRepository {
+public class CustomChatMemoryRepository implements ChatMemoryEntryRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final ChatMemoryWindowCache chatMemoryWindowCache;
+    private final ChatMemoryProperties chatMemoryProperties;
+    // (room_id, id) 인덱스를 역순으로 읽어 방의 메시지 수와 상관없이 최신 메시지만 조회함
     private static final String SELECT_MESSAGES_SQL =
-            "SELECT content, type FROM chat_history WHERE room_id = ? ORDER BY id LIMIT ?";
+            "SELECT id, content, type FROM chat_history WHERE room_id = ? ORDER BY id DESC LIMIT ?";
+    private static final String SELECT_MESSAGES_BETWEEN_SQL =
+            "SELECT id, content, type FROM chat_history WHERE room_id = ? AND id > ? AND id < ? ORDER BY id LIMIT ?";
     // 원래 구현되어 있었던 SQL:
     // return "SELECT content, type FROM SPRING_AI_CHAT_MEMORY WHERE conversation_id = ? ORDER BY \"timestamp\"";
 
+    private static final RowMapper<Message> MESSAGE_ROW_MAPPER = new MessageRowMapper();
+    // window에 중복으로 들어가지 않도록 채팅 id를 함께 읽음
+    private static final RowMapper<ChatMemoryEntry> ENTRY_ROW_MAPPER = (rs, rowNum) ->
+            new ChatMemoryEntry(rs.getLong("id"), MESSAGE_ROW_MAPPER.mapRow(rs, rowNum));
+
     @Override
     public List<Message> findByConversationId(String conversationId) {
+        return findEntriesByConversationId(conversationId).stream()
+                .map(ChatMemoryEntry::message)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ChatMemoryEntry> findEntriesByConversationId(String conversationId) {
         Assert.hasText(conversationId, "conversationId cannot be empty");
         Long roomId = Long.valueOf(conversationId);
-        return jdbcTemplate.query(SELECT_MESSAGES_SQL, new MessageRowMapper(), roomId, MAX_MESSAGES);
+        return chatMemoryWindowCache.get(roomId).orElseGet(() -> {
+            long writeStamp = chatMemoryWindowCache.writeStamp(roomId);
+            List<ChatMemoryEntry> entries = jdbcTemplate.query(SELECT_MESSAGES_SQL, ENTRY_ROW_MAPPER, roomId,
+                    chatMemoryProperties.getMaxMessages());
+            Collections.reverse(entries); // 최신순으로 읽었으므로 LLM에 넘길 대화 순서로 되돌림
+            chatMemoryWindowCache.fill(roomId, entries, writeStamp);
+            return entries;
+        });
+    }
+
+    @Override
+    public List<ChatMemoryEntry> findEntriesBetween(Long roomId, long afterChatId, long beforeChatId, int limit) {
+        return jdbcTemplate.query(SELECT_MESSAGES_BETWEEN_SQL, ENTRY_ROW_MAPPER, roomId, afterChatId, beforeChatId,
+                limit);
     }
 
-    private static class MessageRowMapper implements RowMapper<Message> {
+    static class MessageRowMapper implements RowMapper<Message> {
         @Override
         public Message mapRow(ResultSet rs, int rowNum) throws SQLException {
             String content = rs.getString("content");
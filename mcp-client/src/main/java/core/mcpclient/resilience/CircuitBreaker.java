@@ -0,0 +1,73 @@
+package core.mcpclient.resilience;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.time.Duration;
+
+/**
+ * endpoint 하나의 연속 실패 횟수를 세어, failureThreshold에 이르면 openDuration 동안 요청을 막는다.
+ * openDuration이 지나면 요청 하나만 시험 삼아 보내고, 그 결과에 따라 다시 열거나 닫는다.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Ticker ticker;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt;
+    private boolean trialInFlight = false;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, Ticker ticker) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.ticker = ticker;
+    }
+
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN && ticker.read() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = ticker.read();
+            consecutiveFailures = 0;
+        }
+    }
+
+    /**
+     * 결과 없이 취소된 요청. 성공이나 실패로 세지 않고 시험 요청 자리만 돌려준다.
+     */
+    synchronized void onCancel() {
+        trialInFlight = false;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
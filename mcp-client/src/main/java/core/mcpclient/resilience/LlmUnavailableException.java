@@ -0,0 +1,11 @@
+package core.mcpclient.resilience;
+
+/**
+ * 사용할 수 있는 LLM endpoint가 없거나 모든 endpoint 호출이 실패했을 때 발생한다.
+ */
+public class LlmUnavailableException extends RuntimeException {
+
+    public LlmUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,376 @@
+package core.mcpclient.resilience;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import core.mcpclient.config.properties.LlmResilienceProperties;
+import core.mcpclient.routing.ModelTier;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+/**
+ * 순서대로 나열한 endpoint(region, 모델)에 요청을 보내고, 실패하면 다음 endpoint로 넘어간다.
+ * endpoint마다 circuit breaker를 두어 계속 실패하는 endpoint는 건너뛴다.
+ * 스트리밍은 첫 token을 받기 전까지만 다음 endpoint로 넘어가며, hedging을 켜면 첫 token이 늦을 때 다음 endpoint로
+ * 같은 요청을 한 번 더 보내 먼저 답하는 쪽을 사용하고 나머지는 취소한다.
+ * throttling, 5xx, timeout처럼 endpoint 상태 때문에 실패한 요청만 실패로 세며, 잘못된 요청(4xx)은 어느 endpoint로 보내도
+ * 실패하므로 다음 endpoint로 넘기지 않고 바로 던진다.
+ * endpoint마다 모델이 다를 수 있으므로 model tier마다 따로 만들어 각 endpoint의 기본 옵션(모델, maxTokens)으로 요청한다.
+ */
+@Slf4j
+public class ResilientChatModel implements ChatModel, MeterBinder {
+
+    private static final String METRIC_PREFIX = "mcp.llm";
+
+    private final String tier;
+    private final List<EndpointState> endpoints;
+    private final boolean hedgingEnabled;
+    private final double hedgingPercentile;
+    private final int hedgingMinSamples;
+    private final Duration initialHedgeDelay;
+    private final Duration minHedgeDelay;
+    private final Duration maxHedgeDelay;
+    private final LatencyWindow firstTokenLatencies;
+    private final Ticker ticker;
+    private final Scheduler scheduler;
+
+    private final LongAdder hedgeCount = new LongAdder();
+    private final LongAdder hedgeWinCount = new LongAdder();
+
+    public ResilientChatModel(ModelTier tier, List<Endpoint> endpoints, LlmResilienceProperties properties) {
+        this(tier, endpoints, properties, Ticker.systemTicker(), Schedulers.parallel());
+    }
+
+    ResilientChatModel(ModelTier tier, List<Endpoint> endpoints, LlmResilienceProperties properties, Ticker ticker,
+                       Scheduler scheduler) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("LLM endpoint가 하나 이상 필요합니다.");
+        }
+        this.tier = tier.name().toLowerCase(Locale.ROOT);
+        this.endpoints = endpoints.stream()
+                .map(endpoint -> new EndpointState(endpoint,
+                        new CircuitBreaker(properties.getFailureThreshold(), properties.getOpenDuration(), ticker)))
+                .toList();
+        LlmResilienceProperties.Hedging hedging = properties.getHedging();
+        this.hedgingEnabled = hedging.isEnabled();
+        this.hedgingPercentile = hedging.getPercentile();
+        this.hedgingMinSamples = hedging.getMinSamples();
+        this.initialHedgeDelay = hedging.getInitialDelay();
+        this.minHedgeDelay = hedging.getMinDelay();
+        this.maxHedgeDelay = hedging.getMaxDelay();
+        this.firstTokenLatencies = new LatencyWindow(hedging.getSampleSize());
+        this.ticker = ticker;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        RuntimeException lastError = null;
+        for (EndpointState endpoint : endpoints) {
+            if (!endpoint.tryAcquire()) {
+                continue;
+            }
+            try {
+                ChatResponse response = endpoint.chatModel().call(prompt);
+                endpoint.onSuccess();
+                return response;
+            } catch (RuntimeException e) {
+                if (!isEndpointFailure(e)) {
+                    endpoint.onRequestError();
+                    throw e;
+                }
+                endpoint.onFailure();
+                log.warn("LLM endpoint 호출에 실패해 다음 endpoint로 넘어갑니다. endpoint={}", endpoint.name(), e);
+                lastError = e;
+            }
+        }
+        throw unavailable(lastError);
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            RequestRejection rejection = new RequestRejection();
+            Flux<ChatResponse> primary = streamFrom(0, endpoints.size(), prompt, false, rejection, null);
+            if (!hedgingEnabled) {
+                return primary;
+            }
+            // endpoint가 하나뿐이면 같은 endpoint로 한 번 더 보냄
+            int hedgeStart = endpoints.size() > 1 ? 1 : 0;
+            // 잘못된 요청으로 거절되었으면 한 번 더 보내지 않음
+            Flux<ChatResponse> hedge = Mono.delay(hedgeDelay(), scheduler)
+                    .takeUntilOther(rejection.signal())
+                    .flatMapMany(tick -> {
+                        hedgeCount.increment();
+                        log.debug("첫 token이 늦어 다음 LLM endpoint로 요청을 한 번 더 보냅니다.");
+                        return streamFrom(hedgeStart, endpoints.size(), prompt, true, rejection, null);
+                    });
+            // 먼저 값을 보낸 쪽만 사용하고 나머지는 취소함. 둘 다 실패하면 NoSuchElementException으로 끝남
+            return Flux.firstWithValue(primary, hedge)
+                    .onErrorMap(NoSuchElementException.class, e -> rejection.error() != null
+                            ? rejection.error()
+                            : new LlmUnavailableException("모든 LLM endpoint 호출에 실패했습니다.", e));
+        });
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        // endpoint마다 기본 옵션(모델 등)이 다르므로 비워 두어 각 endpoint의 기본값을 사용하게 함
+        return ToolCallingChatOptions.builder().build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (EndpointState endpoint : endpoints) {
+            endpoint.bindTo(registry, tier);
+        }
+        FunctionCounter.builder(METRIC_PREFIX + ".hedge.requests", hedgeCount, LongAdder::sum)
+                .tag("tier", tier)
+                .tag("result", "fired")
+                .description("첫 token이 늦어 한 번 더 보낸 요청 수")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".hedge.requests", hedgeWinCount, LongAdder::sum)
+                .tag("tier", tier)
+                .tag("result", "won")
+                .description("한 번 더 보낸 요청이 먼저 답한 횟수")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".hedge.delay", this, model -> model.hedgeDelay().toMillis())
+                .tag("tier", tier)
+                .description("한 번 더 요청을 보내기 전에 첫 token을 기다리는 시간")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    Duration hedgeDelay() {
+        OptionalLong percentile = firstTokenLatencies.percentile(hedgingPercentile, hedgingMinSamples);
+        if (percentile.isEmpty()) {
+            return initialHedgeDelay;
+        }
+        Duration delay = Duration.ofNanos(percentile.getAsLong());
+        if (delay.compareTo(minHedgeDelay) < 0) {
+            return minHedgeDelay;
+        }
+        return delay.compareTo(maxHedgeDelay) > 0 ? maxHedgeDelay : delay;
+    }
+
+    /**
+     * index번째 endpoint부터 차례로 스트리밍을 시도한다. 첫 응답을 받은 뒤의 실패는 다음 endpoint로 넘기지 않는다.
+     */
+    private Flux<ChatResponse> streamFrom(int index, int remaining, Prompt prompt, boolean hedged,
+                                          RequestRejection rejection, RuntimeException lastError) {
+        return Flux.defer(() -> {
+            if (remaining == 0) {
+                return Flux.error(unavailable(lastError));
+            }
+            EndpointState endpoint = endpoints.get(index % endpoints.size());
+            if (!endpoint.tryAcquire()) {
+                return streamFrom(index + 1, remaining - 1, prompt, hedged, rejection, lastError);
+            }
+            long start = ticker.read();
+            AtomicBoolean emitted = new AtomicBoolean();
+            return endpoint.chatModel().stream(prompt)
+                    .doOnNext(response -> {
+                        if (emitted.compareAndSet(false, true)) {
+                            firstTokenLatencies.record(ticker.read() - start);
+                            if (hedged) {
+                                hedgeWinCount.increment();
+                            }
+                        }
+                    })
+                    .doOnComplete(endpoint::onSuccess)
+                    .doOnCancel(endpoint::onCancel)
+                    .onErrorResume(RuntimeException.class, e -> {
+                        if (!isEndpointFailure(e)) {
+                            endpoint.onRequestError();
+                            rejection.reject(e);
+                            return Flux.error(e);
+                        }
+                        endpoint.onFailure();
+                        if (emitted.get()) {
+                            return Flux.error(e);
+                        }
+                        log.warn("LLM endpoint 스트리밍에 실패해 다음 endpoint로 넘어갑니다. endpoint={}", endpoint.name(), e);
+                        return streamFrom(index + 1, remaining - 1, prompt, hedged, rejection, e);
+                    });
+        });
+    }
+
+    /**
+     * endpoint 상태 때문에 실패했는지 판단한다. throttling, 5xx, timeout, 연결 실패만 endpoint의 실패로 본다.
+     */
+    static boolean isEndpointFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SdkServiceException e) {
+                return e.isThrottlingException() || e.statusCode() == 408 || e.statusCode() >= 500;
+            }
+            if (cause instanceof SdkClientException || cause instanceof TimeoutException
+                    || cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LlmUnavailableException unavailable(RuntimeException lastError) {
+        String message = lastError == null
+                ? "사용할 수 있는 LLM endpoint가 없습니다."
+                : "모든 LLM endpoint 호출에 실패했습니다.";
+        return new LlmUnavailableException(message, lastError);
+    }
+
+    /**
+     * @param name metric과 로그에 사용할 이름(예: region)
+     */
+    public record Endpoint(String name, ChatModel chatModel) {
+    }
+
+    /**
+     * 스트리밍 요청 하나가 잘못된 요청으로 거절되었는지 기록해 hedging 요청을 더 보내지 않게 한다.
+     */
+    private static final class RequestRejection {
+
+        private final AtomicReference<RuntimeException> error = new AtomicReference<>();
+        private final Sinks.One<Boolean> signal = Sinks.one();
+
+        void reject(RuntimeException e) {
+            if (error.compareAndSet(null, e)) {
+                signal.tryEmitValue(true);
+            }
+        }
+
+        RuntimeException error() {
+            return error.get();
+        }
+
+        Mono<Boolean> signal() {
+            return signal.asMono();
+        }
+    }
+
+    private static final class EndpointState {
+
+        private final Endpoint endpoint;
+        private final CircuitBreaker circuitBreaker;
+        private final LongAdder successCount = new LongAdder();
+        private final LongAdder failureCount = new LongAdder();
+        private final LongAdder rejectedCount = new LongAdder();
+        private final LongAdder requestErrorCount = new LongAdder();
+
+        private EndpointState(Endpoint endpoint, CircuitBreaker circuitBreaker) {
+            this.endpoint = endpoint;
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        String name() {
+            return endpoint.name();
+        }
+
+        ChatModel chatModel() {
+            return endpoint.chatModel();
+        }
+
+        boolean tryAcquire() {
+            if (circuitBreaker.tryAcquire()) {
+                return true;
+            }
+            rejectedCount.increment();
+            return false;
+        }
+
+        void onSuccess() {
+            successCount.increment();
+            circuitBreaker.onSuccess();
+        }
+
+        void onFailure() {
+            failureCount.increment();
+            circuitBreaker.onFailure();
+        }
+
+        void onCancel() {
+            circuitBreaker.onCancel();
+        }
+
+        // 잘못된 요청은 endpoint의 실패로 세지 않고 시험 요청 자리만 돌려줌
+        void onRequestError() {
+            requestErrorCount.increment();
+            circuitBreaker.onCancel();
+        }
+
+        void bindTo(MeterRegistry registry, String tier) {
+            requestCounter(registry, tier, "success", successCount, "성공한 요청 수");
+            requestCounter(registry, tier, "failure", failureCount, "실패한 요청 수");
+            requestCounter(registry, tier, "rejected", rejectedCount, "circuit breaker가 열려 보내지 않은 요청 수");
+            requestCounter(registry, tier, "request_error", requestErrorCount, "잘못된 요청(4xx)으로 실패한 요청 수");
+            Gauge.builder(METRIC_PREFIX + ".endpoint.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                    .tag("tier", tier)
+                    .tag("endpoint", name())
+                    .description("circuit breaker 상태 (0: closed, 1: half-open, 2: open)")
+                    .register(registry);
+        }
+
+        private void requestCounter(MeterRegistry registry, String tier, String result, LongAdder count,
+                                    String description) {
+            FunctionCounter.builder(METRIC_PREFIX + ".endpoint.requests", count, LongAdder::sum)
+                    .tag("tier", tier)
+                    .tag("endpoint", name())
+                    .tag("result", result)
+                    .description(description)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * 최근 sampleSize개의 지연 시간을 보관하고 백분위수를 계산한다.
+     */
+    private static final class LatencyWindow {
+
+        private final long[] samples;
+        private int count = 0;
+        private int next = 0;
+
+        private LatencyWindow(int sampleSize) {
+            this.samples = new long[sampleSize];
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        synchronized OptionalLong percentile(double percentile, int minSamples) {
+            if (count == 0 || count < minSamples) {
+                return OptionalLong.empty();
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = Math.max(0, (int) Math.ceil(percentile * count) - 1);
+            return OptionalLong.of(sorted[index]);
+        }
+    }
+}
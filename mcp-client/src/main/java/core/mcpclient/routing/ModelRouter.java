@@ -0,0 +1,141 @@
+package core.mcpclient.routing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Flux;
+
+/**
+ * 질문마다 {@link QuestionClassifier}로 tier를 골라 해당 tier의 {@link ChatClient}를 돌려준다.
+ * ChatClient가 없는 tier로 분류된 질문은 COMPLEX로 보낸다.
+ */
+@Slf4j
+public class ModelRouter implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "mcp.llm.route";
+
+    private final QuestionClassifier classifier;
+    private final Map<ModelTier, ChatClient> chatClients = new EnumMap<>(ModelTier.class);
+    private final Map<ModelTier, LongAdder> decisions = new EnumMap<>(ModelTier.class);
+    private final Map<ModelTier, TierLatencyAdvisor> latencyAdvisors = new EnumMap<>(ModelTier.class);
+
+    public ModelRouter(QuestionClassifier classifier, Map<ModelTier, ChatClient> chatClients) {
+        if (!chatClients.containsKey(ModelTier.COMPLEX)) {
+            throw new IllegalArgumentException("COMPLEX tier의 ChatClient가 필요합니다.");
+        }
+        this.classifier = classifier;
+        chatClients.forEach((tier, chatClient) -> {
+            TierLatencyAdvisor latencyAdvisor = new TierLatencyAdvisor();
+            latencyAdvisors.put(tier, latencyAdvisor);
+            decisions.put(tier, new LongAdder());
+            this.chatClients.put(tier, chatClient.mutate().defaultAdvisors(latencyAdvisor).build());
+        });
+    }
+
+    public ChatClient route(String question) {
+        return chatClient(tierOf(question));
+    }
+
+    /**
+     * 질문을 보낼 tier를 고른다. ChatClient가 없는 tier로 분류되면 COMPLEX를 돌려준다.
+     * 답변 cache처럼 tier마다 구분해야 하는 값은 이 tier를 사용한다.
+     */
+    public ModelTier tierOf(String question) {
+        ModelTier tier = classifier.classify(question);
+        if (!chatClients.containsKey(tier)) {
+            tier = ModelTier.COMPLEX;
+        }
+        decisions.get(tier).increment();
+        log.debug("model tier 선택: {}", tier);
+        return tier;
+    }
+
+    /**
+     * {@link #tierOf(String)}로 고른 tier의 ChatClient.
+     */
+    public ChatClient chatClient(ModelTier tier) {
+        return chatClients.get(tier);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        decisions.forEach((tier, count) -> FunctionCounter.builder(METRIC_PREFIX + ".decisions", count, LongAdder::sum)
+                .tag("tier", tierTag(tier))
+                .description("tier별로 보낸 질문 수")
+                .register(registry));
+        latencyAdvisors.forEach((tier, latencyAdvisor) -> {
+            latencyAdvisor.callTimer = latencyTimer(registry, tier, "call");
+            latencyAdvisor.streamTimer = latencyTimer(registry, tier, "stream");
+        });
+    }
+
+    private static Timer latencyTimer(MeterRegistry registry, ModelTier tier, String mode) {
+        return Timer.builder(METRIC_PREFIX + ".latency")
+                .tag("tier", tierTag(tier))
+                .tag("mode", mode)
+                .description("tool 호출을 포함해 tier의 모델이 답변을 끝내기까지 걸린 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    private static String tierTag(ModelTier tier) {
+        return tier.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class TierLatencyAdvisor implements CallAdvisor, StreamAdvisor {
+
+        private volatile Timer callTimer;
+        private volatile Timer streamTimer;
+
+        @Override
+        public ChatClientResponse adviseCall(ChatClientRequest chatClientRequest, CallAdvisorChain callAdvisorChain) {
+            long start = System.nanoTime();
+            try {
+                return callAdvisorChain.nextCall(chatClientRequest);
+            } finally {
+                record(callTimer, start);
+            }
+        }
+
+        @Override
+        public Flux<ChatClientResponse> adviseStream(ChatClientRequest chatClientRequest,
+                                                     StreamAdvisorChain streamAdvisorChain) {
+            return Flux.defer(() -> {
+                long start = System.nanoTime();
+                return streamAdvisorChain.nextStream(chatClientRequest)
+                        .doFinally(signal -> record(streamTimer, start));
+            });
+        }
+
+        @Override
+        public String getName() {
+            return TierLatencyAdvisor.class.getSimpleName();
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        private static void record(Timer timer, long start) {
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package core.mcpclient.routing;
+
+public enum ModelTier {
+    // 인사, 단순 조회처럼 작은 모델로도 충분한 질문
+    SIMPLE,
+    // 비교, 분석, 여러 문장으로 된 질문. 설정된 기본 모델을 사용함
+    COMPLEX
+}
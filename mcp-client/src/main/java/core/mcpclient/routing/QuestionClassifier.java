@@ -0,0 +1,52 @@
+package core.mcpclient.routing;
+
+import core.mcpclient.config.properties.RoutingProperties;
+import java.util.regex.Pattern;
+import org.springframework.lang.Nullable;
+
+/**
+ * LLM을 호출하지 않고 질문을 처리할 모델 tier를 고른다.
+ * 인사는 SIMPLE, 분석성 키워드가 있거나 길거나 여러 문장인 질문은 COMPLEX로 보내고,
+ * 나머지는 {@link QuestionScorer}가 있으면 그 점수로, 없으면 SIMPLE로 판단한다.
+ */
+public class QuestionClassifier {
+
+    private static final Pattern GREETING = Pattern.compile(
+            "^(안녕|안녕하세요|반가워|반갑습니다|고마워|고맙습니다|감사합니다|감사해요|ㅎㅇ|hi|hello|hey|thanks|thank you)[\\s!.~?ㅎㅋ^]*$",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern COMPLEX_KEYWORDS = Pattern.compile("비교|분석|추이|추세|원인|이유|왜|예측|추천|요약|보고서|개선|전략|차이|계획");
+    // 문장 부호 뒤에 다른 문장이 이어지는 경우
+    private static final Pattern SENTENCE_BOUNDARY = Pattern.compile("[?.!\\n]+\\s*\\S");
+
+    private final boolean enabled;
+    private final int simpleMaxLength;
+    private final double complexScoreThreshold;
+    @Nullable
+    private final QuestionScorer scorer;
+
+    public QuestionClassifier(RoutingProperties properties, @Nullable QuestionScorer scorer) {
+        this.enabled = properties.isEnabled();
+        this.simpleMaxLength = properties.getSimpleMaxLength();
+        this.complexScoreThreshold = properties.getComplexScoreThreshold();
+        this.scorer = scorer;
+    }
+
+    public ModelTier classify(String question) {
+        if (!enabled) {
+            return ModelTier.COMPLEX;
+        }
+        String stripped = question == null ? "" : question.strip();
+        if (stripped.isEmpty() || GREETING.matcher(stripped).matches()) {
+            return ModelTier.SIMPLE;
+        }
+        if (COMPLEX_KEYWORDS.matcher(stripped).find()
+                || stripped.codePointCount(0, stripped.length()) > simpleMaxLength
+                || SENTENCE_BOUNDARY.matcher(stripped).find()) {
+            return ModelTier.COMPLEX;
+        }
+        if (scorer != null) {
+            return scorer.score(stripped) >= complexScoreThreshold ? ModelTier.COMPLEX : ModelTier.SIMPLE;
+        }
+        return ModelTier.SIMPLE;
+    }
+}
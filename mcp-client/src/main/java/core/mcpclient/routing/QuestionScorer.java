@@ -0,0 +1,13 @@
+package core.mcpclient.routing;
+
+/**
+ * 질문이 큰 모델을 필요로 하는 정도를 학습된 모델로 점수화한다.
+ * bean으로 등록하면 {@link QuestionClassifier}가 규칙으로 판단하지 못한 질문에 사용한다.
+ */
+public interface QuestionScorer {
+
+    /**
+     * @return 0(SIMPLE)~1(COMPLEX) 사이의 점수
+     */
+    double score(String question);
+}
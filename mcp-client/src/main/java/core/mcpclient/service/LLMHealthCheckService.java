@@ -1,27 +1,105 @@
 package core.mcpclient.service;
 
-import lombok.RequiredArgsConstructor;
+import core.mcpclient.config.properties.LlmHealthProperties;
+import core.mcpclient.health.LlmHealth;
+import core.mcpclient.health.LlmHealthMonitor;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+/**
+ * probe는 전용 스레드에서 probeTimeout까지만 기다린다.
+ * 공용 @Scheduled 스레드는 Snowflake lease heartbeat도 실행하므로 LLM 호출로 막지 않는다.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class LLMHealthCheckService {
 
+    private static final String PROBE_PROMPT = "Hello, respond with just 'OK'";
+
     private final ChatClient chatClient;
+    private final LlmHealthMonitor llmHealthMonitor;
+    private final LlmHealthProperties llmHealthProperties;
+    private final ExecutorService probeExecutor;
+
+    @Autowired
+    public LLMHealthCheckService(
+            ChatClient chatClient,
+            LlmHealthMonitor llmHealthMonitor,
+            LlmHealthProperties llmHealthProperties
+    ) {
+        // 응답하지 않는 probe가 끝날 때까지 다음 probe는 거절되므로 스레드가 쌓이지 않음
+        this(chatClient, llmHealthMonitor, llmHealthProperties, new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "llm-health-probe");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        ));
+    }
+
+    LLMHealthCheckService(
+            ChatClient chatClient,
+            LlmHealthMonitor llmHealthMonitor,
+            LlmHealthProperties llmHealthProperties,
+            ExecutorService probeExecutor
+    ) {
+        this.chatClient = chatClient;
+        this.llmHealthMonitor = llmHealthMonitor;
+        this.llmHealthProperties = llmHealthProperties;
+        this.probeExecutor = probeExecutor;
+    }
 
-    public boolean isLLMConnected() {
-        log.info("current Model = {}", chatClient);
+    /**
+     * 실제 요청과 probe 결과로 판단한 LLM 상태를 반환한다. LLM을 호출하지 않는다.
+     */
+    public LlmHealth health() {
+        return llmHealthMonitor.health();
+    }
+
+    /**
+     * 실제 요청이 적어 상태를 판단할 수 없을 때만 LLM에 짧은 prompt를 보내 결과를 기록한다. probe를 기다리지 않고 바로 반환한다.
+     */
+    @Scheduled(
+            initialDelayString = "${mcp.llm.health.probe-interval:PT30S}",
+            fixedDelayString = "${mcp.llm.health.probe-interval:PT30S}"
+    )
+    public void probeIfIdle() {
+        if (!llmHealthProperties.isProbeEnabled() || !llmHealthMonitor.needsProbe()) {
+            return;
+        }
+        long startedAt = System.nanoTime();
         try {
-            log.info("LLM Connected!\n " + "LLM answer = {}",
-                    chatClient.prompt().user("Hello, respond with just 'OK'").call().content());
-            return true;
-        } catch (Exception e) {
-            log.error("exception", e);
-            return false;
+            CompletableFuture.supplyAsync(() -> chatClient.prompt().user(PROBE_PROMPT).call().content(), probeExecutor)
+                    .orTimeout(llmHealthProperties.getProbeTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                    .whenComplete((answer, error) -> {
+                        llmHealthMonitor.recordProbe(error == null, System.nanoTime() - startedAt);
+                        if (error == null) {
+                            log.debug("LLM probe 성공, answer = {}", answer);
+                        } else {
+                            log.warn("LLM probe 실패", error);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            // 이전 probe가 다음 주기까지 끝나지 않았으므로 LLM이 응답하지 않는 것으로 봄
+            llmHealthMonitor.recordProbe(false, llmHealthProperties.getProbeTimeout().toNanos());
+            log.warn("이전 LLM probe가 아직 끝나지 않아 실패로 기록합니다.");
         }
     }
+
+    @PreDestroy
+    public void shutdown() {
+        probeExecutor.shutdownNow();
+    }
 }
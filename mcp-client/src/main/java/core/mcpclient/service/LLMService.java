@@ -3,60 +3,60 @@ package core.mcpclient.service;
 import static core.mcpclient.service.constant.PromptContent.SYSTEM_PROMPT_CREATE_NEW_CHAT;
 import static core.mcpclient.service.constant.PromptContent.SYSTEM_PROMPT_DEFAULT_CHAT;
 
+import core.mcpclient.cache.AnswerCacheKey;
+import core.mcpclient.cache.LlmAnswerCache;
+import core.mcpclient.health.LlmHealthMonitor;
+import core.mcpclient.memory.TokenBudgetChatMemory;
+import core.mcpclient.memory.TokenEstimator;
+import core.mcpclient.routing.ModelRouter;
+import core.mcpclient.routing.ModelTier;
+import core.mcpclient.service.constant.PromptContent;
 import core.mcpclient.service.dto.NewChatRoomInfo;
+import core.mcpclient.tool.ToolUsage;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.ChatClient.CallResponseSpec;
 import org.springframework.ai.chat.client.ChatClient.ChatClientRequestSpec;
-import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.SynchronousSink;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class LLMService {
 
-    private final ChatClient chatClient;
-    private final ChatMemory chatMemory;
+    private final ModelRouter modelRouter;
+    private final TokenBudgetChatMemory chatMemory;
+    private final LlmAnswerCache llmAnswerCache;
+    private final LlmHealthMonitor llmHealthMonitor;
     public static final char TITLE_SEPARATOR = '§';
 
-    public String chat(Long roomId, String question) {
-        String conversationId = roomId.toString();
-        CallResponseSpec response = this.getChatClientRequestSpec(
-                conversationId,
-                question,
-                SYSTEM_PROMPT_DEFAULT_CHAT.getContent()
-        ).call();
-
-        return response.content();
+    /**
+     * tokenUsage에는 LLM 호출에 쓴 입출력 token 수(memory, system prompt, tool 호출 포함)를 알린다.
+     * 보관한 답변으로 응답하면 LLM을 호출하지 않으므로 알리지 않는다.
+     */
+    public String chat(Long roomId, String question, LongConsumer tokenUsage) {
+        return this.call(roomId.toString(), question, SYSTEM_PROMPT_DEFAULT_CHAT, tokenUsage);
     }
 
-    public Flux<String> chatStream(Long roomId, String question) {
-        String conversationId = roomId.toString();
-        return this.getChatClientRequestSpec(
-                conversationId,
-                question,
-                SYSTEM_PROMPT_DEFAULT_CHAT.getContent()
-        ).stream().content();
+    /**
+     * tokenUsage에는 스트림이 끝나거나 실패하거나 취소될 때 그때까지 쓴 입출력 token 수를 알린다.
+     */
+    public Flux<String> chatStream(Long roomId, String question, LongConsumer tokenUsage) {
+        return this.stream(roomId.toString(), question, SYSTEM_PROMPT_DEFAULT_CHAT, tokenUsage);
     }
 
-    public NewChatRoomInfo startNewChat(Long roomId, String question) {
-        String conversationId = roomId.toString();
-        CallResponseSpec response = this.getChatClientRequestSpec(
-                conversationId,
-                question,
-                SYSTEM_PROMPT_CREATE_NEW_CHAT.getContent()
-        ).call();
-
-        String responseContent = response.content();
+    public NewChatRoomInfo startNewChat(Long roomId, String question, LongConsumer tokenUsage) {
+        String responseContent = this.call(roomId.toString(), question, SYSTEM_PROMPT_CREATE_NEW_CHAT, tokenUsage);
         if (responseContent == null) {
             throw new RuntimeException("LLM 응답이 존재하지 않습니다.");
         }
@@ -69,42 +69,117 @@ public class LLMService {
         return new NewChatRoomInfo(roomName, answer);
     }
 
-    public Flux<NewChatRoomInfo> startNewChatStream(Long roomId, String question) {
-        String conversationId = roomId.toString();
-        AtomicBoolean isAnswerMode = new AtomicBoolean(false);
+    public Flux<NewChatRoomInfo> startNewChatStream(Long roomId, String question, LongConsumer tokenUsage) {
+        NewChatStreamSplitter splitter = new NewChatStreamSplitter();
+
+        return this.stream(roomId.toString(), question, SYSTEM_PROMPT_CREATE_NEW_CHAT, tokenUsage)
+                .map(splitter::split);
+    }
+
+    private String call(String conversationId, String question, PromptContent systemPrompt, LongConsumer tokenUsage) {
+        ModelTier tier = modelRouter.tierOf(question);
+        List<Message> messages = chatMemory.get(conversationId, tier);
+        AnswerCacheKey cacheKey = llmAnswerCache.keyOf(question, tier, systemPrompt, messages);
+        Optional<String> cached = llmAnswerCache.get(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        ToolUsage toolUsage = new ToolUsage();
+        LlmHealthMonitor.Sample sample = llmHealthMonitor.start();
+        ChatResponse response;
+        try {
+            response = this.getChatClientRequestSpec(tier, messages, question, systemPrompt, toolUsage)
+                    .call()
+                    .chatResponse();
+        } catch (RuntimeException e) {
+            sample.failure();
+            throw e;
+        }
+        sample.success();
+        String answer = textOf(response);
+        long usedTokens = usedTokensOf(response);
+        tokenUsage.accept(usedTokens > 0 ? usedTokens : estimateTokens(messages, systemPrompt, answer));
+        llmAnswerCache.put(cacheKey, answer, toolUsage.isUsed());
+        return answer;
+    }
+
+    private Flux<String> stream(
+            String conversationId, String question, PromptContent systemPrompt, LongConsumer tokenUsage
+    ) {
+        ModelTier tier = modelRouter.tierOf(question);
+        List<Message> messages = chatMemory.get(conversationId, tier);
+        AnswerCacheKey cacheKey = llmAnswerCache.keyOf(question, tier, systemPrompt, messages);
+        Optional<String> cached = llmAnswerCache.get(cacheKey);
+        if (cached.isPresent()) {
+            return llmAnswerCache.replay(cached.get());
+        }
 
-        return this.getChatClientRequestSpec(conversationId, question, SYSTEM_PROMPT_CREATE_NEW_CHAT.getContent())
+        ToolUsage toolUsage = new ToolUsage();
+        Flux<ChatResponse> responses = this.getChatClientRequestSpec(tier, messages, question, systemPrompt, toolUsage)
                 .stream()
-                .content()
-                .handle((String chunk, SynchronousSink<NewChatRoomInfo> sink) -> {
-                    if (isAnswerMode.get()) {
-                        sink.next(new NewChatRoomInfo(null, chunk));
-                        return;
-                    }
-
-                    int separatorIndex = chunk.indexOf(TITLE_SEPARATOR);
-                    if (separatorIndex == -1) {
-                        sink.next(new NewChatRoomInfo(chunk, null));
-                    } else {
-                        String remainingTitle = chunk.substring(0, separatorIndex);
-                        String remainingAnswer = chunk.substring(separatorIndex + 1);
-
-                        sink.next(new NewChatRoomInfo(
-                                remainingTitle.isEmpty() ? null : remainingTitle,
-                                remainingAnswer.isEmpty() ? null : remainingAnswer)
-                        );
-                        isAnswerMode.set(true);
-                    }
-                });
+                .chatResponse();
+        // 끝까지 받은 답변만 보관하며, 중간에 취소되거나 실패한 답변은 보관하지 않음
+        // token은 취소되거나 실패해도 그때까지 쓴 만큼 알림
+        return Flux.defer(() -> {
+            StringBuilder answer = new StringBuilder();
+            AtomicLong usedTokens = new AtomicLong();
+            LlmHealthMonitor.Sample sample = llmHealthMonitor.start();
+            return responses
+                    .doOnNext(response -> usedTokens.accumulateAndGet(usedTokensOf(response), Math::max))
+                    .map(LLMService::textOf)
+                    .filter(chunk -> !chunk.isEmpty())
+                    .doOnNext(chunk -> {
+                        sample.onResponse();
+                        answer.append(chunk);
+                    })
+                    .doOnError(e -> sample.failure())
+                    .doOnComplete(() -> {
+                        sample.success();
+                        llmAnswerCache.put(cacheKey, answer.toString(), toolUsage.isUsed());
+                    })
+                    .doFinally(signal -> tokenUsage.accept(usedTokens.get() > 0
+                            ? usedTokens.get()
+                            : estimateTokens(messages, systemPrompt, answer.toString())));
+        });
     }
 
     private ChatClientRequestSpec getChatClientRequestSpec(
-            String conversationId, String question, String systemPrompt
+            ModelTier tier, List<Message> messages, String question, PromptContent systemPrompt, ToolUsage toolUsage
     ) {
-        List<Message> messages = chatMemory.get(conversationId);
         messages.add(new UserMessage(question));
         Prompt prompt = new Prompt(messages);
-        return chatClient.prompt(prompt).system(systemPrompt);
+        return modelRouter.chatClient(tier).prompt(prompt)
+                .system(systemPrompt.getContent())
+                .toolContext(toolUsage.toContext());
+    }
+
+    private static String textOf(ChatResponse response) {
+        Generation result = response == null ? null : response.getResult();
+        if (result == null || result.getOutput() == null || result.getOutput().getText() == null) {
+            return "";
+        }
+        return result.getOutput().getText();
     }
 
+    /**
+     * 모델이 알려준 입출력 token 수. tool 호출로 여러 번 왕복한 경우 누적된 값이며, 알려주지 않으면 0이다.
+     */
+    private static long usedTokensOf(ChatResponse response) {
+        if (response == null) {
+            return 0;
+        }
+        Usage usage = response.getMetadata().getUsage();
+        Integer totalTokens = usage == null ? null : usage.getTotalTokens();
+        return totalTokens == null ? 0 : totalTokens;
+    }
+
+    // 모델이 token 수를 알려주지 않으면 memory, system prompt, 질문, 답변 전체로 추정
+    private static long estimateTokens(List<Message> messages, PromptContent systemPrompt, String answer) {
+        long tokens = TokenEstimator.estimate(systemPrompt.getContent()) + TokenEstimator.estimate(answer);
+        for (Message message : messages) {
+            tokens += TokenEstimator.estimate(message);
+        }
+        return tokens;
+    }
 }
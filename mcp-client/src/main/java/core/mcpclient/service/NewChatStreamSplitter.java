@@ -0,0 +1,33 @@
+package core.mcpclient.service;
+
+import static core.mcpclient.service.LLMService.TITLE_SEPARATOR;
+
+import core.mcpclient.service.dto.NewChatRoomInfo;
+
+/**
+ * 새 채팅 스트리밍 응답의 chunk를 구분자(§) 앞의 제목과 뒤의 본문으로 나눈다.
+ * 구분자를 만났는지 여부를 상태로 가지므로 스트림마다 새로 생성해야 한다.
+ */
+public class NewChatStreamSplitter {
+
+    private boolean isAnswerMode = false;
+
+    public NewChatRoomInfo split(String chunk) {
+        if (isAnswerMode) {
+            return new NewChatRoomInfo(null, chunk);
+        }
+
+        int separatorIndex = chunk.indexOf(TITLE_SEPARATOR);
+        if (separatorIndex == -1) {
+            return new NewChatRoomInfo(chunk, null);
+        }
+
+        String remainingTitle = chunk.substring(0, separatorIndex);
+        String remainingAnswer = chunk.substring(separatorIndex + 1);
+        isAnswerMode = true;
+        return new NewChatRoomInfo(
+                remainingTitle.isEmpty() ? null : remainingTitle,
+                remainingAnswer.isEmpty() ? null : remainingAnswer
+        );
+    }
+}
@@ -59,6 +59,17 @@ public enum PromptContent {
             [출력 예시]
             전력 사용량 증가 원인 분석§최근 전력 사용량이 증가한 원인은 냉난방 설비 가동 시간 증가와 외부 기온 변화에 따른 부하 상승 때문이에요. 특히 오후 시간대에 사용량이 집중되는 경향이 있어, 해당 시간대의 설비 운전 패턴을 점검하면 에너지 절감에 도움이 될 수 있어요.
 
+            """
+    ),
+    SYSTEM_PROMPT_SUMMARIZE_CHAT(
+            """
+            [지시사항]
+            당신은 시설 관리자와 AI 에너지 컨설턴트의 대화를 요약합니다.
+            [기존 요약]과 [새 대화]를 합쳐 하나의 갱신된 요약을 작성하세요.
+            
+            - 이후 대화에 필요한 사실, 수치, 설비 이름, 사용자의 요청과 결정 사항을 우선 남깁니다.
+            - 인사, 반복된 설명, 해결된 질문의 세부 과정은 생략합니다.
+            - 한국어로 1000자 이내의 평문으로 작성하고, 요약 외의 말은 덧붙이지 않습니다.
             """
     );
 
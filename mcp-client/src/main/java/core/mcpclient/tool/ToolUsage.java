@@ -0,0 +1,66 @@
+package core.mcpclient.tool;
+
+import java.util.Arrays;
+import java.util.Map;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+/**
+ * 한 번의 LLM 요청에서 tool이 호출되었는지 기록한다.
+ * 요청마다 새로 만들어 {@link #toContext()}를 tool context로 넘기면, {@link #recording}으로 감싼 tool이 호출될 때 표시된다.
+ * 스트리밍 응답에서는 tool이 다른 스레드에서 호출되므로 thread local 대신 tool context로 전달한다.
+ */
+public final class ToolUsage {
+
+    static final String CONTEXT_KEY = ToolUsage.class.getName();
+
+    private volatile boolean used = false;
+
+    public boolean isUsed() {
+        return used;
+    }
+
+    public Map<String, Object> toContext() {
+        return Map.of(CONTEXT_KEY, this);
+    }
+
+    /**
+     * 호출될 때 tool context의 {@link ToolUsage}에 기록하도록 provider의 tool을 감싼다.
+     * tool 목록은 매번 provider에서 다시 가져오므로 MCP tool 목록이 갱신되어도 반영된다.
+     */
+    public static ToolCallbackProvider recording(ToolCallbackProvider provider) {
+        return () -> Arrays.stream(provider.getToolCallbacks())
+                .map(RecordingToolCallback::new)
+                .toArray(ToolCallback[]::new);
+    }
+
+    private record RecordingToolCallback(ToolCallback delegate) implements ToolCallback {
+
+        @Override
+        public ToolDefinition getToolDefinition() {
+            return delegate.getToolDefinition();
+        }
+
+        @Override
+        public ToolMetadata getToolMetadata() {
+            return delegate.getToolMetadata();
+        }
+
+        @Override
+        public String call(String toolInput) {
+            return delegate.call(toolInput);
+        }
+
+        @Override
+        public String call(String toolInput, ToolContext toolContext) {
+            if (toolContext != null && toolContext.getContext().get(CONTEXT_KEY) instanceof ToolUsage toolUsage) {
+                toolUsage.used = true;
+            }
+            // 기록용 context는 MCP tool에 넘기지 않음
+            return delegate.call(toolInput);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package core.mcpclient.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import core.mcpclient.admission.LlmAdmissionController.Permit;
+import core.mcpclient.config.properties.AdmissionProperties;
+import core.mcpclient.resilience.LlmUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+class LlmAdmissionControllerTest {
+
+    private static final String CLIENT_A = "client-a";
+    private static final String CLIENT_B = "client-b";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private AdmissionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setInitialLimit(2);
+        properties.setMinLimit(1);
+        properties.setMaxQueueSize(3);
+        properties.setMaxQueueSizePerClient(2);
+    }
+
+    @Test
+    @DisplayName("limit까지는 바로 시작하고 넘는 요청은 자리가 날 때까지 기다린다")
+    void acquire_QueuesOverLimit() {
+        // given
+        LlmAdmissionController controller = newController();
+        Permit first = controller.acquire(CLIENT_A).join();
+        controller.acquire(CLIENT_B).join();
+
+        // when
+        CompletableFuture<Permit> third = controller.acquire(CLIENT_A);
+
+        // then
+        assertThat(third).isNotDone();
+        assertThat(controller.queueSize()).isEqualTo(1);
+
+        first.release(false);
+        assertThat(third).isCompleted();
+        assertThat(controller.inflight()).isEqualTo(2);
+        assertThat(controller.queueSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("대기열에서는 사용자를 번갈아 가며 꺼낸다")
+    void acquire_RoundRobinAcrossClients() {
+        // given
+        properties.setInitialLimit(1);
+        properties.setMaxLimit(1);
+        properties.setMaxQueueSize(10);
+        properties.setMaxQueueSizePerClient(3);
+        LlmAdmissionController controller = newController();
+        Permit running = controller.acquire(CLIENT_A).join();
+        List<String> order = new ArrayList<>();
+        List<CompletableFuture<Permit>> waiters = List.of(
+                controller.acquire(CLIENT_A).whenComplete((permit, e) -> order.add("a1")),
+                controller.acquire(CLIENT_A).whenComplete((permit, e) -> order.add("a2")),
+                controller.acquire(CLIENT_A).whenComplete((permit, e) -> order.add("a3")),
+                controller.acquire(CLIENT_B).whenComplete((permit, e) -> order.add("b1")));
+
+        // when
+        running.release(false);
+        for (int i = 0; i < waiters.size() - 1; i++) {
+            waiters.stream()
+                    .filter(CompletableFuture::isDone)
+                    .map(CompletableFuture::join)
+                    .forEach(permit -> permit.release(false));
+        }
+
+        // then
+        assertThat(order).containsExactly("a1", "b1", "a2", "a3");
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 기다리지 않고 Retry-After와 함께 거절한다")
+    void acquire_RejectsWhenQueueFull() {
+        // given
+        LlmAdmissionController controller = newController();
+        controller.acquire(CLIENT_A).join();
+        controller.acquire(CLIENT_A).join();
+        controller.acquire(CLIENT_A);
+        controller.acquire(CLIENT_A);
+
+        // when & then
+        assertThatThrownBy(controller.acquire(CLIENT_A)::join)
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOfSatisfying(LlmOverloadedException.class, e -> assertThat(e.getRetryAfter())
+                        .isBetween(Duration.ofSeconds(1), Duration.ofSeconds(60)));
+        assertThatThrownBy(() -> controller.rejectIfFull(CLIENT_A))
+                .isInstanceOf(LlmOverloadedException.class);
+
+        controller.rejectIfFull(CLIENT_B);
+        controller.acquire(CLIENT_B);
+        assertThatThrownBy(() -> controller.rejectIfFull(CLIENT_B))
+                .isInstanceOf(LlmOverloadedException.class);
+    }
+
+    @Test
+    @DisplayName("maxQueueTime 안에 차례가 오지 않으면 거절하고 대기열에서 뺀다")
+    void call_RejectsAfterMaxQueueTime() {
+        // given
+        properties.setInitialLimit(1);
+        properties.setMaxLimit(1);
+        properties.setMaxQueueTime(Duration.ofMillis(50));
+        LlmAdmissionController controller = newController();
+        Permit running = controller.acquire(CLIENT_A).join();
+
+        // when & then
+        assertThatThrownBy(() -> controller.call(CLIENT_B, () -> "answer"))
+                .isInstanceOf(LlmOverloadedException.class);
+
+        running.release(false);
+        assertThat(controller.inflight()).isZero();
+        assertThat(controller.call(CLIENT_B, () -> "answer")).isEqualTo("answer");
+    }
+
+    @Test
+    @DisplayName("과부하로 실패하면 limit을 줄이고, 줄이기 전에 시작한 요청의 실패로는 다시 줄이지 않는다")
+    void release_DecreasesLimitOnOverload() {
+        // given
+        properties.setInitialLimit(10);
+        LlmAdmissionController controller = newController();
+        Permit first = controller.acquire(CLIENT_A).join();
+        Permit second = controller.acquire(CLIENT_A).join();
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        // when
+        first.release(true);
+        second.release(true);
+
+        // then
+        assertThat(controller.currentLimit()).isEqualTo(7);
+
+        controller.acquire(CLIENT_A).join().release(true);
+        assertThat(controller.currentLimit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("모든 endpoint가 실패했거나 throttling을 받은 경우를 과부하로 본다")
+    void isOverload() {
+        assertThat(LlmAdmissionController.isOverload(
+                new IllegalStateException(new LlmUnavailableException("모든 endpoint 실패", null)))).isTrue();
+        assertThat(LlmAdmissionController.isOverload(new IllegalArgumentException("잘못된 요청"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("스트림이 끝나거나 취소되면 자리를 돌려준다")
+    void stream_ReleasesOnCompleteAndCancel() {
+        // given
+        LlmAdmissionController controller = newController();
+
+        // when
+        List<String> chunks = controller.stream(CLIENT_A, () -> Flux.just("전력", "사용량")).collectList().block();
+        Disposable disposable = controller.stream(CLIENT_A, Flux::<String>never).subscribe();
+
+        // then
+        assertThat(chunks).containsExactly("전력", "사용량");
+        assertThat(controller.inflight()).isEqualTo(1);
+
+        disposable.dispose();
+        assertThat(controller.inflight()).isZero();
+    }
+
+    @Test
+    @DisplayName("limit, 진행 중인 요청 수, 대기열 크기와 결과별 요청 수를 metric으로 노출한다")
+    void metrics() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LlmAdmissionController controller = newController();
+        controller.bindTo(registry);
+        Permit first = controller.acquire(CLIENT_A).join();
+        controller.acquire(CLIENT_A).join();
+        controller.acquire(CLIENT_B);
+
+        // when
+        nanos.addAndGet(Duration.ofMillis(200).toNanos());
+        first.release(false);
+
+        // then
+        assertThat(registry.get("mcp.llm.admission.limit").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("mcp.llm.admission.inflight").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("mcp.llm.admission.queue.size").gauge().value()).isZero();
+        assertThat(registry.get("mcp.llm.admission.queue.time").timer().count()).isEqualTo(1);
+        assertThat(registry.get("mcp.llm.admission.requests").tag("result", "admitted").functionCounter().count())
+                .isEqualTo(2);
+        assertThat(registry.get("mcp.llm.admission.requests").tag("result", "queued").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    private LlmAdmissionController newController() {
+        return new LlmAdmissionController(properties, nanos::get);
+    }
+}
@@ -0,0 +1,60 @@
+package core.mcpclient.cache;
+
+/**
+ * 공백을 뺀 질문의 문자 2-gram, 3-gram을 hashing해 벡터를 만든다.
+ * 외부 호출 없이 항상 같은 결과를 내므로 테스트에서 EmbeddingModel 대신 사용한다.
+ * 숫자 한 글자만 다른 질문도 매우 비슷하게 보므로 운영에서는 사용하지 않는다.
+ */
+public class HashingQuestionEmbedder implements QuestionEmbedder {
+
+    private static final int MIN_GRAM = 2;
+    private static final int MAX_GRAM = 3;
+
+    private final int dimensions;
+
+    public HashingQuestionEmbedder(int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public float[] embed(String normalizedQuestion) {
+        int[] codePoints = normalizedQuestion.codePoints()
+                .filter(codePoint -> !Character.isWhitespace(codePoint))
+                .toArray();
+        float[] vector = new float[dimensions];
+        if (codePoints.length < MIN_GRAM) {
+            for (int codePoint : codePoints) {
+                add(vector, mix(codePoint));
+            }
+            return QuestionEmbedder.normalize(vector);
+        }
+        for (int gram = MIN_GRAM; gram <= MAX_GRAM; gram++) {
+            for (int start = 0; start + gram <= codePoints.length; start++) {
+                int hash = gram;
+                for (int i = start; i < start + gram; i++) {
+                    hash = hash * 31 + codePoints[i];
+                }
+                add(vector, mix(hash));
+            }
+        }
+        return QuestionEmbedder.normalize(vector);
+    }
+
+    // hash 충돌이 한쪽으로 쌓이지 않도록 상위 bit로 부호를 정함
+    private void add(float[] vector, int hash) {
+        vector[Math.floorMod(hash, dimensions)] += hash < 0 ? -1 : 1;
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        return hash ^ (hash >>> 16);
+    }
+}
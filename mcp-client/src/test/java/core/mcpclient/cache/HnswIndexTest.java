@@ -0,0 +1,105 @@
+package core.mcpclient.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+
+    @Test
+    @DisplayName("대부분의 질의에서 전수 비교와 같은 최근접 노드를 찾는다")
+    void search_Recall() {
+        // given
+        Random random = new Random(7);
+        float[][] vectors = new float[2_000][];
+        HnswIndex index = new HnswIndex(DIMENSIONS, vectors.length, 16, 100, 42);
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = randomVector(random);
+            index.add(vectors[i]);
+        }
+
+        // when
+        int found = 0;
+        int queries = 200;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVector(random);
+            List<HnswIndex.Candidate> nearest = index.search(query, 1, 64, node -> true);
+            if (nearest.getFirst().node() == bruteForceNearest(vectors, query)) {
+                found++;
+            }
+        }
+
+        // then
+        assertThat(found).isGreaterThanOrEqualTo(queries * 95 / 100);
+    }
+
+    @Test
+    @DisplayName("accept를 통과하지 못한 노드는 결과에서 제외한다")
+    void search_Filter() {
+        // given
+        Random random = new Random(7);
+        HnswIndex index = new HnswIndex(DIMENSIONS, 100, 8, 50, 42);
+        float[] target = randomVector(random);
+        int targetNode = index.add(target);
+        for (int i = 0; i < 99; i++) {
+            index.add(randomVector(random));
+        }
+
+        // when
+        List<HnswIndex.Candidate> nearest = index.search(target, 3, 32, node -> node != targetNode);
+
+        // then
+        assertThat(nearest).hasSize(3).noneMatch(candidate -> candidate.node() == targetNode);
+        assertThat(nearest.get(0).similarity()).isGreaterThanOrEqualTo(nearest.get(1).similarity());
+    }
+
+    @Test
+    @DisplayName("가득 차면 추가할 수 없고, clear 후에는 처음부터 다시 추가한다")
+    void add_Capacity() {
+        // given
+        Random random = new Random(7);
+        HnswIndex index = new HnswIndex(DIMENSIONS, 2, 8, 50, 42);
+        index.add(randomVector(random));
+        index.add(randomVector(random));
+
+        // when & then
+        assertThat(index.isFull()).isTrue();
+        assertThatThrownBy(() -> index.add(randomVector(random))).isInstanceOf(IllegalStateException.class);
+
+        index.clear();
+        float[] vector = randomVector(random);
+        assertThat(index.add(vector)).isZero();
+        assertThat(index.vector(0)).containsExactly(vector);
+        assertThat(index.search(vector, 1, 8, node -> true).getFirst().node()).isZero();
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return QuestionEmbedder.normalize(vector);
+    }
+
+    private static int bruteForceNearest(float[][] vectors, float[] query) {
+        int nearest = -1;
+        float best = Float.NEGATIVE_INFINITY;
+        for (int node = 0; node < vectors.length; node++) {
+            float dot = 0;
+            for (int i = 0; i < DIMENSIONS; i++) {
+                dot += vectors[node][i] * query[i];
+            }
+            if (dot > best) {
+                best = dot;
+                nearest = node;
+            }
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,193 @@
+package core.mcpclient.cache;
+
+import static core.mcpclient.service.constant.PromptContent.SYSTEM_PROMPT_CREATE_NEW_CHAT;
+import static core.mcpclient.service.constant.PromptContent.SYSTEM_PROMPT_DEFAULT_CHAT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import core.mcpclient.config.properties.AnswerCacheProperties;
+import core.mcpclient.config.properties.SemanticCacheProperties;
+import core.mcpclient.routing.ModelTier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+
+class LlmAnswerCacheTest {
+
+    private static final ModelTier TIER = ModelTier.COMPLEX;
+    private static final String QUESTION = "오늘 전력 사용량 알려줘";
+    private static final String ANSWER = "오늘 전력 사용량은 120kWh입니다.";
+    private static final List<Message> MEMORY = List.of(new UserMessage("안녕"), new AssistantMessage("안녕하세요"));
+
+    private final AtomicLong nanos = new AtomicLong();
+    private LlmAnswerCache llmAnswerCache;
+
+    @BeforeEach
+    void setUp() {
+        llmAnswerCache = newCache(new AnswerCacheProperties());
+    }
+
+    @Test
+    @DisplayName("공백, 대소문자, 끝의 문장부호만 다른 질문은 같은 답변을 받는다")
+    void get_NormalizedQuestion() {
+        // given
+        llmAnswerCache.put(llmAnswerCache.keyOf(QUESTION, TIER, SYSTEM_PROMPT_DEFAULT_CHAT, MEMORY), ANSWER, false);
+
+        // when & then
+        assertThat(llmAnswerCache.get(llmAnswerCache.keyOf("  오늘   전력 사용량 알려줘?! ", TIER, SYSTEM_PROMPT_DEFAULT_CHAT, MEMORY)))
+                .contains(ANSWER);
+        assertThat(LlmAnswerCache.normalize("ＡＰＩ  Usage?")).isEqualTo("api usage");
+    }
+
+    @Test
+    @DisplayName("system prompt, 대화 기록, 모델 tier가 다르면 다른 요청으로 본다")
+    void get_DifferentContext() {
+        // given
+        llmAnswerCache.put(llmAnswerCache.keyOf(QUESTION, TIER, SYSTEM_PROMPT_DEFAULT_CHAT, MEMORY), ANSWER, false);
+
+        // when & then
+        assertThat(llmAnswerCache.get(llmAnswerCache.keyOf(QUESTION, TIER, SYSTEM_PROMPT_CREATE_NEW_CHAT, MEMORY)))
+                .isEmpty();
+        assertThat(llmAnswerCache.get(llmAnswerCache.keyOf(QUESTION, TIER, SYSTEM_PROMPT_DEFAULT_CHAT, List.of())))
+                .isEmpty();
+        assertThat(llmAnswerCache.get(llmAnswerCache.keyOf(QUESTION, ModelTier.SIMPLE, SYSTEM_PROMPT_DEFAULT_CHAT, MEMORY)))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("대화 기록의 hash는 메시지 경계와 종류를 구분한다")
+    void hashOf_DistinguishesMessages() {
+        assertThat(LlmAnswerCache.hashOf(List.of(new UserMessage("ab"), new UserMessage("c"))))
+                .isNotEqualTo(LlmAnswerCache.hashOf(List.of(new UserMessage("a"), new UserMessage("bc"))));
+        assertThat(LlmAnswerCache.hashOf(List.of(new UserMessage("a"))))
+                .isNotEqualTo(LlmAnswerCache.hashOf(List.of(new AssistantMessage("a"))));
+    }
+
+    @Test
+    @DisplayName("tool을 사용한 답변은 toolAnswerTtl이 지나면 만료된다")
+    void get_ToolAnswerExpiresEarlier() {
+        // given
+        AnswerCacheKey toolKey = llmAnswerCache.keyOf(QUESTION, TIER, SYSTEM_PROMPT_DEFAULT_CHAT, MEMORY);
+        AnswerCacheKey plainKey = llmAnswerCache.keyOf("설비 목록 설명해줘", TIER, SYSTEM_PROMPT_DEFAULT_CHAT, MEMORY);
+        llmAnswerCache.put(toolKey, ANSWER, true);
+        llmAnswerCache.put(plainKey, ANSWER, false);
+
+        // when
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        // then
+        assertThat(llmAnswerCache.get(toolKey)).isEmpty();
+        assertThat(llmAnswerCache.get(plainKey)).contains(ANSWER);
+    }
+
+    @Test
+    @DisplayName("toolAnswerTtl이 0이면 tool을 사용한 답변은 보관하지 않는다")
+    void put_SkipsToolAnswerWhenDisabled() {
+        // given
+        AnswerCacheProperties properties = new AnswerCacheProperties();
+        properties.setToolAnswerTtl(Duration.ZERO);
+        LlmAnswerCache cache = newCache(properties);
+        AnswerCacheKey key = cache.keyOf(QUESTION, TIER, SYSTEM_PROMPT_DEFAULT_CHAT, MEMORY);
+
+        // when
+        cache.put(key, ANSWER, true);
+
+        // then
+        assertThat(cache.get(key)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("비어 있는 답변은 보관하지 않는다")
+    void put_SkipsBlankAnswer() {
+        // given
+        AnswerCacheKey key = llmAnswerCache.keyOf(QUESTION, TIER, SYSTEM_PROMPT_DEFAULT_CHAT, MEMORY);
+
+        // when
+        llmAnswerCache.put(key, " ", false);
+        llmAnswerCache.put(key, null, false);
+
+        // then
+        assertThat(llmAnswerCache.get(key)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("보관한 답변을 replayChunkSize 글자씩 나누어 스트리밍한다")
+    void replay() {
+        // given
+        AnswerCacheProperties properties = new AnswerCacheProperties();
+        properties.setReplayChunkSize(4);
+        LlmAnswerCache cache = newCache(properties);
+
+        // when
+        List<String> chunks = cache.replay("전력 사용량은 120kWh").collectList().block();
+
+        // then
+        assertThat(chunks).containsExactly("전력 사", "용량은 ", "120k", "Wh");
+    }
+
+    @Test
+    @DisplayName("hit/miss 횟수와 절약한 추정 token 수를 metric으로 노출한다")
+    void metrics() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        llmAnswerCache.bindTo(registry);
+        AnswerCacheKey key = llmAnswerCache.keyOf(QUESTION, TIER, SYSTEM_PROMPT_DEFAULT_CHAT, MEMORY);
+        llmAnswerCache.get(key);
+        llmAnswerCache.put(key, ANSWER, false);
+
+        // when
+        llmAnswerCache.get(key);
+
+        // then
+        assertThat(registry.get("mcp.answer.cache.requests").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("mcp.answer.cache.requests").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("mcp.answer.cache.saved.tokens").functionCounter().count())
+                .isGreaterThan(key.getPromptTokens());
+    }
+
+    @Test
+    @DisplayName("대화 기록이 없으면 띄어쓰기만 다른 질문에도 tool을 사용하지 않은 답변을 돌려준다")
+    void get_SimilarQuestionWithoutMemory() {
+        // given
+        llmAnswerCache.put(llmAnswerCache.keyOf(QUESTION, TIER, SYSTEM_PROMPT_DEFAULT_CHAT, List.of()), ANSWER, false);
+        llmAnswerCache.put(llmAnswerCache.keyOf("설비 상태 알려줘", TIER, SYSTEM_PROMPT_DEFAULT_CHAT, List.of()), ANSWER, true);
+
+        // when & then
+        assertThat(llmAnswerCache.get(llmAnswerCache.keyOf("오늘 전력사용량 알려 줘", TIER, SYSTEM_PROMPT_DEFAULT_CHAT, List.of())))
+                .contains(ANSWER);
+        assertThat(llmAnswerCache.get(llmAnswerCache.keyOf("설비상태 알려줘", TIER, SYSTEM_PROMPT_DEFAULT_CHAT, List.of())))
+                .isEmpty();
+        assertThat(llmAnswerCache.get(llmAnswerCache.keyOf("오늘 전력사용량 알려 줘", TIER, SYSTEM_PROMPT_CREATE_NEW_CHAT, List.of())))
+                .isEmpty();
+        assertThat(llmAnswerCache.get(llmAnswerCache.keyOf("오늘 전력사용량 알려 줘", ModelTier.SIMPLE, SYSTEM_PROMPT_DEFAULT_CHAT, List.of())))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("대화 기록이 있으면 비슷한 질문의 답변을 돌려주지 않는다")
+    void get_SimilarQuestionWithMemory() {
+        // given
+        llmAnswerCache.put(llmAnswerCache.keyOf(QUESTION, TIER, SYSTEM_PROMPT_DEFAULT_CHAT, MEMORY), ANSWER, false);
+
+        // when & then
+        assertThat(llmAnswerCache.get(llmAnswerCache.keyOf("오늘 전력사용량 알려 줘", TIER, SYSTEM_PROMPT_DEFAULT_CHAT, MEMORY)))
+                .isEmpty();
+    }
+
+    private LlmAnswerCache newCache(AnswerCacheProperties properties) {
+        SemanticCacheProperties semanticCacheProperties = new SemanticCacheProperties();
+        semanticCacheProperties.setEnabled(true);
+        semanticCacheProperties.setMaximumSize(100);
+        SemanticAnswerCache semanticAnswerCache = new SemanticAnswerCache(semanticCacheProperties,
+                new HashingQuestionEmbedder(256), nanos::get);
+        return new LlmAnswerCache(properties, semanticAnswerCache, nanos::get);
+    }
+}
@@ -0,0 +1,166 @@
+package core.mcpclient.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import core.mcpclient.config.properties.SemanticCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SemanticAnswerCacheTest {
+
+    private static final long SCOPE = 1;
+    private static final CachedAnswer ANSWER = new CachedAnswer("오늘 전력 사용량은 120kWh입니다.", false, 100);
+    private static final int DIMENSIONS = 256;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SemanticCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SemanticCacheProperties();
+        properties.setEnabled(true);
+        properties.setMaximumSize(100);
+    }
+
+    @Test
+    @DisplayName("유사도가 threshold 이상인 질문에만 답변을 돌려준다")
+    void get_SimilarityThreshold() {
+        // given
+        properties.setSimilarityThreshold(0.7);
+        SemanticAnswerCache cache = newCache();
+        cache.put("오늘 전력 사용량 알려줘", SCOPE, ANSWER);
+        cache.put("설비 목록 설명해줘", SCOPE, new CachedAnswer("설비 목록입니다.", false, 10));
+
+        // when & then
+        assertThat(cache.get("오늘 전력 사용량 알려주세요", SCOPE)).contains(ANSWER);
+        assertThat(cache.get("어제 가스 사용량 비교해줘", SCOPE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("숫자나 식별자가 다른 질문에는 유사도가 높아도 답변을 돌려주지 않는다")
+    void get_DifferentIdentifiers() {
+        // given
+        SemanticAnswerCache cache = newCache();
+        CachedAnswer machine3Answer = new CachedAnswer("3번 설비의 이번 달 전력 사용량은 1,200kWh입니다.", false, 100);
+        cache.put(LlmAnswerCache.normalize("3번 설비의 이번 달 전력 사용량과 평균 가동률 추이를 알려줘"), SCOPE, machine3Answer);
+
+        // when & then
+        assertThat(cache.get(LlmAnswerCache.normalize("4번 설비의 이번 달 전력 사용량과 평균 가동률 추이를 알려줘"), SCOPE))
+                .isEmpty();
+        assertThat(cache.get(LlmAnswerCache.normalize("EQ-003 설비의 이번 달 전력 사용량과 평균 가동률 추이를 알려줘"), SCOPE))
+                .isEmpty();
+        assertThat(cache.get(LlmAnswerCache.normalize("3번 설비의 이번 달 전력 사용량과 평균 가동률 추이 알려줘"), SCOPE))
+                .contains(machine3Answer);
+    }
+
+    @Test
+    @DisplayName("scope가 다른 질문의 답변은 돌려주지 않는다")
+    void get_DifferentScope() {
+        // given
+        SemanticAnswerCache cache = newCache();
+        cache.put("오늘 전력 사용량 알려줘", SCOPE, ANSWER);
+
+        // when & then
+        assertThat(cache.get("오늘 전력사용량 알려줘", SCOPE + 1)).isEmpty();
+        assertThat(cache.get("오늘 전력사용량 알려줘", SCOPE)).contains(ANSWER);
+    }
+
+    @Test
+    @DisplayName("ttl이 지난 답변은 돌려주지 않는다")
+    void get_Expired() {
+        // given
+        properties.setTtl(Duration.ofMinutes(10));
+        SemanticAnswerCache cache = newCache();
+        cache.put("오늘 전력 사용량 알려줘", SCOPE, ANSWER);
+
+        // when
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        // then
+        assertThat(cache.get("오늘 전력 사용량 알려줘", SCOPE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 질문은 색인에 다시 추가하지 않고 답변만 바꾼다")
+    void put_SameQuestion() {
+        // given
+        SemanticAnswerCache cache = newCache();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        CachedAnswer newAnswer = new CachedAnswer("오늘 전력 사용량은 130kWh입니다.", false, 100);
+        cache.put("오늘 전력 사용량 알려줘", SCOPE, ANSWER);
+
+        // when
+        cache.put("오늘 전력사용량 알려줘", SCOPE, newAnswer);
+
+        // then
+        assertThat(cache.get("오늘 전력 사용량 알려줘", SCOPE)).contains(newAnswer);
+        assertThat(registry.get("mcp.semantic.cache.entries").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("색인이 가득 차면 만료된 질문과 오래된 질문을 버린다")
+    void put_EvictsWhenFull() {
+        // given
+        properties.setMaximumSize(8);
+        properties.setTtl(Duration.ofMinutes(10));
+        SemanticAnswerCache cache = newCache();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        // when
+        for (int i = 0; i < 20; i++) {
+            cache.put(i + "번 설비 상태 알려줘", SCOPE, new CachedAnswer(i + "번 설비는 정상입니다.", false, 10));
+            nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+        }
+
+        // then
+        assertThat(cache.get("19번 설비 상태 알려줘", SCOPE)).map(CachedAnswer::answer).contains("19번 설비는 정상입니다.");
+        assertThat(cache.get("0번 설비 상태 알려줘", SCOPE)).isEmpty();
+        assertThat(registry.get("mcp.semantic.cache.entries").gauge().value()).isLessThanOrEqualTo(8);
+        assertThat(registry.get("mcp.semantic.cache.evictions").functionCounter().count()).isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("조회 지연 시간과 hit/miss 횟수를 metric으로 노출한다")
+    void metrics() {
+        // given
+        SemanticAnswerCache cache = newCache();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.put("오늘 전력 사용량 알려줘", SCOPE, ANSWER);
+
+        // when
+        cache.get("오늘 전력 사용량 알려줘", SCOPE);
+        cache.get("설비 목록 설명해줘", SCOPE);
+
+        // then
+        assertThat(registry.get("mcp.semantic.cache.lookup").timer().count()).isEqualTo(2);
+        assertThat(registry.get("mcp.semantic.cache.requests").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("mcp.semantic.cache.requests").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("비활성화하면 보관하지도 돌려주지도 않는다")
+    void disabled() {
+        // given
+        properties.setEnabled(false);
+        SemanticAnswerCache cache = newCache();
+
+        // when
+        cache.put("오늘 전력 사용량 알려줘", SCOPE, ANSWER);
+
+        // then
+        assertThat(cache.get("오늘 전력 사용량 알려줘", SCOPE)).isEmpty();
+    }
+
+    private SemanticAnswerCache newCache() {
+        return new SemanticAnswerCache(properties, new HashingQuestionEmbedder(DIMENSIONS), nanos::get);
+    }
+}
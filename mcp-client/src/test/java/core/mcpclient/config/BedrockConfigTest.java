@@ -0,0 +1,241 @@
+package core.mcpclient.config;
+
+import static core.mcpclient.service.constant.PromptContent.SYSTEM_PROMPT_DEFAULT_CHAT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import core.mcpclient.advisor.PromptCacheUsageAdvisor;
+import core.mcpclient.config.properties.BedrockProperties;
+import core.mcpclient.config.properties.LlmResilienceProperties;
+import core.mcpclient.config.properties.RoutingProperties;
+import core.mcpclient.resilience.ResilientChatModel;
+import core.mcpclient.routing.ModelRouter;
+import core.mcpclient.routing.QuestionClassifier;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.bedrock.converse.BedrockProxyChatModel;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.model.bedrock.autoconfigure.BedrockAwsConnectionProperties;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
+import software.amazon.awssdk.services.bedrockruntime.model.ContentBlock;
+import software.amazon.awssdk.services.bedrockruntime.model.ConversationRole;
+import software.amazon.awssdk.services.bedrockruntime.model.ConverseMetrics;
+import software.amazon.awssdk.services.bedrockruntime.model.ConverseOutput;
+import software.amazon.awssdk.services.bedrockruntime.model.ConverseRequest;
+import software.amazon.awssdk.services.bedrockruntime.model.ConverseResponse;
+import software.amazon.awssdk.services.bedrockruntime.model.Message;
+import software.amazon.awssdk.services.bedrockruntime.model.StopReason;
+import software.amazon.awssdk.services.bedrockruntime.model.SystemContentBlock;
+import software.amazon.awssdk.services.bedrockruntime.model.ThrottlingException;
+import software.amazon.awssdk.services.bedrockruntime.model.TokenUsage;
+import software.amazon.awssdk.services.bedrockruntime.model.Tool;
+
+@ExtendWith(MockitoExtension.class)
+class BedrockConfigTest {
+
+    @Mock
+    private BedrockRuntimeClient bedrockRuntimeClient;
+
+    @Mock
+    private BedrockRuntimeAsyncClient bedrockRuntimeAsyncClient;
+
+    @Mock
+    private BedrockRuntimeClient fallbackRuntimeClient;
+
+    @Mock
+    private BedrockRuntimeAsyncClient fallbackRuntimeAsyncClient;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ChatClient chatClient;
+    private ModelRouter modelRouter;
+
+    @BeforeEach
+    void setUp() {
+        BedrockProperties bedrockProperties = new BedrockProperties();
+        bedrockProperties.setModelId("anthropic.claude-3-5-haiku-20241022-v1:0");
+        bedrockProperties.setTemperature(0.0);
+        bedrockProperties.setMaxTokens(1_000);
+        bedrockProperties.setSimpleModelId("anthropic.claude-3-haiku-20240307-v1:0");
+        bedrockProperties.setSimpleMaxTokens(300);
+        BedrockProperties.Fallback fallback = new BedrockProperties.Fallback();
+        fallback.setRegion("us-east-1");
+        fallback.setModelId("us.anthropic.claude-3-5-haiku-20241022-v1:0");
+        fallback.setSimpleModelId("us.anthropic.claude-3-haiku-20240307-v1:0");
+        bedrockProperties.setFallbacks(List.of(fallback));
+        BedrockAwsConnectionProperties awsConnectionProperties = new BedrockAwsConnectionProperties();
+        awsConnectionProperties.setRegion("ap-northeast-2");
+        awsConnectionProperties.setTimeout(Duration.ofSeconds(10));
+        ToolCallbackProvider toolCallbackProvider = () -> new ToolCallback[]{new PowerUsageTool()};
+
+        BedrockConfig bedrockConfig = new BedrockConfig(toolCallbackProvider, bedrockProperties, awsConnectionProperties) {
+            @Override
+            BedrockRuntimeClient createRuntimeClient(String region) {
+                return fallbackRuntimeClient;
+            }
+
+            @Override
+            BedrockRuntimeAsyncClient createRuntimeAsyncClient(String region) {
+                return fallbackRuntimeAsyncClient;
+            }
+        };
+        BedrockProxyChatModel chatModel = bedrockConfig.bedrockProxyChatModel(
+                bedrockRuntimeClient, bedrockRuntimeAsyncClient, bedrockConfig.bedrockChatOptions());
+        PromptCacheUsageAdvisor advisor = bedrockConfig.promptCacheUsageAdvisor();
+        advisor.bindTo(registry);
+        LlmResilienceProperties resilienceProperties = new LlmResilienceProperties();
+        chatClient = bedrockConfig.bedrockChatClient(
+                bedrockConfig.resilientChatModel(chatModel, resilienceProperties), advisor);
+        ResilientChatModel simpleChatModel = bedrockConfig.simpleResilientChatModel(
+                bedrockRuntimeClient, bedrockRuntimeAsyncClient, resilienceProperties);
+        modelRouter = bedrockConfig.modelRouter(chatClient, simpleChatModel, advisor,
+                new QuestionClassifier(new RoutingProperties(), null));
+    }
+
+    @Test
+    @DisplayName("system prompt와 tool 정의 뒤에 cache point를 두어 요청한다")
+    void converseRequest_HasCachePoints() {
+        // given
+        given(bedrockRuntimeClient.converse(any(ConverseRequest.class))).willReturn(response(0, 2_500));
+
+        // when
+        String answer = chatClient.prompt()
+                .system(SYSTEM_PROMPT_DEFAULT_CHAT.getContent())
+                .user("오늘 전력 사용량 알려줘")
+                .call()
+                .content();
+
+        // then
+        ArgumentCaptor<ConverseRequest> captor = ArgumentCaptor.forClass(ConverseRequest.class);
+        verify(bedrockRuntimeClient).converse(captor.capture());
+        ConverseRequest request = captor.getValue();
+
+        assertThat(answer).isEqualTo("오늘 전력 사용량은 120kWh입니다.");
+        List<SystemContentBlock> system = request.system();
+        assertThat(system.getFirst().text()).isEqualTo(SYSTEM_PROMPT_DEFAULT_CHAT.getContent());
+        assertThat(system.getLast().cachePoint()).isNotNull();
+        List<Tool> tools = request.toolConfig().tools();
+        assertThat(tools.getFirst().toolSpec().name()).isEqualTo("getPowerUsage");
+        assertThat(tools.getLast().cachePoint()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("호출마다 prompt cache에서 읽고 쓴 token 수를 기록한다")
+    void promptCacheUsage_RecordedPerCall() {
+        // given
+        given(bedrockRuntimeClient.converse(any(ConverseRequest.class)))
+                .willReturn(response(0, 2_500))
+                .willReturn(response(2_500, 0));
+
+        // when
+        chatClient.prompt().system(SYSTEM_PROMPT_DEFAULT_CHAT.getContent()).user("오늘 전력 사용량 알려줘").call().content();
+        chatClient.prompt().system(SYSTEM_PROMPT_DEFAULT_CHAT.getContent()).user("어제는?").call().content();
+
+        // then
+        DistributionSummary read = registry.get("mcp.llm.prompt.cache.tokens").tag("type", "read").summary();
+        DistributionSummary write = registry.get("mcp.llm.prompt.cache.tokens").tag("type", "write").summary();
+        assertThat(read.count()).isEqualTo(2);
+        assertThat(read.totalAmount()).isEqualTo(2_500);
+        assertThat(write.count()).isEqualTo(2);
+        assertThat(write.totalAmount()).isEqualTo(2_500);
+    }
+
+    @Test
+    @DisplayName("간단한 질문은 작은 모델과 작은 maxTokens로, 복잡한 질문은 기본 모델로 요청한다")
+    void modelRouter_PerTierRequest() {
+        // given
+        given(bedrockRuntimeClient.converse(any(ConverseRequest.class))).willReturn(response(0, 0));
+
+        // when
+        modelRouter.route("안녕하세요").prompt().user("안녕하세요").call().content();
+        modelRouter.route("지난주와 이번 주 사용량 비교해줘").prompt().user("지난주와 이번 주 사용량 비교해줘").call().content();
+
+        // then
+        ArgumentCaptor<ConverseRequest> captor = ArgumentCaptor.forClass(ConverseRequest.class);
+        verify(bedrockRuntimeClient, times(2)).converse(captor.capture());
+        ConverseRequest simple = captor.getAllValues().get(0);
+        ConverseRequest complex = captor.getAllValues().get(1);
+
+        assertThat(simple.modelId()).isEqualTo("anthropic.claude-3-haiku-20240307-v1:0");
+        assertThat(simple.inferenceConfig().maxTokens()).isEqualTo(300);
+        assertThat(simple.toolConfig().tools().getLast().cachePoint()).isNotNull();
+        assertThat(complex.modelId()).isEqualTo("anthropic.claude-3-5-haiku-20241022-v1:0");
+        assertThat(complex.inferenceConfig().maxTokens()).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("간단한 질문이 fallback region으로 넘어가면 fallback의 simpleModelId로 요청한다")
+    void modelRouter_SimpleTierFallback() {
+        // given
+        given(bedrockRuntimeClient.converse(any(ConverseRequest.class)))
+                .willThrow(ThrottlingException.builder().statusCode(429).message("Too many requests").build());
+        given(fallbackRuntimeClient.converse(any(ConverseRequest.class))).willReturn(response(0, 0));
+
+        // when
+        modelRouter.route("안녕하세요").prompt().user("안녕하세요").call().content();
+        modelRouter.route("지난주와 이번 주 사용량 비교해줘").prompt().user("지난주와 이번 주 사용량 비교해줘").call().content();
+
+        // then
+        ArgumentCaptor<ConverseRequest> captor = ArgumentCaptor.forClass(ConverseRequest.class);
+        verify(fallbackRuntimeClient, times(2)).converse(captor.capture());
+        ConverseRequest simple = captor.getAllValues().get(0);
+        ConverseRequest complex = captor.getAllValues().get(1);
+
+        assertThat(simple.modelId()).isEqualTo("us.anthropic.claude-3-haiku-20240307-v1:0");
+        assertThat(simple.inferenceConfig().maxTokens()).isEqualTo(300);
+        assertThat(complex.modelId()).isEqualTo("us.anthropic.claude-3-5-haiku-20241022-v1:0");
+        assertThat(complex.inferenceConfig().maxTokens()).isEqualTo(1_000);
+    }
+
+    private static ConverseResponse response(int cacheRead, int cacheWrite) {
+        return ConverseResponse.builder()
+                .output(ConverseOutput.builder()
+                        .message(Message.builder()
+                                .role(ConversationRole.ASSISTANT)
+                                .content(ContentBlock.fromText("오늘 전력 사용량은 120kWh입니다."))
+                                .build())
+                        .build())
+                .stopReason(StopReason.END_TURN)
+                .usage(TokenUsage.builder()
+                        .inputTokens(20)
+                        .outputTokens(10)
+                        .totalTokens(30 + cacheRead + cacheWrite)
+                        .cacheReadInputTokens(cacheRead)
+                        .cacheWriteInputTokens(cacheWrite)
+                        .build())
+                .metrics(ConverseMetrics.builder().latencyMs(100L).build())
+                .build();
+    }
+
+    private static class PowerUsageTool implements ToolCallback {
+
+        @Override
+        public ToolDefinition getToolDefinition() {
+            return ToolDefinition.builder()
+                    .name("getPowerUsage")
+                    .description("설비의 전력 사용량을 조회한다.")
+                    .inputSchema("{\"type\":\"object\",\"properties\":{}}")
+                    .build();
+        }
+
+        @Override
+        public String call(String toolInput) {
+            return "120";
+        }
+    }
+}
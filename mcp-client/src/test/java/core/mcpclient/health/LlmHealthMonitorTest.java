@@ -0,0 +1,167 @@
+package core.mcpclient.health;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import core.mcpclient.config.properties.LlmHealthProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LlmHealthMonitorTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private LlmHealthMonitor llmHealthMonitor;
+
+    @BeforeEach
+    void setUp() {
+        LlmHealthProperties properties = new LlmHealthProperties();
+        properties.setMinimumCalls(5);
+        properties.setDegradedLatency(Duration.ofSeconds(10));
+        llmHealthMonitor = new LlmHealthMonitor(properties, nanos::get);
+    }
+
+    @Test
+    @DisplayName("실제 요청이 대부분 빠르게 성공하면 HEALTHY를 반환한다")
+    void health_Healthy() {
+        // given
+        record(10, 0, Duration.ofSeconds(1));
+
+        // when
+        LlmHealth health = llmHealthMonitor.health();
+
+        // then
+        assertThat(health.status()).isEqualTo(LlmHealthStatus.HEALTHY);
+        assertThat(health.calls()).isEqualTo(10);
+        assertThat(health.averageLatencyMillis()).isEqualTo(1000);
+        assertThat(health.probed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("실패 비율에 따라 DEGRADED, UNHEALTHY를 반환한다")
+    void health_FailureRate() {
+        // given
+        record(8, 2, Duration.ofSeconds(1));
+
+        // when & then
+        assertThat(llmHealthMonitor.health().status()).isEqualTo(LlmHealthStatus.DEGRADED);
+        assertThat(llmHealthMonitor.health().failureRate()).isEqualTo(0.2);
+
+        record(0, 10, Duration.ZERO);
+        assertThat(llmHealthMonitor.health().status()).isEqualTo(LlmHealthStatus.UNHEALTHY);
+    }
+
+    @Test
+    @DisplayName("첫 응답까지 평균 시간이 degradedLatency보다 길면 DEGRADED를 반환한다")
+    void health_Slow() {
+        // given
+        record(5, 0, Duration.ofSeconds(11));
+
+        // when & then
+        assertThat(llmHealthMonitor.health().status()).isEqualTo(LlmHealthStatus.DEGRADED);
+    }
+
+    @Test
+    @DisplayName("스트리밍 요청은 전체 시간이 아니라 첫 chunk까지의 시간으로 판단한다")
+    void health_StreamLatencyUntilFirstResponse() {
+        // given
+        List<LlmHealthMonitor.Sample> samples = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            samples.add(llmHealthMonitor.start());
+        }
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        samples.forEach(LlmHealthMonitor.Sample::onResponse);
+        nanos.addAndGet(Duration.ofSeconds(20).toNanos());
+        samples.forEach(LlmHealthMonitor.Sample::onResponse);
+        samples.forEach(LlmHealthMonitor.Sample::success);
+
+        // when
+        LlmHealth health = llmHealthMonitor.health();
+
+        // then
+        assertThat(health.status()).isEqualTo(LlmHealthStatus.HEALTHY);
+        assertThat(health.averageLatencyMillis()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("window가 지난 요청은 판단에서 제외한다")
+    void health_ExpiresOldCalls() {
+        // given
+        record(0, 10, Duration.ZERO);
+
+        // when
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        // then
+        assertThat(llmHealthMonitor.health().calls()).isZero();
+        assertThat(llmHealthMonitor.health().status()).isEqualTo(LlmHealthStatus.UNKNOWN);
+        assertThat(llmHealthMonitor.needsProbe()).isTrue();
+    }
+
+    @Test
+    @DisplayName("실제 요청이 적으면 probeTtl 동안 probe 결과로 판단한다")
+    void health_UsesProbeWhenIdle() {
+        // given
+        record(2, 0, Duration.ofSeconds(1));
+        llmHealthMonitor.recordProbe(false, Duration.ofSeconds(3).toNanos());
+
+        // when
+        LlmHealth health = llmHealthMonitor.health();
+
+        // then
+        assertThat(health.status()).isEqualTo(LlmHealthStatus.UNHEALTHY);
+        assertThat(health.probed()).isTrue();
+        assertThat(llmHealthMonitor.needsProbe()).isTrue();
+
+        llmHealthMonitor.recordProbe(true, Duration.ofSeconds(3).toNanos());
+        assertThat(llmHealthMonitor.health().status()).isEqualTo(LlmHealthStatus.HEALTHY);
+
+        nanos.addAndGet(Duration.ofMinutes(3).toNanos());
+        assertThat(llmHealthMonitor.health().status()).isEqualTo(LlmHealthStatus.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("실제 요청이 충분하면 probe가 필요 없다")
+    void needsProbe_EnoughTraffic() {
+        // given
+        record(5, 0, Duration.ofSeconds(1));
+
+        // when & then
+        assertThat(llmHealthMonitor.needsProbe()).isFalse();
+    }
+
+    @Test
+    @DisplayName("상태와 probe 결과를 metric으로 노출한다")
+    void metrics() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        llmHealthMonitor.bindTo(registry);
+
+        // when
+        llmHealthMonitor.recordProbe(true, Duration.ofSeconds(1).toNanos());
+        llmHealthMonitor.recordProbe(false, Duration.ofSeconds(1).toNanos());
+
+        // then
+        assertThat(registry.get("mcp.llm.health.status").gauge().value())
+                .isEqualTo(LlmHealthStatus.UNHEALTHY.ordinal());
+        assertThat(registry.get("mcp.llm.health.probes").tag("result", "success").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("mcp.llm.health.probes").tag("result", "failure").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    private void record(int successes, int failures, Duration latency) {
+        for (int i = 0; i < successes; i++) {
+            LlmHealthMonitor.Sample sample = llmHealthMonitor.start();
+            nanos.addAndGet(latency.toNanos());
+            sample.success();
+        }
+        for (int i = 0; i < failures; i++) {
+            llmHealthMonitor.start().failure();
+        }
+    }
+}
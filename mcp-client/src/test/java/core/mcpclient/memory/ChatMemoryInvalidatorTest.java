@@ -0,0 +1,53 @@
+package core.mcpclient.memory;
+
+import static org.mockito.Mockito.verify;
+
+import core.mcpclient.repository.ChatMemorySummaryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ChatMemoryInvalidatorTest {
+
+    private static final Long ROOM_ID = 1L;
+
+    @Mock
+    private ChatMemoryWindowCache chatMemoryWindowCache;
+
+    @Mock
+    private ChatMemorySummaryRepository chatMemorySummaryRepository;
+
+    @Mock
+    private ChatMemorySummarizer chatMemorySummarizer;
+
+    @InjectMocks
+    private ChatMemoryInvalidator chatMemoryInvalidator;
+
+    @Test
+    @DisplayName("저장된 메시지는 memory window에 추가한다")
+    void messageSaved() {
+        // when
+        chatMemoryInvalidator.userMessageSaved(ROOM_ID, 10L, "질문");
+        chatMemoryInvalidator.assistantMessageSaved(ROOM_ID, 11L, "답변");
+
+        // then
+        verify(chatMemoryWindowCache).appendUserMessage(ROOM_ID, 10L, "질문");
+        verify(chatMemoryWindowCache).appendAssistantMessage(ROOM_ID, 11L, "답변");
+    }
+
+    @Test
+    @DisplayName("대화를 삭제하면 요약 row를 삭제하고 memory window와 요약 캐시를 비운다")
+    void conversationDeleted() {
+        // when
+        chatMemoryInvalidator.conversationDeleted(ROOM_ID);
+
+        // then
+        verify(chatMemorySummaryRepository).deleteByRoomId(ROOM_ID);
+        verify(chatMemoryWindowCache).evict(ROOM_ID);
+        verify(chatMemorySummarizer).evict(ROOM_ID);
+    }
+}
@@ -0,0 +1,255 @@
+package core.mcpclient.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import core.mcpclient.admission.LlmAdmissionController;
+import core.mcpclient.config.properties.AdmissionProperties;
+import core.mcpclient.config.properties.ChatMemoryProperties;
+import core.mcpclient.config.properties.LlmHealthProperties;
+import core.mcpclient.health.LlmHealthMonitor;
+import core.mcpclient.repository.ChatMemorySummaryRepository;
+import core.mcpclient.repository.CustomChatMemoryRepository;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.ChatClient.CallResponseSpec;
+import org.springframework.ai.chat.client.ChatClient.ChatClientRequestSpec;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class ChatMemorySummarizerTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final String SUMMARY = "사용자가 3층 냉방기 전력 사용량 증가 원인을 문의함";
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ChatMemorySummaryRepository chatMemorySummaryRepository;
+    private ChatMemorySummarizer chatMemorySummarizer;
+    private final LlmHealthMonitor llmHealthMonitor = new LlmHealthMonitor(new LlmHealthProperties());
+
+    private final ChatClient chatClient = mock(ChatClient.class);
+    private final ChatClientRequestSpec requestSpec = mock(ChatClientRequestSpec.class);
+    private final CallResponseSpec callResponseSpec = mock(CallResponseSpec.class);
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE chat_history (
+                    id BIGINT PRIMARY KEY,
+                    room_id BIGINT NOT NULL,
+                    content TEXT NOT NULL,
+                    type VARCHAR(10) NOT NULL,
+                    created_at TIMESTAMP
+                )""");
+        jdbcTemplate.execute("""
+                CREATE TABLE chat_room (
+                    id BIGINT PRIMARY KEY,
+                    user_id VARCHAR(255) NOT NULL,
+                    name VARCHAR(255) NOT NULL,
+                    created_at TIMESTAMP
+                )""");
+        jdbcTemplate.execute("""
+                CREATE TABLE chat_memory_summary (
+                    room_id BIGINT PRIMARY KEY,
+                    summary TEXT NOT NULL,
+                    last_chat_id BIGINT NOT NULL,
+                    updated_at TIMESTAMP NOT NULL
+                )""");
+        jdbcTemplate.update("INSERT INTO chat_room (id, user_id, name) VALUES (?, ?, ?)", ROOM_ID, "user", "방 이름");
+        for (long id = 1; id <= 20; id++) {
+            jdbcTemplate.update("INSERT INTO chat_history (id, room_id, content, type) VALUES (?, ?, ?, ?)",
+                    id, ROOM_ID, "메시지 " + id, id % 2 == 1 ? "USER" : "ASSISTANT");
+        }
+
+        ChatMemoryProperties properties = new ChatMemoryProperties();
+        CustomChatMemoryRepository customChatMemoryRepository = new CustomChatMemoryRepository(
+                jdbcTemplate, new ChatMemoryWindowCache(properties), properties);
+        chatMemorySummaryRepository = new ChatMemorySummaryRepository(jdbcTemplate);
+        chatMemorySummarizer = new ChatMemorySummarizer(
+                chatClient, new LlmAdmissionController(new AdmissionProperties()), llmHealthMonitor,
+                customChatMemoryRepository, chatMemorySummaryRepository, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        chatMemorySummarizer.shutdown();
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("요약 경계 이전의 메시지를 오래된 순으로 LLM에 넘겨 요약하고 마지막 채팅 id와 함께 저장한다")
+    void refresh_SavesSummary() {
+        // given
+        givenSummaryResponse(SUMMARY);
+
+        // when
+        boolean refreshed = chatMemorySummarizer.refresh(ROOM_ID, 11L);
+
+        // then
+        assertThat(refreshed).isTrue();
+        ArgumentCaptor<String> input = ArgumentCaptor.forClass(String.class);
+        verify(requestSpec).user(input.capture());
+        assertThat(input.getValue())
+                .contains("[기존 요약]\n없음")
+                .contains("사용자: 메시지 1\nAI: 메시지 2\n")
+                .contains("AI: 메시지 10\n")
+                .doesNotContain("메시지 11");
+        assertThat(chatMemorySummaryRepository.findByRoomId(ROOM_ID))
+                .contains(new ChatMemorySummary(ROOM_ID, SUMMARY, 10L));
+        assertThat(chatMemorySummarizer.getSummary(ROOM_ID))
+                .contains(new ChatMemorySummary(ROOM_ID, SUMMARY, 10L));
+    }
+
+    @Test
+    @DisplayName("이전 요약 이후의 메시지만 이전 요약과 합쳐 요약한다")
+    void refresh_Incremental() {
+        // given
+        chatMemorySummaryRepository.save(new ChatMemorySummary(ROOM_ID, "이전 요약", 10L));
+        givenSummaryResponse(SUMMARY);
+
+        // when
+        chatMemorySummarizer.refresh(ROOM_ID, 19L);
+
+        // then
+        ArgumentCaptor<String> input = ArgumentCaptor.forClass(String.class);
+        verify(requestSpec).user(input.capture());
+        assertThat(input.getValue())
+                .contains("[기존 요약]\n이전 요약")
+                .contains("사용자: 메시지 11\n")
+                .contains("AI: 메시지 18\n")
+                .doesNotContain("메시지 10\n")
+                .doesNotContain("메시지 19");
+        assertThat(chatMemorySummaryRepository.findByRoomId(ROOM_ID))
+                .contains(new ChatMemorySummary(ROOM_ID, SUMMARY, 18L));
+    }
+
+    @Test
+    @DisplayName("이전 요약 이후 쌓인 메시지가 적으면 LLM을 호출하지 않는다")
+    void refresh_SkipsWhenFewNewMessages() {
+        // given
+        chatMemorySummaryRepository.save(new ChatMemorySummary(ROOM_ID, "이전 요약", 10L));
+
+        // when
+        boolean refreshed = chatMemorySummarizer.refresh(ROOM_ID, 13L);
+
+        // then
+        assertThat(refreshed).isFalse();
+        verifyNoInteractions(chatClient);
+        assertThat(chatMemorySummaryRepository.findByRoomId(ROOM_ID))
+                .contains(new ChatMemorySummary(ROOM_ID, "이전 요약", 10L));
+    }
+
+    @Test
+    @DisplayName("요약 갱신 요청은 LLM 응답을 기다리지 않고 반환된다")
+    void requestRefresh_DoesNotBlock() throws InterruptedException {
+        // given
+        CountDownLatch llmResponded = new CountDownLatch(1);
+        given(chatClient.prompt()).willReturn(requestSpec);
+        given(requestSpec.system(anyString())).willReturn(requestSpec);
+        given(requestSpec.user(anyString())).willReturn(requestSpec);
+        given(requestSpec.call()).willReturn(callResponseSpec);
+        given(callResponseSpec.content()).willAnswer(invocation -> {
+            llmResponded.await(5, TimeUnit.SECONDS);
+            return SUMMARY;
+        });
+
+        // when
+        long startedAt = System.nanoTime();
+        chatMemorySummarizer.requestRefresh(ROOM_ID, 11L);
+        chatMemorySummarizer.requestRefresh(ROOM_ID, 11L);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        // then
+        assertThat(elapsedMillis).isLessThan(1_000);
+        assertThat(chatMemorySummaryRepository.findByRoomId(ROOM_ID)).isEmpty();
+
+        llmResponded.countDown();
+        assertThat(awaitSummary()).contains(new ChatMemorySummary(ROOM_ID, SUMMARY, 10L));
+        verify(chatClient).prompt();
+    }
+
+    @Test
+    @DisplayName("요약 호출 결과는 LLM 상태 판단을 위해 기록된다")
+    void refresh_RecordsHealthSample() {
+        // given
+        givenSummaryResponse(SUMMARY);
+
+        // when
+        chatMemorySummarizer.refresh(ROOM_ID, 11L);
+
+        // then
+        assertThat(llmHealthMonitor.health().calls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("요약하는 동안 방이 삭제되었으면 요약을 다시 저장하지 않는다")
+    void refresh_SkipsDeletedRoom() {
+        // given
+        givenSummaryResponse(SUMMARY);
+        given(requestSpec.user(anyString())).willAnswer(invocation -> {
+            jdbcTemplate.update("DELETE FROM chat_room WHERE id = ?", ROOM_ID);
+            return requestSpec;
+        });
+
+        // when
+        chatMemorySummarizer.refresh(ROOM_ID, 11L);
+
+        // then
+        assertThat(chatMemorySummaryRepository.findByRoomId(ROOM_ID)).isEmpty();
+        assertThat(chatMemorySummarizer.getSummary(ROOM_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("더 최신 메시지까지 요약한 결과가 저장되어 있으면 덮어쓰지 않는다")
+    void save_KeepsNewerSummary() {
+        // given
+        chatMemorySummaryRepository.save(new ChatMemorySummary(ROOM_ID, "최신 요약", 18L));
+
+        // when
+        boolean saved = chatMemorySummaryRepository.save(new ChatMemorySummary(ROOM_ID, "늦게 끝난 요약", 10L));
+
+        // then
+        assertThat(saved).isFalse();
+        assertThat(chatMemorySummaryRepository.findByRoomId(ROOM_ID))
+                .contains(new ChatMemorySummary(ROOM_ID, "최신 요약", 18L));
+    }
+
+    private void givenSummaryResponse(String summary) {
+        given(chatClient.prompt()).willReturn(requestSpec);
+        given(requestSpec.system(anyString())).willReturn(requestSpec);
+        given(requestSpec.user(anyString())).willReturn(requestSpec);
+        given(requestSpec.call()).willReturn(callResponseSpec);
+        given(callResponseSpec.content()).willReturn(summary);
+    }
+
+    private Optional<ChatMemorySummary> awaitSummary() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Optional<ChatMemorySummary> summary = chatMemorySummaryRepository.findByRoomId(ROOM_ID);
+            if (summary.isPresent()) {
+                return summary;
+            }
+            Thread.sleep(10);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,181 @@
+package core.mcpclient.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import core.mcpclient.config.properties.ChatMemoryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.util.unit.DataSize;
+
+class ChatMemoryWindowCacheTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final Long OTHER_ROOM_ID = 2L;
+    private static final int MAX_MESSAGES = new ChatMemoryProperties().getMaxMessages();
+
+    private final AtomicLong nanos = new AtomicLong();
+    private ChatMemoryWindowCache chatMemoryWindowCache;
+
+    @BeforeEach
+    void setUp() {
+        chatMemoryWindowCache = new ChatMemoryWindowCache(new ChatMemoryProperties(), nanos::get);
+    }
+
+    @Test
+    @DisplayName("DB 조회 결과로 채운 window를 오래된 순으로 반환한다")
+    void fillAndGet() {
+        // given
+        fill(ROOM_ID, entry(1L, "질문"), entry(2L, "답변"));
+
+        // when & then
+        assertThat(chatMemoryWindowCache.get(ROOM_ID)).hasValueSatisfying(entries -> assertThat(entries)
+                .extracting(ChatMemoryWindowCacheTest::textOf)
+                .containsExactly("질문", "답변"));
+        assertThat(chatMemoryWindowCache.get(OTHER_ROOM_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("반환된 목록을 수정해도 window에는 영향이 없다")
+    void get_ReturnsCopy() {
+        // given
+        fill(ROOM_ID, entry(1L, "질문"));
+
+        // when
+        chatMemoryWindowCache.get(ROOM_ID).orElseThrow().add(entry(2L, "새 답변"));
+
+        // then
+        assertThat(chatMemoryWindowCache.get(ROOM_ID)).hasValueSatisfying(entries -> assertThat(entries).hasSize(1));
+    }
+
+    @Test
+    @DisplayName("저장된 메시지는 window가 있는 대화에만 추가되고, 같은 채팅 id는 한 번만 들어간다")
+    void append() {
+        // given
+        fill(ROOM_ID, entry(1L, "질문"), entry(2L, "답변"));
+
+        // when
+        chatMemoryWindowCache.appendUserMessage(ROOM_ID, 3L, "두 번째 질문");
+        chatMemoryWindowCache.appendAssistantMessage(ROOM_ID, 4L, "두 번째 답변");
+        chatMemoryWindowCache.appendAssistantMessage(ROOM_ID, 4L, "두 번째 답변");
+        chatMemoryWindowCache.appendUserMessage(OTHER_ROOM_ID, 5L, "다른 방 질문");
+
+        // then
+        assertThat(chatMemoryWindowCache.get(ROOM_ID)).hasValueSatisfying(entries -> {
+            assertThat(entries)
+                    .extracting(ChatMemoryWindowCacheTest::textOf)
+                    .containsExactly("질문", "답변", "두 번째 질문", "두 번째 답변");
+            assertThat(entries.get(3).message()).isInstanceOf(AssistantMessage.class);
+        });
+        assertThat(chatMemoryWindowCache.get(OTHER_ROOM_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("window가 가득 차면 가장 오래된 메시지를 버린다")
+    void append_DropsOldest() {
+        // given
+        List<ChatMemoryEntry> entries = new ArrayList<>();
+        for (long chatId = 1; chatId <= MAX_MESSAGES; chatId++) {
+            entries.add(entry(chatId, "메시지 " + chatId));
+        }
+        chatMemoryWindowCache.fill(ROOM_ID, entries, chatMemoryWindowCache.writeStamp(ROOM_ID));
+
+        // when
+        chatMemoryWindowCache.appendUserMessage(ROOM_ID, MAX_MESSAGES + 1L, "새 메시지");
+
+        // then
+        assertThat(chatMemoryWindowCache.get(ROOM_ID)).hasValueSatisfying(entries -> {
+            assertThat(entries).hasSize(MAX_MESSAGES);
+            assertThat(textOf(entries.get(0))).isEqualTo("메시지 2");
+            assertThat(textOf(entries.get(MAX_MESSAGES - 1))).isEqualTo("새 메시지");
+        });
+    }
+
+    @Test
+    @DisplayName("조회하는 동안 같은 대화에 저장이 있었다면 조회 결과로 채우지 않는다")
+    void fill_SkipsWhenWrittenDuringRead() {
+        // given
+        long writeStamp = chatMemoryWindowCache.writeStamp(ROOM_ID);
+        chatMemoryWindowCache.appendUserMessage(ROOM_ID, 3L, "두 번째 질문");
+
+        // when
+        chatMemoryWindowCache.fill(ROOM_ID, List.of(entry(1L, "질문")), writeStamp);
+
+        // then
+        assertThat(chatMemoryWindowCache.get(ROOM_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("전체 추정 크기가 상한을 넘으면 대화 단위로 제거된다")
+    void evictsBySize() {
+        // given
+        ChatMemoryProperties properties = new ChatMemoryProperties();
+        properties.setCacheMaximumSize(DataSize.ofKilobytes(4));
+        ChatMemoryWindowCache smallCache = new ChatMemoryWindowCache(properties);
+        String longText = "가".repeat(1_000);
+
+        // when
+        for (long roomId = 1; roomId <= 10; roomId++) {
+            smallCache.fill(roomId, List.of(entry(roomId, longText)), smallCache.writeStamp(roomId));
+        }
+
+        // then
+        assertThat(smallCache.estimatedBytes()).isLessThanOrEqualTo(DataSize.ofKilobytes(4).toBytes());
+    }
+
+    @Test
+    @DisplayName("메시지를 계속 추가해도 채운 뒤 cacheTtl이 지나면 제거된다")
+    void expiresAfterFillEvenWhenAppended() {
+        // given
+        Duration ttl = new ChatMemoryProperties().getCacheTtl();
+        fill(ROOM_ID, entry(1L, "질문"));
+
+        // when
+        nanos.addAndGet(ttl.toNanos() - 1);
+        chatMemoryWindowCache.appendUserMessage(ROOM_ID, 2L, "새 질문");
+        assertThat(chatMemoryWindowCache.get(ROOM_ID)).isPresent();
+        nanos.addAndGet(1);
+
+        // then
+        assertThat(chatMemoryWindowCache.get(ROOM_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("hit/miss 횟수와 보관 중인 window의 추정 크기를 metric으로 노출한다")
+    void metrics() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        chatMemoryWindowCache.bindTo(registry);
+        fill(ROOM_ID, entry(1L, "질문"));
+
+        // when
+        chatMemoryWindowCache.get(ROOM_ID);
+        chatMemoryWindowCache.get(OTHER_ROOM_ID);
+
+        // then
+        assertThat(registry.get("mcp.memory.cache.requests").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("mcp.memory.cache.requests").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("mcp.memory.cache.memory").gauge().value()).isPositive();
+    }
+
+    private void fill(Long roomId, ChatMemoryEntry... entries) {
+        chatMemoryWindowCache.fill(roomId, List.of(entries), chatMemoryWindowCache.writeStamp(roomId));
+    }
+
+    private static String textOf(ChatMemoryEntry entry) {
+        return entry.message().getText();
+    }
+
+    private static ChatMemoryEntry entry(long chatId, String text) {
+        return new ChatMemoryEntry(chatId, chatId % 2 == 1 ? new UserMessage(text) : new AssistantMessage(text));
+    }
+}
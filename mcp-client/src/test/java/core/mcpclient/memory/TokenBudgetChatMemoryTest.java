@@ -0,0 +1,231 @@
+package core.mcpclient.memory;
+
+import static core.mcpclient.memory.TokenBudgetChatMemory.SUMMARY_MESSAGE_PREFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import core.mcpclient.config.properties.ChatMemoryProperties;
+import core.mcpclient.routing.ModelTier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+
+@ExtendWith(MockitoExtension.class)
+class TokenBudgetChatMemoryTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final String CONVERSATION_ID = "1";
+
+    @Mock
+    private ChatMemoryEntryRepository chatMemoryEntryRepository;
+
+    @Mock
+    private ChatMemorySummarizer chatMemorySummarizer;
+
+    @Test
+    @DisplayName("예산 안에 들어가는 만큼 최신 메시지를 오래된 순으로 반환한다")
+    void get_WithinBudget() {
+        // given
+        List<ChatMemoryEntry> history = List.of(
+                user(1L, "첫 질문"),
+                assistant(2L, "가".repeat(100)),
+                user(3L, "두 번째 질문"),
+                assistant(4L, "두 번째 답변")
+        );
+        givenHistory(history, Optional.empty());
+        int newestTurnTokens = tokensOf(history.get(2)) + tokensOf(history.get(3));
+
+        // when
+        List<Message> messages = chatMemory(newestTurnTokens + 50).get(CONVERSATION_ID);
+
+        // then
+        assertThat(messages).extracting(Message::getText).containsExactly("두 번째 질문", "두 번째 답변");
+        verify(chatMemorySummarizer, never()).requestRefresh(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("짧은 대화는 메시지 수와 상관없이 예산까지 포함한다")
+    void get_ShortMessages() {
+        // given
+        List<ChatMemoryEntry> history = List.of(
+                user(1L, "안녕"), assistant(2L, "네"),
+                user(3L, "고마워"), assistant(4L, "네"),
+                user(5L, "또 질문"), assistant(6L, "네")
+        );
+        givenHistory(history, Optional.empty());
+
+        // when
+        List<Message> messages = chatMemory(1_000).get(CONVERSATION_ID);
+
+        // then
+        assertThat(messages).containsExactlyElementsOf(history.stream().map(ChatMemoryEntry::message).toList());
+    }
+
+    @Test
+    @DisplayName("가장 최근 대화는 예산을 넘더라도 항상 포함한다")
+    void get_AlwaysKeepsNewestTurn() {
+        // given
+        List<ChatMemoryEntry> history = List.of(
+                user(1L, "첫 질문"),
+                assistant(2L, "첫 답변"),
+                user(3L, "긴 질문 " + "가".repeat(500)),
+                assistant(4L, "긴 답변 " + "나".repeat(500))
+        );
+        givenHistory(history, Optional.empty());
+
+        // when
+        List<Message> messages = chatMemory(100).get(CONVERSATION_ID);
+
+        // then
+        assertThat(messages).containsExactly(history.get(2).message(), history.get(3).message());
+    }
+
+    @Test
+    @DisplayName("예산 경계에서 질문 없이 답변만 남으면 그 답변은 버린다")
+    void get_DropsLeadingAssistantMessage() {
+        // given
+        List<ChatMemoryEntry> history = List.of(
+                user(1L, "가".repeat(100)),
+                assistant(2L, "첫 답변"),
+                user(3L, "두 번째 질문"),
+                assistant(4L, "두 번째 답변")
+        );
+        givenHistory(history, Optional.empty());
+        int budget = tokensOf(history.get(1)) + tokensOf(history.get(2)) + tokensOf(history.get(3));
+
+        // when
+        List<Message> messages = chatMemory(budget).get(CONVERSATION_ID);
+
+        // then
+        assertThat(messages).extracting(Message::getText).containsExactly("두 번째 질문", "두 번째 답변");
+    }
+
+    @Test
+    @DisplayName("반환된 목록에 이번 질문을 추가할 수 있다")
+    void get_ReturnsMutableList() {
+        // given
+        givenHistory(List.of(user(1L, "질문"), assistant(2L, "답변")), Optional.empty());
+
+        // when
+        List<Message> messages = chatMemory(1_000).get(CONVERSATION_ID);
+        messages.add(new UserMessage("새 질문"));
+
+        // then
+        assertThat(messages).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("대화 기록이 없으면 빈 목록을 반환한다")
+    void get_Empty() {
+        // given
+        given(chatMemoryEntryRepository.findEntriesByConversationId(CONVERSATION_ID)).willReturn(List.of());
+
+        // when & then
+        assertThat(chatMemory(1_000).get(CONVERSATION_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("요약이 있으면 맨 앞에 system 메시지로 넣고, 요약에 포함된 메시지는 제외한다")
+    void get_PrependsSummary() {
+        // given
+        List<ChatMemoryEntry> history = List.of(
+                user(1L, "첫 질문"),
+                assistant(2L, "첫 답변"),
+                user(3L, "두 번째 질문"),
+                assistant(4L, "두 번째 답변")
+        );
+        givenHistory(history, Optional.of(new ChatMemorySummary(ROOM_ID, "냉방기 점검을 요청함", 2L)));
+
+        // when
+        List<Message> messages = chatMemory(1_000).get(CONVERSATION_ID);
+
+        // then
+        assertThat(messages).hasSize(3);
+        assertThat(messages.get(0)).isInstanceOf(SystemMessage.class);
+        assertThat(messages.get(0).getText()).isEqualTo(SUMMARY_MESSAGE_PREFIX + "냉방기 점검을 요청함");
+        assertThat(messages.subList(1, 3)).extracting(Message::getText).containsExactly("두 번째 질문", "두 번째 답변");
+    }
+
+    @Test
+    @DisplayName("예산 밖으로 밀려난 메시지가 충분히 쌓이면 그 이전까지 요약하도록 요청한다")
+    void get_RequestsSummaryRefresh() {
+        // given
+        List<ChatMemoryEntry> history = new ArrayList<>();
+        for (long chatId = 1; chatId <= 8; chatId += 2) {
+            history.add(user(chatId, "질문 " + "가".repeat(100)));
+            history.add(assistant(chatId + 1, "답변 " + "나".repeat(100)));
+        }
+        history.add(user(9L, "마지막 질문"));
+        history.add(assistant(10L, "마지막 답변"));
+        givenHistory(history, Optional.empty());
+
+        // when
+        List<Message> messages = chatMemory(50).get(CONVERSATION_ID);
+
+        // then
+        assertThat(messages).extracting(Message::getText).containsExactly("마지막 질문", "마지막 답변");
+        verify(chatMemorySummarizer).requestRefresh(ROOM_ID, 9L);
+    }
+
+    @Test
+    @DisplayName("SIMPLE tier는 별도 예산으로 고르고, 요약은 COMPLEX 예산을 기준으로 요청한다")
+    void get_SimpleTierBudget() {
+        // given
+        List<ChatMemoryEntry> history = new ArrayList<>();
+        for (long chatId = 1; chatId <= 8; chatId += 2) {
+            history.add(user(chatId, "질문 " + "가".repeat(100)));
+            history.add(assistant(chatId + 1, "답변 " + "나".repeat(100)));
+        }
+        history.add(user(9L, "마지막 질문"));
+        history.add(assistant(10L, "마지막 답변"));
+        givenHistory(history, Optional.empty());
+
+        // when
+        List<Message> messages = chatMemory(1_000, 50).get(CONVERSATION_ID, ModelTier.SIMPLE);
+
+        // then
+        assertThat(messages).extracting(Message::getText).containsExactly("마지막 질문", "마지막 답변");
+        // COMPLEX 예산에는 모두 들어가므로 요약하지 않음
+        verify(chatMemorySummarizer, never()).requestRefresh(anyLong(), anyLong());
+    }
+
+    private TokenBudgetChatMemory chatMemory(int maxTokens) {
+        return chatMemory(maxTokens, new ChatMemoryProperties().getSimpleMaxTokens());
+    }
+
+    private TokenBudgetChatMemory chatMemory(int maxTokens, int simpleMaxTokens) {
+        ChatMemoryProperties properties = new ChatMemoryProperties();
+        properties.setMaxTokens(maxTokens);
+        properties.setSimpleMaxTokens(simpleMaxTokens);
+        return new TokenBudgetChatMemory(chatMemoryEntryRepository, chatMemorySummarizer, properties);
+    }
+
+    private void givenHistory(List<ChatMemoryEntry> history, Optional<ChatMemorySummary> summary) {
+        given(chatMemoryEntryRepository.findEntriesByConversationId(CONVERSATION_ID)).willReturn(history);
+        given(chatMemorySummarizer.getSummary(ROOM_ID)).willReturn(summary);
+    }
+
+    private static int tokensOf(ChatMemoryEntry entry) {
+        return TokenEstimator.estimate(entry.message());
+    }
+
+    private static ChatMemoryEntry user(long chatId, String text) {
+        return new ChatMemoryEntry(chatId, new UserMessage(text));
+    }
+
+    private static ChatMemoryEntry assistant(long chatId, String text) {
+        return new ChatMemoryEntry(chatId, new AssistantMessage(text));
+    }
+}
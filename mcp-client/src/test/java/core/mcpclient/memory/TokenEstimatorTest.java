@@ -0,0 +1,44 @@
+package core.mcpclient.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.UserMessage;
+
+class TokenEstimatorTest {
+
+    @Test
+    @DisplayName("영문과 숫자는 4글자당 1 token으로 계산한다")
+    void estimate_Ascii() {
+        assertThat(TokenEstimator.estimate("hello world")).isEqualTo(2 + 2);
+        assertThat(TokenEstimator.estimate("abcd")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("한글은 글자마다 1 token으로 계산하고 공백은 세지 않는다")
+    void estimate_Korean() {
+        assertThat(TokenEstimator.estimate("안녕하세요 반갑습니다")).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("한글과 영문, 기호가 섞인 문자열은 종류별로 나누어 계산한다")
+    void estimate_Mixed() {
+        // "Spring" 2, "으로" 2, "API" 1, "를" 1, "호출" 2, "." 1
+        assertThat(TokenEstimator.estimate("Spring으로 API를 호출.")).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("같은 길이라면 한글 문장을 영문 문장보다 크게 추정한다")
+    void estimate_KoreanCostsMoreThanEnglish() {
+        assertThat(TokenEstimator.estimate("가".repeat(100))).isGreaterThan(TokenEstimator.estimate("a".repeat(100)));
+    }
+
+    @Test
+    @DisplayName("메시지는 본문에 메시지마다 붙는 token을 더해 계산한다")
+    void estimate_Message() {
+        assertThat(TokenEstimator.estimate(new UserMessage("안녕")))
+                .isEqualTo(TokenEstimator.MESSAGE_OVERHEAD_TOKENS + 2);
+        assertThat(TokenEstimator.estimate((String) null)).isZero();
+    }
+}
@@ -0,0 +1,100 @@
+package core.mcpclient.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import core.mcpclient.config.properties.ChatMemoryProperties;
+import core.mcpclient.memory.ChatMemoryWindowCache;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class CustomChatMemoryRepositoryTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final long OTHER_ROOM_ID = 2L;
+    private static final int MESSAGE_COUNT = 5_000;
+    private static final int MAX_MESSAGES = new ChatMemoryProperties().getMaxMessages();
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private CustomChatMemoryRepository customChatMemoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE chat_history (
+                    id BIGINT PRIMARY KEY,
+                    room_id BIGINT NOT NULL,
+                    content TEXT NOT NULL,
+                    type VARCHAR(10) NOT NULL,
+                    created_at TIMESTAMP
+                )""");
+
+        // 두 방의 메시지가 번갈아 저장된 상황
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= MESSAGE_COUNT * 2L; id++) {
+            long roomId = id % 2 == 1 ? ROOM_ID : OTHER_ROOM_ID;
+            String type = (id + 1) / 2 % 2 == 1 ? "USER" : "ASSISTANT";
+            rows.add(new Object[]{id, roomId, "메시지 " + id, type});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO chat_history (id, room_id, content, type) VALUES (?, ?, ?, ?)", rows);
+
+        ChatMemoryProperties properties = new ChatMemoryProperties();
+        customChatMemoryRepository = new CustomChatMemoryRepository(
+                jdbcTemplate, new ChatMemoryWindowCache(properties), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("메시지가 많은 방에서도 최신 메시지 MAX_MESSAGES개를 오래된 순으로 반환한다")
+    void findByConversationId_ReturnsLatestWindow() {
+        // when
+        List<Message> messages = customChatMemoryRepository.findByConversationId(String.valueOf(ROOM_ID));
+
+        // then
+        long lastId = MESSAGE_COUNT * 2L - 1;
+        List<String> expected = IntStream.range(0, MAX_MESSAGES)
+                .mapToObj(i -> "메시지 " + (lastId - 2L * (MAX_MESSAGES - 1 - i)))
+                .toList();
+        assertThat(messages).extracting(Message::getText).containsExactlyElementsOf(expected);
+        assertThat(messages.get(MAX_MESSAGES - 2)).isInstanceOf(UserMessage.class);
+        assertThat(messages.get(MAX_MESSAGES - 1)).isInstanceOf(AssistantMessage.class);
+    }
+
+    @Test
+    @DisplayName("메시지가 MAX_MESSAGES개보다 적은 방은 모든 메시지를 반환한다")
+    void findByConversationId_ReturnsAllWhenShort() {
+        // given
+        long shortRoomId = 3L;
+        jdbcTemplate.update("INSERT INTO chat_history (id, room_id, content, type) VALUES (?, ?, ?, ?)",
+                MESSAGE_COUNT * 2L + 1, shortRoomId, "질문", "USER");
+        jdbcTemplate.update("INSERT INTO chat_history (id, room_id, content, type) VALUES (?, ?, ?, ?)",
+                MESSAGE_COUNT * 2L + 2, shortRoomId, "답변", "ASSISTANT");
+
+        // when
+        List<Message> messages = customChatMemoryRepository.findByConversationId(String.valueOf(shortRoomId));
+
+        // then
+        assertThat(messages).extracting(Message::getText).containsExactly("질문", "답변");
+    }
+}
@@ -0,0 +1,331 @@
+package core.mcpclient.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import core.mcpclient.config.properties.LlmResilienceProperties;
+import core.mcpclient.routing.ModelTier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.services.bedrockruntime.model.ServiceUnavailableException;
+import software.amazon.awssdk.services.bedrockruntime.model.ThrottlingException;
+import software.amazon.awssdk.services.bedrockruntime.model.ValidationException;
+
+class ResilientChatModelTest {
+
+    private static final Prompt PROMPT = new Prompt("오늘 전력 사용량 알려줘");
+
+    private final AtomicLong nanos = new AtomicLong();
+    private LlmResilienceProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LlmResilienceProperties();
+        properties.setFailureThreshold(2);
+        properties.setOpenDuration(Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("endpoint 호출이 실패하면 다음 endpoint로 넘어간다")
+    void call_Failover() {
+        // given
+        StubChatModel primary = StubChatModel.failing("primary");
+        StubChatModel secondary = StubChatModel.answering("secondary");
+        ResilientChatModel model = newModel(primary, secondary);
+
+        // when
+        ChatResponse response = model.call(PROMPT);
+
+        // then
+        assertThat(response.getResult().getOutput().getText()).isEqualTo("secondary");
+        assertThat(primary.calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("연속으로 실패한 endpoint는 openDuration 동안 건너뛰고, 그 뒤 요청 하나로 다시 시험한다")
+    void call_CircuitBreaker() {
+        // given
+        StubChatModel primary = StubChatModel.failing("primary");
+        StubChatModel secondary = StubChatModel.answering("secondary");
+        ResilientChatModel model = newModel(primary, secondary);
+        model.call(PROMPT);
+        model.call(PROMPT);
+
+        // when
+        model.call(PROMPT);
+        int callsWhileOpen = primary.calls.get();
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        primary.fail.set(false);
+        ChatResponse response = model.call(PROMPT);
+
+        // then
+        assertThat(callsWhileOpen).isEqualTo(2);
+        assertThat(response.getResult().getOutput().getText()).isEqualTo("primary");
+        assertThat(primary.calls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("모든 endpoint가 실패하면 LlmUnavailableException이 발생한다")
+    void call_AllFailed() {
+        // given
+        ResilientChatModel model = newModel(StubChatModel.failing("primary"), StubChatModel.failing("secondary"));
+
+        // when & then
+        assertThatThrownBy(() -> model.call(PROMPT))
+                .isInstanceOf(LlmUnavailableException.class)
+                .hasCauseInstanceOf(ThrottlingException.class);
+    }
+
+    @Test
+    @DisplayName("잘못된 요청(4xx)으로 실패하면 다음 endpoint로 넘기지 않고 실패로 세지도 않는다")
+    void call_RequestErrorNotFailedOver() {
+        // given
+        StubChatModel primary = StubChatModel.rejecting("primary");
+        StubChatModel secondary = StubChatModel.answering("secondary");
+        ResilientChatModel model = newModel(primary, secondary);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        model.bindTo(registry);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> model.call(PROMPT)).isInstanceOf(ValidationException.class);
+        }
+
+        // then
+        assertThat(primary.calls).hasValue(3);
+        assertThat(secondary.calls).hasValue(0);
+        assertThat(registry.get("mcp.llm.endpoint.requests").tags("endpoint", "primary", "result", "failure")
+                .functionCounter().count()).isZero();
+        assertThat(registry.get("mcp.llm.endpoint.requests").tags("endpoint", "primary", "result", "request_error")
+                .functionCounter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("스트리밍이 잘못된 요청(4xx)으로 실패하면 hedging 요청을 보내지 않고 바로 실패한다")
+    void stream_RequestErrorNotHedged() {
+        // given
+        enableHedging(Duration.ofMillis(200));
+        StubChatModel secondary = StubChatModel.answering("secondary");
+        ResilientChatModel model = newModel(StubChatModel.rejecting("primary"), secondary);
+
+        // when & then
+        assertThatThrownBy(() -> texts(model.stream(PROMPT))).isInstanceOf(ValidationException.class);
+        assertThat(secondary.calls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("throttling, 5xx, timeout만 endpoint의 실패로 본다")
+    void isEndpointFailure() {
+        // when & then
+        assertThat(ResilientChatModel.isEndpointFailure(throttled())).isTrue();
+        assertThat(ResilientChatModel.isEndpointFailure(
+                ServiceUnavailableException.builder().statusCode(503).message("unavailable").build())).isTrue();
+        assertThat(ResilientChatModel.isEndpointFailure(
+                ApiCallTimeoutException.builder().message("timeout").build())).isTrue();
+        assertThat(ResilientChatModel.isEndpointFailure(invalid())).isFalse();
+        assertThat(ResilientChatModel.isEndpointFailure(new IllegalArgumentException("prompt"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("첫 token을 받기 전에 스트리밍이 실패하면 다음 endpoint로 넘어간다")
+    void stream_FailoverBeforeFirstToken() {
+        // given
+        ResilientChatModel model = newModel(StubChatModel.failing("primary"), StubChatModel.answering("secondary"));
+
+        // when
+        List<String> tokens = texts(model.stream(PROMPT));
+
+        // then
+        assertThat(tokens).containsExactly("secondary", "secondary");
+    }
+
+    @Test
+    @DisplayName("첫 token을 받은 뒤의 실패는 다음 endpoint로 넘기지 않는다")
+    void stream_NoFailoverAfterFirstToken() {
+        // given
+        StubChatModel primary = new StubChatModel("primary",
+                Flux.just(response("primary")).concatWith(Flux.error(new IllegalStateException("끊김"))));
+        StubChatModel secondary = StubChatModel.answering("secondary");
+        ResilientChatModel model = newModel(primary, secondary);
+
+        // when & then
+        assertThatThrownBy(() -> texts(model.stream(PROMPT))).hasMessageContaining("끊김");
+        assertThat(secondary.calls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("첫 token이 hedging 대기 시간보다 늦으면 다음 endpoint로 한 번 더 보내고, 먼저 답한 쪽을 사용하며 나머지는 취소한다")
+    void stream_Hedging() {
+        // given
+        enableHedging(Duration.ofMillis(50));
+        StubChatModel primary = StubChatModel.answering("primary").withLatency(Duration.ofSeconds(2));
+        StubChatModel secondary = StubChatModel.answering("secondary");
+        ResilientChatModel model = newModel(primary, secondary);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        model.bindTo(registry);
+
+        // when
+        long start = System.nanoTime();
+        List<String> tokens = texts(model.stream(PROMPT));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // then
+        assertThat(tokens).containsExactly("secondary", "secondary");
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+        assertThat(primary.cancelled).isTrue();
+        assertThat(registry.get("mcp.llm.hedge.requests").tag("result", "fired").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("mcp.llm.hedge.requests").tag("result", "won").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("mcp.llm.endpoint.requests").tags("endpoint", "primary", "result", "failure")
+                .functionCounter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("첫 token이 hedging 대기 시간 안에 오면 요청을 한 번 더 보내지 않는다")
+    void stream_NoHedgingWhenFast() {
+        // given
+        enableHedging(Duration.ofMillis(500));
+        StubChatModel secondary = StubChatModel.answering("secondary");
+        ResilientChatModel model = newModel(StubChatModel.answering("primary"), secondary);
+
+        // when
+        List<String> tokens = texts(model.stream(PROMPT));
+
+        // then
+        assertThat(tokens).containsExactly("primary", "primary");
+        assertThat(secondary.calls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("hedging 대기 시간은 최근 첫 token 지연 시간의 백분위수를 minDelay와 maxDelay 사이로 맞춘 값이다")
+    void hedgeDelay_Percentile() {
+        // given
+        enableHedging(Duration.ofSeconds(2));
+        properties.getHedging().setMinSamples(3);
+        properties.getHedging().setMinDelay(Duration.ofMillis(100));
+        properties.getHedging().setMaxDelay(Duration.ofSeconds(1));
+        StubChatModel primary = StubChatModel.answering("primary");
+        ResilientChatModel model = newModel(primary);
+        Duration initialDelay = model.hedgeDelay();
+
+        // when
+        primary.onStream = () -> nanos.addAndGet(Duration.ofMillis(300).toNanos());
+        for (int i = 0; i < 3; i++) {
+            texts(model.stream(PROMPT));
+        }
+
+        // then
+        assertThat(initialDelay).isEqualTo(Duration.ofSeconds(2));
+        assertThat(model.hedgeDelay()).isEqualTo(Duration.ofMillis(300));
+    }
+
+    private void enableHedging(Duration initialDelay) {
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setInitialDelay(initialDelay);
+        properties.getHedging().setMinDelay(Duration.ZERO);
+    }
+
+    private ResilientChatModel newModel(StubChatModel... chatModels) {
+        List<ResilientChatModel.Endpoint> endpoints = Arrays.stream(chatModels)
+                .map(chatModel -> new ResilientChatModel.Endpoint(chatModel.name, chatModel))
+                .toList();
+        return new ResilientChatModel(ModelTier.COMPLEX, endpoints, properties, nanos::get, Schedulers.parallel());
+    }
+
+    private static List<String> texts(Flux<ChatResponse> responses) {
+        return responses.map(response -> response.getResult().getOutput().getText())
+                .collectList()
+                .block(Duration.ofSeconds(5));
+    }
+
+    private static ChatResponse response(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+
+    private static RuntimeException throttled() {
+        return ThrottlingException.builder().statusCode(429).message("throttled").build();
+    }
+
+    private static RuntimeException invalid() {
+        return ValidationException.builder().statusCode(400).message("invalid").build();
+    }
+
+    private static final class StubChatModel implements ChatModel {
+
+        private final String name;
+        private final Flux<ChatResponse> stream;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicBoolean fail = new AtomicBoolean();
+        private RuntimeException error = throttled();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private Duration latency = Duration.ZERO;
+        private Runnable onStream = () -> {
+        };
+
+        private StubChatModel(String name, Flux<ChatResponse> stream) {
+            this.name = name;
+            this.stream = stream;
+        }
+
+        static StubChatModel answering(String name) {
+            return new StubChatModel(name, Flux.just(response(name), response(name)));
+        }
+
+        static StubChatModel failing(String name) {
+            StubChatModel chatModel = new StubChatModel(name, Flux.error(throttled()));
+            chatModel.fail.set(true);
+            return chatModel;
+        }
+
+        static StubChatModel rejecting(String name) {
+            StubChatModel chatModel = new StubChatModel(name, Flux.error(invalid()));
+            chatModel.error = invalid();
+            chatModel.fail.set(true);
+            return chatModel;
+        }
+
+        StubChatModel withLatency(Duration latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            calls.incrementAndGet();
+            if (fail.get()) {
+                throw error;
+            }
+            return response(name);
+        }
+
+        @Override
+        public Flux<ChatResponse> stream(Prompt prompt) {
+            calls.incrementAndGet();
+            Flux<ChatResponse> responses = Flux.defer(() -> {
+                onStream.run();
+                return stream;
+            });
+            if (!latency.isZero()) {
+                responses = responses.delaySubscription(latency);
+            }
+            return responses.doOnCancel(() -> cancelled.set(true));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package core.mcpclient.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import core.mcpclient.config.properties.RoutingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+
+class ModelRouterTest {
+
+    private static final String SIMPLE_QUESTION = "안녕하세요";
+    private static final String COMPLEX_QUESTION = "지난주와 이번 주 전력 사용량 비교해줘";
+
+    private final QuestionClassifier classifier = new QuestionClassifier(new RoutingProperties(), null);
+
+    @Test
+    @DisplayName("질문의 tier에 맞는 모델로 보내고, tier별 maxTokens를 적용한다")
+    void route() {
+        // given
+        ChatClient simple = ChatClient.builder(stubModel("simple"))
+                .defaultOptions(ChatOptions.builder().maxTokens(256).build())
+                .build();
+        ModelRouter router = new ModelRouter(classifier,
+                Map.of(ModelTier.SIMPLE, simple, ModelTier.COMPLEX, ChatClient.create(stubModel("complex"))));
+
+        // when
+        String simpleAnswer = router.route(SIMPLE_QUESTION).prompt().user(SIMPLE_QUESTION).call().content();
+        String complexAnswer = router.route(COMPLEX_QUESTION).prompt().user(COMPLEX_QUESTION).call().content();
+
+        // then
+        assertThat(simpleAnswer).isEqualTo("simple:256");
+        assertThat(complexAnswer).isEqualTo("complex:null");
+    }
+
+    @Test
+    @DisplayName("ChatClient가 없는 tier로 분류된 질문은 COMPLEX로 보낸다")
+    void route_MissingTier() {
+        // given
+        ModelRouter router = new ModelRouter(classifier, Map.of(ModelTier.COMPLEX, ChatClient.create(stubModel("complex"))));
+
+        // when
+        String answer = router.route(SIMPLE_QUESTION).prompt().user(SIMPLE_QUESTION).call().content();
+
+        // then
+        assertThat(answer).isEqualTo("complex:null");
+    }
+
+    @Test
+    @DisplayName("COMPLEX tier 없이는 만들 수 없다")
+    void create_WithoutComplexTier() {
+        assertThatThrownBy(() -> new ModelRouter(classifier, Map.of(ModelTier.SIMPLE, ChatClient.create(stubModel("simple")))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("tier별 라우팅 횟수와 응답 시간을 metric으로 노출한다")
+    void metrics() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ModelRouter router = new ModelRouter(classifier, Map.of(
+                ModelTier.SIMPLE, ChatClient.create(stubModel("simple")),
+                ModelTier.COMPLEX, ChatClient.create(stubModel("complex"))));
+        router.bindTo(registry);
+
+        // when
+        router.route(SIMPLE_QUESTION).prompt().user(SIMPLE_QUESTION).call().content();
+        router.route(SIMPLE_QUESTION).prompt().user(SIMPLE_QUESTION).call().content();
+        router.route(COMPLEX_QUESTION);
+
+        // then
+        assertThat(registry.get("mcp.llm.route.decisions").tag("tier", "simple").functionCounter().count())
+                .isEqualTo(2);
+        assertThat(registry.get("mcp.llm.route.decisions").tag("tier", "complex").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("mcp.llm.route.latency").tags("tier", "simple", "mode", "call").timer().count())
+                .isEqualTo(2);
+        assertThat(registry.get("mcp.llm.route.latency").tags("tier", "complex", "mode", "call").timer().count())
+                .isZero();
+    }
+
+    // 받은 maxTokens를 답변에 담아 돌려주는 ChatModel
+    private static ChatModel stubModel(String name) {
+        return prompt -> {
+            Integer maxTokens = prompt.getOptions() == null ? null : prompt.getOptions().getMaxTokens();
+            return new ChatResponse(List.of(new Generation(new AssistantMessage(name + ":" + maxTokens))));
+        };
+    }
+}
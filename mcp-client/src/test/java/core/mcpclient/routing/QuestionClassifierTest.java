@@ -0,0 +1,69 @@
+package core.mcpclient.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import core.mcpclient.config.properties.RoutingProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class QuestionClassifierTest {
+
+    private final QuestionClassifier classifier = new QuestionClassifier(new RoutingProperties(), null);
+
+    @ParameterizedTest
+    @DisplayName("인사와 짧은 단순 조회는 SIMPLE로 분류한다")
+    @ValueSource(strings = {"안녕하세요", "안녕하세요!!", "고마워 ㅎㅎ", "Hello", "오늘 전력 사용량 알려줘", "1번 설비 상태는?"})
+    void classify_Simple(String question) {
+        assertThat(classifier.classify(question)).isEqualTo(ModelTier.SIMPLE);
+    }
+
+    @ParameterizedTest
+    @DisplayName("분석성 키워드가 있거나 여러 문장인 질문은 COMPLEX로 분류한다")
+    @ValueSource(strings = {
+            "지난주와 이번 주 전력 사용량 비교해줘",
+            "어제 사용량이 늘어난 원인이 뭐야?",
+            "1번 설비 상태 알려줘. 그리고 점검 일정도 알려줘"
+    })
+    void classify_Complex(String question) {
+        assertThat(classifier.classify(question)).isEqualTo(ModelTier.COMPLEX);
+    }
+
+    @Test
+    @DisplayName("simpleMaxLength보다 긴 질문은 COMPLEX로 분류한다")
+    void classify_LongQuestion() {
+        // given
+        RoutingProperties properties = new RoutingProperties();
+        properties.setSimpleMaxLength(10);
+        QuestionClassifier shortClassifier = new QuestionClassifier(properties, null);
+
+        // when & then
+        assertThat(shortClassifier.classify("오늘 전력 사용량 알려줘")).isEqualTo(ModelTier.COMPLEX);
+        assertThat(shortClassifier.classify("전력 사용량")).isEqualTo(ModelTier.SIMPLE);
+    }
+
+    @Test
+    @DisplayName("규칙으로 판단하지 못한 질문은 QuestionScorer의 점수로 분류한다")
+    void classify_Scorer() {
+        // given
+        QuestionClassifier scoredClassifier = new QuestionClassifier(new RoutingProperties(),
+                question -> question.contains("설비") ? 0.8 : 0.2);
+
+        // when & then
+        assertThat(scoredClassifier.classify("1번 설비 상태는?")).isEqualTo(ModelTier.COMPLEX);
+        assertThat(scoredClassifier.classify("오늘 전력 사용량 알려줘")).isEqualTo(ModelTier.SIMPLE);
+        assertThat(scoredClassifier.classify("안녕하세요")).isEqualTo(ModelTier.SIMPLE);
+    }
+
+    @Test
+    @DisplayName("비활성화하면 모든 질문을 COMPLEX로 분류한다")
+    void classify_Disabled() {
+        // given
+        RoutingProperties properties = new RoutingProperties();
+        properties.setEnabled(false);
+
+        // when & then
+        assertThat(new QuestionClassifier(properties, null).classify("안녕하세요")).isEqualTo(ModelTier.COMPLEX);
+    }
+}
@@ -1,17 +1,28 @@
 package core.mcpclient.service;
 
+import core.mcpclient.config.properties.LlmHealthProperties;
+import core.mcpclient.health.LlmHealth;
+import core.mcpclient.health.LlmHealthMonitor;
+import core.mcpclient.health.LlmHealthStatus;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.ChatClient.CallResponseSpec;
 import org.springframework.ai.chat.client.ChatClient.ChatClientRequestSpec;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,62 +37,128 @@ class LLMHealthCheckServiceTest {
     @Mock
     private ChatClientRequestSpec callRequestSpec;
 
-    @InjectMocks
+    @Mock
+    private LlmHealthMonitor llmHealthMonitor;
+
+    private final LlmHealthProperties llmHealthProperties = new LlmHealthProperties();
+    private final ExecutorService probeExecutor = Executors.newSingleThreadExecutor();
     private LLMHealthCheckService llmHealthCheckService;
 
+    @BeforeEach
+    void setUp() {
+        llmHealthCheckService = new LLMHealthCheckService(chatClient, llmHealthMonitor, llmHealthProperties, probeExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        probeExecutor.shutdownNow();
+    }
+
     @Test
-    @DisplayName("isLLMConnected는 LLM이 연결되었을 때 true를 반환한다")
-    void isLLMConnected_shouldReturnTrueWhenLlmIsConnected() {
+    @DisplayName("health는 LLM을 호출하지 않고 모아 둔 상태를 반환한다")
+    void health_shouldNotCallLlm() {
         // given
+        LlmHealth health = new LlmHealth(LlmHealthStatus.HEALTHY, 10, 0, 800, false);
+        given(llmHealthMonitor.health()).willReturn(health);
+
+        // when
+        LlmHealth result = llmHealthCheckService.health();
+
+        // then
+        assertThat(result).isEqualTo(health);
+        verifyNoInteractions(chatClient);
+    }
+
+    @Test
+    @DisplayName("실제 요청이 적으면 probe를 보내고 성공을 기록한다")
+    void probeIfIdle_shouldRecordSuccess() {
+        // given
+        given(llmHealthMonitor.needsProbe()).willReturn(true);
         given(chatClient.prompt()).willReturn(callRequestSpec);
         given(callRequestSpec.user(anyString())).willReturn(callRequestSpec);
         given(callRequestSpec.call()).willReturn(callResponseSpec);
         given(callResponseSpec.content()).willReturn("OK");
 
         // when
-        boolean result = llmHealthCheckService.isLLMConnected();
+        llmHealthCheckService.probeIfIdle();
 
         // then
-        assertTrue(result);
-        verify(chatClient).prompt();
+        verify(llmHealthMonitor, timeout(1000)).recordProbe(eq(true), anyLong());
     }
 
     @Test
-    @DisplayName("isLLMConnected는 LLM이 연결되지 않았을 때 false를 반환한다")
-    void isLLMConnected_shouldReturnFalseWhenLlmIsNotConnected() {
+    @DisplayName("probe가 예외를 발생시키면 실패를 기록한다")
+    void probeIfIdle_shouldRecordFailure() {
         // given
+        given(llmHealthMonitor.needsProbe()).willReturn(true);
         given(chatClient.prompt()).willThrow(new RuntimeException("Connection failed"));
 
         // when
-        boolean result = llmHealthCheckService.isLLMConnected();
+        llmHealthCheckService.probeIfIdle();
+
+        // then
+        verify(llmHealthMonitor, timeout(1000)).recordProbe(eq(false), anyLong());
+    }
+
+    @Test
+    @DisplayName("probe가 probeTimeout 안에 응답하지 않으면 기다리지 않고 실패를 기록하며, 끝날 때까지 다음 probe를 보내지 않는다")
+    void probeIfIdle_shouldNotBlockWhenLlmHangs() throws InterruptedException {
+        // given
+        llmHealthProperties.setProbeTimeout(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        given(llmHealthMonitor.needsProbe()).willReturn(true);
+        given(chatClient.prompt()).willReturn(callRequestSpec);
+        given(callRequestSpec.user(anyString())).willReturn(callRequestSpec);
+        given(callRequestSpec.call()).willReturn(callResponseSpec);
+        given(callResponseSpec.content()).willAnswer(invocation -> {
+            release.await();
+            return "OK";
+        });
+        ThreadPoolExecutor singleProbeExecutor = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        LLMHealthCheckService service = new LLMHealthCheckService(
+                chatClient, llmHealthMonitor, llmHealthProperties, singleProbeExecutor);
+
+        // when: LLM이 응답하지 않아도 바로 반환됨
+        service.probeIfIdle();
 
         // then
-        assertFalse(result);
+        verify(llmHealthMonitor, timeout(1000)).recordProbe(eq(false), anyLong());
+
+        service.probeIfIdle();
+        verify(llmHealthMonitor, times(2)).recordProbe(eq(false), anyLong());
+        verify(chatClient, times(1)).prompt();
+
+        release.countDown();
+        singleProbeExecutor.shutdown();
+        assertThat(singleProbeExecutor.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+        verify(llmHealthMonitor, never()).recordProbe(eq(true), anyLong());
     }
 
     @Test
-    @DisplayName("isLLMConnected는 LLM 응답이 예외를 발생시켰을 때 false를 반환한다")
-    void isLLMConnected_shouldReturnFalseWhenLlmThrowsException() {
+    @DisplayName("실제 요청으로 상태를 판단할 수 있으면 probe를 보내지 않는다")
+    void probeIfIdle_shouldSkipWhenTrafficIsEnough() {
         // given
-        given(chatClient.prompt()).willThrow(new IllegalStateException());
+        given(llmHealthMonitor.needsProbe()).willReturn(false);
 
         // when
-        boolean result = llmHealthCheckService.isLLMConnected();
+        llmHealthCheckService.probeIfIdle();
 
         // then
-        assertFalse(result);
+        verifyNoInteractions(chatClient);
+        verify(llmHealthMonitor, never()).recordProbe(anyBoolean(), anyLong());
     }
 
     @Test
-    @DisplayName("isLLMConnected는 다양한 런타임 예외에서 false를 반환한다")
-    void isLLMConnected_shouldReturnFalseWhenAnyExceptionOccurs() {
+    @DisplayName("probe를 끄면 probe를 보내지 않는다")
+    void probeIfIdle_shouldSkipWhenDisabled() {
         // given
-        given(chatClient.prompt()).willThrow(new NullPointerException("Null pointer"));
+        llmHealthProperties.setProbeEnabled(false);
 
         // when
-        boolean result = llmHealthCheckService.isLLMConnected();
+        llmHealthCheckService.probeIfIdle();
 
         // then
-        assertFalse(result);
+        verifyNoInteractions(chatClient, llmHealthMonitor);
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,15 @@
 package core.mcpclient.service;
 
+import core.mcpclient.cache.LlmAnswerCache;
+import core.mcpclient.config.properties.LlmHealthProperties;
+import core.mcpclient.health.LlmHealthMonitor;
+import core.mcpclient.memory.TokenBudgetChatMemory;
+import core.mcpclient.routing.ModelRouter;
+import core.mcpclient.routing.ModelTier;
 import core.mcpclient.service.dto.NewChatRoomInfo;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,18 +18,24 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.ChatClient.CallResponseSpec;
 import org.springframework.ai.chat.client.ChatClient.ChatClientRequestSpec;
 import org.springframework.ai.chat.client.ChatClient.StreamResponseSpec;
-import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
 import org.springframework.ai.chat.prompt.Prompt;
 import reactor.core.publisher.Flux;
 
 import static core.mcpclient.service.LLMService.TITLE_SEPARATOR;
+import static core.mcpclient.service.constant.PromptContent.SYSTEM_PROMPT_DEFAULT_CHAT;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.*;
@@ -29,11 +43,14 @@ import static org.mockito.BDDMockito.*;
 @ExtendWith(MockitoExtension.class)
 class LLMServiceTest {
 
+    @Mock
+    private ModelRouter modelRouter;
+
     @Mock
     private ChatClient chatClient;
 
     @Mock
-    private ChatMemory chatMemory;
+    private TokenBudgetChatMemory chatMemory;
 
     @Mock
     private ChatClientRequestSpec callRequestSpec;
@@ -44,6 +61,12 @@ class LLMServiceTest {
     @Mock
     private StreamResponseSpec streamResponseSpec;
 
+    @Mock
+    private LlmAnswerCache llmAnswerCache;
+
+    @Spy
+    private LlmHealthMonitor llmHealthMonitor = new LlmHealthMonitor(new LlmHealthProperties());
+
     @InjectMocks
     private LLMService llmService;
 
@@ -54,6 +77,8 @@ class LLMServiceTest {
     private static final String TEST_ROOM_NAME = "방 이름";
     private static final String TEST_NEW_CHAT_ANSWER = "New Chat LLM 답변";
 
+    private final List<Long> usedTokens = new ArrayList<>();
+
     // ==================== chat Tests ====================
     @Test
     @DisplayName("chat 메서드는 질문을 입력받아 답변을 반환한다")
@@ -61,14 +86,17 @@ class LLMServiceTest {
         // given
         ArrayList<Message> messages = new ArrayList<>();
         messages.add(new UserMessage(TEST_QUESTION));
-        given(chatMemory.get(TEST_CONVERSATION_ID)).willReturn(messages);
+        given(chatMemory.get(eq(TEST_CONVERSATION_ID), any())).willReturn(messages);
+        given(modelRouter.tierOf(TEST_QUESTION)).willReturn(ModelTier.COMPLEX);
+        given(modelRouter.chatClient(ModelTier.COMPLEX)).willReturn(chatClient);
         given(chatClient.prompt(any(Prompt.class))).willReturn(callRequestSpec);
         given(callRequestSpec.system(anyString())).willReturn(callRequestSpec);
+        given(callRequestSpec.toolContext(anyMap())).willReturn(callRequestSpec);
         given(callRequestSpec.call()).willReturn(callResponseSpec);
-        given(callResponseSpec.content()).willReturn(TEST_ANSWER);
+        given(callResponseSpec.chatResponse()).willReturn(responseOf(TEST_ANSWER));
 
         // when
-        String result = llmService.chat(TEST_ROOM_ID, TEST_QUESTION);
+        String result = llmService.chat(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add);
 
         // then
         assertThat(result).isEqualTo(TEST_ANSWER);
@@ -85,6 +113,7 @@ class LLMServiceTest {
 //        given(chatMemory.get(TEST_CONVERSATION_ID)).willReturn(messages);
 //        given(chatClient.prompt(any(Prompt.class))).willReturn(callRequestSpec);
 //        given(callRequestSpec.system(anyString())).willReturn(callRequestSpec);
+//        given(callRequestSpec.toolContext(anyMap())).willReturn(callRequestSpec);
 //        given(callRequestSpec.call()).willReturn(callResponseSpec);
 //        given(callResponseSpec.content()).willReturn(llmAnswer);
 //
@@ -103,14 +132,17 @@ class LLMServiceTest {
         String llmResponse = String.format("%s"+TITLE_SEPARATOR+"%s", TEST_ROOM_NAME, TEST_NEW_CHAT_ANSWER);
         ArrayList<Message> messages = new ArrayList<>();
         messages.add(new UserMessage(TEST_QUESTION));
-        given(chatMemory.get(TEST_CONVERSATION_ID)).willReturn(messages);
+        given(chatMemory.get(eq(TEST_CONVERSATION_ID), any())).willReturn(messages);
+        given(modelRouter.tierOf(TEST_QUESTION)).willReturn(ModelTier.COMPLEX);
+        given(modelRouter.chatClient(ModelTier.COMPLEX)).willReturn(chatClient);
         given(chatClient.prompt(any(Prompt.class))).willReturn(callRequestSpec);
         given(callRequestSpec.system(anyString())).willReturn(callRequestSpec);
+        given(callRequestSpec.toolContext(anyMap())).willReturn(callRequestSpec);
         given(callRequestSpec.call()).willReturn(callResponseSpec);
-        given(callResponseSpec.content()).willReturn(llmResponse);
+        given(callResponseSpec.chatResponse()).willReturn(responseOf(llmResponse));
 
         // when
-        llmService.startNewChat(TEST_ROOM_ID, TEST_QUESTION);
+        llmService.startNewChat(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add);
 
         // then
         verify(chatClient).prompt(any(Prompt.class));
@@ -127,6 +159,7 @@ class LLMServiceTest {
 //        given(chatMemory.get(TEST_CONVERSATION_ID)).willReturn(messages);
 //        given(chatClient.prompt(any(Prompt.class))).willReturn(callRequestSpec);
 //        given(callRequestSpec.system(anyString())).willReturn(callRequestSpec);
+//        given(callRequestSpec.toolContext(anyMap())).willReturn(callRequestSpec);
 //        given(callRequestSpec.call()).willReturn(callResponseSpec);
 //        given(callResponseSpec.content()).willReturn(llmAnswer);
 //
@@ -142,14 +175,17 @@ class LLMServiceTest {
         // given
         ArrayList<Message> messages = new ArrayList<>();
         messages.add(new UserMessage(TEST_QUESTION));
-        given(chatMemory.get(TEST_CONVERSATION_ID)).willReturn(messages);
+        given(chatMemory.get(eq(TEST_CONVERSATION_ID), any())).willReturn(messages);
+        given(modelRouter.tierOf(TEST_QUESTION)).willReturn(ModelTier.COMPLEX);
+        given(modelRouter.chatClient(ModelTier.COMPLEX)).willReturn(chatClient);
         given(chatClient.prompt(any(Prompt.class))).willReturn(callRequestSpec);
         given(callRequestSpec.system(anyString())).willReturn(callRequestSpec);
+        given(callRequestSpec.toolContext(anyMap())).willReturn(callRequestSpec);
         given(callRequestSpec.stream()).willReturn(streamResponseSpec);
-        given(streamResponseSpec.content()).willReturn(Flux.just(TEST_ANSWER));
+        given(streamResponseSpec.chatResponse()).willReturn(Flux.just(responseOf(TEST_ANSWER)));
 
         // when
-        Flux<String> result = llmService.chatStream(TEST_ROOM_ID, TEST_QUESTION);
+        Flux<String> result = llmService.chatStream(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add);
 
         // then
         assertThat(result).isNotNull();
@@ -164,16 +200,223 @@ class LLMServiceTest {
         String llmResponse = String.format("%s"+TITLE_SEPARATOR+"%s", TEST_ROOM_NAME, TEST_NEW_CHAT_ANSWER);
         ArrayList<Message> messages = new ArrayList<>();
         messages.add(new UserMessage(TEST_QUESTION));
-        given(chatMemory.get(TEST_CONVERSATION_ID)).willReturn(messages);
+        given(chatMemory.get(eq(TEST_CONVERSATION_ID), any())).willReturn(messages);
+        given(modelRouter.tierOf(TEST_QUESTION)).willReturn(ModelTier.COMPLEX);
+        given(modelRouter.chatClient(ModelTier.COMPLEX)).willReturn(chatClient);
         given(chatClient.prompt(any(Prompt.class))).willReturn(callRequestSpec);
         given(callRequestSpec.system(anyString())).willReturn(callRequestSpec);
+        given(callRequestSpec.toolContext(anyMap())).willReturn(callRequestSpec);
         given(callRequestSpec.stream()).willReturn(streamResponseSpec);
-        given(streamResponseSpec.content()).willReturn(Flux.just(llmResponse));
+        given(streamResponseSpec.chatResponse()).willReturn(Flux.just(responseOf(llmResponse)));
 
         // when
-        Flux<NewChatRoomInfo> result = llmService.startNewChatStream(TEST_ROOM_ID, TEST_QUESTION);
+        Flux<NewChatRoomInfo> result = llmService.startNewChatStream(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add);
 
         // then
         assertThat(result).isNotNull();
     }
-}
\ No newline at end of file
+
+    // ==================== answer cache Tests ====================
+    @Test
+    @DisplayName("보관한 답변이 있으면 LLM을 호출하지 않고 반환한다")
+    void chat_shouldReturnCachedAnswer() {
+        // given
+        given(chatMemory.get(eq(TEST_CONVERSATION_ID), any())).willReturn(new ArrayList<>());
+        given(llmAnswerCache.get(any())).willReturn(Optional.of(TEST_ANSWER));
+
+        // when
+        String result = llmService.chat(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add);
+
+        // then
+        assertThat(result).isEqualTo(TEST_ANSWER);
+        then(modelRouter).should(never()).chatClient(any());
+        verifyNoInteractions(chatClient);
+    }
+
+    @Test
+    @DisplayName("질문을 보낼 모델 tier의 memory 예산으로 대화 기록을 읽고, 보관한 답변도 tier별로 찾는다")
+    void chat_shouldUseRoutedTier() {
+        // given
+        ArrayList<Message> messages = new ArrayList<>();
+        given(modelRouter.tierOf(TEST_QUESTION)).willReturn(ModelTier.SIMPLE);
+        given(chatMemory.get(TEST_CONVERSATION_ID, ModelTier.SIMPLE)).willReturn(messages);
+        given(llmAnswerCache.get(any())).willReturn(Optional.of(TEST_ANSWER));
+
+        // when
+        llmService.chat(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add);
+
+        // then
+        verify(llmAnswerCache).keyOf(TEST_QUESTION, ModelTier.SIMPLE, SYSTEM_PROMPT_DEFAULT_CHAT, messages);
+    }
+
+    @Test
+    @DisplayName("LLM 답변은 tool 사용 여부와 함께 보관된다")
+    void chat_shouldCacheAnswer() {
+        // given
+        given(chatMemory.get(eq(TEST_CONVERSATION_ID), any())).willReturn(new ArrayList<>());
+        given(llmAnswerCache.get(any())).willReturn(Optional.empty());
+        given(modelRouter.tierOf(TEST_QUESTION)).willReturn(ModelTier.COMPLEX);
+        given(modelRouter.chatClient(ModelTier.COMPLEX)).willReturn(chatClient);
+        given(chatClient.prompt(any(Prompt.class))).willReturn(callRequestSpec);
+        given(callRequestSpec.system(anyString())).willReturn(callRequestSpec);
+        given(callRequestSpec.toolContext(anyMap())).willReturn(callRequestSpec);
+        given(callRequestSpec.call()).willReturn(callResponseSpec);
+        given(callResponseSpec.chatResponse()).willReturn(responseOf(TEST_ANSWER));
+
+        // when
+        llmService.chat(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add);
+
+        // then
+        verify(llmAnswerCache).put(any(), eq(TEST_ANSWER), eq(false));
+    }
+
+    @Test
+    @DisplayName("보관한 답변이 있으면 스트리밍 응답은 보관한 답변을 나누어 보낸다")
+    void chatStream_shouldReplayCachedAnswer() {
+        // given
+        given(chatMemory.get(eq(TEST_CONVERSATION_ID), any())).willReturn(new ArrayList<>());
+        given(llmAnswerCache.get(any())).willReturn(Optional.of(TEST_ANSWER));
+        given(llmAnswerCache.replay(TEST_ANSWER)).willReturn(Flux.just("LLM ", "답변"));
+
+        // when
+        Flux<String> result = llmService.chatStream(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add);
+
+        // then
+        assertThat(result.collectList().block()).containsExactly("LLM ", "답변");
+        then(modelRouter).should(never()).chatClient(any());
+        verifyNoInteractions(chatClient);
+    }
+
+    @Test
+    @DisplayName("스트리밍 응답은 끝까지 받은 뒤 합쳐서 보관된다")
+    void chatStream_shouldCacheJoinedAnswer() {
+        // given
+        given(chatMemory.get(eq(TEST_CONVERSATION_ID), any())).willReturn(new ArrayList<>());
+        given(llmAnswerCache.get(any())).willReturn(Optional.empty());
+        given(modelRouter.tierOf(TEST_QUESTION)).willReturn(ModelTier.COMPLEX);
+        given(modelRouter.chatClient(ModelTier.COMPLEX)).willReturn(chatClient);
+        given(chatClient.prompt(any(Prompt.class))).willReturn(callRequestSpec);
+        given(callRequestSpec.system(anyString())).willReturn(callRequestSpec);
+        given(callRequestSpec.toolContext(anyMap())).willReturn(callRequestSpec);
+        given(callRequestSpec.stream()).willReturn(streamResponseSpec);
+        given(streamResponseSpec.chatResponse()).willReturn(Flux.just(responseOf("LLM "), responseOf("답변")));
+
+        // when
+        Flux<String> result = llmService.chatStream(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add);
+
+        // then
+        then(llmAnswerCache).should(never()).put(any(), anyString(), anyBoolean());
+        result.blockLast();
+        verify(llmAnswerCache).put(any(), eq(TEST_ANSWER), eq(false));
+    }
+
+    // ==================== token usage Tests ====================
+    @Test
+    @DisplayName("LLM이 알려준 입출력 token 수를 그대로 알린다")
+    void chat_shouldReportModelUsage() {
+        // given
+        given(chatMemory.get(eq(TEST_CONVERSATION_ID), any())).willReturn(new ArrayList<>());
+        given(llmAnswerCache.get(any())).willReturn(Optional.empty());
+        given(modelRouter.tierOf(TEST_QUESTION)).willReturn(ModelTier.COMPLEX);
+        given(modelRouter.chatClient(ModelTier.COMPLEX)).willReturn(chatClient);
+        given(chatClient.prompt(any(Prompt.class))).willReturn(callRequestSpec);
+        given(callRequestSpec.system(anyString())).willReturn(callRequestSpec);
+        given(callRequestSpec.toolContext(anyMap())).willReturn(callRequestSpec);
+        given(callRequestSpec.call()).willReturn(callResponseSpec);
+        ChatResponseMetadata metadata = ChatResponseMetadata.builder().usage(new DefaultUsage(1000, 200)).build();
+        given(callResponseSpec.chatResponse()).willReturn(
+                new ChatResponse(List.of(new Generation(new AssistantMessage(TEST_ANSWER))), metadata));
+
+        // when
+        llmService.chat(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add);
+
+        // then
+        assertThat(usedTokens).containsExactly(1200L);
+    }
+
+    @Test
+    @DisplayName("LLM이 token 수를 알려주지 않으면 memory와 system prompt를 포함한 전체 prompt로 추정한다")
+    void chat_shouldEstimateFullPromptWithoutUsage() {
+        // given
+        ArrayList<Message> memory = new ArrayList<>();
+        memory.add(new UserMessage("가".repeat(500)));
+        given(chatMemory.get(eq(TEST_CONVERSATION_ID), any())).willReturn(memory);
+        given(llmAnswerCache.get(any())).willReturn(Optional.empty());
+        given(modelRouter.tierOf(TEST_QUESTION)).willReturn(ModelTier.COMPLEX);
+        given(modelRouter.chatClient(ModelTier.COMPLEX)).willReturn(chatClient);
+        given(chatClient.prompt(any(Prompt.class))).willReturn(callRequestSpec);
+        given(callRequestSpec.system(anyString())).willReturn(callRequestSpec);
+        given(callRequestSpec.toolContext(anyMap())).willReturn(callRequestSpec);
+        given(callRequestSpec.call()).willReturn(callResponseSpec);
+        given(callResponseSpec.chatResponse()).willReturn(responseOf(TEST_ANSWER));
+
+        // when
+        llmService.chat(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add);
+
+        // then
+        assertThat(usedTokens).singleElement().satisfies(tokens -> assertThat(tokens).isGreaterThan(500L));
+    }
+
+    @Test
+    @DisplayName("스트리밍이 중간에 취소되어도 그때까지 쓴 token을 알린다")
+    void chatStream_shouldReportUsageWhenCancelled() {
+        // given
+        given(chatMemory.get(eq(TEST_CONVERSATION_ID), any())).willReturn(new ArrayList<>());
+        given(llmAnswerCache.get(any())).willReturn(Optional.empty());
+        given(modelRouter.tierOf(TEST_QUESTION)).willReturn(ModelTier.COMPLEX);
+        given(modelRouter.chatClient(ModelTier.COMPLEX)).willReturn(chatClient);
+        given(chatClient.prompt(any(Prompt.class))).willReturn(callRequestSpec);
+        given(callRequestSpec.system(anyString())).willReturn(callRequestSpec);
+        given(callRequestSpec.toolContext(anyMap())).willReturn(callRequestSpec);
+        given(callRequestSpec.stream()).willReturn(streamResponseSpec);
+        given(streamResponseSpec.chatResponse()).willReturn(Flux.just(responseOf("LLM "), responseOf("답변")));
+
+        // when
+        llmService.chatStream(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add).take(1).blockLast();
+
+        // then
+        assertThat(usedTokens).singleElement().satisfies(tokens -> assertThat(tokens).isPositive());
+        then(llmAnswerCache).should(never()).put(any(), anyString(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("보관한 답변으로 응답하면 token을 쓰지 않은 것으로 본다")
+    void chat_shouldNotReportUsageForCachedAnswer() {
+        // given
+        given(chatMemory.get(eq(TEST_CONVERSATION_ID), any())).willReturn(new ArrayList<>());
+        given(llmAnswerCache.get(any())).willReturn(Optional.of(TEST_ANSWER));
+
+        // when
+        llmService.chat(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add);
+
+        // then
+        assertThat(usedTokens).isEmpty();
+    }
+
+    // ==================== health Tests ====================
+    @Test
+    @DisplayName("LLM 호출 결과는 상태 판단을 위해 기록되고, 보관한 답변으로 응답한 요청은 기록되지 않는다")
+    void chat_shouldRecordCallForHealth() {
+        // given
+        given(chatMemory.get(eq(TEST_CONVERSATION_ID), any())).willReturn(new ArrayList<>());
+        given(llmAnswerCache.get(any())).willReturn(Optional.empty(), Optional.of(TEST_ANSWER));
+        given(modelRouter.tierOf(TEST_QUESTION)).willReturn(ModelTier.COMPLEX);
+        given(modelRouter.chatClient(ModelTier.COMPLEX)).willReturn(chatClient);
+        given(chatClient.prompt(any(Prompt.class))).willReturn(callRequestSpec);
+        given(callRequestSpec.system(anyString())).willReturn(callRequestSpec);
+        given(callRequestSpec.toolContext(anyMap())).willReturn(callRequestSpec);
+        given(callRequestSpec.call()).willThrow(new IllegalStateException("Bedrock 호출 실패"));
+
+        // when
+        assertThatThrownBy(() -> llmService.chat(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add))
+                .isInstanceOf(IllegalStateException.class);
+        llmService.chat(TEST_ROOM_ID, TEST_QUESTION, usedTokens::add);
+
+        // then
+        assertThat(llmHealthMonitor.health().calls()).isEqualTo(1);
+    }
+
+    private static ChatResponse responseOf(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+}
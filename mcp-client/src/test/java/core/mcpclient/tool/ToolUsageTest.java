@@ -0,0 +1,39 @@
+package core.mcpclient.tool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+
+class ToolUsageTest {
+
+    @Test
+    @DisplayName("감싼 tool이 호출되면 tool context로 넘긴 ToolUsage에 기록된다")
+    void recording_MarksUsage() {
+        // given
+        ToolCallback toolCallback = mock(ToolCallback.class);
+        given(toolCallback.call("{}")).willReturn("120kWh");
+        ToolCallbackProvider provider = ToolUsage.recording(() -> new ToolCallback[]{toolCallback});
+        ToolUsage toolUsage = new ToolUsage();
+
+        // when
+        String result = provider.getToolCallbacks()[0].call("{}", new ToolContext(toolUsage.toContext()));
+
+        // then
+        assertThat(result).isEqualTo("120kWh");
+        assertThat(toolUsage.isUsed()).isTrue();
+        verify(toolCallback).call("{}");
+    }
+
+    @Test
+    @DisplayName("tool이 호출되지 않으면 사용하지 않은 것으로 남는다")
+    void notUsed() {
+        assertThat(new ToolUsage().isUsed()).isFalse();
+    }
+}